@@ -1,6 +1,20 @@
 package com.mycompany.kafkaadmin;
 
+import com.mycompany.kafkaadmin.acl.AclExporter;
+import com.mycompany.kafkaadmin.acl.AclHygieneAnalyzer;
+import com.mycompany.kafkaadmin.acl.AclHygieneReport;
+import com.mycompany.kafkaadmin.acl.AclIndex;
+import com.mycompany.kafkaadmin.acl.AclQuery;
+import com.mycompany.kafkaadmin.acl.AclTableModel;
+import com.mycompany.kafkaadmin.cluster.ClusterConfig;
+import com.mycompany.kafkaadmin.dialog.AclCleanupDialog;
+import com.mycompany.kafkaadmin.dialog.AclCompareDialog;
+import com.mycompany.kafkaadmin.dialog.AclImportDialog;
+import com.mycompany.kafkaadmin.dialog.EffectivePermissionsDialog;
+import com.mycompany.kafkaadmin.topic.TopicMetadataCache;
+import com.mycompany.kafkaadmin.topic.TopicMetadataRefresher;
 import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
 import org.apache.kafka.clients.admin.DescribeAclsResult;
 import org.apache.kafka.clients.admin.DeleteAclsResult;
 import org.apache.kafka.clients.admin.CreateAclsResult;
@@ -8,16 +22,22 @@ import org.apache.kafka.common.acl.*;
 import org.apache.kafka.common.resource.*;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.regex.PatternSyntaxException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,12 +46,17 @@ public class AclPanel extends JPanel {
     private static final Logger log = LoggerFactory.getLogger(AclPanel.class);
 
     private AdminClient adminClient;
-    private DefaultTableModel aclTableModel;
+    private TopicMetadataCache metadataCache; // Метаданные топиков, общие с TopicsPanel
+    private Runnable metadataRefreshListener; // Уведомление об обновлении кэша метаданных
+    private Supplier<List<ClusterConfig>> savedClusters = Collections::emptyList; // Сохраненные кластеры
+    private AclTableModel aclTableModel;
     private JTable aclTable;
-    private TableRowSorter<DefaultTableModel> tableSorter;
+    private TableRowSorter<AclTableModel> tableSorter;
     private JButton refreshAclsButton;
     private JButton addAclButton;
     private JButton deleteAclButton;
+    private JButton effectivePermissionsButton;
+    private JButton staleAclsButton;
 
     // Фильтры
     private JTextField principalFilterField;
@@ -44,13 +69,33 @@ public class AclPanel extends JPanel {
     private JButton applyFilterButton;
     private JButton clearFilterButton;
     private JButton exportFilteredButton;
+    private JButton importAclsButton;
+    private JButton compareClustersButton;
+    private JLabel filterStatusLabel;
+    private JProgressBar exportProgressBar; // Прогресс фоновой выгрузки ACL
 
     // Опции фильтрации
     private JCheckBox caseSensitiveCheckBox;
     private JCheckBox regexCheckBox;
-
-    // Хранилище всех ACL для фильтрации
-    private List<AclBinding> allAcls = Collections.emptyList();
+    private JCheckBox exactCheckBox;
+
+    // Индекс всех загруженных ACL для фильтрации
+    private volatile AclIndex aclIndex = AclIndex.empty();
+    // Фильтр, с которым ACL были запрошены у брокера; точные условия фильтра панели
+    // передаются брокеру, и при их изменении ACL запрашиваются заново
+    private AclBindingFilter loadedFilter = AclBindingFilter.ANY;
+    private long fetchGeneration; // Изменяется только в EDT; ответы устаревших запросов отбрасываются
+
+    // Фильтрация выполняется в фоне с задержкой после последнего нажатия клавиши
+    private static final int FILTER_DEBOUNCE_MS = 150;
+    private final ExecutorService filterExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "acl-filter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private javax.swing.Timer filterDebounceTimer;
+    private Future<?> pendingFilterTask;
+    private long filterGeneration; // Изменяется только в EDT; результаты устаревших запросов отбрасываются
 
     public AclPanel() {
         setLayout(new BorderLayout(10, 10));
@@ -67,6 +112,18 @@ public class AclPanel extends JPanel {
         buttonPanel.add(refreshAclsButton);
         buttonPanel.add(addAclButton);
         buttonPanel.add(deleteAclButton);
+        importAclsButton = new JButton("Import ACLs...");
+        importAclsButton.setToolTipText("Создание ACL из CSV (формат экспорта) или JSON");
+        buttonPanel.add(importAclsButton);
+        compareClustersButton = new JButton("Compare Clusters...");
+        compareClustersButton.setToolTipText("Разность ACL двух сохраненных кластеров и синхронизация");
+        buttonPanel.add(compareClustersButton);
+        effectivePermissionsButton = new JButton("Effective Permissions...");
+        effectivePermissionsButton.setToolTipText("Проверка прав principal на ресурс с учетом DENY, PREFIXED и *");
+        buttonPanel.add(effectivePermissionsButton);
+        staleAclsButton = new JButton("Find Stale ACLs...");
+        staleAclsButton.setToolTipText("ACL на несуществующие топики и группы, повторы и ACL, перекрытые более широкими");
+        buttonPanel.add(staleAclsButton);
 
         // Создаем панель для верхней части (фильтры + кнопки)
         JPanel topPanel = new JPanel(new BorderLayout(5, 5));
@@ -75,14 +132,7 @@ public class AclPanel extends JPanel {
         add(topPanel, BorderLayout.NORTH);
 
         // --- Таблица ACL ---
-        String[] aclColumnNames = { "Principal", "Host", "Operation", "Permission Type", "Resource Type",
-                "Resource Name", "Pattern Type" };
-        aclTableModel = new DefaultTableModel(aclColumnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Запрещаем редактирование ячеек таблицы
-            }
-        };
+        aclTableModel = new AclTableModel();
         aclTable = new JTable(aclTableModel);
 
         // Настраиваем сортировщик таблицы
@@ -97,10 +147,44 @@ public class AclPanel extends JPanel {
         refreshAclsButton.addActionListener(e -> fetchAcls());
         addAclButton.addActionListener(e -> showAddAclDialog());
         deleteAclButton.addActionListener(e -> deleteSelectedAcls());
+        effectivePermissionsButton.addActionListener(e -> showEffectivePermissions());
+        staleAclsButton.addActionListener(e -> findStaleAcls());
+        importAclsButton.addActionListener(e -> importAcls());
+        compareClustersButton.addActionListener(e -> compareClusters());
         applyFilterButton.addActionListener(e -> applyFilters());
         clearFilterButton.addActionListener(e -> clearFilters());
         exportFilteredButton.addActionListener(e -> exportFilteredAcls());
 
+        // Текстовые поля фильтруют по мере ввода, списки и опции - сразу
+        filterDebounceTimer = new javax.swing.Timer(FILTER_DEBOUNCE_MS, e -> applyFilters());
+        filterDebounceTimer.setRepeats(false);
+        DocumentListener filterListener = new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                filterDebounceTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                filterDebounceTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                filterDebounceTimer.restart();
+            }
+        };
+        principalFilterField.getDocument().addDocumentListener(filterListener);
+        hostFilterField.getDocument().addDocumentListener(filterListener);
+        resourceNameFilterField.getDocument().addDocumentListener(filterListener);
+        operationFilterComboBox.addActionListener(e -> applyFilters());
+        permissionTypeFilterComboBox.addActionListener(e -> applyFilters());
+        resourceTypeFilterComboBox.addActionListener(e -> applyFilters());
+        patternTypeFilterComboBox.addActionListener(e -> applyFilters());
+        caseSensitiveCheckBox.addActionListener(e -> applyFilters());
+        regexCheckBox.addActionListener(e -> applyFilters());
+        exactCheckBox.addActionListener(e -> applyFilters());
+
         updateButtonStates(); // Изначально кнопки удаления должны быть неактивны
     }
 
@@ -191,6 +275,21 @@ public class AclPanel extends JPanel {
                 .setToolTipText("Enable regular expression search (e.g., .*test.* for any string containing 'test')");
         row3Panel.add(regexCheckBox);
 
+        exactCheckBox = new JCheckBox("Exact Match");
+        exactCheckBox.setToolTipText(
+                "Match principal, host and resource name exactly; exact values are sent to the broker as a server-side filter");
+        exactCheckBox.addActionListener(e -> {
+            if (exactCheckBox.isSelected()) {
+                regexCheckBox.setSelected(false);
+            }
+        });
+        regexCheckBox.addActionListener(e -> {
+            if (regexCheckBox.isSelected()) {
+                exactCheckBox.setSelected(false);
+            }
+        });
+        row3Panel.add(exactCheckBox);
+
         // Добавляем строки в основную панель
         filtersPanel.add(row1Panel);
         filtersPanel.add(Box.createVerticalStrut(5)); // Небольшой отступ
@@ -202,10 +301,17 @@ public class AclPanel extends JPanel {
         JPanel filterButtonsPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 5));
         applyFilterButton = new JButton("Apply Filters");
         clearFilterButton = new JButton("Clear Filters");
-        exportFilteredButton = new JButton("Export Filtered ACLs");
+        exportFilteredButton = new JButton("Export ACLs...");
         filterButtonsPanel.add(applyFilterButton);
         filterButtonsPanel.add(clearFilterButton);
         filterButtonsPanel.add(exportFilteredButton);
+        filterStatusLabel = new JLabel(" ");
+        filterStatusLabel.setForeground(Color.GRAY);
+        filterButtonsPanel.add(filterStatusLabel);
+        exportProgressBar = new JProgressBar();
+        exportProgressBar.setStringPainted(true);
+        exportProgressBar.setVisible(false);
+        filterButtonsPanel.add(exportProgressBar);
 
         filterPanel.add(filtersPanel, BorderLayout.CENTER);
         filterPanel.add(filterButtonsPanel, BorderLayout.SOUTH);
@@ -214,160 +320,109 @@ public class AclPanel extends JPanel {
     }
 
     /**
-     * Применяет фильтры к таблице ACL
+     * Применяет фильтры к таблице ACL. Запрос выполняется в фоновом потоке по индексу,
+     * построенному при загрузке; предыдущий незавершенный запрос отменяется, а результат
+     * подменяет содержимое таблицы одним событием.
      */
     private void applyFilters() {
-        if (allAcls.isEmpty()) {
+        filterDebounceTimer.stop();
+        if (pendingFilterTask != null) {
+            pendingFilterTask.cancel(true);
+        }
+        long generation = ++filterGeneration;
+
+        AclQuery query;
+        resetFilterFieldColors();
+        try {
+            query = compileQuery();
+        } catch (PatternSyntaxException e) {
+            // Некорректное выражение при вводе - подсвечиваем поле, таблицу не меняем
+            markInvalidRegex();
+            filterStatusLabel.setText("Invalid regular expression");
             return;
         }
 
-        // Очищаем таблицу
-        aclTableModel.setRowCount(0);
-
-        // Получаем значения фильтров
-        String principalFilter = principalFilterField.getText().trim();
-        String hostFilter = hostFilterField.getText().trim();
-        String operationFilter = (String) operationFilterComboBox.getSelectedItem();
-        String permissionFilter = (String) permissionTypeFilterComboBox.getSelectedItem();
-        String resourceTypeFilter = (String) resourceTypeFilterComboBox.getSelectedItem();
-        String resourceNameFilter = resourceNameFilterField.getText().trim();
-        String patternTypeFilter = (String) patternTypeFilterComboBox.getSelectedItem();
-
-        // Получаем опции фильтрации
-        boolean caseSensitive = caseSensitiveCheckBox.isSelected();
-        boolean useRegex = regexCheckBox.isSelected();
-
-        // Компилируем регулярные выражения, если включены
-        final Pattern principalPattern;
-        final Pattern hostPattern;
-        final Pattern resourceNamePattern;
-
-        if (useRegex) {
-            try {
-                if (!principalFilter.isEmpty()) {
-                    principalPattern = Pattern.compile(principalFilter, caseSensitive ? 0 : Pattern.CASE_INSENSITIVE);
-                } else {
-                    principalPattern = null;
-                }
-                if (!hostFilter.isEmpty()) {
-                    hostPattern = Pattern.compile(hostFilter, caseSensitive ? 0 : Pattern.CASE_INSENSITIVE);
-                } else {
-                    hostPattern = null;
-                }
-                if (!resourceNameFilter.isEmpty()) {
-                    resourceNamePattern = Pattern.compile(resourceNameFilter,
-                            caseSensitive ? 0 : Pattern.CASE_INSENSITIVE);
-                } else {
-                    resourceNamePattern = null;
-                }
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(this,
-                        "Invalid regular expression: " + e.getMessage(),
-                        "Regex Error",
-                        JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-        } else {
-            principalPattern = null;
-            hostPattern = null;
-            resourceNamePattern = null;
+        if (adminClient != null && !AclQuery.covers(loadedFilter, query.toBindingFilter())) {
+            // Загруженный набор уже не содержит всех нужных привязок - запрашиваем брокер
+            fetchAcls();
+            return;
         }
-
-        // Фильтруем ACL
-        List<AclBinding> filteredAcls = allAcls.stream()
-                .filter(acl -> {
-                    // Фильтр по Principal
-                    if (!principalFilter.isEmpty()) {
-                        String principal = acl.entry().principal();
-                        if (useRegex) {
-                            if (principalPattern != null && !principalPattern.matcher(principal).find()) {
-                                return false;
-                            }
-                        } else {
-                            String principalToCheck = caseSensitive ? principal : principal.toLowerCase();
-                            String filterToCheck = caseSensitive ? principalFilter : principalFilter.toLowerCase();
-                            if (!principalToCheck.contains(filterToCheck)) {
-                                return false;
-                            }
-                        }
-                    }
-
-                    // Фильтр по Host
-                    if (!hostFilter.isEmpty()) {
-                        String host = acl.entry().host();
-                        if (useRegex) {
-                            if (hostPattern != null && !hostPattern.matcher(host).find()) {
-                                return false;
-                            }
-                        } else {
-                            String hostToCheck = caseSensitive ? host : host.toLowerCase();
-                            String filterToCheck = caseSensitive ? hostFilter : hostFilter.toLowerCase();
-                            if (!hostToCheck.contains(filterToCheck)) {
-                                return false;
-                            }
-                        }
-                    }
-
-                    // Фильтр по Operation
-                    if (!"All".equals(operationFilter) &&
-                            !acl.entry().operation().name().equals(operationFilter)) {
-                        return false;
-                    }
-
-                    // Фильтр по Permission Type
-                    if (!"All".equals(permissionFilter) &&
-                            !acl.entry().permissionType().name().equals(permissionFilter)) {
-                        return false;
-                    }
-
-                    // Фильтр по Resource Type
-                    if (!"All".equals(resourceTypeFilter) &&
-                            !acl.pattern().resourceType().name().equals(resourceTypeFilter)) {
-                        return false;
+        AclIndex index = aclIndex;
+        if (query.isEmpty()) {
+            showFilterResult(index, index.getBindings());
+            return;
+        }
+        pendingFilterTask = filterExecutor.submit(() -> {
+            try {
+                long startNanos = System.nanoTime();
+                List<AclBinding> filteredAcls = index.search(query, () -> Thread.currentThread().isInterrupted());
+                log.debug("ACL query matched {} of {} binding(s) in {} us", filteredAcls.size(), index.size(),
+                        (System.nanoTime() - startNanos) / 1000);
+                SwingUtilities.invokeLater(() -> {
+                    if (generation != filterGeneration) {
+                        return; // Пришел результат устаревшего запроса
                     }
+                    showFilterResult(index, filteredAcls);
+                });
+            } catch (CancellationException ex) {
+                log.debug("ACL filter query cancelled");
+            }
+        });
+    }
 
-                    // Фильтр по Resource Name
-                    if (!resourceNameFilter.isEmpty()) {
-                        String resourceName = acl.pattern().name();
-                        if (useRegex) {
-                            if (resourceNamePattern != null && !resourceNamePattern.matcher(resourceName).find()) {
-                                return false;
-                            }
-                        } else {
-                            String resourceToCheck = caseSensitive ? resourceName : resourceName.toLowerCase();
-                            String filterToCheck = caseSensitive ? resourceNameFilter
-                                    : resourceNameFilter.toLowerCase();
-                            if (!resourceToCheck.contains(filterToCheck)) {
-                                return false;
-                            }
-                        }
-                    }
+    private void showFilterResult(AclIndex index, List<AclBinding> filteredAcls) {
+        aclTableModel.setBindings(filteredAcls);
+        String text = filteredAcls.size() == index.size()
+                ? "Showing all " + index.size() + " ACL(s)"
+                : "Filtered " + filteredAcls.size() + " ACL(s) from " + index.size() + " total";
+        if (!AclBindingFilter.ANY.equals(loadedFilter)) {
+            text += " (server-side filter)";
+        }
+        filterStatusLabel.setText(text);
+        updateButtonStates();
+    }
 
-                    // Фильтр по Pattern Type
-                    if (!"All".equals(patternTypeFilter) &&
-                            !acl.pattern().patternType().name().equals(patternTypeFilter)) {
-                        return false;
-                    }
+    private void resetFilterFieldColors() {
+        Color foreground = UIManager.getColor("TextField.foreground");
+        principalFilterField.setForeground(foreground);
+        hostFilterField.setForeground(foreground);
+        resourceNameFilterField.setForeground(foreground);
+    }
 
-                    return true;
-                })
-                .collect(Collectors.toList());
-
-        // Добавляем отфильтрованные ACL в таблицу
-        for (AclBinding acl : filteredAcls) {
-            aclTableModel.addRow(new Object[] {
-                    acl.entry().principal(),
-                    acl.entry().host(),
-                    acl.entry().operation().name(),
-                    acl.entry().permissionType().name(),
-                    acl.pattern().resourceType().name(),
-                    acl.pattern().name(),
-                    acl.pattern().patternType().name()
-            });
+    /**
+     * Подсвечивает поля с некорректными регулярными выражениями.
+     */
+    private void markInvalidRegex() {
+        for (JTextField field : new JTextField[] { principalFilterField, hostFilterField, resourceNameFilterField }) {
+            try {
+                java.util.regex.Pattern.compile(field.getText().trim());
+            } catch (PatternSyntaxException e) {
+                field.setForeground(Color.RED);
+            }
         }
+    }
 
-        statusMessage("Filtered " + filteredAcls.size() + " ACL(s) from " + allAcls.size() + " total",
-                JOptionPane.INFORMATION_MESSAGE);
+    /**
+     * Собирает запрос из полей фильтра ("All" - любое значение).
+     *
+     * @throws PatternSyntaxException если включен Regex и выражение некорректно
+     */
+    private AclQuery compileQuery() {
+        String operationFilter = (String) operationFilterComboBox.getSelectedItem();
+        String permissionFilter = (String) permissionTypeFilterComboBox.getSelectedItem();
+        String resourceTypeFilter = (String) resourceTypeFilterComboBox.getSelectedItem();
+        String patternTypeFilter = (String) patternTypeFilterComboBox.getSelectedItem();
+        return AclQuery.compile(
+                principalFilterField.getText(),
+                hostFilterField.getText(),
+                resourceNameFilterField.getText(),
+                "All".equals(operationFilter) ? null : AclOperation.valueOf(operationFilter),
+                "All".equals(permissionFilter) ? null : AclPermissionType.valueOf(permissionFilter),
+                "All".equals(resourceTypeFilter) ? null : ResourceType.valueOf(resourceTypeFilter),
+                "All".equals(patternTypeFilter) ? null : PatternType.valueOf(patternTypeFilter),
+                caseSensitiveCheckBox.isSelected(),
+                regexCheckBox.isSelected(),
+                exactCheckBox.isSelected());
     }
 
     /**
@@ -385,40 +440,39 @@ public class AclPanel extends JPanel {
         // Сбрасываем опции фильтрации
         caseSensitiveCheckBox.setSelected(false);
         regexCheckBox.setSelected(false);
+        exactCheckBox.setSelected(false);
 
         // Показываем все ACL
-        displayAllAcls();
+        applyFilters();
     }
 
     /**
-     * Отображает все ACL в таблице
+     * Задает источник сохраненных кластеров (для сравнения ACL между кластерами).
      */
-    private void displayAllAcls() {
-        aclTableModel.setRowCount(0);
-        for (AclBinding acl : allAcls) {
-            aclTableModel.addRow(new Object[] {
-                    acl.entry().principal(),
-                    acl.entry().host(),
-                    acl.entry().operation().name(),
-                    acl.entry().permissionType().name(),
-                    acl.pattern().resourceType().name(),
-                    acl.pattern().name(),
-                    acl.pattern().patternType().name()
-            });
-        }
-        statusMessage("Showing all " + allAcls.size() + " ACL(s)", JOptionPane.INFORMATION_MESSAGE);
+    public void setSavedClusters(Supplier<List<ClusterConfig>> savedClusters) {
+        this.savedClusters = savedClusters;
     }
 
     /**
      * Устанавливает AdminClient для этой панели. Вызывается из KafkaAdminPanel.
      * 
      * @param adminClient
+     * @param clusterConfig конфигурация кластера, к которому относится adminClient
      */
-    public void setAdminClient(AdminClient adminClient) {
+    public void setAdminClient(AdminClient adminClient, ClusterConfig clusterConfig) {
         this.adminClient = adminClient;
+        this.metadataCache = TopicMetadataCache.forCluster(clusterConfig.getId());
         fetchAcls(); // После установки AdminClient, сразу загружаем ACL
     }
 
+    /**
+     * Задает действие, выполняемое в EDT после того, как поиск лишних ACL обновил кэш
+     * метаданных топиков (чтобы вкладка топиков показала изменения).
+     */
+    public void setMetadataRefreshListener(Runnable listener) {
+        this.metadataRefreshListener = listener;
+    }
+
     /**
      * Обновляет состояние кнопок в зависимости от того, выбрана ли строка в таблице
      * ACL.
@@ -429,7 +483,9 @@ public class AclPanel extends JPanel {
     }
 
     /**
-     * Загружает список ACL из Kafka и отображает их в таблице.
+     * Загружает список ACL из Kafka и отображает их в таблице. Точные условия фильтра
+     * (перечисления и, при "Exact Match", principal, host и имя ресурса) передаются брокеру в
+     * {@link AclBindingFilter}; подстроки и регулярные выражения проверяются на клиенте.
      */
     public void fetchAcls() {
         if (adminClient == null) {
@@ -438,40 +494,42 @@ public class AclPanel extends JPanel {
             return;
         }
 
-        aclTableModel.setRowCount(0); // Очищаем таблицу перед загрузкой
+        AclBindingFilter filter;
+        try {
+            filter = compileQuery().toBindingFilter();
+        } catch (PatternSyntaxException e) {
+            filter = AclBindingFilter.ANY; // Регулярное выражение на брокер не передается
+        }
+        AclBindingFilter requestFilter = filter;
+        long generation = ++fetchGeneration;
         refreshAclsButton.setEnabled(false);
         statusMessage("Loading ACLs...", JOptionPane.INFORMATION_MESSAGE);
+        filterStatusLabel.setText("Loading ACLs...");
 
-        new SwingWorker<Collection<AclBinding>, Void>() {
+        new SwingWorker<AclIndex, Void>() {
             @Override
-            protected Collection<AclBinding> doInBackground() throws Exception {
-                // Пустой фильтр возвращает все ACL
-                DescribeAclsResult result = adminClient.describeAcls(AclBindingFilter.ANY);
-                return result.values().get();
+            protected AclIndex doInBackground() throws Exception {
+                DescribeAclsResult result = adminClient.describeAcls(requestFilter);
+                Collection<AclBinding> acls = result.values().get();
+                return AclIndex.build(acls); // Индекс строится один раз вне EDT
             }
 
             @Override
             protected void done() {
+                if (generation != fetchGeneration) {
+                    return; // Фильтр успел измениться - ждем ответ на более новый запрос
+                }
                 try {
-                    Collection<AclBinding> acls = get();
-                    allAcls = new java.util.ArrayList<>(acls); // Сохраняем все ACL
-
-                    // Отображаем все ACL
-                    for (AclBinding acl : acls) {
-                        aclTableModel.addRow(new Object[] {
-                                acl.entry().principal(),
-                                acl.entry().host(),
-                                acl.entry().operation().name(),
-                                acl.entry().permissionType().name(),
-                                acl.pattern().resourceType().name(),
-                                acl.pattern().name(),
-                                acl.pattern().patternType().name()
-                        });
-                    }
-                    statusMessage("ACLs loaded successfully. Total: " + acls.size(), JOptionPane.INFORMATION_MESSAGE);
+                    aclIndex = get();
+                    loadedFilter = requestFilter;
+                    log.debug("Loaded {} ACL(s) with filter {}", aclIndex.size(), requestFilter);
+                    applyFilters(); // Текущий фильтр применяется к новому набору ACL
+                    statusMessage("ACLs loaded successfully. Total: " + aclIndex.size(),
+                            JOptionPane.INFORMATION_MESSAGE);
                 } catch (InterruptedException | ExecutionException ex) {
                     Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
                     log.error("Error fetching ACLs: {}", cause.getMessage(), cause);
+                    filterStatusLabel.setText(" ");
                     JOptionPane.showMessageDialog(AclPanel.this,
                             "Error loading ACLs: " + cause.getMessage(),
                             "ACL Loading Error",
@@ -484,6 +542,115 @@ public class AclPanel extends JPanel {
         }.execute();
     }
 
+    /**
+     * Открывает калькулятор эффективных прав по загруженным ACL.
+     */
+    private void showEffectivePermissions() {
+        if (adminClient == null) {
+            statusMessage("Not connected to Kafka.", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        Window window = SwingUtilities.getWindowAncestor(this);
+        // Для вычисления прав нужны все ACL; если загружена только часть, диалог запросит их сам
+        new EffectivePermissionsDialog(window instanceof Frame ? (Frame) window : null, adminClient,
+                AclBindingFilter.ANY.equals(loadedFilter) ? aclIndex.getBindings() : null).setVisible(true);
+    }
+
+    /**
+     * Ищет лишние ACL: привязки к несуществующим топикам и группам, повторы и перекрытые.
+     * Список топиков берется из кэша метаданных вкладки топиков (кэш предварительно
+     * обновляется), группы - из {@code listConsumerGroups}. Анализируются все ACL кластера;
+     * если загружена только часть, они запрашиваются заново.
+     */
+    private void findStaleAcls() {
+        if (adminClient == null || metadataCache == null) {
+            statusMessage("Not connected to Kafka.", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        staleAclsButton.setEnabled(false);
+        AdminClient client = adminClient;
+        TopicMetadataCache cache = metadataCache;
+        List<AclBinding> loaded = AclBindingFilter.ANY.equals(loadedFilter) ? aclIndex.getBindings() : null;
+        statusMessage("Analyzing ACLs...", JOptionPane.INFORMATION_MESSAGE);
+
+        new SwingWorker<AclHygieneReport, Void>() {
+            private boolean refreshed;
+
+            @Override
+            protected AclHygieneReport doInBackground() throws Exception {
+                Collection<AclBinding> acls = loaded != null ? loaded
+                        : client.describeAcls(AclBindingFilter.ANY).values().get();
+                refreshed = true;
+                new TopicMetadataRefresher(client, cache).refresh((delta, described) -> {
+                }, this::isCancelled);
+                List<String> groups = new ArrayList<>();
+                for (ConsumerGroupListing listing : client.listConsumerGroups().all().get()) {
+                    groups.add(listing.groupId());
+                }
+                return AclHygieneAnalyzer.analyze(acls, cache.topicNames(), groups, this::isCancelled);
+            }
+
+            @Override
+            protected void done() {
+                staleAclsButton.setEnabled(true);
+                if (refreshed && metadataRefreshListener != null && cache == metadataCache) {
+                    metadataRefreshListener.run();
+                }
+                try {
+                    AclHygieneReport report = get();
+                    log.info("ACL analysis: {} ACL(s), {} finding(s) in {} ms", report.getAclCount(),
+                            report.getFindings().size(), report.getAnalysisMillis());
+                    Window window = SwingUtilities.getWindowAncestor(AclPanel.this);
+                    AclCleanupDialog dialog = new AclCleanupDialog(window instanceof Frame ? (Frame) window : null,
+                            client, report);
+                    dialog.setVisible(true);
+                    if (dialog.isDeleted()) {
+                        fetchAcls(); // Обновляем список ACL
+                    }
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error analyzing ACLs: {}", cause.getMessage(), cause);
+                    JOptionPane.showMessageDialog(AclPanel.this,
+                            "Error analyzing ACLs: " + cause.getMessage(),
+                            "ACL Analysis Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Сравнивает ACL двух сохраненных кластеров. Подключение к текущему кластеру не требуется.
+     */
+    private void compareClusters() {
+        List<ClusterConfig> clusters = savedClusters.get();
+        if (clusters.size() < 2) {
+            JOptionPane.showMessageDialog(this, "At least two saved cluster configurations are required.",
+                    "Compare ACLs", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        Window window = SwingUtilities.getWindowAncestor(this);
+        new AclCompareDialog(window instanceof Frame ? (Frame) window : null, clusters).setVisible(true);
+    }
+
+    /**
+     * Импортирует ACL из файла; привязки, уже существующие в кластере, не создаются повторно.
+     */
+    private void importAcls() {
+        if (adminClient == null) {
+            statusMessage("Not connected to Kafka.", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        Window window = SwingUtilities.getWindowAncestor(this);
+        // Повторы ищутся среди всех ACL; если загружена только часть, диалог запросит их сам
+        AclImportDialog dialog = new AclImportDialog(window instanceof Frame ? (Frame) window : null, adminClient,
+                AclBindingFilter.ANY.equals(loadedFilter) ? aclIndex.getBindings() : null);
+        dialog.setVisible(true);
+        if (dialog.isImported()) {
+            fetchAcls(); // Обновляем список ACL
+        }
+    }
+
     /**
      * Показывает диалоговое окно для добавления нового ACL.
      */
@@ -625,24 +792,8 @@ public class AclPanel extends JPanel {
             for (int viewRow : selectedRows) {
                 // Конвертируем индекс представления в индекс модели для работы с сортировщиком
                 int modelRow = aclTable.convertRowIndexToModel(viewRow);
-
-                // Создаем AclBindingFilter на основе выбранной строки
-                String principal = (String) aclTableModel.getValueAt(modelRow, 0);
-                String host = (String) aclTableModel.getValueAt(modelRow, 1);
-                AclOperation operation = AclOperation.valueOf((String) aclTableModel.getValueAt(modelRow, 2));
-                AclPermissionType permissionType = AclPermissionType
-                        .valueOf((String) aclTableModel.getValueAt(modelRow, 3));
-                ResourceType resourceType = ResourceType.valueOf((String) aclTableModel.getValueAt(modelRow, 4));
-                String resourceName = (String) aclTableModel.getValueAt(modelRow, 5);
-                PatternType patternType = PatternType.valueOf((String) aclTableModel.getValueAt(modelRow, 6));
-
-                // Создаем ResourcePatternFilter и AccessControlEntryFilter для удаления
-                ResourcePatternFilter resourcePatternFilter = new ResourcePatternFilter(resourceType, resourceName,
-                        patternType);
-                AccessControlEntryFilter accessControlEntryFilter = new AccessControlEntryFilter(principal, host,
-                        operation, permissionType);
-
-                filtersToDelete.add(new AclBindingFilter(resourcePatternFilter, accessControlEntryFilter));
+                // Фильтр, совпадающий ровно с выбранной привязкой
+                filtersToDelete.add(aclTableModel.getBinding(modelRow).toFilter());
             }
 
             statusMessage("Deleting selected ACLs...", JOptionPane.INFORMATION_MESSAGE);
@@ -691,58 +842,106 @@ public class AclPanel extends JPanel {
     }
 
     /**
-     * Экспортирует отфильтрованные ACL в CSV файл
+     * Выгружает ACL в файл: отфильтрованные, все загруженные или свежие из кластера. Запись
+     * идет в фоне прямо из списка привязок, без чтения ячеек таблицы.
      */
     private void exportFilteredAcls() {
-        if (aclTableModel.getRowCount() == 0) {
-            JOptionPane.showMessageDialog(this,
-                    "No ACLs to export. Please apply filters first.",
-                    "No Data",
-                    JOptionPane.WARNING_MESSAGE);
+        List<AclBinding> filteredAcls = aclTableModel.getBindings();
+        List<AclBinding> loadedAcls = aclIndex.getBindings();
+        String sourceFiltered = "Filtered ACLs (" + filteredAcls.size() + ")";
+        String sourceLoaded = "All loaded ACLs (" + loadedAcls.size() + ")";
+        String sourceCluster = "Fresh from cluster";
+
+        JComboBox<String> sourceComboBox = new JComboBox<>(new String[] { sourceFiltered, sourceLoaded,
+                sourceCluster });
+        sourceComboBox.setToolTipText("Свежая выгрузка запрашивает все ACL у брокера, не затрагивая таблицу");
+        JComboBox<AclExporter.Format> formatComboBox = new JComboBox<>(AclExporter.Format.values());
+        JCheckBox gzipCheckBox = new JCheckBox("Gzip");
+        JPanel optionsPanel = new JPanel(new GridLayout(0, 2, 5, 5));
+        optionsPanel.add(new JLabel("Source:"));
+        optionsPanel.add(sourceComboBox);
+        optionsPanel.add(new JLabel("Format:"));
+        optionsPanel.add(formatComboBox);
+        optionsPanel.add(new JLabel("Compression:"));
+        optionsPanel.add(gzipCheckBox);
+        int option = JOptionPane.showConfirmDialog(this, optionsPanel, "Export ACLs", JOptionPane.OK_CANCEL_OPTION,
+                JOptionPane.PLAIN_MESSAGE);
+        if (option != JOptionPane.OK_OPTION) {
+            return;
+        }
+        Object source = sourceComboBox.getSelectedItem();
+        boolean fromCluster = sourceCluster.equals(source);
+        List<AclBinding> acls = sourceFiltered.equals(source) ? filteredAcls : loadedAcls;
+        if (fromCluster && adminClient == null) {
+            statusMessage("Not connected to Kafka.", JOptionPane.WARNING_MESSAGE);
             return;
         }
+        if (!fromCluster && acls.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No ACLs to export.", "No Data", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        AclExporter.Format format = (AclExporter.Format) formatComboBox.getSelectedItem();
+        boolean gzip = gzipCheckBox.isSelected();
+        String extension = format.getExtension() + (gzip ? ".gz" : "");
 
         JFileChooser fileChooser = new JFileChooser();
-        fileChooser.setDialogTitle("Export Filtered ACLs");
-        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("CSV Files", "csv"));
-        fileChooser.setSelectedFile(new java.io.File("filtered_acls.csv"));
-
-        if (fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
-            java.io.File file = fileChooser.getSelectedFile();
-            if (!file.getName().toLowerCase().endsWith(".csv")) {
-                file = new java.io.File(file.getAbsolutePath() + ".csv");
-            }
-
-            try (java.io.PrintWriter writer = new java.io.PrintWriter(file, "UTF-8")) {
-                // Записываем заголовки
-                writer.println("Principal,Host,Operation,Permission Type,Resource Type,Resource Name,Pattern Type");
-
-                // Записываем данные
-                for (int i = 0; i < aclTableModel.getRowCount(); i++) {
-                    StringBuilder line = new StringBuilder();
-                    for (int j = 0; j < aclTableModel.getColumnCount(); j++) {
-                        if (j > 0)
-                            line.append(",");
-                        String value = (String) aclTableModel.getValueAt(i, j);
-                        // Экранируем запятые и кавычки в CSV
-                        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
-                            value = "\"" + value.replace("\"", "\"\"") + "\"";
-                        }
-                        line.append(value);
-                    }
-                    writer.println(line.toString());
+        fileChooser.setDialogTitle("Export ACLs");
+        fileChooser.setSelectedFile(new java.io.File((fromCluster ? "acls" : "filtered_acls") + extension));
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        java.io.File selectedFile = fileChooser.getSelectedFile();
+        java.io.File file = selectedFile.getName().toLowerCase().endsWith(extension) ? selectedFile
+                : new java.io.File(selectedFile.getAbsolutePath() + extension);
+
+        exportFilteredButton.setEnabled(false);
+        exportProgressBar.setIndeterminate(fromCluster);
+        exportProgressBar.setMaximum(Math.max(acls.size(), 1));
+        exportProgressBar.setValue(0);
+        exportProgressBar.setString(fromCluster ? "Loading ACLs..." : "Exporting...");
+        exportProgressBar.setVisible(true);
+        revalidate();
+
+        new SwingWorker<Integer, Integer>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                Collection<AclBinding> toExport = acls;
+                if (fromCluster) {
+                    toExport = adminClient.describeAcls(AclBindingFilter.ANY).values().get();
+                    int total = toExport.size();
+                    SwingUtilities.invokeLater(() -> {
+                        exportProgressBar.setIndeterminate(false);
+                        exportProgressBar.setMaximum(Math.max(total, 1));
+                    });
                 }
+                return AclExporter.write(toExport, file.toPath(), format, gzip, this::publish, this::isCancelled);
+            }
 
-                statusMessage("Exported " + aclTableModel.getRowCount() + " ACL(s) to " + file.getName(),
-                        JOptionPane.INFORMATION_MESSAGE);
+            @Override
+            protected void process(List<Integer> chunks) {
+                int written = chunks.get(chunks.size() - 1);
+                exportProgressBar.setValue(written);
+                exportProgressBar.setString("Exported " + written + " of " + exportProgressBar.getMaximum());
+            }
 
-            } catch (Exception e) {
-                log.error("Error exporting ACLs: {}", e.getMessage(), e);
-                JOptionPane.showMessageDialog(this,
-                        "Error exporting ACLs: " + e.getMessage(),
-                        "Export Error",
-                        JOptionPane.ERROR_MESSAGE);
+            @Override
+            protected void done() {
+                exportFilteredButton.setEnabled(true);
+                exportProgressBar.setVisible(false);
+                try {
+                    int written = get();
+                    statusMessage("Exported " + written + " ACL(s) to " + file.getName(),
+                            JOptionPane.INFORMATION_MESSAGE);
+                    filterStatusLabel.setText("Exported " + written + " ACL(s) to " + file.getName());
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error exporting ACLs: {}", cause.getMessage(), cause);
+                    JOptionPane.showMessageDialog(AclPanel.this,
+                            "Error exporting ACLs: " + cause.getMessage(),
+                            "Export Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
             }
-        }
+        }.execute();
     }
 }
\ No newline at end of file
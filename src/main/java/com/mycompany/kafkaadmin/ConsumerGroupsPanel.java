@@ -0,0 +1,271 @@
+package com.mycompany.kafkaadmin;
+
+import com.mycompany.kafkaadmin.consumer.ConsumerLagEngine;
+import com.mycompany.kafkaadmin.consumer.GroupLag;
+import com.mycompany.kafkaadmin.consumer.GroupLagTableModel;
+import org.apache.kafka.clients.admin.AdminClient;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableRowSorter;
+import java.awt.*;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ConsumerGroupsPanel extends JPanel {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsumerGroupsPanel.class);
+
+    private AdminClient adminClient;
+    // Новый движок на каждое подключение: смещения другого кластера переиспользовать нельзя
+    private ConsumerLagEngine lagEngine = new ConsumerLagEngine();
+    private SwingWorker<ConsumerLagEngine.Result, Void> groupsLoader;
+
+    private GroupLagTableModel groupsTableModel;
+    private JTable groupsTable;
+    private TableRowSorter<GroupLagTableModel> groupsSorter;
+    private DefaultTableModel topicLagTableModel; // Отставание выбранной группы по топикам
+    private DefaultTableModel partitionLagTableModel; // Отставание выбранной группы по партициям
+    private JButton refreshGroupsButton;
+    private JTextField groupFilterField;
+    private JLabel summaryLabel;
+
+    // Последний результат по группам для детальной информации
+    private Map<String, GroupLag> lagByGroup = new HashMap<>();
+
+    public ConsumerGroupsPanel() {
+        setLayout(new BorderLayout(10, 10));
+
+        // --- Верхняя панель с кнопками и фильтром ---
+        JPanel topPanel = new JPanel(new BorderLayout(5, 5));
+        JPanel buttonsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        refreshGroupsButton = new JButton("Refresh Groups");
+        buttonsPanel.add(refreshGroupsButton);
+        summaryLabel = new JLabel("Groups: 0");
+        summaryLabel.setForeground(Color.GRAY);
+        buttonsPanel.add(summaryLabel);
+
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        filterPanel.add(new JLabel("Фильтр групп:"));
+        groupFilterField = new JTextField(20);
+        groupFilterField.setToolTipText("Введите часть ID группы для фильтрации");
+        groupFilterField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+                applyGroupFilter();
+            }
+
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+                applyGroupFilter();
+            }
+
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) {
+                applyGroupFilter();
+            }
+        });
+        filterPanel.add(groupFilterField);
+
+        topPanel.add(buttonsPanel, BorderLayout.WEST);
+        topPanel.add(filterPanel, BorderLayout.EAST);
+        add(topPanel, BorderLayout.NORTH);
+
+        // --- Таблица групп ---
+        groupsTableModel = new GroupLagTableModel();
+        groupsTable = new JTable(groupsTableModel);
+        groupsSorter = new TableRowSorter<>(groupsTableModel);
+        groupsTable.setRowSorter(groupsSorter);
+        groupsTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showSelectedGroupDetails();
+            }
+        });
+
+        // --- Детали выбранной группы ---
+        topicLagTableModel = createReadOnlyModel(new String[] { "Topic", "Partitions", "Lag" },
+                new Class<?>[] { String.class, Integer.class, Long.class });
+        JTable topicLagTable = new JTable(topicLagTableModel);
+        topicLagTable.setAutoCreateRowSorter(true);
+        JPanel topicLagPanel = new JPanel(new BorderLayout());
+        topicLagPanel.setBorder(BorderFactory.createTitledBorder("Lag by Topic"));
+        topicLagPanel.add(new JScrollPane(topicLagTable), BorderLayout.CENTER);
+
+        partitionLagTableModel = createReadOnlyModel(
+                new String[] { "Topic", "Partition", "Committed Offset", "End Offset", "Lag" },
+                new Class<?>[] { String.class, Integer.class, Long.class, Long.class, Long.class });
+        JTable partitionLagTable = new JTable(partitionLagTableModel);
+        partitionLagTable.setAutoCreateRowSorter(true);
+        JPanel partitionLagPanel = new JPanel(new BorderLayout());
+        partitionLagPanel.setBorder(BorderFactory.createTitledBorder("Lag by Partition"));
+        partitionLagPanel.add(new JScrollPane(partitionLagTable), BorderLayout.CENTER);
+
+        JSplitPane detailsSplit = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, topicLagPanel, partitionLagPanel);
+        detailsSplit.setResizeWeight(0.4);
+
+        JSplitPane mainSplit = new JSplitPane(JSplitPane.VERTICAL_SPLIT, new JScrollPane(groupsTable), detailsSplit);
+        mainSplit.setResizeWeight(0.6);
+        add(mainSplit, BorderLayout.CENTER);
+
+        refreshGroupsButton.addActionListener(e -> fetchGroups());
+    }
+
+    private static DefaultTableModel createReadOnlyModel(String[] columnNames, Class<?>[] columnClasses) {
+        return new DefaultTableModel(columnNames, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return columnClasses[column];
+            }
+        };
+    }
+
+    /**
+     * Устанавливает AdminClient для этой панели. Вызывается из KafkaAdminPanel.
+     *
+     * @param adminClient
+     */
+    public void setAdminClient(AdminClient adminClient) {
+        if (groupsLoader != null && !groupsLoader.isDone()) {
+            groupsLoader.cancel(true);
+        }
+        this.adminClient = adminClient;
+        lagEngine = new ConsumerLagEngine();
+        fetchGroups();
+    }
+
+    /**
+     * Загружает группы потребителей и их отставание.
+     */
+    public void fetchGroups() {
+        if (adminClient == null) {
+            log.warn("AdminClient is null. Cannot fetch consumer groups.");
+            return;
+        }
+
+        refreshGroupsButton.setEnabled(false);
+        log.info("Status Update: Loading consumer groups...");
+
+        AdminClient client = adminClient;
+        ConsumerLagEngine engine = lagEngine;
+        groupsLoader = new SwingWorker<ConsumerLagEngine.Result, Void>() {
+            @Override
+            protected ConsumerLagEngine.Result doInBackground() throws Exception {
+                return engine.refresh(client);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || engine != lagEngine) {
+                    log.info("Consumer groups load for a previous connection discarded.");
+                    return; // Состоянием UI управляет загрузка нового подключения
+                }
+                try {
+                    ConsumerLagEngine.Result result = get();
+                    String selectedGroup = getSelectedGroupId();
+
+                    Map<String, GroupLag> newLag = new HashMap<>();
+                    List<GroupLag> groups = result.getGroups();
+                    groups.sort(Comparator.comparing(GroupLag::getGroupId));
+                    long totalLag = 0;
+                    for (GroupLag group : groups) {
+                        newLag.put(group.getGroupId(), group);
+                        totalLag += group.getTotalLag();
+                    }
+                    groupsTableModel.setGroups(groups); // Одно событие вместо строки за строкой
+                    lagByGroup = newLag;
+                    summaryLabel.setText("Groups: " + groups.size() + ", partitions: " + result.getPartitionCount()
+                            + ", total lag: " + totalLag
+                            + (result.getFailedGroups() > 0 ? ", failed: " + result.getFailedGroups() : ""));
+
+                    restoreSelection(selectedGroup);
+                    log.info("Status Update: Consumer groups loaded ({} recomputed).", result.getRecomputedGroups());
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error fetching consumer groups: {}", cause.getMessage(), cause);
+                    JOptionPane.showMessageDialog(ConsumerGroupsPanel.this,
+                            "Error loading consumer groups: " + cause.getMessage(),
+                            "Consumer Groups Error",
+                            JOptionPane.ERROR_MESSAGE);
+                } finally {
+                    refreshGroupsButton.setEnabled(true);
+                }
+            }
+        };
+        groupsLoader.execute();
+    }
+
+    private void applyGroupFilter() {
+        String filterText = groupFilterField.getText().trim().toLowerCase();
+        if (filterText.isEmpty()) {
+            groupsSorter.setRowFilter(null);
+        } else {
+            groupsSorter.setRowFilter(new RowFilter<GroupLagTableModel, Integer>() {
+                @Override
+                public boolean include(Entry<? extends GroupLagTableModel, ? extends Integer> entry) {
+                    return entry.getModel().getGroup(entry.getIdentifier()).getGroupId().toLowerCase()
+                            .contains(filterText);
+                }
+            });
+        }
+    }
+
+    private String getSelectedGroupId() {
+        int viewRow = groupsTable.getSelectedRow();
+        if (viewRow == -1) {
+            return null;
+        }
+        return groupsTableModel.getGroup(groupsTable.convertRowIndexToModel(viewRow)).getGroupId();
+    }
+
+    private void restoreSelection(String groupId) {
+        if (groupId == null) {
+            showSelectedGroupDetails();
+            return;
+        }
+        for (int row = 0; row < groupsTableModel.getRowCount(); row++) {
+            if (groupId.equals(groupsTableModel.getGroup(row).getGroupId())) {
+                int viewRow = groupsTable.convertRowIndexToView(row);
+                if (viewRow != -1) {
+                    groupsTable.setRowSelectionInterval(viewRow, viewRow);
+                }
+                break;
+            }
+        }
+        showSelectedGroupDetails();
+    }
+
+    /**
+     * Показывает отставание выбранной группы по топикам и партициям.
+     */
+    private void showSelectedGroupDetails() {
+        topicLagTableModel.setRowCount(0);
+        partitionLagTableModel.setRowCount(0);
+        String groupId = getSelectedGroupId();
+        GroupLag group = groupId != null ? lagByGroup.get(groupId) : null;
+        if (group == null) {
+            return;
+        }
+        for (GroupLag.TopicLag topic : group.getTopics().values()) {
+            topicLagTableModel.addRow(new Object[] { topic.getTopic(), topic.getPartitionCount(), topic.getLag() });
+        }
+        for (GroupLag.PartitionLag partition : group.getPartitions()) {
+            partitionLagTableModel.addRow(new Object[] {
+                    partition.getTopicPartition().topic(),
+                    partition.getTopicPartition().partition(),
+                    partition.getCommittedOffset(),
+                    partition.getEndOffset() >= 0 ? partition.getEndOffset() : null,
+                    partition.getLag()
+            });
+        }
+    }
+}
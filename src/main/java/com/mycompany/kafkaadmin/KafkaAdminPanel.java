@@ -3,6 +3,7 @@ package com.mycompany.kafkaadmin;
 import com.mycompany.kafkaadmin.cluster.ClusterConfig;
 import com.mycompany.kafkaadmin.cluster.ClusterConfigManager;
 import com.mycompany.kafkaadmin.dialog.ConnectionSettingsDialog;
+import com.mycompany.kafkaadmin.topic.TopicMetadataCache;
 import org.apache.kafka.clients.admin.AdminClient;
 
 import javax.swing.*;
@@ -28,6 +29,8 @@ public class KafkaAdminPanel extends JPanel {
     private JTabbedPane mainTabbedPane;
 
     private TopicsPanel topicsPanel;
+    private ConsumerGroupsPanel consumerGroupsPanel;
+    private PartitionHealthPanel partitionHealthPanel;
     private AclPanel aclPanel;
 
     private ClusterConfigManager configManager; // Менеджер конфигураций
@@ -91,9 +94,21 @@ public class KafkaAdminPanel extends JPanel {
         mainTabbedPane.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
 
         topicsPanel = new TopicsPanel();
+        topicsPanel.setSavedClusters(configManager::getConfigs);
         mainTabbedPane.addTab("Topics", topicsPanel);
 
+        consumerGroupsPanel = new ConsumerGroupsPanel();
+        mainTabbedPane.addTab("Consumer Groups", consumerGroupsPanel);
+
+        partitionHealthPanel = new PartitionHealthPanel();
+        // Сканер обновляет общий кэш метаданных - таблица топиков должна показать изменения
+        partitionHealthPanel.setMetadataRefreshListener(topicsPanel::syncFromCache);
+        mainTabbedPane.addTab("Partition Health", partitionHealthPanel);
+
         aclPanel = new AclPanel();
+        aclPanel.setSavedClusters(configManager::getConfigs);
+        // Поиск лишних ACL обновляет общий кэш метаданных топиков
+        aclPanel.setMetadataRefreshListener(topicsPanel::syncFromCache);
         mainTabbedPane.addTab("ACLs", aclPanel);
 
         setTabsEnabled(false);
@@ -171,6 +186,7 @@ public class KafkaAdminPanel extends JPanel {
 
         if (confirm == JOptionPane.YES_OPTION) {
             configManager.removeConfig(selected.getId());
+            TopicMetadataCache.forget(selected.getId());
             loadAndDisplayConfigs(); // Обновляем список
             if (adminClient != null && selectedConfig != null && selectedConfig.equals(selected)) {
                 // Если удаляем текущую активную конфигурацию, отключаемся
@@ -236,8 +252,10 @@ public class KafkaAdminPanel extends JPanel {
                                 "Connection Success", JOptionPane.INFORMATION_MESSAGE);
 
                         // Сначала устанавливаем adminClient в панели
-                        topicsPanel.setAdminClient(adminClient);
-                        aclPanel.setAdminClient(adminClient);
+                        topicsPanel.setAdminClient(adminClient, selectedConfig);
+                        consumerGroupsPanel.setAdminClient(adminClient);
+                        partitionHealthPanel.setAdminClient(adminClient, selectedConfig);
+                        aclPanel.setAdminClient(adminClient, selectedConfig);
 
                         // Затем включаем вкладки (это вызовет fetchTopics и fetchAcls)
                         setTabsEnabled(true);
@@ -0,0 +1,451 @@
+package com.mycompany.kafkaadmin;
+
+import com.mycompany.kafkaadmin.cluster.ClusterConfig;
+import com.mycompany.kafkaadmin.dialog.PreferredLeaderElectionDialog;
+import com.mycompany.kafkaadmin.dialog.ReassignmentPlannerDialog;
+import com.mycompany.kafkaadmin.partition.PartitionHealthReport;
+import com.mycompany.kafkaadmin.partition.PartitionHealthScanner;
+import com.mycompany.kafkaadmin.partition.PartitionIssue;
+import com.mycompany.kafkaadmin.partition.PartitionIssueTableModel;
+import com.mycompany.kafkaadmin.partition.PreferredLeaderElector;
+import com.mycompany.kafkaadmin.topic.BatchedConfigDescriber;
+import com.mycompany.kafkaadmin.topic.TopicConfigStore;
+import com.mycompany.kafkaadmin.topic.TopicMetadataCache;
+import com.mycompany.kafkaadmin.topic.TopicMetadataRefresher;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Панель состояния партиций кластера: недореплицированные, ниже min ISR, offline и с
+ * непредпочтительным лидером. Сканирование идет по кэшу метаданных топиков, поэтому его
+ * можно повторять часто (например, во время перезапуска брокеров).
+ */
+public class PartitionHealthPanel extends JPanel {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionHealthPanel.class);
+
+    private static final String ALL_ISSUES = "All Issues";
+    private static final String MIN_ISR_CONFIG = "min.insync.replicas";
+
+    private AdminClient adminClient;
+    private TopicMetadataCache metadataCache;
+    private Runnable metadataRefreshListener; // Уведомление об обновлении кэша метаданных
+    private final PartitionHealthScanner scanner = new PartitionHealthScanner();
+
+    private JButton scanButton;
+    private JButton reassignButton;
+    private JButton electLeadersButton;
+    private JCheckBox redescribeCheckBox;
+    private JCheckBox autoRescanCheckBox;
+    private JLabel summaryLabel;
+    private DefaultTableModel brokersTableModel;
+    private JTable brokersTable;
+    private JComboBox<Object> issueTypeComboBox;
+    private JLabel issuesCountLabel;
+    private PartitionIssueTableModel issuesTableModel;
+
+    private final javax.swing.Timer rescanTimer;
+    private SwingWorker<PartitionHealthReport, Void> scanWorker;
+    private PartitionHealthReport report;
+
+    public PartitionHealthPanel() {
+        setLayout(new BorderLayout(10, 10));
+
+        // --- Верхняя панель с кнопками ---
+        JPanel topPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        scanButton = new JButton("Scan");
+        redescribeCheckBox = new JCheckBox("Re-describe topics", true);
+        redescribeCheckBox.setToolTipText("Заново описать все топики перед сканированием; без отметки используется кэш метаданных");
+        autoRescanCheckBox = new JCheckBox("Auto-rescan");
+        int rescanIntervalMs = Integer.getInteger("kafkaadmin.health.rescanIntervalMs", 10_000);
+        autoRescanCheckBox.setToolTipText("Повторять сканирование каждые " + rescanIntervalMs / 1000 + " с");
+        reassignButton = new JButton("Reassignment Planner...");
+        reassignButton.setToolTipText("Построить и выполнить план переназначения реплик по брокерам");
+        electLeadersButton = new JButton("Elect Preferred Leaders...");
+        electLeadersButton.setToolTipText("Вернуть лидерство первой реплике во всех партициях с непредпочтительным лидером");
+        summaryLabel = new JLabel("Not scanned");
+        summaryLabel.setForeground(Color.GRAY);
+        topPanel.add(scanButton);
+        topPanel.add(redescribeCheckBox);
+        topPanel.add(autoRescanCheckBox);
+        topPanel.add(reassignButton);
+        topPanel.add(electLeadersButton);
+        topPanel.add(summaryLabel);
+        add(topPanel, BorderLayout.NORTH);
+
+        // --- Счетчики по брокерам ---
+        brokersTableModel = new DefaultTableModel(new String[] { "Broker", "Replicas", "Leaders", "Preferred Leaders",
+                "Out-of-Sync Replicas", "Under-Replicated", "Under Min ISR", "Offline", "Non-Preferred Leader" }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return Integer.class;
+            }
+        };
+        brokersTable = new JTable(brokersTableModel);
+        brokersTable.setAutoCreateRowSorter(true);
+        brokersTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        brokersTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showIssues();
+            }
+        });
+        JPanel brokersPanel = new JPanel(new BorderLayout());
+        brokersPanel.setBorder(BorderFactory.createTitledBorder("Brokers (выберите брокера для фильтрации партиций)"));
+        brokersPanel.add(new JScrollPane(brokersTable), BorderLayout.CENTER);
+
+        // --- Проблемные партиции ---
+        JPanel issuesPanel = new JPanel(new BorderLayout(5, 5));
+        issuesPanel.setBorder(BorderFactory.createTitledBorder("Partitions"));
+        JPanel issuesFilterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        issueTypeComboBox = new JComboBox<>();
+        issueTypeComboBox.addItem(ALL_ISSUES);
+        for (PartitionIssue.Type type : PartitionIssue.Type.values()) {
+            issueTypeComboBox.addItem(type);
+        }
+        issueTypeComboBox.addActionListener(e -> showIssues());
+        JButton clearBrokerButton = new JButton("All Brokers");
+        clearBrokerButton.addActionListener(e -> brokersTable.clearSelection());
+        issuesCountLabel = new JLabel();
+        issuesFilterPanel.add(new JLabel("Issue:"));
+        issuesFilterPanel.add(issueTypeComboBox);
+        issuesFilterPanel.add(clearBrokerButton);
+        issuesFilterPanel.add(issuesCountLabel);
+        issuesPanel.add(issuesFilterPanel, BorderLayout.NORTH);
+        issuesTableModel = new PartitionIssueTableModel();
+        JTable issuesTable = new JTable(issuesTableModel);
+        issuesTable.setAutoCreateRowSorter(true);
+        issuesPanel.add(new JScrollPane(issuesTable), BorderLayout.CENTER);
+
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT, brokersPanel, issuesPanel);
+        split.setResizeWeight(0.35);
+        add(split, BorderLayout.CENTER);
+
+        rescanTimer = new javax.swing.Timer(rescanIntervalMs, e -> {
+            if (scanWorker == null || scanWorker.isDone()) {
+                scan();
+            }
+        });
+        scanButton.addActionListener(e -> scan());
+        reassignButton.addActionListener(e -> showReassignmentPlanner());
+        electLeadersButton.addActionListener(e -> showPreferredLeaderElection());
+        autoRescanCheckBox.addActionListener(e -> {
+            if (autoRescanCheckBox.isSelected()) {
+                rescanTimer.start();
+            } else {
+                rescanTimer.stop();
+            }
+        });
+    }
+
+    /**
+     * Устанавливает AdminClient для этой панели. Вызывается из KafkaAdminPanel.
+     *
+     * @param adminClient
+     * @param clusterConfig конфигурация кластера, к которому относится adminClient
+     */
+    public void setAdminClient(AdminClient adminClient, ClusterConfig clusterConfig) {
+        if (scanWorker != null && !scanWorker.isDone()) {
+            scanWorker.cancel(true);
+        }
+        this.adminClient = adminClient;
+        this.metadataCache = TopicMetadataCache.forCluster(clusterConfig.getId());
+        report = null;
+        brokersTableModel.setRowCount(0);
+        issuesTableModel.setIssues(new ArrayList<>());
+        summaryLabel.setText("Not scanned");
+    }
+
+    /**
+     * Задает действие, выполняемое в EDT после того, как сканирование обновило кэш
+     * метаданных (чтобы другие панели показали изменения).
+     */
+    public void setMetadataRefreshListener(Runnable listener) {
+        this.metadataRefreshListener = listener;
+    }
+
+    /**
+     * Последний результат сканирования или null.
+     */
+    public PartitionHealthReport getReport() {
+        return report;
+    }
+
+    /**
+     * Сканирует партиции. При необходимости сначала обновляет кэш метаданных и догружает
+     * {@code min.insync.replicas} топиков, для которых он еще не загружен.
+     */
+    public void scan() {
+        scan(false);
+    }
+
+    private void scan(boolean forceRedescribe) {
+        if (adminClient == null || metadataCache == null) {
+            log.warn("AdminClient is null. Cannot scan partitions.");
+            return;
+        }
+        if (scanWorker != null && !scanWorker.isDone()) {
+            scanWorker.cancel(true);
+        }
+
+        scanButton.setEnabled(false);
+        summaryLabel.setText("Scanning...");
+        AdminClient client = adminClient;
+        TopicMetadataCache cache = metadataCache;
+        boolean redescribe = forceRedescribe || redescribeCheckBox.isSelected() || cache.size() == 0;
+
+        scanWorker = new SwingWorker<PartitionHealthReport, Void>() {
+            @Override
+            protected PartitionHealthReport doInBackground() throws Exception {
+                if (redescribe) {
+                    cache.invalidate(cache.topicNames());
+                    new TopicMetadataRefresher(client, cache).refresh((delta, described) -> {
+                    }, this::isCancelled);
+                }
+
+                TopicConfigStore store = cache.getConfigStore();
+                List<String> missingConfigs = store.missing(cache.topicNames());
+                if (!missingConfigs.isEmpty()) {
+                    new BatchedConfigDescriber(client).describe(missingConfigs, store::putAll, this::isCancelled);
+                }
+
+                return scanner.scan(cache.descriptions(), topic -> parseMinIsr(store.get(topic, MIN_ISR_CONFIG)));
+            }
+
+            @Override
+            protected void done() {
+                scanButton.setEnabled(true);
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    report = get();
+                    showReport();
+                    log.info("Partition health scan: {} partitions in {} ms", report.getPartitionCount(),
+                            report.getScanMillis());
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error scanning partitions: {}", cause.getMessage(), cause);
+                    summaryLabel.setText("Scan failed: " + cause.getMessage());
+                    if (!autoRescanCheckBox.isSelected()) {
+                        JOptionPane.showMessageDialog(PartitionHealthPanel.this,
+                                "Error scanning partitions: " + cause.getMessage(),
+                                "Partition Health Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                } finally {
+                    if (redescribe && metadataRefreshListener != null && cache == metadataCache) {
+                        metadataRefreshListener.run();
+                    }
+                }
+            }
+        };
+        scanWorker.execute();
+    }
+
+    /**
+     * Открывает планировщик переназначения по текущему кэшу метаданных. Кэш описывается
+     * заново, если он пуст; после отправки плана выполняется повторное сканирование.
+     */
+    private void showReassignmentPlanner() {
+        if (adminClient == null || metadataCache == null) {
+            log.warn("AdminClient is null. Cannot plan reassignment.");
+            return;
+        }
+        reassignButton.setEnabled(false);
+        AdminClient client = adminClient;
+        TopicMetadataCache cache = metadataCache;
+
+        new SwingWorker<Collection<Node>, Void>() {
+            private List<TopicDescription> topics;
+            private boolean refreshed;
+
+            @Override
+            protected Collection<Node> doInBackground() throws Exception {
+                if (cache.size() == 0) {
+                    refreshed = true;
+                    new TopicMetadataRefresher(client, cache).refresh((delta, described) -> {
+                    }, this::isCancelled);
+                }
+                topics = cache.descriptions();
+                return client.describeCluster().nodes().get();
+            }
+
+            @Override
+            protected void done() {
+                reassignButton.setEnabled(true);
+                if (refreshed && metadataRefreshListener != null && cache == metadataCache) {
+                    metadataRefreshListener.run();
+                }
+                try {
+                    Collection<Node> brokers = get();
+                    Window window = SwingUtilities.getWindowAncestor(PartitionHealthPanel.this);
+                    ReassignmentPlannerDialog dialog = new ReassignmentPlannerDialog(
+                            window instanceof Frame ? (Frame) window : null, client, topics, brokers);
+                    dialog.setVisible(true);
+                    if (dialog.isExecuted() && cache == metadataCache) {
+                        scan(true);
+                    }
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error preparing reassignment planner: {}", cause.getMessage(), cause);
+                    JOptionPane.showMessageDialog(PartitionHealthPanel.this,
+                            "Error loading cluster metadata: " + cause.getMessage(),
+                            "Reassignment Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Находит по кэшу метаданных партиции с непредпочтительным лидером и открывает диалог
+     * выборов. После выборов выполняется повторное сканирование.
+     */
+    private void showPreferredLeaderElection() {
+        if (adminClient == null || metadataCache == null) {
+            log.warn("AdminClient is null. Cannot elect leaders.");
+            return;
+        }
+        electLeadersButton.setEnabled(false);
+        AdminClient client = adminClient;
+        TopicMetadataCache cache = metadataCache;
+
+        new SwingWorker<List<PreferredLeaderElector.Candidate>, Void>() {
+            private boolean refreshed;
+
+            @Override
+            protected List<PreferredLeaderElector.Candidate> doInBackground() throws Exception {
+                if (cache.size() == 0) {
+                    refreshed = true;
+                    new TopicMetadataRefresher(client, cache).refresh((delta, described) -> {
+                    }, this::isCancelled);
+                }
+                return PreferredLeaderElector.findCandidates(cache.descriptions());
+            }
+
+            @Override
+            protected void done() {
+                electLeadersButton.setEnabled(true);
+                if (refreshed && metadataRefreshListener != null && cache == metadataCache) {
+                    metadataRefreshListener.run();
+                }
+                try {
+                    List<PreferredLeaderElector.Candidate> candidates = get();
+                    if (candidates.isEmpty()) {
+                        JOptionPane.showMessageDialog(PartitionHealthPanel.this,
+                                "All partitions are led by their preferred replica.",
+                                "Preferred Leader Election", JOptionPane.INFORMATION_MESSAGE);
+                        return;
+                    }
+                    Window window = SwingUtilities.getWindowAncestor(PartitionHealthPanel.this);
+                    PreferredLeaderElectionDialog dialog = new PreferredLeaderElectionDialog(
+                            window instanceof Frame ? (Frame) window : null, client, candidates);
+                    dialog.setVisible(true);
+                    if (dialog.isElected() && cache == metadataCache) {
+                        scan(true);
+                    }
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error preparing preferred leader election: {}", cause.getMessage(), cause);
+                    JOptionPane.showMessageDialog(PartitionHealthPanel.this,
+                            "Error loading topic metadata: " + cause.getMessage(),
+                            "Preferred Leader Election", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private static int parseMinIsr(String value) {
+        if (value == null) {
+            return PartitionHealthScanner.UNKNOWN_MIN_ISR;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return PartitionHealthScanner.UNKNOWN_MIN_ISR;
+        }
+    }
+
+    private void showReport() {
+        summaryLabel.setText(String.format("Topics: %d, partitions: %d | offline: %d, under min ISR: %d, "
+                        + "under-replicated: %d, non-preferred leader: %d | scanned in %d ms",
+                report.getTopicCount(), report.getPartitionCount(),
+                report.getCount(PartitionIssue.Type.OFFLINE),
+                report.getCount(PartitionIssue.Type.UNDER_MIN_ISR),
+                report.getCount(PartitionIssue.Type.UNDER_REPLICATED),
+                report.getCount(PartitionIssue.Type.NON_PREFERRED_LEADER),
+                report.getScanMillis()));
+
+        Integer selectedBroker = getSelectedBrokerId();
+        brokersTableModel.setRowCount(0);
+        for (PartitionHealthReport.BrokerHealth broker : report.getBrokers()) {
+            brokersTableModel.addRow(new Object[] {
+                    broker.getBrokerId(),
+                    broker.getReplicas(),
+                    broker.getLeaders(),
+                    broker.getPreferredLeaders(),
+                    broker.getOutOfSyncReplicas(),
+                    broker.getUnderReplicated(),
+                    broker.getUnderMinIsr(),
+                    broker.getOffline(),
+                    broker.getNonPreferredLeader()
+            });
+        }
+        if (selectedBroker != null) {
+            for (int row = 0; row < brokersTableModel.getRowCount(); row++) {
+                if (selectedBroker.equals(brokersTableModel.getValueAt(row, 0))) {
+                    int viewRow = brokersTable.convertRowIndexToView(row);
+                    brokersTable.setRowSelectionInterval(viewRow, viewRow);
+                    break;
+                }
+            }
+        }
+        showIssues();
+    }
+
+    private Integer getSelectedBrokerId() {
+        int viewRow = brokersTable.getSelectedRow();
+        if (viewRow == -1) {
+            return null;
+        }
+        return (Integer) brokersTableModel.getValueAt(brokersTable.convertRowIndexToModel(viewRow), 0);
+    }
+
+    /**
+     * Показывает проблемные партиции с учетом выбранного вида проблемы и брокера.
+     */
+    private void showIssues() {
+        if (report == null) {
+            issuesTableModel.setIssues(new ArrayList<>());
+            issuesCountLabel.setText("");
+            return;
+        }
+        Object selectedType = issueTypeComboBox.getSelectedItem();
+        PartitionIssue.Type type = selectedType instanceof PartitionIssue.Type ? (PartitionIssue.Type) selectedType
+                : null;
+        Integer brokerId = getSelectedBrokerId();
+
+        List<PartitionIssue> shown = new ArrayList<>();
+        for (PartitionIssue issue : report.getIssues()) {
+            if ((type == null || issue.has(type)) && (brokerId == null || issue.involves(brokerId))) {
+                shown.add(issue);
+            }
+        }
+        issuesTableModel.setIssues(shown);
+        issuesCountLabel.setText("Partitions: " + shown.size() + (brokerId != null ? " (broker " + brokerId + ")" : ""));
+    }
+}
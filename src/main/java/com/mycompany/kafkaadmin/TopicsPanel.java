@@ -1,5 +1,28 @@
 package com.mycompany.kafkaadmin;
 
+import com.mycompany.kafkaadmin.cluster.ClusterConfig;
+import com.mycompany.kafkaadmin.dialog.ArchiveImportDialog;
+import com.mycompany.kafkaadmin.dialog.ConsumerBenchmarkDialog;
+import com.mycompany.kafkaadmin.dialog.MessageBrowserDialog;
+import com.mycompany.kafkaadmin.dialog.ProducerBenchmarkDialog;
+import com.mycompany.kafkaadmin.dialog.TopicExportDialog;
+import com.mycompany.kafkaadmin.dialog.TopicManifestDialog;
+import com.mycompany.kafkaadmin.topic.BatchedConfigDescriber;
+import com.mycompany.kafkaadmin.topic.ByteSizeFormat;
+import com.mycompany.kafkaadmin.topic.ChunkedTopicDescriber;
+import com.mycompany.kafkaadmin.topic.TopicConfigFilter;
+import com.mycompany.kafkaadmin.topic.TopicConfigStore;
+import com.mycompany.kafkaadmin.topic.TopicDiskUsage;
+import com.mycompany.kafkaadmin.topic.TopicDiskUsageCollector;
+import com.mycompany.kafkaadmin.topic.TopicManifest;
+import com.mycompany.kafkaadmin.topic.TopicManifestPlanner;
+import com.mycompany.kafkaadmin.topic.TopicMetadataCache;
+import com.mycompany.kafkaadmin.topic.TopicMetadataDelta;
+import com.mycompany.kafkaadmin.topic.TopicMetadataRefresher;
+import com.mycompany.kafkaadmin.topic.TopicNameIndex;
+import com.mycompany.kafkaadmin.topic.TopicNameQuery;
+import com.mycompany.kafkaadmin.topic.TopicPlan;
+import com.mycompany.kafkaadmin.topic.TopicsTableModel;
 import org.apache.kafka.clients.admin.*;
 import org.apache.kafka.common.Node;
 import org.apache.kafka.common.TopicPartitionInfo;
@@ -10,11 +33,25 @@ import org.apache.kafka.common.resource.ResourcePattern;
 import org.apache.kafka.common.resource.ResourcePatternFilter;
 
 import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableColumn;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,15 +61,55 @@ public class TopicsPanel extends JPanel {
     private static final Logger log = LoggerFactory.getLogger(TopicsPanel.class);
 
     private AdminClient adminClient;
-    private DefaultTableModel topicsTableModel;
+    private ClusterConfig clusterConfig; // Конфигурация активного кластера
+    private Supplier<List<ClusterConfig>> savedClusters = Collections::emptyList; // Сохраненные кластеры
+    private TopicMetadataCache metadataCache; // Кэш метаданных топиков активного кластера
+    private TopicsTableModel topicsTableModel;
     private JTable topicsTable;
     private JButton refreshTopicsButton;
     private JButton createTopicButton;
     private JButton deleteTopicButton;
     private JButton alterTopicConfigsButton;
     private JButton viewPartitionsButton; // Кнопка для просмотра партиций
+    private JButton browseMessagesButton; // Кнопка для просмотра сообщений топика
+    private JButton benchmarkButton; // Кнопка нагрузочных тестов производителя и потребителя
+    private JButton archiveButton; // Выгрузка топика в файлы и загрузка из них
+    private JButton diskUsageButton; // Загрузка размеров топиков на диске
+    private JButton applyManifestButton; // Приведение топиков к манифесту
+    private JButton configColumnsButton; // Выбор колонок конфигурации
     private JTextField topicFilterField; // Поле фильтрации топиков
+    private JTextField configFilterField; // Фильтр по значениям конфигурации
+    private JComboBox<TopicNameQuery.Mode> filterModeComboBox; // Режим фильтрации
     private JLabel filterStatusLabel; // Счетчик отфильтрованных топиков
+    private JProgressBar loadProgressBar; // Прогресс потоковой загрузки топиков
+
+    // Размер порции и число одновременных запросов describeTopics
+    private final int describeChunkSize = Integer.getInteger("kafkaadmin.topics.describeChunkSize",
+            ChunkedTopicDescriber.DEFAULT_CHUNK_SIZE);
+    private final int describeMaxInFlight = Integer.getInteger("kafkaadmin.topics.describeMaxInFlight",
+            ChunkedTopicDescriber.DEFAULT_MAX_IN_FLIGHT);
+
+    private SwingWorker<Set<String>, TopicMetadataDelta> topicsLoader; // Текущая загрузка
+
+    // Параметры, предлагаемые в колонки конфигурации в первую очередь
+    private static final List<String> DEFAULT_CONFIG_COLUMNS = Arrays.asList("retention.ms", "cleanup.policy",
+            "min.insync.replicas");
+    // Размер пакета многоресурсного запроса describeConfigs
+    private final int configBatchSize = Integer.getInteger("kafkaadmin.topics.configBatchSize",
+            BatchedConfigDescriber.DEFAULT_BATCH_SIZE);
+    private SwingWorker<Void, Integer> configsLoader; // Текущая загрузка конфигураций
+
+    // Фильтрация выполняется в фоне с задержкой после последнего нажатия клавиши
+    private static final int FILTER_DEBOUNCE_MS = 150;
+    private final ExecutorService filterExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "topic-filter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private javax.swing.Timer filterDebounceTimer;
+    private Future<?> pendingFilterTask;
+    private long filterGeneration; // Изменяется только в EDT; результаты устаревших запросов отбрасываются
+    private volatile TopicNameIndex topicNameIndex; // Индекс имен, строится один раз на обновление
 
     // Панель для детальной информации/действий с топиками
     private JPanel topicDetailsPanel;
@@ -40,9 +117,6 @@ public class TopicsPanel extends JPanel {
     private DefaultTableModel partitionsTableModel; // Модель для таблицы партиций
     private JTable partitionsTable; // Таблица для партиций
 
-    // Данные для фильтрации
-    private List<Object[]> allTopicsData = new ArrayList<>(); // Храним все данные топиков
-
     public TopicsPanel() {
         setLayout(new BorderLayout(10, 10)); // Добавляем отступы между компонентами
 
@@ -56,18 +130,45 @@ public class TopicsPanel extends JPanel {
         deleteTopicButton = new JButton("Delete Topic");
         alterTopicConfigsButton = new JButton("Alter Configs");
         viewPartitionsButton = new JButton("View Partitions");
+        browseMessagesButton = new JButton("Browse Messages");
+        browseMessagesButton.setToolTipText("Просмотр сообщений выбранного топика");
+        benchmarkButton = new JButton("Benchmark");
+        benchmarkButton.setToolTipText("Нагрузочный тест производителя или потребителя на выбранном топике");
+        archiveButton = new JButton("Archive");
+        archiveButton.setToolTipText("Выгрузка сообщений выбранного топика в файлы и загрузка выгрузки в топик");
+        diskUsageButton = new JButton("Disk Usage");
+        diskUsageButton.setToolTipText("Загрузить размеры топиков на диске со всех брокеров (describeLogDirs)");
 
         buttonsPanel.add(refreshTopicsButton);
         buttonsPanel.add(createTopicButton);
         buttonsPanel.add(deleteTopicButton);
         buttonsPanel.add(alterTopicConfigsButton);
         buttonsPanel.add(viewPartitionsButton);
+        buttonsPanel.add(browseMessagesButton);
+        buttonsPanel.add(benchmarkButton);
+        buttonsPanel.add(archiveButton);
+        buttonsPanel.add(diskUsageButton);
+        applyManifestButton = new JButton("Apply Manifest...");
+        applyManifestButton.setToolTipText("Сравнить топики с JSON-манифестом и применить изменения пакетно");
+        buttonsPanel.add(applyManifestButton);
+        configColumnsButton = new JButton("Config Columns...");
+        configColumnsButton.setToolTipText("Показать параметры конфигурации всех топиков в колонках таблицы");
+        buttonsPanel.add(configColumnsButton);
+
+        loadProgressBar = new JProgressBar();
+        loadProgressBar.setStringPainted(true);
+        loadProgressBar.setVisible(false);
+        buttonsPanel.add(loadProgressBar);
 
         // Панель с фильтром
         JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         filterPanel.add(new JLabel("Фильтр топиков:"));
         topicFilterField = new JTextField(20);
-        topicFilterField.setToolTipText("Введите часть имени топика для фильтрации");
+        topicFilterField.setToolTipText("Введите часть имени топика, префикс, glob-шаблон или регулярное выражение");
+
+        filterModeComboBox = new JComboBox<>(TopicNameQuery.Mode.values());
+        filterModeComboBox.setToolTipText("Режим фильтрации");
+        filterModeComboBox.addActionListener(e -> filterTopics());
 
         // Кнопка очистки фильтра
         JButton clearFilterButton = new JButton("✕");
@@ -75,9 +176,13 @@ public class TopicsPanel extends JPanel {
         clearFilterButton.setPreferredSize(new Dimension(25, 25));
         clearFilterButton.addActionListener(e -> {
             topicFilterField.setText("");
+            configFilterField.setText("");
             filterTopics();
         });
 
+        filterDebounceTimer = new javax.swing.Timer(FILTER_DEBOUNCE_MS, e -> filterTopics());
+        filterDebounceTimer.setRepeats(false);
+
         // Счетчик отфильтрованных топиков
         filterStatusLabel = new JLabel("Всего: 0");
         filterStatusLabel.setForeground(Color.GRAY);
@@ -86,21 +191,45 @@ public class TopicsPanel extends JPanel {
         topicFilterField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
             @Override
             public void insertUpdate(javax.swing.event.DocumentEvent e) {
-                filterTopics();
+                filterDebounceTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+                filterDebounceTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) {
+                filterDebounceTimer.restart();
+            }
+        });
+
+        // Фильтр по конфигурации использует ту же задержку, что и фильтр по имени
+        configFilterField = new JTextField(16);
+        configFilterField.setToolTipText(
+                "Условия по конфигурации, например: cleanup.policy=compact && retention.ms>=604800000");
+        configFilterField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+                onConfigFilterEdited();
             }
 
             @Override
             public void removeUpdate(javax.swing.event.DocumentEvent e) {
-                filterTopics();
+                onConfigFilterEdited();
             }
 
             @Override
             public void changedUpdate(javax.swing.event.DocumentEvent e) {
-                filterTopics();
+                onConfigFilterEdited();
             }
         });
 
+        filterPanel.add(filterModeComboBox);
         filterPanel.add(topicFilterField);
+        filterPanel.add(new JLabel("Конфиг:"));
+        filterPanel.add(configFilterField);
         filterPanel.add(clearFilterButton);
         filterPanel.add(filterStatusLabel);
 
@@ -109,14 +238,29 @@ public class TopicsPanel extends JPanel {
         add(buttonPanel, BorderLayout.NORTH);
 
         // --- Таблица топиков ---
-        String[] topicColumnNames = { "Topic Name", "Partitions", "Replicas" };
-        topicsTableModel = new DefaultTableModel(topicColumnNames, 0) {
+        topicsTableModel = new TopicsTableModel();
+        topicsTable = new JTable(topicsTableModel);
+        // Размеры на диске показываем в удобочитаемом виде; сортировка идет по байтам
+        topicsTable.setDefaultRenderer(Long.class, new DefaultTableCellRenderer() {
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Запрещаем редактирование ячеек таблицы
+            protected void setValue(Object value) {
+                setHorizontalAlignment(SwingConstants.RIGHT);
+                setText(value instanceof Long ? ByteSizeFormat.format((Long) value) : "");
             }
-        };
-        topicsTable = new JTable(topicsTableModel);
+        });
+        // Сортировка выполняется самой моделью: клик - по колонке, Shift+клик - дополнительный ключ
+        topicsTable.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int viewColumn = topicsTable.columnAtPoint(e.getPoint());
+                if (viewColumn < 0 || !SwingUtilities.isLeftMouseButton(e)) {
+                    return;
+                }
+                int modelColumn = topicsTable.convertColumnIndexToModel(viewColumn);
+                topicsTableModel.toggleSortKey(modelColumn, e.isShiftDown());
+                updateSortHeaders();
+            }
+        });
         // Добавляем слушатель выбора строки, чтобы активировать кнопки
         topicsTable.getSelectionModel().addListSelectionListener(e -> updateButtonStates());
         JScrollPane topicsScrollPane = new JScrollPane(topicsTable);
@@ -159,19 +303,67 @@ public class TopicsPanel extends JPanel {
         deleteTopicButton.addActionListener(e -> deleteSelectedTopic());
         alterTopicConfigsButton.addActionListener(e -> showAlterTopicConfigsDialog());
         viewPartitionsButton.addActionListener(e -> viewSelectedTopicPartitions());
+        browseMessagesButton.addActionListener(e -> browseSelectedTopicMessages());
+        JPopupMenu benchmarkMenu = new JPopupMenu();
+        JMenuItem producerBenchmarkItem = new JMenuItem("Producer Benchmark...");
+        producerBenchmarkItem.addActionListener(e -> benchmarkSelectedTopic(true));
+        JMenuItem consumerBenchmarkItem = new JMenuItem("Consumer Benchmark...");
+        consumerBenchmarkItem.addActionListener(e -> benchmarkSelectedTopic(false));
+        benchmarkMenu.add(producerBenchmarkItem);
+        benchmarkMenu.add(consumerBenchmarkItem);
+        benchmarkButton.addActionListener(e -> benchmarkMenu.show(benchmarkButton, 0, benchmarkButton.getHeight()));
+        JPopupMenu archiveMenu = new JPopupMenu();
+        JMenuItem exportTopicItem = new JMenuItem("Export Topic...");
+        exportTopicItem.addActionListener(e -> exportSelectedTopic());
+        JMenuItem importArchiveItem = new JMenuItem("Import Archive...");
+        importArchiveItem.addActionListener(e -> importArchive());
+        archiveMenu.add(exportTopicItem);
+        archiveMenu.add(importArchiveItem);
+        archiveButton.addActionListener(e -> {
+            exportTopicItem.setEnabled(topicsTable.getSelectedRow() != -1);
+            archiveMenu.show(archiveButton, 0, archiveButton.getHeight());
+        });
+        diskUsageButton.addActionListener(e -> fetchDiskUsage());
+        applyManifestButton.addActionListener(e -> applyManifest());
+        configColumnsButton.addActionListener(e -> showConfigColumnsDialog());
 
         // Изначально кнопки управления топиками должны быть неактивны, пока топик не
         // выбран
         updateButtonStates();
     }
 
+    /**
+     * Задает источник сохраненных кластеров (для загрузки выгрузки в другой кластер).
+     */
+    public void setSavedClusters(Supplier<List<ClusterConfig>> savedClusters) {
+        this.savedClusters = savedClusters;
+    }
+
     /**
      * Устанавливает AdminClient для этой панели. Вызывается из KafkaAdminPanel.
      * 
      * @param adminClient
+     * @param clusterConfig конфигурация кластера, к которому относится adminClient
      */
-    public void setAdminClient(AdminClient adminClient) {
+    public void setAdminClient(AdminClient adminClient, ClusterConfig clusterConfig) {
+        if (topicsLoader != null && !topicsLoader.isDone()) {
+            topicsLoader.cancel(true);
+        }
+        if (configsLoader != null && !configsLoader.isDone()) {
+            configsLoader.cancel(true);
+        }
         this.adminClient = adminClient;
+        if (!Objects.equals(this.clusterConfig, clusterConfig)) {
+            this.clusterConfig = clusterConfig;
+            this.metadataCache = TopicMetadataCache.forCluster(clusterConfig.getId());
+            // Сразу показываем то, что уже известно о кластере из кэша
+            topicsTableModel.clear();
+            for (TopicDescription description : metadataCache.descriptions()) {
+                applyTopicDescription(description);
+            }
+            updateFilterStatus();
+            rebuildTopicNameIndex();
+        }
         // После установки AdminClient, можно сразу попробовать загрузить топики
         fetchTopics();
     }
@@ -185,6 +377,8 @@ public class TopicsPanel extends JPanel {
         deleteTopicButton.setEnabled(topicSelected);
         alterTopicConfigsButton.setEnabled(topicSelected);
         viewPartitionsButton.setEnabled(topicSelected);
+        browseMessagesButton.setEnabled(topicSelected);
+        benchmarkButton.setEnabled(topicSelected);
 
         // Очищаем детали топика при снятии выбора
         if (!topicSelected) {
@@ -194,37 +388,174 @@ public class TopicsPanel extends JPanel {
     }
 
     /**
-     * Фильтрует топики по введенному тексту в поле фильтрации.
+     * Показывает направление сортировки в заголовках колонок.
+     */
+    private void updateSortHeaders() {
+        for (int i = 0; i < topicsTable.getColumnCount(); i++) {
+            TableColumn column = topicsTable.getColumnModel().getColumn(i);
+            int modelColumn = column.getModelIndex();
+            String name = topicsTableModel.getColumnName(modelColumn);
+            switch (topicsTableModel.getSortOrder(modelColumn)) {
+                case ASCENDING:
+                    column.setHeaderValue(name + " ▲");
+                    break;
+                case DESCENDING:
+                    column.setHeaderValue(name + " ▼");
+                    break;
+                default:
+                    column.setHeaderValue(name);
+            }
+        }
+        topicsTable.getTableHeader().repaint();
+    }
+
+    /**
+     * Фильтрует топики по введенному тексту в поле фильтрации и по условиям на значения
+     * конфигурации. Запрос выполняется в фоновом потоке по индексу имен; предыдущий
+     * незавершенный запрос отменяется, а результат подменяет представление таблицы за
+     * одно событие.
      */
     private void filterTopics() {
-        String filterText = topicFilterField.getText().toLowerCase().trim();
+        filterDebounceTimer.stop();
+        if (pendingFilterTask != null) {
+            pendingFilterTask.cancel(true);
+        }
+        long generation = ++filterGeneration;
+
+        String filterText = topicFilterField.getText().trim();
+        TopicNameQuery query = null;
+        topicFilterField.setForeground(UIManager.getColor("TextField.foreground"));
+        if (!filterText.isEmpty()) {
+            try {
+                query = TopicNameQuery.compile((TopicNameQuery.Mode) filterModeComboBox.getSelectedItem(), filterText);
+            } catch (PatternSyntaxException ex) {
+                topicFilterField.setForeground(Color.RED); // Некорректное выражение - фильтр не меняем
+                filterStatusLabel.setText("Неверное выражение");
+                return;
+            }
+        }
 
-        // Очищаем таблицу
-        topicsTableModel.setRowCount(0);
+        String configFilterText = configFilterField.getText().trim();
+        Predicate<String> configPredicate = null;
+        configFilterField.setForeground(UIManager.getColor("TextField.foreground"));
+        if (!configFilterText.isEmpty()) {
+            try {
+                configPredicate = TopicConfigFilter.parse(configFilterText).toPredicate(currentConfigStore());
+            } catch (IllegalArgumentException ex) {
+                configFilterField.setForeground(Color.RED);
+                filterStatusLabel.setText("Неверное условие");
+                return;
+            }
+        }
 
-        // Фильтруем данные
-        int filteredCount = 0;
-        for (Object[] topicData : allTopicsData) {
-            String topicName = (String) topicData[0];
-            if (filterText.isEmpty() || topicName.toLowerCase().contains(filterText)) {
-                topicsTableModel.addRow(topicData);
-                filteredCount++;
+        if (query == null && configPredicate == null) {
+            topicsTableModel.setFilter(null);
+            updateFilterStatus();
+            updateButtonStates();
+            return;
+        }
+        Predicate<String> predicate = query == null ? configPredicate
+                : configPredicate == null ? query.toPredicate() : query.toPredicate().and(configPredicate);
+
+        // Снимок имен берется в EDT; если индекс уже построен по этой версии, он переиспользуется.
+        // Для условий по конфигурации снимок нужен всегда - по нему слоты сопоставляются с топиками
+        long version = topicsTableModel.getVersion();
+        TopicNameIndex index = topicNameIndex;
+        boolean indexUsable = index != null && index.getVersion() == version;
+        String[] snapshot = indexUsable && configPredicate == null ? null : topicsTableModel.snapshotNames();
+        TopicNameQuery nameQuery = query;
+        Predicate<String> slotPredicate = configPredicate;
+
+        pendingFilterTask = filterExecutor.submit(() -> {
+            try {
+                int[] matchingSlots = null;
+                if (nameQuery != null) {
+                    TopicNameIndex searchIndex = indexUsable ? index : TopicNameIndex.build(snapshot, version);
+                    matchingSlots = searchIndex.search(nameQuery, () -> Thread.currentThread().isInterrupted());
+                }
+                if (slotPredicate != null) {
+                    matchingSlots = selectSlots(matchingSlots, snapshot, slotPredicate);
+                }
+                int[] result = matchingSlots;
+                SwingUtilities.invokeLater(() -> {
+                    if (generation != filterGeneration) {
+                        return; // Пришел результат устаревшего запроса
+                    }
+                    topicsTableModel.setFilter(predicate, result, version);
+                    updateFilterStatus();
+                    updateButtonStates();
+                });
+            } catch (CancellationException ex) {
+                log.debug("Topic filter query cancelled: {} / {}", filterText, configFilterText);
+            } catch (RuntimeException ex) {
+                log.error("Topic filter query failed: {} / {}", filterText, configFilterText, ex);
+                SwingUtilities.invokeLater(() -> {
+                    if (generation != filterGeneration) {
+                        return;
+                    }
+                    // Представление остается прежним; возвращаем счетчик и кнопки в соответствие с ним
+                    updateFilterStatus();
+                    updateButtonStates();
+                });
+            }
+        });
+    }
+
+    /**
+     * Отбирает слоты, имена которых удовлетворяют предикату.
+     *
+     * @param candidates слоты-кандидаты по возрастанию, или null - все слоты снимка
+     * @throws CancellationException если поток фильтрации прерван
+     */
+    private static int[] selectSlots(int[] candidates, String[] names, Predicate<String> predicate) {
+        int length = candidates != null ? candidates.length : names.length;
+        int[] result = new int[length];
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if ((i & 4095) == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException();
+            }
+            int slot = candidates != null ? candidates[i] : i;
+            if (names[slot] != null && predicate.test(names[slot])) {
+                result[count++] = slot;
             }
         }
+        return Arrays.copyOf(result, count);
+    }
 
-        // Обновляем счетчик
-        if (filterText.isEmpty()) {
-            filterStatusLabel.setText("Всего: " + allTopicsData.size());
+    /**
+     * Перестраивает индекс имен в фоне по текущему содержимому модели.
+     * Вызывается один раз после завершения обновления топиков.
+     */
+    private void rebuildTopicNameIndex() {
+        long version = topicsTableModel.getVersion();
+        String[] snapshot = topicsTableModel.snapshotNames();
+        filterExecutor.submit(() -> {
+            long start = System.nanoTime();
+            topicNameIndex = TopicNameIndex.build(snapshot, version);
+            log.debug("Topic name index built for {} slots in {} ms", snapshot.length,
+                    (System.nanoTime() - start) / 1_000_000);
+        });
+    }
+
+    /**
+     * Обновляет счетчик отфильтрованных топиков.
+     */
+    private void updateFilterStatus() {
+        int total = topicsTableModel.getTotalCount();
+        if (topicFilterField.getText().trim().isEmpty() && configFilterField.getText().trim().isEmpty()) {
+            filterStatusLabel.setText("Всего: " + total);
         } else {
-            filterStatusLabel.setText("Найдено: " + filteredCount + " из " + allTopicsData.size());
+            filterStatusLabel.setText("Найдено: " + topicsTableModel.getRowCount() + " из " + total);
         }
-
-        // Обновляем состояние кнопок
-        updateButtonStates();
     }
 
     /**
      * Загружает список топиков из Kafka и отображает их в таблице.
+     * Список топиков сравнивается с кэшем метаданных: заново описываются только новые,
+     * пересозданные и устаревшие топики. Описание идет порциями, и каждая готовая порция
+     * сразу попадает в таблицу в виде дельты. Повторный вызов во время загрузки отменяет
+     * текущую загрузку и начинает новую.
      */
     public void fetchTopics() {
         if (adminClient == null) {
@@ -233,57 +564,442 @@ public class TopicsPanel extends JPanel {
             return;
         }
 
-        // Очищаем таблицу и данные перед загрузкой новых данных
-        topicsTableModel.setRowCount(0);
+        if (topicsLoader != null && !topicsLoader.isDone()) {
+            log.info("Cancelling in-progress topic load.");
+            topicsLoader.cancel(true);
+        }
+
+        // Таблицу топиков не очищаем: после загрузки модель получит только реальные изменения
         partitionsTableModel.setRowCount(0);
         topicConfigArea.setText("");
-        allTopicsData.clear(); // Очищаем данные для фильтрации
 
-        refreshTopicsButton.setEnabled(false); // Отключаем кнопку на время загрузки
+        loadProgressBar.setIndeterminate(true);
+        loadProgressBar.setString("Загрузка топиков...");
+        loadProgressBar.setVisible(true);
         statusMessage("Loading topics...", JOptionPane.INFORMATION_MESSAGE);
 
-        new SwingWorker<Map<String, TopicDescription>, Void>() {
+        AdminClient client = adminClient;
+        TopicMetadataCache cache = metadataCache;
+        topicsLoader = new SwingWorker<Set<String>, TopicMetadataDelta>() {
+            private volatile int totalToDescribe;
+            private final AtomicInteger describedTopics = new AtomicInteger();
+
             @Override
-            protected Map<String, TopicDescription> doInBackground() throws Exception {
-                // Получаем список топиков
-                Set<String> topicNames = adminClient.listTopics().names().get();
-                // Получаем подробное описание каждого топика
-                return adminClient.describeTopics(topicNames).all().get();
+            protected Set<String> doInBackground() throws Exception {
+                return new TopicMetadataRefresher(client, cache, describeChunkSize, describeMaxInFlight)
+                        .refresh(new TopicMetadataRefresher.Listener() {
+                            @Override
+                            public void onPlan(TopicMetadataCache.RefreshPlan plan) {
+                                totalToDescribe = plan.getToDescribe().size();
+                            }
+
+                            @Override
+                            public void onDelta(TopicMetadataDelta delta, int describedInChunk) {
+                                describedTopics.addAndGet(describedInChunk);
+                                publish(delta);
+                            }
+                        }, this::isCancelled);
+            }
+
+            @Override
+            protected void process(List<TopicMetadataDelta> deltas) {
+                if (isCancelled()) {
+                    return;
+                }
+                for (TopicMetadataDelta delta : deltas) {
+                    applyTopicDelta(delta);
+                }
+                int described = describedTopics.get();
+                loadProgressBar.setIndeterminate(false);
+                loadProgressBar.setMaximum(Math.max(totalToDescribe, 1));
+                loadProgressBar.setValue(described);
+                loadProgressBar.setString("Загружено: " + described + " из " + totalToDescribe);
+                updateFilterStatus();
             }
 
             @Override
             protected void done() {
+                if (isCancelled()) {
+                    log.info("Topic load cancelled.");
+                    return; // Состоянием UI управляет новая загрузка
+                }
                 try {
-                    Map<String, TopicDescription> topicDescriptions = get();
-
-                    // Сохраняем все данные для фильтрации
-                    for (TopicDescription description : topicDescriptions.values()) {
-                        String topicName = description.name();
-                        int partitions = description.partitions().size();
-                        // Коэффициент репликации - это размер списка реплик для первой партиции
-                        // (предполагаем, что он одинаков для всех партиций)
-                        int replicas = 0;
-                        if (!description.partitions().isEmpty()) {
-                            replicas = description.partitions().get(0).replicas().size();
+                    Set<String> liveNames = get();
+                    // Дельты отмененной загрузки отброшены, а описания уже в кэше и повторно не
+                    // придут - применяем кэш целиком (неизменившиеся строки событий не генерируют)
+                    for (TopicDescription description : cache.descriptions()) {
+                        if (liveNames.contains(description.name())) {
+                            applyTopicDescription(description);
                         }
-
-                        Object[] topicData = new Object[] { topicName, partitions, replicas };
-                        allTopicsData.add(topicData);
                     }
-
-                    // Применяем текущий фильтр (если есть)
-                    filterTopics();
-
+                    // Страховка: в таблице остаются только существующие топики
+                    topicsTableModel.retainTopics(liveNames);
+                    rebuildTopicNameIndex();
+                    updateFilterStatus();
+                    if (configsNeeded()) {
+                        fetchTopicConfigs(true); // Догружаем конфигурации новых топиков
+                    }
                     statusMessage("Topics loaded successfully.", JOptionPane.INFORMATION_MESSAGE);
                 } catch (InterruptedException | ExecutionException ex) {
                     Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
                     log.error("Error fetching topics: {}", cause.getMessage(), cause);
                     statusMessage("Error loading topics: " + cause.getMessage(), JOptionPane.ERROR_MESSAGE);
                 } finally {
-                    refreshTopicsButton.setEnabled(true);
+                    loadProgressBar.setVisible(false);
                     updateButtonStates(); // Обновляем состояние кнопок после загрузки
                 }
             }
+        };
+        topicsLoader.execute();
+    }
+
+    /**
+     * Приводит таблицу в соответствие с кэшем метаданных, если кэш обновлялся не этой
+     * панелью (например, сканером состояния партиций). Неизменившиеся строки не генерируют
+     * событий.
+     */
+    public void syncFromCache() {
+        if (metadataCache == null) {
+            return;
+        }
+        for (TopicDescription description : metadataCache.descriptions()) {
+            applyTopicDescription(description);
+        }
+        topicsTableModel.retainTopics(new HashSet<>(metadataCache.topicNames()));
+        rebuildTopicNameIndex();
+        updateFilterStatus();
+    }
+
+    /**
+     * Применяет дельту метаданных к модели таблицы.
+     */
+    private void applyTopicDelta(TopicMetadataDelta delta) {
+        for (String removed : delta.getRemoved()) {
+            topicsTableModel.removeTopic(removed);
+        }
+        for (TopicDescription description : delta.getAdded()) {
+            applyTopicDescription(description);
+        }
+        for (TopicDescription description : delta.getChanged()) {
+            applyTopicDescription(description);
+        }
+    }
+
+    /**
+     * Переносит описание топика в модель таблицы.
+     */
+    private void applyTopicDescription(TopicDescription description) {
+        int partitions = description.partitions().size();
+        // Коэффициент репликации - это размер списка реплик для первой партиции
+        // (предполагаем, что он одинаков для всех партиций)
+        int replicas = 0;
+        if (!description.partitions().isEmpty()) {
+            replicas = description.partitions().get(0).replicas().size();
+        }
+        topicsTableModel.upsertTopic(description.name(), partitions, replicas);
+
+        // Размеры на диске берем из последнего собранного снимка, без нового запроса
+        TopicDiskUsage diskUsage = metadataCache != null ? metadataCache.getDiskUsage() : null;
+        TopicDiskUsage.Usage usage = diskUsage != null ? diskUsage.get(description.name()) : null;
+        if (usage != null) {
+            topicsTableModel.setDiskUsage(description.name(), usage.getTotalBytes(), usage.getLeaderBytes(),
+                    usage.getLargestPartitionBytes());
+        }
+        if (metadataCache != null) {
+            topicsTableModel.setConfigValues(description.name(), metadataCache.getConfigStore());
+        }
+    }
+
+    /**
+     * Перезапускает задержку фильтра; при первом использовании фильтра по конфигурации
+     * запускает загрузку конфигураций.
+     */
+    private void onConfigFilterEdited() {
+        filterDebounceTimer.restart();
+        boolean loaderIdle = configsLoader == null || configsLoader.isDone();
+        if (loaderIdle && !configFilterField.getText().trim().isEmpty() && currentConfigStore().size() == 0) {
+            fetchTopicConfigs(true);
+        }
+    }
+
+    private TopicConfigStore currentConfigStore() {
+        return metadataCache != null ? metadataCache.getConfigStore() : new TopicConfigStore();
+    }
+
+    /**
+     * Нужны ли конфигурации топиков: показаны колонки конфигурации или задан фильтр по ним.
+     */
+    private boolean configsNeeded() {
+        return !topicsTableModel.getConfigColumns().isEmpty() || !configFilterField.getText().trim().isEmpty();
+    }
+
+    /**
+     * Показывает диалог выбора колонок конфигурации.
+     */
+    private void showConfigColumnsDialog() {
+        List<String> current = topicsTableModel.getConfigColumns();
+        Set<String> candidates = new TreeSet<>(DEFAULT_CONFIG_COLUMNS);
+        candidates.addAll(currentConfigStore().knownKeys());
+        candidates.addAll(current);
+
+        JPanel checkBoxPanel = new JPanel(new GridLayout(0, 1));
+        Map<String, JCheckBox> checkBoxes = new LinkedHashMap<>();
+        for (String key : candidates) {
+            JCheckBox checkBox = new JCheckBox(key, current.contains(key));
+            checkBoxes.put(key, checkBox);
+            checkBoxPanel.add(checkBox);
+        }
+        JScrollPane checkBoxScrollPane = new JScrollPane(checkBoxPanel);
+        checkBoxScrollPane.setPreferredSize(new Dimension(320, 300));
+
+        JTextField customKeyField = new JTextField(20);
+        JCheckBox reloadCheckBox = new JCheckBox("Обновить значения из кластера", currentConfigStore().size() == 0);
+        JPanel bottomPanel = new JPanel(new GridLayout(0, 1, 5, 5));
+        JPanel customPanel = new JPanel(new BorderLayout(5, 5));
+        customPanel.add(new JLabel("Другой параметр:"), BorderLayout.WEST);
+        customPanel.add(customKeyField, BorderLayout.CENTER);
+        bottomPanel.add(customPanel);
+        bottomPanel.add(reloadCheckBox);
+
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+        panel.add(new JLabel("Параметры конфигурации, отображаемые в таблице:"), BorderLayout.NORTH);
+        panel.add(checkBoxScrollPane, BorderLayout.CENTER);
+        panel.add(bottomPanel, BorderLayout.SOUTH);
+
+        int result = JOptionPane.showConfirmDialog(this, panel, "Config Columns", JOptionPane.OK_CANCEL_OPTION,
+                JOptionPane.PLAIN_MESSAGE);
+        if (result != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        // Уже показанные колонки сохраняют свой порядок, новые добавляются в конец
+        List<String> selected = new ArrayList<>();
+        for (String key : current) {
+            if (checkBoxes.get(key).isSelected()) {
+                selected.add(key);
+            }
+        }
+        checkBoxes.forEach((key, checkBox) -> {
+            if (checkBox.isSelected() && !selected.contains(key)) {
+                selected.add(key);
+            }
+        });
+        String customKey = customKeyField.getText().trim();
+        if (!customKey.isEmpty() && !selected.contains(customKey)) {
+            selected.add(customKey);
+        }
+
+        topicsTableModel.setConfigColumns(selected);
+        updateSortHeaders();
+        if (configsNeeded()) {
+            fetchTopicConfigs(!reloadCheckBox.isSelected());
+        }
+    }
+
+    /**
+     * Загружает конфигурации топиков многоресурсными запросами {@code describeConfigs} в фоне
+     * и переносит их в колонки таблицы. Конфигурации сохраняются в кэше кластера.
+     *
+     * @param onlyMissing true - загрузить только топики, конфигурации которых еще нет в кэше
+     */
+    private void fetchTopicConfigs(boolean onlyMissing) {
+        if (adminClient == null || metadataCache == null) {
+            return;
+        }
+        if (configsLoader != null && !configsLoader.isDone()) {
+            configsLoader.cancel(true);
+        }
+
+        AdminClient client = adminClient;
+        TopicMetadataCache cache = metadataCache;
+        TopicConfigStore store = cache.getConfigStore();
+        List<String> allNames = topicsTableModel.getAllTopicNames();
+        List<String> toDescribe = onlyMissing ? store.missing(allNames) : allNames;
+        if (toDescribe.isEmpty()) {
+            applyConfigStore(store);
+            return;
+        }
+
+        configColumnsButton.setEnabled(false);
+        statusMessage("Loading configs for " + toDescribe.size() + " topic(s)...", JOptionPane.INFORMATION_MESSAGE);
+        configsLoader = new SwingWorker<Void, Integer>() {
+            private final AtomicInteger loadedTopics = new AtomicInteger();
+
+            @Override
+            protected Void doInBackground() throws Exception {
+                new BatchedConfigDescriber(client, configBatchSize, describeMaxInFlight).describe(toDescribe,
+                        batch -> {
+                            store.putAll(batch);
+                            publish(loadedTopics.addAndGet(batch.size()));
+                        }, this::isCancelled);
+                return null;
+            }
+
+            @Override
+            protected void process(List<Integer> chunks) {
+                if (isCancelled() || (topicsLoader != null && !topicsLoader.isDone())) {
+                    return; // Индикатор занят загрузкой топиков
+                }
+                int loaded = chunks.get(chunks.size() - 1);
+                loadProgressBar.setIndeterminate(false);
+                loadProgressBar.setMaximum(toDescribe.size());
+                loadProgressBar.setValue(loaded);
+                loadProgressBar.setString("Конфигурации: " + loaded + " из " + toDescribe.size());
+                loadProgressBar.setVisible(true);
+            }
+
+            @Override
+            protected void done() {
+                configColumnsButton.setEnabled(true);
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    get();
+                    if (cache == metadataCache) {
+                        applyConfigStore(store);
+                    }
+                    statusMessage("Configs loaded for " + toDescribe.size() + " topic(s).",
+                            JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error loading topic configs: {}", cause.getMessage(), cause);
+                    JOptionPane.showMessageDialog(TopicsPanel.this,
+                            "Error loading topic configs: " + cause.getMessage(),
+                            "Topic Configs Error", JOptionPane.ERROR_MESSAGE);
+                } finally {
+                    if (topicsLoader == null || topicsLoader.isDone()) {
+                        loadProgressBar.setVisible(false);
+                    }
+                }
+            }
+        };
+        configsLoader.execute();
+    }
+
+    /**
+     * Переносит конфигурации в колонки таблицы и заново применяет фильтр по конфигурации.
+     */
+    private void applyConfigStore(TopicConfigStore store) {
+        topicsTableModel.applyConfigs(store);
+        if (!configFilterField.getText().trim().isEmpty()) {
+            filterTopics();
+        }
+    }
+
+    /**
+     * Загружает размеры топиков на диске со всех брокеров и показывает их в таблице.
+     * Результат сохраняется в кэше кластера и переиспользуется при обновлении топиков.
+     */
+    private void fetchDiskUsage() {
+        if (adminClient == null) {
+            statusMessage("Not connected to Kafka.", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        diskUsageButton.setEnabled(false);
+        statusMessage("Loading disk usage...", JOptionPane.INFORMATION_MESSAGE);
+
+        AdminClient client = adminClient;
+        TopicMetadataCache cache = metadataCache;
+        new SwingWorker<TopicDiskUsage, Void>() {
+            @Override
+            protected TopicDiskUsage doInBackground() throws Exception {
+                return new TopicDiskUsageCollector(client, cache).collect();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    TopicDiskUsage diskUsage = get();
+                    cache.setDiskUsage(diskUsage);
+                    if (cache == metadataCache) {
+                        topicsTableModel.applyDiskUsage(diskUsage);
+                    }
+                    statusMessage("Disk usage loaded from " + diskUsage.getBrokerCount() + " broker(s).",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    if (diskUsage.getFailedBrokerCount() > 0) {
+                        JOptionPane.showMessageDialog(TopicsPanel.this,
+                                diskUsage.getFailedBrokerCount() + " of " + diskUsage.getBrokerCount()
+                                        + " broker(s) did not report log dirs; sizes may be incomplete.",
+                                "Disk Usage", JOptionPane.WARNING_MESSAGE);
+                    }
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error loading disk usage: {}", cause.getMessage(), cause);
+                    JOptionPane.showMessageDialog(TopicsPanel.this,
+                            "Error loading disk usage: " + cause.getMessage(),
+                            "Disk Usage Error", JOptionPane.ERROR_MESSAGE);
+                } finally {
+                    diskUsageButton.setEnabled(true);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Загружает манифест топиков, строит план изменений и показывает его для применения.
+     */
+    private void applyManifest() {
+        if (adminClient == null) {
+            statusMessage("Not connected to Kafka.", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Open Topic Manifest");
+        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("JSON files (*.json)", "json"));
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = fileChooser.getSelectedFile();
+
+        TopicManifest manifest;
+        try {
+            manifest = TopicManifest.load(file);
+        } catch (IOException | IllegalArgumentException ex) {
+            log.error("Error reading topic manifest '{}': {}", file, ex.getMessage(), ex);
+            JOptionPane.showMessageDialog(this, "Invalid manifest:\n" + ex.getMessage(),
+                    "Manifest Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        applyManifestButton.setEnabled(false);
+        statusMessage("Planning " + manifest.getTopics().size() + " topic(s) from manifest...",
+                JOptionPane.INFORMATION_MESSAGE);
+
+        AdminClient client = adminClient;
+        TopicMetadataCache cache = metadataCache;
+        new SwingWorker<TopicPlan, Void>() {
+            @Override
+            protected TopicPlan doInBackground() throws Exception {
+                return new TopicManifestPlanner(client).plan(manifest, this::isCancelled);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    TopicPlan plan = get();
+                    Window window = SwingUtilities.getWindowAncestor(TopicsPanel.this);
+                    TopicManifestDialog dialog = new TopicManifestDialog(
+                            window instanceof Frame ? (Frame) window : null, client, plan);
+                    dialog.setVisible(true);
+                    if (dialog.isApplied() && cache == metadataCache) {
+                        // Затронутые топики нужно описать заново, даже если листинг не изменился
+                        cache.invalidate(plan.getAffectedTopics());
+                        cache.getConfigStore().removeAll(plan.getAffectedTopics());
+                        fetchTopics();
+                    }
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error planning topic manifest: {}", cause.getMessage(), cause);
+                    JOptionPane.showMessageDialog(TopicsPanel.this,
+                            "Error planning manifest: " + cause.getMessage(),
+                            "Manifest Error", JOptionPane.ERROR_MESSAGE);
+                } finally {
+                    applyManifestButton.setEnabled(true);
+                }
+            }
         }.execute();
     }
 
@@ -374,7 +1090,7 @@ public class TopicsPanel extends JPanel {
             return;
         }
 
-        String topicName = (String) topicsTableModel.getValueAt(selectedRow, 0);
+        String topicName = topicsTableModel.getTopicName(selectedRow);
         int confirm = JOptionPane.showConfirmDialog(this,
                 "Are you sure you want to delete topic '" + topicName + "'?",
                 "Confirm Delete", JOptionPane.YES_NO_OPTION);
@@ -426,7 +1142,7 @@ public class TopicsPanel extends JPanel {
             return;
         }
 
-        String topicName = (String) topicsTableModel.getValueAt(selectedRow, 0);
+        String topicName = topicsTableModel.getTopicName(selectedRow);
 
         // Сначала получаем текущие настройки топика
         statusMessage("Loading configurations for topic: " + topicName + "...", JOptionPane.INFORMATION_MESSAGE);
@@ -539,6 +1255,12 @@ public class TopicsPanel extends JPanel {
                     get();
                     statusMessage("Configurations for topic '" + topicName + "' altered successfully!",
                             JOptionPane.INFORMATION_MESSAGE);
+                    if (metadataCache != null) {
+                        metadataCache.getConfigStore().remove(topicName);
+                        if (configsNeeded()) {
+                            fetchTopicConfigs(true); // Перечитываем измененный топик в колонки
+                        }
+                    }
                     // После изменения настроек, можно обновить список топиков или хотя бы их
                     // конфиги
                     describeTopicConfigs(topicName); // Обновляем отображение настроек
@@ -603,6 +1325,86 @@ public class TopicsPanel extends JPanel {
         }.execute();
     }
 
+    /**
+     * Открывает просмотр сообщений выбранного топика. Число партиций берется из кэша метаданных.
+     */
+    private void browseSelectedTopicMessages() {
+        if (adminClient == null || clusterConfig == null) {
+            statusMessage("Not connected to Kafka.", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        int selectedRow = topicsTable.getSelectedRow();
+        if (selectedRow == -1) {
+            return;
+        }
+        String topicName = topicsTableModel.getTopicName(selectedRow);
+        TopicDescription description = metadataCache.get(topicName);
+        int partitionCount = description != null ? description.partitions().size() : 0;
+
+        Window window = SwingUtilities.getWindowAncestor(this);
+        MessageBrowserDialog dialog = new MessageBrowserDialog(window instanceof Frame ? (Frame) window : null,
+                clusterConfig, topicName, partitionCount);
+        dialog.setVisible(true);
+    }
+
+    /**
+     * Открывает нагрузочный тест производителя или потребителя для выбранного топика.
+     */
+    private void benchmarkSelectedTopic(boolean producer) {
+        if (adminClient == null || clusterConfig == null) {
+            statusMessage("Not connected to Kafka.", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        int selectedRow = topicsTable.getSelectedRow();
+        if (selectedRow == -1) {
+            return;
+        }
+        String topicName = topicsTableModel.getTopicName(selectedRow);
+        Window window = SwingUtilities.getWindowAncestor(this);
+        Frame owner = window instanceof Frame ? (Frame) window : null;
+        JDialog dialog = producer ? new ProducerBenchmarkDialog(owner, clusterConfig, topicName)
+                : new ConsumerBenchmarkDialog(owner, clusterConfig, topicName);
+        dialog.setVisible(true);
+    }
+
+    /**
+     * Открывает выгрузку выбранного топика в файлы. Число партиций берется из кэша метаданных.
+     */
+    private void exportSelectedTopic() {
+        if (adminClient == null || clusterConfig == null) {
+            statusMessage("Not connected to Kafka.", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        int selectedRow = topicsTable.getSelectedRow();
+        if (selectedRow == -1) {
+            return;
+        }
+        String topicName = topicsTableModel.getTopicName(selectedRow);
+        TopicDescription description = metadataCache.get(topicName);
+        int partitionCount = description != null ? description.partitions().size() : 0;
+
+        Window window = SwingUtilities.getWindowAncestor(this);
+        TopicExportDialog dialog = new TopicExportDialog(window instanceof Frame ? (Frame) window : null,
+                clusterConfig, topicName, partitionCount);
+        dialog.setVisible(true);
+    }
+
+    /**
+     * Открывает загрузку выгрузки; выбранный топик предлагается как топик назначения.
+     */
+    private void importArchive() {
+        if (adminClient == null || clusterConfig == null) {
+            statusMessage("Not connected to Kafka.", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        int selectedRow = topicsTable.getSelectedRow();
+        String topicName = selectedRow != -1 ? topicsTableModel.getTopicName(selectedRow) : null;
+        Window window = SwingUtilities.getWindowAncestor(this);
+        ArchiveImportDialog dialog = new ArchiveImportDialog(window instanceof Frame ? (Frame) window : null,
+                savedClusters.get(), clusterConfig, topicName);
+        dialog.setVisible(true);
+    }
+
     /**
      * Просмотр партиций выбранного топика.
      */
@@ -619,7 +1421,7 @@ public class TopicsPanel extends JPanel {
             return;
         }
 
-        String topicName = (String) topicsTableModel.getValueAt(selectedRow, 0);
+        String topicName = topicsTableModel.getTopicName(selectedRow);
         statusMessage("Loading partitions for topic: " + topicName + "...", JOptionPane.INFORMATION_MESSAGE);
         viewPartitionsButton.setEnabled(false);
         partitionsTableModel.setRowCount(0); // Очищаем таблицу партиций
@@ -0,0 +1,131 @@
+package com.mycompany.kafkaadmin.acl;
+
+import org.apache.kafka.common.acl.AclOperation;
+import org.apache.kafka.common.resource.ResourceType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Матрица доступа одного principal ко всем топикам и группам потребителей: для каждого
+ * ресурса - решения {@link AclPermissionEvaluator} по операциям, применимым к его типу.
+ */
+public class AccessMatrix {
+
+    /** Операции - колонки матрицы. */
+    public static final AclOperation[] OPERATIONS = { AclOperation.READ, AclOperation.WRITE, AclOperation.CREATE,
+            AclOperation.DELETE, AclOperation.ALTER, AclOperation.DESCRIBE, AclOperation.ALTER_CONFIGS,
+            AclOperation.DESCRIBE_CONFIGS };
+
+    private static final AclOperation[] TOPIC_OPERATIONS = OPERATIONS;
+    private static final AclOperation[] GROUP_OPERATIONS = { AclOperation.READ, AclOperation.DELETE,
+            AclOperation.DESCRIBE };
+
+    private final String principal;
+    private final List<Row> rows;
+
+    private AccessMatrix(String principal, List<Row> rows) {
+        this.principal = principal;
+        this.rows = Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * Вычисляет матрицу.
+     *
+     * @param cancelled признак отмены; при отмене бросается {@link CancellationException}
+     */
+    public static AccessMatrix compute(AclPermissionEvaluator evaluator, String principal, String host,
+            Collection<String> topics, Collection<String> groups, BooleanSupplier cancelled) {
+        List<Row> rows = new ArrayList<>(topics.size() + groups.size());
+        addRows(rows, evaluator, principal, host, ResourceType.TOPIC, TOPIC_OPERATIONS, topics, cancelled);
+        addRows(rows, evaluator, principal, host, ResourceType.GROUP, GROUP_OPERATIONS, groups, cancelled);
+        return new AccessMatrix(principal, rows);
+    }
+
+    private static void addRows(List<Row> rows, AclPermissionEvaluator evaluator, String principal, String host,
+            ResourceType resourceType, AclOperation[] operations, Collection<String> names,
+            BooleanSupplier cancelled) {
+        for (String name : names) {
+            if (rows.size() % 1024 == 0 && cancelled.getAsBoolean()) {
+                throw new CancellationException("Access matrix cancelled");
+            }
+            AclPermissionEvaluator.Decision[] decisions = evaluator.authorize(principal, host, operations,
+                    resourceType, name);
+            // Решения раскладываются по колонкам OPERATIONS; неприменимые операции - null
+            AclPermissionEvaluator.Decision[] columns = new AclPermissionEvaluator.Decision[OPERATIONS.length];
+            for (int i = 0; i < operations.length; i++) {
+                columns[columnOf(operations[i])] = decisions[i];
+            }
+            rows.add(new Row(resourceType, name, columns));
+        }
+    }
+
+    private static int columnOf(AclOperation operation) {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            if (OPERATIONS[i] == operation) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Operation is not a matrix column: " + operation);
+    }
+
+    public String getPrincipal() {
+        return principal;
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    /** Число ресурсов, на которые разрешена хотя бы одна операция. */
+    public int countAccessible() {
+        int count = 0;
+        for (Row row : rows) {
+            if (row.isAnyAllowed()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Строка матрицы: ресурс и решения по колонкам {@link #OPERATIONS}.
+     */
+    public static final class Row {
+        private final ResourceType resourceType;
+        private final String resourceName;
+        private final AclPermissionEvaluator.Decision[] decisions;
+
+        Row(ResourceType resourceType, String resourceName, AclPermissionEvaluator.Decision[] decisions) {
+            this.resourceType = resourceType;
+            this.resourceName = resourceName;
+            this.decisions = decisions;
+        }
+
+        public ResourceType getResourceType() {
+            return resourceType;
+        }
+
+        public String getResourceName() {
+            return resourceName;
+        }
+
+        /** Решение по колонке; {@code null}, если операция неприменима к типу ресурса. */
+        public AclPermissionEvaluator.Decision getDecision(int column) {
+            return decisions[column];
+        }
+
+        public boolean isAnyAllowed() {
+            for (AclPermissionEvaluator.Decision decision : decisions) {
+                if (decision != null && decision.getResult() == AclPermissionEvaluator.Decision.Result.ALLOWED) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.mycompany.kafkaadmin.acl;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Модель таблицы матрицы доступа: ресурс и метки решений по операциям
+ * {@link AccessMatrix#OPERATIONS}.
+ */
+public class AccessMatrixTableModel extends AbstractTableModel {
+
+    private static final int FIXED_COLUMNS = 2;
+
+    private List<AccessMatrix.Row> rows = Collections.emptyList();
+
+    public void setRows(List<AccessMatrix.Row> rows) {
+        this.rows = rows;
+        fireTableDataChanged();
+    }
+
+    public AccessMatrix.Row getRow(int row) {
+        return rows.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return FIXED_COLUMNS + AccessMatrix.OPERATIONS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        switch (column) {
+            case 0:
+                return "Resource Type";
+            case 1:
+                return "Resource Name";
+            default:
+                return AccessMatrix.OPERATIONS[column - FIXED_COLUMNS].name();
+        }
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return String.class;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int column) {
+        AccessMatrix.Row row = rows.get(rowIndex);
+        switch (column) {
+            case 0:
+                return row.getResourceType().name();
+            case 1:
+                return row.getResourceName();
+            default:
+                AclPermissionEvaluator.Decision decision = row.getDecision(column - FIXED_COLUMNS);
+                return decision != null ? decision.getLabel() : "";
+        }
+    }
+}
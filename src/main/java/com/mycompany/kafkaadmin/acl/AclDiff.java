@@ -0,0 +1,175 @@
+package com.mycompany.kafkaadmin.acl;
+
+import org.apache.kafka.common.acl.AclBinding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Разность наборов ACL двух кластеров.
+ * <p>
+ * Привязки сравниваются по нормализованному ключу (principal и host без пробелов по краям,
+ * операция, тип разрешения, тип ресурса, имя ресурса, тип паттерна). Для правой стороны
+ * строится хеш-таблица с открытой адресацией из 64-битных хешей ключей и номеров привязок -
+ * без объекта-ключа на каждую привязку (такая же таблица левой стороны отбрасывает повторы);
+ * левая сторона проверяется по ней, затем правая - по отметкам совпадений. Совпадение хешей подтверждается сравнением полей.
+ * Результаты ссылаются на исходные привязки и не копируют их.
+ */
+public class AclDiff {
+
+    private static final int CANCEL_CHECK_INTERVAL = 4096;
+
+    private final List<AclBinding> onlyLeft;
+    private final List<AclBinding> onlyRight;
+    private final int common;
+
+    private AclDiff(List<AclBinding> onlyLeft, List<AclBinding> onlyRight, int common) {
+        this.onlyLeft = Collections.unmodifiableList(onlyLeft);
+        this.onlyRight = Collections.unmodifiableList(onlyRight);
+        this.common = common;
+    }
+
+    /**
+     * Вычисляет разность.
+     *
+     * @param cancelled признак отмены; при отмене бросается {@link CancellationException}
+     */
+    public static AclDiff compute(List<AclBinding> left, List<AclBinding> right, BooleanSupplier cancelled) {
+        KeyTable leftKeys = new KeyTable(left, cancelled);
+        KeyTable rightKeys = new KeyTable(right, cancelled);
+        boolean[] matchedRight = new boolean[right.size()];
+        List<AclBinding> onlyLeft = new ArrayList<>();
+        int common = 0;
+        for (int i = 0; i < left.size(); i++) {
+            checkCancelled(i, cancelled);
+            if (leftKeys.canonical[i] != i) {
+                continue; // Повтор ключа на левой стороне
+            }
+            AclBinding acl = left.get(i);
+            int match = rightKeys.find(acl);
+            if (match < 0) {
+                onlyLeft.add(acl);
+            } else {
+                matchedRight[match] = true;
+                common++;
+            }
+        }
+        List<AclBinding> onlyRight = new ArrayList<>();
+        for (int i = 0; i < right.size(); i++) {
+            checkCancelled(i, cancelled);
+            // Повторы ключа на правой стороне представлены первой привязкой
+            if (rightKeys.canonical[i] == i && !matchedRight[i]) {
+                onlyRight.add(right.get(i));
+            }
+        }
+        return new AclDiff(onlyLeft, onlyRight, common);
+    }
+
+    /** Привязки, которые есть только слева. */
+    public List<AclBinding> getOnlyLeft() {
+        return onlyLeft;
+    }
+
+    /** Привязки, которые есть только справа. */
+    public List<AclBinding> getOnlyRight() {
+        return onlyRight;
+    }
+
+    /** Число привязок, которые есть с обеих сторон. */
+    public int getCommon() {
+        return common;
+    }
+
+    private static void checkCancelled(int iteration, BooleanSupplier cancelled) {
+        if (iteration % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+            throw new CancellationException("ACL diff cancelled");
+        }
+    }
+
+    static long keyHash(AclBinding acl) {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, acl.entry().principal().trim());
+        hash = mix(hash, acl.entry().host().trim());
+        hash = mix(hash, acl.pattern().name());
+        hash = hash * 31 + acl.entry().operation().ordinal();
+        hash = hash * 31 + acl.entry().permissionType().ordinal();
+        hash = hash * 31 + acl.pattern().resourceType().ordinal();
+        hash = hash * 31 + acl.pattern().patternType().ordinal();
+        // Финальное перемешивание, чтобы младшие биты зависели от всех полей
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return (hash ^ 0xff) * 0x100000001b3L; // Разделитель полей
+    }
+
+    static boolean sameKey(AclBinding a, AclBinding b) {
+        return a.entry().operation() == b.entry().operation()
+                && a.entry().permissionType() == b.entry().permissionType()
+                && a.pattern().resourceType() == b.pattern().resourceType()
+                && a.pattern().patternType() == b.pattern().patternType()
+                && a.pattern().name().equals(b.pattern().name())
+                && a.entry().principal().trim().equals(b.entry().principal().trim())
+                && a.entry().host().trim().equals(b.entry().host().trim());
+    }
+
+    /**
+     * Хеш-таблица с открытой адресацией: хеш ключа и номер привязки + 1 (0 - пустая ячейка).
+     */
+    static final class KeyTable {
+        private final List<AclBinding> bindings;
+        private final long[] hashes;
+        private final int[] slots;
+        private final int mask;
+        final int[] canonical; // Номер первой привязки с тем же ключом
+
+        KeyTable(List<AclBinding> bindings, BooleanSupplier cancelled) {
+            this.bindings = bindings;
+            int capacity = Integer.highestOneBit(Math.max(bindings.size() * 2, 16) - 1) << 1;
+            hashes = new long[capacity];
+            slots = new int[capacity];
+            mask = capacity - 1;
+            canonical = new int[bindings.size()];
+            for (int i = 0; i < bindings.size(); i++) {
+                checkCancelled(i, cancelled);
+                AclBinding acl = bindings.get(i);
+                long hash = keyHash(acl);
+                int slot = (int) hash & mask;
+                canonical[i] = i;
+                while (slots[slot] != 0) {
+                    if (hashes[slot] == hash && sameKey(bindings.get(slots[slot] - 1), acl)) {
+                        canonical[i] = slots[slot] - 1;
+                        break;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                if (canonical[i] == i) {
+                    hashes[slot] = hash;
+                    slots[slot] = i + 1;
+                }
+            }
+        }
+
+        /** Номер привязки с тем же ключом или -1. */
+        int find(AclBinding acl) {
+            long hash = keyHash(acl);
+            int slot = (int) hash & mask;
+            while (slots[slot] != 0) {
+                if (hashes[slot] == hash && sameKey(bindings.get(slots[slot] - 1), acl)) {
+                    return slots[slot] - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.mycompany.kafkaadmin.acl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.kafka.common.acl.AclBinding;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Потоковая выгрузка ACL в CSV (колонки {@link AclTableModel#COLUMN_NAMES}) или JSON Lines
+ * (поля {@link AclFileReader#JSON_FIELDS}), при необходимости со сжатием gzip. Значения
+ * пишутся прямо из {@link AclBinding} в буферизованный поток без промежуточных строк; файл
+ * записывается во временный рядом и переименовывается только после успешного завершения.
+ * Оба формата читаются обратно {@link AclFileReader}.
+ */
+public final class AclExporter {
+
+    public enum Format {
+        CSV("CSV", ".csv"),
+        JSON_LINES("JSON Lines", ".jsonl");
+
+        private final String displayName;
+        private final String extension;
+
+        Format(String displayName, String extension) {
+            this.displayName = displayName;
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PROGRESS_INTERVAL = 10_000;
+
+    private AclExporter() {
+    }
+
+    /**
+     * Выгружает привязки в файл.
+     *
+     * @param progress  получает число записанных привязок (каждые {@value #PROGRESS_INTERVAL} и в конце)
+     * @param cancelled признак отмены; при отмене файл не создается и бросается
+     *                  {@link CancellationException}
+     * @return число записанных привязок
+     */
+    public static int write(Collection<AclBinding> acls, Path file, Format format, boolean gzip,
+            IntConsumer progress, BooleanSupplier cancelled) throws IOException {
+        Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+        boolean completed = false;
+        try {
+            int count;
+            try (OutputStream out = open(tmpFile, gzip);
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8),
+                            BUFFER_SIZE)) {
+                count = format == Format.CSV ? writeCsv(acls, writer, progress, cancelled)
+                        : writeJsonLines(acls, writer, progress, cancelled);
+            }
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
+            completed = true;
+            progress.accept(count);
+            return count;
+        } finally {
+            if (!completed) {
+                Files.deleteIfExists(tmpFile);
+            }
+        }
+    }
+
+    private static OutputStream open(Path file, boolean gzip) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+        return gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+    }
+
+    private static int writeCsv(Collection<AclBinding> acls, Writer writer, IntConsumer progress,
+            BooleanSupplier cancelled) throws IOException {
+        writer.write(String.join(",", AclTableModel.COLUMN_NAMES));
+        writer.write('\n');
+        int count = 0;
+        for (AclBinding acl : acls) {
+            for (int column = 0; column < AclTableModel.COLUMN_NAMES.length; column++) {
+                if (column > 0) {
+                    writer.write(',');
+                }
+                writeCsvValue(writer, AclTableModel.columnValue(acl, column));
+            }
+            writer.write('\n');
+            count = advance(count, progress, cancelled);
+        }
+        return count;
+    }
+
+    /**
+     * Значение CSV; в кавычки берутся только значения с запятыми, кавычками и переводами строк.
+     */
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static int writeJsonLines(Collection<AclBinding> acls, Writer writer, IntConsumer progress,
+            BooleanSupplier cancelled) throws IOException {
+        int count = 0;
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(writer)) {
+            json.setRootValueSeparator(null); // Строки разделяются только '\n'
+            for (AclBinding acl : acls) {
+                json.writeStartObject();
+                for (int column = 0; column < AclFileReader.JSON_FIELDS.length; column++) {
+                    json.writeStringField(AclFileReader.JSON_FIELDS[column], AclTableModel.columnValue(acl, column));
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+                count = advance(count, progress, cancelled);
+            }
+        }
+        return count;
+    }
+
+    private static int advance(int count, IntConsumer progress, BooleanSupplier cancelled) {
+        int written = count + 1;
+        if (written % PROGRESS_INTERVAL == 0) {
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException("ACL export cancelled");
+            }
+            progress.accept(written);
+        }
+        return written;
+    }
+}
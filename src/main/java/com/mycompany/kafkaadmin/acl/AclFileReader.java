@@ -0,0 +1,316 @@
+package com.mycompany.kafkaadmin.acl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.kafka.common.acl.AccessControlEntry;
+import org.apache.kafka.common.acl.AclBinding;
+import org.apache.kafka.common.acl.AclOperation;
+import org.apache.kafka.common.acl.AclPermissionType;
+import org.apache.kafka.common.resource.PatternType;
+import org.apache.kafka.common.resource.ResourcePattern;
+import org.apache.kafka.common.resource.ResourceType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Потоковое чтение файлов с ACL.
+ * <ul>
+ * <li>CSV - колонки в порядке экспорта {@link AclTableModel#COLUMN_NAMES}, строка заголовка
+ * необязательна, значения в кавычках могут содержать запятые, кавычки ({@code ""}) и
+ * переводы строк;</li>
+ * <li>JSON - массив объектов или объекты по одному на строку (JSON Lines) с полями
+ * {@link #JSON_FIELDS}; неизвестные поля пропускаются.</li>
+ * </ul>
+ * Файлы с расширением .gz распаковываются на лету.
+ * Каждая запись проверяется отдельно: ошибка в одной записи не прерывает чтение, а
+ * попадает в {@link AclImporter.Item} со статусом INVALID.
+ */
+public final class AclFileReader {
+
+    /** Имена полей JSON в порядке колонок CSV. */
+    public static final String[] JSON_FIELDS = { "principal", "host", "operation", "permissionType", "resourceType",
+            "resourceName", "patternType" };
+
+    private static final int COLUMNS = AclTableModel.COLUMN_NAMES.length;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private AclFileReader() {
+    }
+
+    /**
+     * Читает файл; формат определяется по расширению (.json, .jsonl, .ndjson) или по первому
+     * значащему символу.
+     */
+    public static List<AclImporter.Item> read(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        InputStream in = Files.newInputStream(file);
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+            try {
+                in = new GZIPInputStream(in, 64 * 1024);
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            reader.mark(1);
+            if (reader.read() != '\uFEFF') {
+                reader.reset(); // Пропускаем только BOM
+            }
+            boolean json = name.endsWith(".json") || name.endsWith(".jsonl") || name.endsWith(".ndjson");
+            if (!json && !name.endsWith(".csv")) {
+                reader.mark(4096);
+                int c;
+                do {
+                    c = reader.read();
+                } while (c >= 0 && Character.isWhitespace(c));
+                json = c == '[' || c == '{';
+                reader.reset();
+            }
+            return json ? readJson(reader) : readCsv(reader);
+        }
+    }
+
+    private static List<AclImporter.Item> readCsv(Reader reader) throws IOException {
+        List<AclImporter.Item> items = new ArrayList<>();
+        CsvRecordReader records = new CsvRecordReader(reader);
+        List<String> record;
+        boolean first = true;
+        while ((record = records.next()) != null) {
+            int line = records.getRecordLine();
+            if (first) {
+                first = false;
+                if (isHeader(record)) {
+                    continue;
+                }
+            }
+            if (record.size() == 1 && record.get(0).trim().isEmpty()) {
+                continue; // Пустая строка
+            }
+            String[] values = new String[COLUMNS];
+            for (int i = 0; i < COLUMNS && i < record.size(); i++) {
+                values[i] = record.get(i);
+            }
+            if (record.size() != COLUMNS) {
+                items.add(AclImporter.Item.invalid(line, values,
+                        "Expected " + COLUMNS + " columns, found " + record.size()));
+            } else {
+                items.add(toItem(line, values));
+            }
+        }
+        return items;
+    }
+
+    private static boolean isHeader(List<String> record) {
+        if (record.size() != COLUMNS) {
+            return false;
+        }
+        for (int i = 0; i < COLUMNS; i++) {
+            if (!record.get(i).trim().equalsIgnoreCase(AclTableModel.COLUMN_NAMES[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<AclImporter.Item> readJson(Reader reader) throws IOException {
+        List<AclImporter.Item> items = new ArrayList<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(reader)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                int line = parser.currentTokenLocation().getLineNr();
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException("Expected a JSON object at line " + line + ", found " + token);
+                }
+                items.add(toItem(line, readObject(parser)));
+                token = parser.nextToken();
+            }
+        }
+        return items;
+    }
+
+    private static String[] readObject(JsonParser parser) throws IOException {
+        String[] values = new String[COLUMNS];
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            int column = fieldColumn(field);
+            if (column < 0 || value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+            } else if (value != JsonToken.VALUE_NULL) {
+                values[column] = parser.getText();
+            }
+        }
+        return values;
+    }
+
+    private static int fieldColumn(String field) {
+        for (int i = 0; i < JSON_FIELDS.length; i++) {
+            if (JSON_FIELDS[i].equals(field)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static AclImporter.Item toItem(int line, String[] values) {
+        try {
+            return AclImporter.Item.valid(line, values, toBinding(values));
+        } catch (IllegalArgumentException e) {
+            return AclImporter.Item.invalid(line, values, e.getMessage());
+        }
+    }
+
+    /**
+     * Проверяет значения колонок и собирает привязку.
+     *
+     * @throws IllegalArgumentException с описанием первой ошибки
+     */
+    static AclBinding toBinding(String[] values) {
+        String principal = required(values[0], "Principal");
+        if (principal.indexOf(':') <= 0) {
+            throw new IllegalArgumentException("Principal must be in the form Type:name, e.g. User:alice");
+        }
+        String host = values[1] == null || values[1].trim().isEmpty() ? "*" : values[1].trim();
+        AclOperation operation = parseEnum(AclOperation.class, values[2], "Operation");
+        AclPermissionType permissionType = parseEnum(AclPermissionType.class, values[3], "Permission Type");
+        ResourceType resourceType = parseEnum(ResourceType.class, values[4], "Resource Type");
+        String resourceName = required(values[5], "Resource Name");
+        PatternType patternType = parseEnum(PatternType.class, values[6], "Pattern Type");
+
+        if (operation == AclOperation.ANY) {
+            throw new IllegalArgumentException("Operation ANY is only valid in filters");
+        }
+        if (permissionType == AclPermissionType.ANY) {
+            throw new IllegalArgumentException("Permission Type ANY is only valid in filters");
+        }
+        if (resourceType == ResourceType.ANY) {
+            throw new IllegalArgumentException("Resource Type ANY is only valid in filters");
+        }
+        if (patternType != PatternType.LITERAL && patternType != PatternType.PREFIXED) {
+            throw new IllegalArgumentException("Pattern Type must be LITERAL or PREFIXED");
+        }
+        return new AclBinding(new ResourcePattern(resourceType, resourceName, patternType),
+                new AccessControlEntry(principal, host, operation, permissionType));
+    }
+
+    private static String required(String value, String column) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        return value.trim();
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String column) {
+        String text = required(value, column).toUpperCase(Locale.ROOT);
+        E parsed;
+        try {
+            parsed = Enum.valueOf(type, text);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value.trim());
+        }
+        if ("UNKNOWN".equals(parsed.name())) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value.trim());
+        }
+        return parsed;
+    }
+
+    /**
+     * Разбор CSV по RFC 4180 без загрузки файла целиком.
+     */
+    private static final class CsvRecordReader {
+        private final Reader reader;
+        private int line = 1;
+        private int recordLine;
+        private int pushback = -1;
+
+        CsvRecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        int getRecordLine() {
+            return recordLine;
+        }
+
+        private int read() throws IOException {
+            if (pushback >= 0) {
+                int c = pushback;
+                pushback = -1;
+                return c;
+            }
+            return reader.read();
+        }
+
+        /**
+         * @return значения следующей записи или null в конце файла
+         */
+        List<String> next() throws IOException {
+            int c = read();
+            if (c < 0) {
+                return null;
+            }
+            recordLine = line;
+            List<String> values = new ArrayList<>(COLUMNS);
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (c < 0) {
+                    values.add(value.toString());
+                    return values;
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        int nextChar = read();
+                        if (nextChar == '"') {
+                            value.append('"');
+                        } else {
+                            quoted = false;
+                            c = nextChar;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        value.append((char) c);
+                    }
+                } else if (c == '"' && value.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else if (c == '\r' || c == '\n') {
+                    if (c == '\r') {
+                        int nextChar = read();
+                        if (nextChar != '\n') {
+                            pushback = nextChar;
+                        }
+                    }
+                    line++;
+                    values.add(value.toString());
+                    return values;
+                } else {
+                    value.append((char) c);
+                }
+                c = read();
+            }
+        }
+    }
+}
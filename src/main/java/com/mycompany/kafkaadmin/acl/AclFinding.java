@@ -0,0 +1,72 @@
+package com.mycompany.kafkaadmin.acl;
+
+import org.apache.kafka.common.acl.AclBinding;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Лишняя привязка, найденная {@link AclHygieneAnalyzer}.
+ */
+public class AclFinding {
+
+    /**
+     * Вид проблемы привязки.
+     */
+    public enum Type {
+        ORPHANED("Orphaned"),
+        DUPLICATE("Duplicate"),
+        SHADOWED("Shadowed");
+
+        private final String title;
+
+        Type(String title) {
+            this.title = title;
+        }
+
+        int bit() {
+            return 1 << ordinal();
+        }
+
+        @Override
+        public String toString() {
+            return title;
+        }
+    }
+
+    private final AclBinding binding;
+    private final int types; // Битовая маска Type
+    private final AclBinding related; // Оригинал повтора или перекрывающая привязка
+
+    AclFinding(AclBinding binding, int types, AclBinding related) {
+        this.binding = binding;
+        this.types = types;
+        this.related = related;
+    }
+
+    public AclBinding getBinding() {
+        return binding;
+    }
+
+    public boolean has(Type type) {
+        return (types & type.bit()) != 0;
+    }
+
+    public Set<Type> getTypes() {
+        Set<Type> result = EnumSet.noneOf(Type.class);
+        for (Type type : Type.values()) {
+            if (has(type)) {
+                result.add(type);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Для {@link Type#DUPLICATE} - привязка, которая остается, для {@link Type#SHADOWED} -
+     * привязка, которая перекрывает эту; иначе {@code null}.
+     */
+    public AclBinding getRelated() {
+        return related;
+    }
+}
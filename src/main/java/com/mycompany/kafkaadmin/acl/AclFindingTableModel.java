@@ -0,0 +1,105 @@
+package com.mycompany.kafkaadmin.acl;
+
+import org.apache.kafka.common.acl.AclBinding;
+import org.apache.kafka.common.resource.PatternType;
+import org.apache.kafka.common.resource.ResourceType;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Модель таблицы лишних ACL: поля привязки, виды проблем и пояснение. Хранит ссылки на
+ * {@link AclFinding}; пояснения форматируются только для видимых ячеек.
+ */
+public class AclFindingTableModel extends AbstractTableModel {
+
+    private static final int COL_ISSUES = AclTableModel.COLUMN_NAMES.length;
+
+    private List<AclFinding> findings = Collections.emptyList();
+
+    /**
+     * Заменяет содержимое таблицы. Список не копируется и не должен изменяться после вызова.
+     */
+    public void setFindings(List<AclFinding> findings) {
+        this.findings = findings;
+        fireTableDataChanged();
+    }
+
+    public List<AclFinding> getFindings() {
+        return findings;
+    }
+
+    public AclFinding getFinding(int row) {
+        return findings.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return findings.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COL_ISSUES + 2;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        if (column == COL_ISSUES) {
+            return "Issues";
+        }
+        if (column == COL_ISSUES + 1) {
+            return "Details";
+        }
+        return AclTableModel.COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return String.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        AclFinding finding = findings.get(row);
+        if (column == COL_ISSUES) {
+            StringJoiner types = new StringJoiner(", ");
+            for (AclFinding.Type type : finding.getTypes()) {
+                types.add(type.toString());
+            }
+            return types.toString();
+        }
+        if (column == COL_ISSUES + 1) {
+            return details(finding);
+        }
+        return AclTableModel.columnValue(finding.getBinding(), column);
+    }
+
+    private static String details(AclFinding finding) {
+        StringJoiner details = new StringJoiner("; ");
+        if (finding.has(AclFinding.Type.ORPHANED)) {
+            AclBinding acl = finding.getBinding();
+            String resource = acl.pattern().resourceType() == ResourceType.TOPIC ? "topic" : "group";
+            details.add(acl.pattern().patternType() == PatternType.PREFIXED ? "no " + resource + " with this prefix"
+                    : "no such " + resource);
+        }
+        if (finding.has(AclFinding.Type.DUPLICATE)) {
+            details.add("same as " + describe(finding.getRelated()));
+        }
+        if (finding.has(AclFinding.Type.SHADOWED)) {
+            details.add("covered by " + describe(finding.getRelated()));
+        }
+        return details.toString();
+    }
+
+    /**
+     * Краткая запись привязки: {@code User:a ALLOW ALL on PREFIXED TOPIC orders- from *}.
+     */
+    public static String describe(AclBinding acl) {
+        return acl.entry().principal() + " " + acl.entry().permissionType() + " " + acl.entry().operation()
+                + " on " + acl.pattern().patternType() + " " + acl.pattern().resourceType() + " "
+                + acl.pattern().name() + " from " + acl.entry().host();
+    }
+}
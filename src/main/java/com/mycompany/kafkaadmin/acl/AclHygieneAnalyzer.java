@@ -0,0 +1,256 @@
+package com.mycompany.kafkaadmin.acl;
+
+import org.apache.kafka.common.acl.AccessControlEntry;
+import org.apache.kafka.common.acl.AclBinding;
+import org.apache.kafka.common.acl.AclOperation;
+import org.apache.kafka.common.acl.AclPermissionType;
+import org.apache.kafka.common.resource.PatternType;
+import org.apache.kafka.common.resource.ResourcePattern;
+import org.apache.kafka.common.resource.ResourceType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Поиск лишних ACL:
+ * <ul>
+ * <li><b>orphaned</b> - привязка к топику или группе, которых нет в кластере: LITERAL с
+ * отсутствующим именем или PREFIXED, под префикс которой не подходит ни один существующий
+ * ресурс. Остальные типы ресурсов не проверяются, LITERAL {@code *} не считается лишней;</li>
+ * <li><b>duplicate</b> - повтор привязки с тем же ключом (как в {@link AclDiff}); остается
+ * первая;</li>
+ * <li><b>shadowed</b> - привязка, удаление которой не меняет ни одного решения авторизатора:
+ * есть другая привязка того же типа разрешения на шаблон, покрывающий этот ({@code *},
+ * PREFIXED-префикс или тот же шаблон), для того же principal или {@code User:*}, с host
+ * {@code *} или тем же host и с той же операцией, ALL или (для ALLOW) неявно разрешающей ее.</li>
+ * </ul>
+ * PREFIXED-шаблоны разложены по префиксным деревьям: каждое существующее имя отмечает все свои
+ * префиксы за один спуск, а перекрывающие шаблоны привязки находятся спуском по ее имени.
+ * Покрытие транзитивно и не бывает взаимным, поэтому удаление всех перекрытых привязок
+ * безопасно: самая широкая из них остается.
+ */
+public final class AclHygieneAnalyzer {
+
+    /** Внутренние топики не возвращаются {@code listTopics()}, но существуют всегда. */
+    private static final Set<String> INTERNAL_TOPICS = new HashSet<>(
+            Arrays.asList("__consumer_offsets", "__transaction_state"));
+    private static final int CANCEL_CHECK_INTERVAL = 4096;
+
+    private AclHygieneAnalyzer() {
+    }
+
+    /**
+     * Анализирует привязки.
+     *
+     * @param topics    существующие топики
+     * @param groups    существующие группы потребителей
+     * @param cancelled признак отмены; при отмене бросается {@link CancellationException}
+     */
+    public static AclHygieneReport analyze(Collection<AclBinding> acls, Collection<String> topics,
+            Collection<String> groups, BooleanSupplier cancelled) {
+        long start = System.nanoTime();
+        List<AclBinding> bindings = new ArrayList<>(acls.size());
+        for (AclBinding acl : acls) {
+            PatternType patternType = acl.pattern().patternType();
+            if (patternType == PatternType.LITERAL || patternType == PatternType.PREFIXED) {
+                bindings.add(acl); // Брокер хранит только LITERAL и PREFIXED
+            }
+        }
+        int[] types = new int[bindings.size()];
+        AclBinding[] related = new AclBinding[bindings.size()];
+
+        int[] canonical = new AclDiff.KeyTable(bindings, cancelled).canonical;
+        Map<String, PrincipalPatterns> byPrincipal = new HashMap<>();
+        for (int i = 0; i < bindings.size(); i++) {
+            checkCancelled(i, cancelled);
+            AclBinding acl = bindings.get(i);
+            if (canonical[i] != i) {
+                types[i] |= AclFinding.Type.DUPLICATE.bit();
+                related[i] = bindings.get(canonical[i]);
+            } else {
+                byPrincipal.computeIfAbsent(acl.entry().principal(), key -> new PrincipalPatterns()).add(acl, i);
+            }
+        }
+
+        // Привязки проверяются по principal: его шаблоны при этом остаются в кэше процессора
+        PrincipalPatterns wildcard = byPrincipal.get(AclPermissionEvaluator.WILDCARD_PRINCIPAL);
+        int checked = 0;
+        for (PrincipalPatterns patterns : byPrincipal.values()) {
+            for (int m = 0; m < patterns.memberCount; m++) {
+                checkCancelled(checked++, cancelled);
+                int i = patterns.members[m];
+                int cover = findCovering(patterns, bindings, i);
+                if (cover < 0 && patterns != wildcard) {
+                    cover = findCovering(wildcard, bindings, i);
+                }
+                if (cover >= 0) {
+                    types[i] |= AclFinding.Type.SHADOWED.bit();
+                    related[i] = bindings.get(cover);
+                }
+            }
+        }
+
+        Set<String> liveTopics = new HashSet<>(topics);
+        liveTopics.addAll(INTERNAL_TOPICS);
+        markOrphaned(bindings, ResourceType.TOPIC, liveTopics, types, cancelled);
+        markOrphaned(bindings, ResourceType.GROUP, new HashSet<>(groups), types, cancelled);
+
+        List<AclFinding> findings = new ArrayList<>();
+        int[] counts = new int[AclFinding.Type.values().length];
+        for (int i = 0; i < bindings.size(); i++) {
+            if (types[i] == 0) {
+                continue;
+            }
+            AclFinding finding = new AclFinding(bindings.get(i), types[i], related[i]);
+            for (AclFinding.Type type : AclFinding.Type.values()) {
+                if (finding.has(type)) {
+                    counts[type.ordinal()]++;
+                }
+            }
+            findings.add(finding);
+        }
+        return new AclHygieneReport(bindings.size(), topics.size(), groups.size(), counts, findings,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Номер привязки principal, перекрывающей привязку {@code index}, или -1.
+     */
+    private static int findCovering(PrincipalPatterns patterns, List<AclBinding> bindings, int index) {
+        if (patterns == null) {
+            return -1;
+        }
+        ResourcePattern pattern = bindings.get(index).pattern();
+        String name = pattern.name();
+        boolean literal = pattern.patternType() == PatternType.LITERAL;
+        boolean wildcardName = literal && ResourcePattern.WILDCARD_RESOURCE.equals(name);
+
+        Map<String, List<Integer>> literals = patterns.literal.get(pattern.resourceType());
+        if (literals != null) {
+            int found = firstCovering(literals.get(ResourcePattern.WILDCARD_RESOURCE), bindings, index);
+            if (found < 0 && literal && !wildcardName) {
+                found = firstCovering(literals.get(name), bindings, index);
+            }
+            if (found >= 0) {
+                return found;
+            }
+        }
+        PrefixTrie<List<Integer>> prefixed = patterns.prefixed.get(pattern.resourceType());
+        if (prefixed == null || wildcardName) {
+            return -1; // PREFIXED не покрывает LITERAL *: та относится ко всем ресурсам
+        }
+        int[] found = { -1 };
+        prefixed.forEachPrefixOf(name, candidates -> {
+            if (found[0] < 0) {
+                found[0] = firstCovering(candidates, bindings, index);
+            }
+        });
+        return found[0];
+    }
+
+    private static int firstCovering(List<Integer> candidates, List<AclBinding> bindings, int index) {
+        if (candidates == null) {
+            return -1;
+        }
+        AccessControlEntry entry = bindings.get(index).entry();
+        for (int candidate : candidates) {
+            if (candidate != index && covers(bindings.get(candidate).entry(), entry)) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Покрывает ли запись {@code wide} запись {@code narrow} (principal и шаблон уже подходят).
+     */
+    private static boolean covers(AccessControlEntry wide, AccessControlEntry narrow) {
+        if (wide.permissionType() != narrow.permissionType()) {
+            return false;
+        }
+        if (!wide.host().equals(AclPermissionEvaluator.WILDCARD_HOST) && !wide.host().equals(narrow.host())) {
+            return false;
+        }
+        if (wide.permissionType() == AclPermissionType.DENY) {
+            // DENY не распространяется на неявно разрешаемые операции
+            return wide.operation() == AclOperation.ALL || wide.operation() == narrow.operation();
+        }
+        return AclPermissionEvaluator.allowImplies(wide.operation(), narrow.operation());
+    }
+
+    /**
+     * Отмечает привязки типа {@code resourceType}, которые не относятся ни к одному ресурсу
+     * из {@code live}.
+     */
+    private static void markOrphaned(List<AclBinding> bindings, ResourceType resourceType, Set<String> live,
+            int[] types, BooleanSupplier cancelled) {
+        // Признак "есть ресурс с таким префиксом" для каждого PREFIXED-шаблона
+        PrefixTrie<boolean[]> prefixes = new PrefixTrie<>();
+        for (AclBinding acl : bindings) {
+            if (acl.pattern().resourceType() == resourceType && acl.pattern().patternType() == PatternType.PREFIXED) {
+                prefixes.computeIfAbsent(acl.pattern().name(), () -> new boolean[1]);
+            }
+        }
+        if (prefixes.size() > 0) {
+            int checked = 0;
+            for (String name : live) {
+                checkCancelled(checked++, cancelled);
+                prefixes.forEachPrefixOf(name, used -> used[0] = true);
+            }
+        }
+        for (int i = 0; i < bindings.size(); i++) {
+            ResourcePattern pattern = bindings.get(i).pattern();
+            if (pattern.resourceType() != resourceType) {
+                continue;
+            }
+            boolean orphaned = pattern.patternType() == PatternType.LITERAL
+                    ? !ResourcePattern.WILDCARD_RESOURCE.equals(pattern.name()) && !live.contains(pattern.name())
+                    : !prefixes.get(pattern.name())[0];
+            if (orphaned) {
+                types[i] |= AclFinding.Type.ORPHANED.bit();
+            }
+        }
+    }
+
+    private static void checkCancelled(int iteration, BooleanSupplier cancelled) {
+        if (iteration % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+            throw new CancellationException("ACL analysis cancelled");
+        }
+    }
+
+    /**
+     * Привязки одного principal по типам ресурса: LITERAL по имени, PREFIXED в префиксном дереве.
+     */
+    private static final class PrincipalPatterns {
+        private final Map<ResourceType, Map<String, List<Integer>>> literal = new EnumMap<>(ResourceType.class);
+        private final Map<ResourceType, PrefixTrie<List<Integer>>> prefixed = new EnumMap<>(ResourceType.class);
+        private int[] members = new int[4]; // Номера привязок principal
+        private int memberCount;
+
+        void add(AclBinding acl, int index) {
+            if (memberCount == members.length) {
+                members = Arrays.copyOf(members, memberCount * 2);
+            }
+            members[memberCount++] = index;
+            ResourcePattern pattern = acl.pattern();
+            List<Integer> indexes;
+            if (pattern.patternType() == PatternType.LITERAL) {
+                indexes = literal.computeIfAbsent(pattern.resourceType(), type -> new HashMap<>())
+                        .computeIfAbsent(pattern.name(), name -> new ArrayList<>(2));
+            } else {
+                indexes = prefixed.computeIfAbsent(pattern.resourceType(), type -> new PrefixTrie<>())
+                        .computeIfAbsent(pattern.name(), () -> new ArrayList<>(2));
+            }
+            indexes.add(index);
+        }
+    }
+}
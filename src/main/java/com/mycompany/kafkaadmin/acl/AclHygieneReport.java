@@ -0,0 +1,54 @@
+package com.mycompany.kafkaadmin.acl;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Результат анализа ACL: что проверялось и список лишних привязок.
+ */
+public class AclHygieneReport {
+
+    private final int aclCount;
+    private final int topicCount;
+    private final int groupCount;
+    private final int[] findingCounts; // По Type.ordinal()
+    private final List<AclFinding> findings;
+    private final long analysisMillis;
+
+    AclHygieneReport(int aclCount, int topicCount, int groupCount, int[] findingCounts, List<AclFinding> findings,
+            long analysisMillis) {
+        this.aclCount = aclCount;
+        this.topicCount = topicCount;
+        this.groupCount = groupCount;
+        this.findingCounts = findingCounts;
+        this.findings = Collections.unmodifiableList(findings);
+        this.analysisMillis = analysisMillis;
+    }
+
+    /** Число проверенных привязок. */
+    public int getAclCount() {
+        return aclCount;
+    }
+
+    public int getTopicCount() {
+        return topicCount;
+    }
+
+    public int getGroupCount() {
+        return groupCount;
+    }
+
+    public int getCount(AclFinding.Type type) {
+        return findingCounts[type.ordinal()];
+    }
+
+    /** Лишние привязки в порядке исходного списка. */
+    public List<AclFinding> getFindings() {
+        return findings;
+    }
+
+    /** Время анализа (без загрузки), мс. */
+    public long getAnalysisMillis() {
+        return analysisMillis;
+    }
+}
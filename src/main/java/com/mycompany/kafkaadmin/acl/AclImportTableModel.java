@@ -0,0 +1,77 @@
+package com.mycompany.kafkaadmin.acl;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Модель таблицы импорта ACL: строки файла и статус создания каждой привязки. Статусы
+ * меняются в фоне; таблица перечитывает их по {@link #refreshStatuses()}.
+ */
+public class AclImportTableModel extends AbstractTableModel {
+
+    private static final int FIXED_COLUMNS = 1;
+    private static final int COL_STATUS = FIXED_COLUMNS + AclTableModel.COLUMN_NAMES.length;
+
+    private List<AclImporter.Item> items = Collections.emptyList();
+
+    public void setItems(List<AclImporter.Item> items) {
+        this.items = items;
+        fireTableDataChanged();
+    }
+
+    public List<AclImporter.Item> getItems() {
+        return items;
+    }
+
+    /** Перерисовывает колонки статуса без сброса выделения и сортировки. */
+    public void refreshStatuses() {
+        if (!items.isEmpty()) {
+            fireTableRowsUpdated(0, items.size() - 1);
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return items.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COL_STATUS + 2;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        if (column == 0) {
+            return "Line";
+        }
+        if (column == COL_STATUS) {
+            return "Status";
+        }
+        if (column == COL_STATUS + 1) {
+            return "Message";
+        }
+        return AclTableModel.COLUMN_NAMES[column - FIXED_COLUMNS];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 0 ? Integer.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        AclImporter.Item item = items.get(row);
+        if (column == 0) {
+            return item.getLine();
+        }
+        if (column == COL_STATUS) {
+            return item.getStatus().name();
+        }
+        if (column == COL_STATUS + 1) {
+            return item.getMessage();
+        }
+        return item.getValue(column - FIXED_COLUMNS);
+    }
+}
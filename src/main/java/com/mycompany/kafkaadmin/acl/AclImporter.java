@@ -0,0 +1,192 @@
+package com.mycompany.kafkaadmin.acl;
+
+import com.mycompany.kafkaadmin.cluster.BoundedBatchRunner;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.CreateAclsResult;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.acl.AclBinding;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Массовое создание ACL: отбрасывает привязки, которые уже есть в кластере или повторяются в
+ * файле, и отправляет остальные пачками {@code createAcls} с ограниченным числом
+ * одновременных запросов. Результат по каждой привязке берется из
+ * {@link CreateAclsResult#values()}.
+ */
+public class AclImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(AclImporter.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    private final AdminClient adminClient;
+    private final BoundedBatchRunner runner;
+
+    public AclImporter(AdminClient adminClient, int batchSize, int concurrency) {
+        this.adminClient = adminClient;
+        this.runner = new BoundedBatchRunner(batchSize, concurrency);
+    }
+
+    /**
+     * Помечает повторы: привязки, уже загруженные из кластера, и повторные строки файла.
+     *
+     * @param existing привязки кластера
+     * @return число привязок, которые осталось создать
+     */
+    public static int markDuplicates(List<Item> items, Collection<AclBinding> existing) {
+        Set<AclBinding> known = existing instanceof Set ? (Set<AclBinding>) existing : new HashSet<>(existing);
+        Set<AclBinding> seen = new HashSet<>();
+        int pending = 0;
+        for (Item item : items) {
+            if (item.status != Status.PENDING) {
+                continue;
+            }
+            if (known.contains(item.binding)) {
+                item.complete(Status.EXISTS, "Already exists in the cluster");
+            } else if (!seen.add(item.binding)) {
+                item.complete(Status.DUPLICATE, "Duplicate of an earlier row");
+            } else {
+                pending++;
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Создает привязки со статусом PENDING. Статусы элементов обновляются по мере ответов
+     * брокера; при отмене неотправленные элементы получают статус CANCELLED.
+     *
+     * @return число созданных привязок
+     */
+    public int run(List<Item> items, BooleanSupplier cancelled) throws InterruptedException, ExecutionException {
+        List<Item> pending = new ArrayList<>();
+        for (Item item : items) {
+            if (item.status == Status.PENDING) {
+                pending.add(item);
+            }
+        }
+        int[] submitted = { 0 }; // Пачки отправляются из этого потока
+        runner.run(pending, batch -> {
+            List<AclBinding> bindings = new ArrayList<>(batch.size());
+            for (Item item : batch) {
+                bindings.add(item.binding);
+            }
+            CreateAclsResult result = adminClient.createAcls(bindings);
+            List<KafkaFuture<Void>> itemFutures = new ArrayList<>(batch.size());
+            for (Item item : batch) {
+                itemFutures.add(result.values().get(item.binding).whenComplete((ignored, error) -> {
+                    if (error == null) {
+                        item.complete(Status.CREATED, "");
+                    } else {
+                        Throwable cause = unwrap(error);
+                        item.complete(Status.FAILED, cause.getMessage() != null ? cause.getMessage()
+                                : cause.getClass().getSimpleName());
+                    }
+                }));
+            }
+            submitted[0] += batch.size();
+            log.debug("Submitted {} of {} ACL binding(s)", submitted[0], pending.size());
+            // Пачка завершена, когда брокер ответил на все ее привязки и статусы обновлены
+            return BoundedBatchRunner.allDone(itemFutures);
+        }, (batch, ignored, error) -> { }, cancelled);
+        int created = 0;
+        for (int i = 0; i < pending.size(); i++) {
+            Item item = pending.get(i);
+            if (i >= submitted[0]) {
+                item.complete(Status.CANCELLED, "Import cancelled");
+            } else if (item.status == Status.CREATED) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    public enum Status {
+        /** Строка файла не прошла проверку. */
+        INVALID,
+        /** Привязка уже есть в кластере. */
+        EXISTS,
+        /** Повтор привязки из предыдущей строки файла. */
+        DUPLICATE,
+        /** Ожидает создания. */
+        PENDING,
+        CREATED,
+        FAILED,
+        CANCELLED
+    }
+
+    /**
+     * Строка файла: исходные значения колонок, привязка (если строка корректна) и статус.
+     * Статус меняется из потоков клиента Kafka и читается из EDT.
+     */
+    public static final class Item {
+        private final int line;
+        private final String[] values;
+        private final AclBinding binding;
+        private volatile Status status;
+        private volatile String message;
+
+        private Item(int line, String[] values, AclBinding binding, Status status, String message) {
+            this.line = line;
+            this.values = values;
+            this.binding = binding;
+            this.status = status;
+            this.message = message;
+        }
+
+        static Item valid(int line, String[] values, AclBinding binding) {
+            return new Item(line, values, binding, Status.PENDING, "");
+        }
+
+        static Item invalid(int line, String[] values, String message) {
+            return new Item(line, values, null, Status.INVALID, message);
+        }
+
+        private void complete(Status status, String message) {
+            this.message = message;
+            this.status = status;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        /** Значение колонки в порядке {@link AclTableModel#COLUMN_NAMES}; может быть null. */
+        public String getValue(int column) {
+            return values[column];
+        }
+
+        /** Привязка; {@code null} для строк со статусом INVALID. */
+        public AclBinding getBinding() {
+            return binding;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
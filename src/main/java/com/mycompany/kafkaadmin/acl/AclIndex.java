@@ -0,0 +1,365 @@
+package com.mycompany.kafkaadmin.acl;
+
+import org.apache.kafka.common.acl.AclBinding;
+import org.apache.kafka.common.acl.AclOperation;
+import org.apache.kafka.common.acl.AclPermissionType;
+import org.apache.kafka.common.resource.PatternType;
+import org.apache.kafka.common.resource.ResourceType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+
+/**
+ * Индекс загруженных ACL для быстрой фильтрации.
+ * <p>
+ * Строится один раз после загрузки и содержит:
+ * <ul>
+ * <li>битовые карты позиций привязок для каждого значения операции, типа разрешения, типа
+ * ресурса и типа паттерна;</li>
+ * <li>для principal, host и имени ресурса - словарь различных значений (их обычно намного
+ * меньше, чем привязок), списки позиций привязок по каждому значению и триграммный индекс
+ * значений.</li>
+ * </ul>
+ * Запрос сводится к пересечению битовых карт; текстовые условия проверяются только на
+ * значениях словаря, отобранных по триграммам, а регулярные выражения - по словарю, а не по
+ * каждой привязке.
+ * <p>
+ * Индекс неизменяем после построения и может использоваться из любого потока.
+ */
+public class AclIndex {
+
+    private static final AclIndex EMPTY_INDEX = build(Collections.emptyList());
+    private static final int CANCEL_CHECK_INTERVAL = 4096;
+
+    private final List<AclBinding> bindings;
+    private final BitSet[] byOperation;
+    private final BitSet[] byPermissionType;
+    private final BitSet[] byResourceType;
+    private final BitSet[] byPatternType;
+    private final FieldIndex principals;
+    private final FieldIndex hosts;
+    private final FieldIndex resourceNames;
+
+    private AclIndex(List<AclBinding> bindings) {
+        this.bindings = bindings;
+        this.byOperation = new BitSet[AclOperation.values().length];
+        this.byPermissionType = new BitSet[AclPermissionType.values().length];
+        this.byResourceType = new BitSet[ResourceType.values().length];
+        this.byPatternType = new BitSet[PatternType.values().length];
+        for (int pos = 0; pos < bindings.size(); pos++) {
+            AclBinding acl = bindings.get(pos);
+            set(byOperation, acl.entry().operation().ordinal(), pos);
+            set(byPermissionType, acl.entry().permissionType().ordinal(), pos);
+            set(byResourceType, acl.pattern().resourceType().ordinal(), pos);
+            set(byPatternType, acl.pattern().patternType().ordinal(), pos);
+        }
+        this.principals = new FieldIndex(bindings, acl -> acl.entry().principal());
+        this.hosts = new FieldIndex(bindings, acl -> acl.entry().host());
+        this.resourceNames = new FieldIndex(bindings, acl -> acl.pattern().name());
+    }
+
+    private static void set(BitSet[] bitmaps, int ordinal, int pos) {
+        if (bitmaps[ordinal] == null) {
+            bitmaps[ordinal] = new BitSet();
+        }
+        bitmaps[ordinal].set(pos);
+    }
+
+    /**
+     * Строит индекс по привязкам (порядок сохраняется).
+     */
+    public static AclIndex build(Collection<AclBinding> acls) {
+        return new AclIndex(Collections.unmodifiableList(new ArrayList<>(acls)));
+    }
+
+    /** Пустой индекс. */
+    public static AclIndex empty() {
+        return EMPTY_INDEX;
+    }
+
+    /** Все привязки в порядке построения. */
+    public List<AclBinding> getBindings() {
+        return bindings;
+    }
+
+    public int size() {
+        return bindings.size();
+    }
+
+    /**
+     * Выполняет запрос.
+     *
+     * @return подходящие привязки в порядке построения индекса
+     */
+    public List<AclBinding> search(AclQuery query) {
+        return search(query, () -> false);
+    }
+
+    /**
+     * Выполняет запрос с возможностью отмены.
+     *
+     * @param cancelled признак отмены; при отмене бросается {@link CancellationException}
+     * @return подходящие привязки в порядке построения индекса
+     */
+    public List<AclBinding> search(AclQuery query, BooleanSupplier cancelled) {
+        if (query.isEmpty()) {
+            return bindings;
+        }
+        BitSet result = null;
+        // Сначала точные условия - они дешевле и обычно сильнее сужают выборку
+        if (query.getOperation() != null) {
+            result = and(result, byOperation[query.getOperation().ordinal()]);
+        }
+        if (query.getPermissionType() != null) {
+            result = and(result, byPermissionType[query.getPermissionType().ordinal()]);
+        }
+        if (query.getResourceType() != null) {
+            result = and(result, byResourceType[query.getResourceType().ordinal()]);
+        }
+        if (query.getPatternType() != null) {
+            result = and(result, byPatternType[query.getPatternType().ordinal()]);
+        }
+        if (query.getResourceName() != null && !isEmpty(result)) {
+            result = resourceNames.filter(result, query.getResourceName(), cancelled);
+        }
+        if (query.getPrincipal() != null && !isEmpty(result)) {
+            result = principals.filter(result, query.getPrincipal(), cancelled);
+        }
+        if (query.getHost() != null && !isEmpty(result)) {
+            result = hosts.filter(result, query.getHost(), cancelled);
+        }
+        List<AclBinding> matched = new ArrayList<>(result.cardinality());
+        for (int pos = result.nextSetBit(0); pos >= 0; pos = result.nextSetBit(pos + 1)) {
+            checkCancelled(matched.size(), cancelled);
+            matched.add(bindings.get(pos));
+        }
+        return matched;
+    }
+
+    private static void checkCancelled(int iteration, BooleanSupplier cancelled) {
+        if (iteration % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+            throw new CancellationException("ACL query cancelled");
+        }
+    }
+
+    private static boolean isEmpty(BitSet bits) {
+        return bits != null && bits.isEmpty();
+    }
+
+    /**
+     * Пересечение; {@code null} в {@code result} - еще нет ни одного условия.
+     */
+    private static BitSet and(BitSet result, BitSet bits) {
+        if (bits == null) {
+            return new BitSet(); // Значение не встречается ни в одной привязке
+        }
+        if (result == null) {
+            return (BitSet) bits.clone();
+        }
+        result.and(bits);
+        return result;
+    }
+
+    /**
+     * Индекс одного текстового поля: словарь значений, позиции привязок по значениям и
+     * триграммы значений в нижнем регистре.
+     */
+    private static final class FieldIndex {
+        private static final int GRAM = 3;
+        private static final int[] NONE = new int[0];
+
+        private final Map<String, Integer> dictionary; // Значение -> номер
+        private final String[] values;
+        private final String[] lowerValues;
+        private final int[] valueIds; // Позиция привязки -> номер значения
+        private final int[][] positions; // Значение -> возрастающие позиции привязок
+        private final Map<Long, int[]> grams; // Триграмма -> возрастающие номера значений
+
+        FieldIndex(List<AclBinding> bindings, Function<AclBinding, String> field) {
+            dictionary = new HashMap<>();
+            valueIds = new int[bindings.size()];
+            List<String> valueList = new ArrayList<>();
+            for (int pos = 0; pos < bindings.size(); pos++) {
+                String value = field.apply(bindings.get(pos));
+                Integer id = dictionary.get(value);
+                if (id == null) {
+                    id = valueList.size();
+                    dictionary.put(value, id);
+                    valueList.add(value);
+                }
+                valueIds[pos] = id;
+            }
+            values = valueList.toArray(new String[0]);
+            lowerValues = new String[values.length];
+
+            // Списки позиций: подсчет, затем заполнение
+            int[] counts = new int[values.length];
+            for (int id : valueIds) {
+                counts[id]++;
+            }
+            positions = new int[values.length][];
+            for (int id = 0; id < values.length; id++) {
+                positions[id] = new int[counts[id]];
+                counts[id] = 0;
+            }
+            for (int pos = 0; pos < valueIds.length; pos++) {
+                int id = valueIds[pos];
+                positions[id][counts[id]++] = pos;
+            }
+
+            Map<Long, IntList> lists = new HashMap<>();
+            for (int id = 0; id < values.length; id++) {
+                String lower = values[id].toLowerCase(Locale.ROOT);
+                lowerValues[id] = lower;
+                for (int i = 0; i + GRAM <= lower.length(); i++) {
+                    lists.computeIfAbsent(gramKey(lower, i), key -> new IntList()).addIfLast(id);
+                }
+            }
+            grams = new HashMap<>(lists.size() * 2);
+            lists.forEach((key, list) -> grams.put(key, list.toArray()));
+        }
+
+        /**
+         * Оставляет в выборке привязки, значение поля которых удовлетворяет условию.
+         *
+         * @param result текущая выборка; {@code null} - все привязки
+         * @return новая или измененная выборка
+         */
+        BitSet filter(BitSet result, AclQuery.TextFilter filter, BooleanSupplier cancelled) {
+            BitSet matchedValues = new BitSet(values.length);
+            long matchedPositions = 0;
+            if (filter.isExact()) {
+                // Точное совпадение - одно значение словаря
+                Integer id = dictionary.get(filter.getText());
+                if (id != null) {
+                    matchedValues.set(id);
+                    matchedPositions = positions[id].length;
+                }
+            } else if (filter.isRegex()) {
+                // Регулярное выражение проверяется один раз на каждое различное значение
+                Matcher matcher = filter.getPattern().matcher("");
+                for (int id = 0; id < values.length; id++) {
+                    checkCancelled(id, cancelled);
+                    if (matcher.reset(values[id]).find()) {
+                        matchedValues.set(id);
+                        matchedPositions += positions[id].length;
+                    }
+                }
+            } else {
+                String text = filter.getText();
+                int[] candidates = candidates(filter.isCaseSensitive() ? text.toLowerCase(Locale.ROOT) : text);
+                int count = candidates != null ? candidates.length : values.length;
+                for (int i = 0; i < count; i++) {
+                    checkCancelled(i, cancelled);
+                    int id = candidates != null ? candidates[i] : i;
+                    if ((filter.isCaseSensitive() ? values[id] : lowerValues[id]).contains(text)) {
+                        matchedValues.set(id);
+                        matchedPositions += positions[id].length;
+                    }
+                }
+            }
+            if (result != null && result.cardinality() < matchedPositions) {
+                // Выборка уже меньше списков подходящих значений - проверяем ее поэлементно
+                for (int pos = result.nextSetBit(0); pos >= 0; pos = result.nextSetBit(pos + 1)) {
+                    if (!matchedValues.get(valueIds[pos])) {
+                        result.clear(pos);
+                    }
+                }
+                return result;
+            }
+            BitSet matched = new BitSet(valueIds.length);
+            for (int id = matchedValues.nextSetBit(0); id >= 0; id = matchedValues.nextSetBit(id + 1)) {
+                for (int pos : positions[id]) {
+                    matched.set(pos);
+                }
+            }
+            if (result == null) {
+                return matched;
+            }
+            result.and(matched);
+            return result;
+        }
+
+        /**
+         * Значения, содержащие все триграммы строки.
+         *
+         * @return возрастающие номера значений или null, если строка короче триграммы
+         */
+        private int[] candidates(String lowerText) {
+            if (lowerText.length() < GRAM) {
+                return null;
+            }
+            int gramCount = lowerText.length() - GRAM + 1;
+            int[][] lists = new int[gramCount][];
+            for (int i = 0; i < gramCount; i++) {
+                int[] list = grams.get(gramKey(lowerText, i));
+                if (list == null) {
+                    return NONE;
+                }
+                lists[i] = list;
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+            int[] result = lists[0];
+            for (int i = 1; i < lists.length && result.length > 0; i++) {
+                result = intersect(result, lists[i]);
+            }
+            return result;
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] result = new int[Math.min(a.length, b.length)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    result[count++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        private static long gramKey(String s, int offset) {
+            return ((long) s.charAt(offset) << 32) | ((long) s.charAt(offset + 1) << 16) | s.charAt(offset + 2);
+        }
+    }
+
+    /**
+     * Растущий список int без упаковки.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void addIfLast(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
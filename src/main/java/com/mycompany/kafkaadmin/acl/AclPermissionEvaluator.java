@@ -0,0 +1,337 @@
+package com.mycompany.kafkaadmin.acl;
+
+import org.apache.kafka.common.acl.AclBinding;
+import org.apache.kafka.common.acl.AclOperation;
+import org.apache.kafka.common.acl.AclPermissionType;
+import org.apache.kafka.common.resource.PatternType;
+import org.apache.kafka.common.resource.ResourcePattern;
+import org.apache.kafka.common.resource.ResourceType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Вычисляет эффективные права principal на ресурс по загруженным ACL так же, как это делает
+ * авторизатор брокера:
+ * <ul>
+ * <li>к ресурсу применяются LITERAL-привязки с точным именем, LITERAL-привязки с именем
+ * {@code *} и PREFIXED-привязки, префикс которых является началом имени;</li>
+ * <li>привязка относится к запросу, если ее principal совпадает с запрошенным или равен
+ * {@code User:*}, а host совпадает с запрошенным или равен {@code *};</li>
+ * <li>DENY на операцию (или ALL) запрещает доступ независимо от ALLOW;</li>
+ * <li>ALLOW на READ, WRITE, DELETE или ALTER неявно разрешает DESCRIBE, а ALLOW на
+ * ALTER_CONFIGS - DESCRIBE_CONFIGS;</li>
+ * <li>если на ресурс нет ни одной привязки, решение зависит от настройки брокера
+ * {@code allow.everyone.if.no.acl.found} (см. {@link Decision.Result#NO_ACLS}).</li>
+ * </ul>
+ * Привязки разложены по типам ресурса: LITERAL - в хеш-таблице по имени, PREFIXED - в
+ * префиксном дереве, поэтому поиск применимых привязок занимает время, пропорциональное длине
+ * имени. Внутри каждого узла привязки упорядочены по номеру principal, и для запроса
+ * просматриваются только диапазоны запрошенного principal и {@code User:*}.
+ * Суперпользователи брокера ({@code super.users}) клиенту не видны и не учитываются.
+ * <p>
+ * Экземпляр неизменяем после построения и может использоваться из любого потока.
+ */
+public class AclPermissionEvaluator {
+
+    /** Principal, к которому относятся привязки для всех пользователей. */
+    public static final String WILDCARD_PRINCIPAL = "User:*";
+    public static final String WILDCARD_HOST = "*";
+
+    // Операции ALLOW, разрешающие запрошенную операцию (помимо нее самой и ALL)
+    private static final Map<AclOperation, Set<AclOperation>> IMPLIED_BY = new HashMap<>();
+
+    static {
+        IMPLIED_BY.put(AclOperation.DESCRIBE, EnumSet.of(AclOperation.READ, AclOperation.WRITE,
+                AclOperation.DELETE, AclOperation.ALTER));
+        IMPLIED_BY.put(AclOperation.DESCRIBE_CONFIGS, EnumSet.of(AclOperation.ALTER_CONFIGS));
+    }
+
+    private final Map<String, Integer> principalIds;
+    private final List<String> principals;
+    private final ResourceTree[] trees; // По номеру ResourceType
+    private final int bindingCount;
+
+    private AclPermissionEvaluator(Collection<AclBinding> acls) {
+        principalIds = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        trees = new ResourceTree[ResourceType.values().length];
+        int count = 0;
+        for (AclBinding acl : acls) {
+            PatternType patternType = acl.pattern().patternType();
+            if (patternType != PatternType.LITERAL && patternType != PatternType.PREFIXED) {
+                continue; // Брокер хранит только LITERAL и PREFIXED
+            }
+            String principal = acl.entry().principal();
+            Integer id = principalIds.get(principal);
+            if (id == null) {
+                id = names.size();
+                principalIds.put(principal, id);
+                names.add(principal);
+            }
+            int type = acl.pattern().resourceType().ordinal();
+            if (trees[type] == null) {
+                trees[type] = new ResourceTree();
+            }
+            trees[type].add(acl, id);
+            count++;
+        }
+        for (ResourceTree tree : trees) {
+            if (tree != null) {
+                tree.seal();
+            }
+        }
+        Collections.sort(names);
+        principals = Collections.unmodifiableList(names);
+        bindingCount = count;
+    }
+
+    /**
+     * Строит вычислитель по привязкам.
+     */
+    public static AclPermissionEvaluator build(Collection<AclBinding> acls) {
+        return new AclPermissionEvaluator(acls);
+    }
+
+    /** Principal, встречающиеся в привязках, по алфавиту. */
+    public List<String> getPrincipals() {
+        return principals;
+    }
+
+    /** Число учтенных привязок. */
+    public int size() {
+        return bindingCount;
+    }
+
+    /**
+     * Вычисляет решение для одной операции.
+     *
+     * @param host адрес клиента; пустая строка или {@code null} - учитываются только привязки
+     *             с host {@code *}
+     */
+    public Decision authorize(String principal, String host, AclOperation operation, ResourceType resourceType,
+            String resourceName) {
+        return authorize(principal, host, new AclOperation[] { operation }, resourceType, resourceName)[0];
+    }
+
+    /**
+     * Вычисляет решения для нескольких операций над одним ресурсом; применимые привязки
+     * отбираются один раз.
+     *
+     * @return решения в порядке операций
+     */
+    public Decision[] authorize(String principal, String host, AclOperation[] operations,
+            ResourceType resourceType, String resourceName) {
+        List<Entries> matching = matchingEntries(resourceType, resourceName);
+        Integer principalId = principalIds.get(principal);
+        Integer wildcardId = principalIds.get(WILDCARD_PRINCIPAL);
+        int requested = principalId != null ? principalId : -1;
+        int wildcard = wildcardId != null && !WILDCARD_PRINCIPAL.equals(principal) ? wildcardId : -1;
+        String clientHost = host == null || host.trim().isEmpty() ? WILDCARD_HOST : host.trim();
+
+        Decision[] decisions = new Decision[operations.length];
+        for (int i = 0; i < operations.length; i++) {
+            decisions[i] = matching.isEmpty() ? Decision.NO_ACLS
+                    : decide(matching, requested, wildcard, clientHost, operations[i]);
+        }
+        return decisions;
+    }
+
+    /**
+     * Разрешает ли ALLOW на {@code granted} операцию {@code requested}: та же операция, ALL
+     * или неявное разрешение (READ - DESCRIBE и т.п.).
+     */
+    static boolean allowImplies(AclOperation granted, AclOperation requested) {
+        return granted == requested || granted == AclOperation.ALL
+                || IMPLIED_BY.getOrDefault(requested, Collections.emptySet()).contains(granted);
+    }
+
+    /**
+     * Узлы с привязками, применимыми к ресурсу (всех principal).
+     */
+    private List<Entries> matchingEntries(ResourceType resourceType, String resourceName) {
+        ResourceTree tree = trees[resourceType.ordinal()];
+        if (tree == null) {
+            return Collections.emptyList();
+        }
+        List<Entries> matching = new ArrayList<>(4);
+        Entries literal = tree.literal.get(resourceName);
+        if (literal != null) {
+            matching.add(literal);
+        }
+        if (!ResourcePattern.WILDCARD_RESOURCE.equals(resourceName)) {
+            Entries wildcard = tree.literal.get(ResourcePattern.WILDCARD_RESOURCE);
+            if (wildcard != null) {
+                matching.add(wildcard);
+            }
+        }
+        // Спуск по дереву префиксов: каждый пройденный узел с привязками - подходящий префикс
+        tree.prefixed.forEachPrefixOf(resourceName, matching::add);
+        return matching;
+    }
+
+    private static Decision decide(List<Entries> matching, int principalId, int wildcardId, String host,
+            AclOperation operation) {
+        Set<AclOperation> implied = IMPLIED_BY.getOrDefault(operation, Collections.emptySet());
+        AclBinding allow = null;
+        for (Entries entries : matching) {
+            for (int id : new int[] { principalId, wildcardId }) {
+                if (id < 0) {
+                    continue;
+                }
+                for (int i = entries.firstIndexOf(id); i < entries.size() && entries.principalIds[i] == id; i++) {
+                    AclBinding acl = entries.bindings[i];
+                    String aclHost = acl.entry().host();
+                    if (!aclHost.equals(WILDCARD_HOST) && !aclHost.equals(host)) {
+                        continue;
+                    }
+                    AclOperation aclOperation = acl.entry().operation();
+                    if (acl.entry().permissionType() == AclPermissionType.DENY) {
+                        if (aclOperation == operation || aclOperation == AclOperation.ALL) {
+                            return new Decision(Decision.Result.DENIED, acl); // DENY всегда сильнее
+                        }
+                    } else if (allow == null && (aclOperation == operation || aclOperation == AclOperation.ALL
+                            || implied.contains(aclOperation))) {
+                        allow = acl;
+                    }
+                }
+            }
+        }
+        return allow != null ? new Decision(Decision.Result.ALLOWED, allow) : Decision.NO_MATCHING_ALLOW;
+    }
+
+    /**
+     * Привязки одного типа ресурса: LITERAL по имени и PREFIXED в префиксном дереве.
+     */
+    private static final class ResourceTree {
+        private final Map<String, Entries> literal = new HashMap<>();
+        private final PrefixTrie<Entries> prefixed = new PrefixTrie<>();
+
+        void add(AclBinding acl, int principalId) {
+            String name = acl.pattern().name();
+            Entries entries;
+            if (acl.pattern().patternType() == PatternType.LITERAL) {
+                entries = literal.computeIfAbsent(name, key -> new Entries());
+            } else {
+                entries = prefixed.computeIfAbsent(name, Entries::new);
+            }
+            entries.add(acl, principalId);
+        }
+
+        void seal() {
+            literal.values().forEach(Entries::seal);
+            prefixed.values().forEach(Entries::seal);
+        }
+    }
+
+    /**
+     * Привязки одного шаблона ресурса, упорядоченные по номеру principal.
+     */
+    private static final class Entries {
+        private List<AclBinding> pending = new ArrayList<>(2);
+        private List<Integer> pendingIds = new ArrayList<>(2);
+        private int[] principalIds;
+        private AclBinding[] bindings;
+
+        void add(AclBinding acl, int principalId) {
+            pending.add(acl);
+            pendingIds.add(principalId);
+        }
+
+        void seal() {
+            Integer[] order = new Integer[pending.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(pendingIds.get(a), pendingIds.get(b)));
+            principalIds = new int[order.length];
+            bindings = new AclBinding[order.length];
+            for (int i = 0; i < order.length; i++) {
+                principalIds[i] = pendingIds.get(order[i]);
+                bindings[i] = pending.get(order[i]);
+            }
+            pending = null;
+            pendingIds = null;
+        }
+
+        int size() {
+            return principalIds.length;
+        }
+
+        /** Первая позиция principal (или позиция вставки). */
+        int firstIndexOf(int principalId) {
+            int low = 0;
+            int high = principalIds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (principalIds[mid] < principalId) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Решение авторизации и привязка, которая его определила.
+     */
+    public static final class Decision {
+
+        public enum Result {
+            /** Есть подходящая привязка ALLOW и нет подходящей DENY. */
+            ALLOWED,
+            /** Есть подходящая привязка DENY. */
+            DENIED,
+            /** На ресурс есть привязки, но ни одна не разрешает операцию. */
+            NO_MATCHING_ALLOW,
+            /**
+             * На ресурс нет ни одной привязки: доступ разрешен, только если у брокера включено
+             * {@code allow.everyone.if.no.acl.found}.
+             */
+            NO_ACLS
+        }
+
+        static final Decision NO_MATCHING_ALLOW = new Decision(Result.NO_MATCHING_ALLOW, null);
+        static final Decision NO_ACLS = new Decision(Result.NO_ACLS, null);
+
+        private final Result result;
+        private final AclBinding binding;
+
+        Decision(Result result, AclBinding binding) {
+            this.result = result;
+            this.binding = binding;
+        }
+
+        public Result getResult() {
+            return result;
+        }
+
+        /** Привязка, определившая решение; {@code null} для NO_MATCHING_ALLOW и NO_ACLS. */
+        public AclBinding getBinding() {
+            return binding;
+        }
+
+        /** Краткая метка для таблиц. */
+        public String getLabel() {
+            switch (result) {
+                case ALLOWED:
+                    return "ALLOW";
+                case DENIED:
+                    return "DENY";
+                case NO_ACLS:
+                    return "no ACLs";
+                default:
+                    return "-";
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.mycompany.kafkaadmin.acl;
+
+import org.apache.kafka.common.acl.AccessControlEntryFilter;
+import org.apache.kafka.common.acl.AclBinding;
+import org.apache.kafka.common.acl.AclBindingFilter;
+import org.apache.kafka.common.acl.AclOperation;
+import org.apache.kafka.common.acl.AclPermissionType;
+import org.apache.kafka.common.resource.PatternType;
+import org.apache.kafka.common.resource.ResourcePatternFilter;
+import org.apache.kafka.common.resource.ResourceType;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Скомпилированный фильтр ACL: точные значения перечислений и текстовые условия на
+ * principal, host и имя ресурса (подстрока, регулярное выражение или точное совпадение).
+ * <p>
+ * Точные условия можно передать брокеру ({@link #toBindingFilter()}), чтобы он вернул только
+ * подходящие привязки; подстроки и регулярные выражения проверяются только на клиенте.
+ * <p>
+ * {@code null} в любом условии означает "любое значение". Экземпляр неизменяем.
+ */
+public final class AclQuery {
+
+    private final TextFilter principal;
+    private final TextFilter host;
+    private final TextFilter resourceName;
+    private final AclOperation operation;
+    private final AclPermissionType permissionType;
+    private final ResourceType resourceType;
+    private final PatternType patternType;
+
+    private AclQuery(TextFilter principal, TextFilter host, TextFilter resourceName, AclOperation operation,
+            AclPermissionType permissionType, ResourceType resourceType, PatternType patternType) {
+        this.principal = principal;
+        this.host = host;
+        this.resourceName = resourceName;
+        this.operation = operation;
+        this.permissionType = permissionType;
+        this.resourceType = resourceType;
+        this.patternType = patternType;
+    }
+
+    /**
+     * Компилирует фильтр. Пустые строки не ограничивают выборку.
+     *
+     * @throws PatternSyntaxException если включены регулярные выражения и одно из них некорректно
+     */
+    public static AclQuery compile(String principal, String host, String resourceName, AclOperation operation,
+            AclPermissionType permissionType, ResourceType resourceType, PatternType patternType,
+            boolean caseSensitive, boolean regex) {
+        return compile(principal, host, resourceName, operation, permissionType, resourceType, patternType,
+                caseSensitive, regex, false);
+    }
+
+    /**
+     * Компилирует фильтр. При {@code exact} текстовые условия - точное совпадение с учетом
+     * регистра (как сравнивает брокер), {@code caseSensitive} и {@code regex} игнорируются.
+     *
+     * @throws PatternSyntaxException если включены регулярные выражения и одно из них некорректно
+     */
+    public static AclQuery compile(String principal, String host, String resourceName, AclOperation operation,
+            AclPermissionType permissionType, ResourceType resourceType, PatternType patternType,
+            boolean caseSensitive, boolean regex, boolean exact) {
+        return new AclQuery(TextFilter.compile(principal, caseSensitive, regex, exact),
+                TextFilter.compile(host, caseSensitive, regex, exact),
+                TextFilter.compile(resourceName, caseSensitive, regex, exact),
+                operation, permissionType, resourceType, patternType);
+    }
+
+    public TextFilter getPrincipal() {
+        return principal;
+    }
+
+    public TextFilter getHost() {
+        return host;
+    }
+
+    public TextFilter getResourceName() {
+        return resourceName;
+    }
+
+    public AclOperation getOperation() {
+        return operation;
+    }
+
+    public AclPermissionType getPermissionType() {
+        return permissionType;
+    }
+
+    public ResourceType getResourceType() {
+        return resourceType;
+    }
+
+    public PatternType getPatternType() {
+        return patternType;
+    }
+
+    /** Фильтр не задает ни одного условия. */
+    public boolean isEmpty() {
+        return principal == null && host == null && resourceName == null && operation == null
+                && permissionType == null && resourceType == null && patternType == null;
+    }
+
+    /**
+     * Фильтр для {@code describeAcls}: перечисления и точные текстовые условия. Подстроки и
+     * регулярные выражения в него не попадают - брокер вернет больше привязок, и они будут
+     * отфильтрованы на клиенте.
+     */
+    public AclBindingFilter toBindingFilter() {
+        return new AclBindingFilter(
+                new ResourcePatternFilter(
+                        resourceType != null ? resourceType : ResourceType.ANY,
+                        exactText(resourceName),
+                        // Тип паттерна ANY с именем - точное совпадение имени у шаблонов любого типа
+                        patternType != null ? patternType : PatternType.ANY),
+                new AccessControlEntryFilter(
+                        exactText(principal),
+                        exactText(host),
+                        operation != null ? operation : AclOperation.ANY,
+                        permissionType != null ? permissionType : AclPermissionType.ANY));
+    }
+
+    private static String exactText(TextFilter filter) {
+        return filter != null && filter.isExact() ? filter.getText() : null;
+    }
+
+    /**
+     * Содержит ли результат запроса {@code loaded} все привязки, подходящие под {@code wanted}:
+     * каждое условие {@code loaded} либо не задано, либо совпадает с условием {@code wanted}.
+     */
+    public static boolean covers(AclBindingFilter loaded, AclBindingFilter wanted) {
+        ResourcePatternFilter loadedPattern = loaded.patternFilter();
+        ResourcePatternFilter wantedPattern = wanted.patternFilter();
+        AccessControlEntryFilter loadedEntry = loaded.entryFilter();
+        AccessControlEntryFilter wantedEntry = wanted.entryFilter();
+        return (loadedPattern.resourceType() == ResourceType.ANY
+                        || loadedPattern.resourceType() == wantedPattern.resourceType())
+                && (loadedPattern.name() == null || loadedPattern.name().equals(wantedPattern.name()))
+                && (loadedPattern.patternType() == PatternType.ANY
+                        || loadedPattern.patternType() == wantedPattern.patternType())
+                && (loadedEntry.principal() == null || loadedEntry.principal().equals(wantedEntry.principal()))
+                && (loadedEntry.host() == null || loadedEntry.host().equals(wantedEntry.host()))
+                && (loadedEntry.operation() == AclOperation.ANY || loadedEntry.operation() == wantedEntry.operation())
+                && (loadedEntry.permissionType() == AclPermissionType.ANY
+                        || loadedEntry.permissionType() == wantedEntry.permissionType());
+    }
+
+    /**
+     * Проверяет одну привязку без индекса.
+     */
+    public boolean matches(AclBinding acl) {
+        return (operation == null || acl.entry().operation() == operation)
+                && (permissionType == null || acl.entry().permissionType() == permissionType)
+                && (resourceType == null || acl.pattern().resourceType() == resourceType)
+                && (patternType == null || acl.pattern().patternType() == patternType)
+                && (principal == null || principal.matches(acl.entry().principal()))
+                && (host == null || host.matches(acl.entry().host()))
+                && (resourceName == null || resourceName.matches(acl.pattern().name()));
+    }
+
+    /**
+     * Условие на текстовое поле: подстрока (с учетом или без учета регистра), регулярное
+     * выражение ({@link java.util.regex.Matcher#find()}) или точное совпадение.
+     */
+    public static final class TextFilter {
+        private final String text; // Для подстроки без учета регистра - в нижнем регистре
+        private final boolean caseSensitive;
+        private final Pattern pattern; // null - поиск подстроки или точное совпадение
+        private final boolean exact;
+
+        private TextFilter(String text, boolean caseSensitive, Pattern pattern, boolean exact) {
+            this.text = text;
+            this.caseSensitive = caseSensitive;
+            this.pattern = pattern;
+            this.exact = exact;
+        }
+
+        static TextFilter compile(String rawText, boolean caseSensitive, boolean regex, boolean exact) {
+            String text = rawText == null ? "" : rawText.trim();
+            if (text.isEmpty()) {
+                return null;
+            }
+            if (exact) {
+                return new TextFilter(text, true, null, true);
+            }
+            if (regex) {
+                return new TextFilter(text, caseSensitive,
+                        Pattern.compile(text, caseSensitive ? 0 : Pattern.CASE_INSENSITIVE), false);
+            }
+            return new TextFilter(caseSensitive ? text : text.toLowerCase(Locale.ROOT), caseSensitive, null, false);
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public boolean isCaseSensitive() {
+            return caseSensitive;
+        }
+
+        public boolean isRegex() {
+            return pattern != null;
+        }
+
+        public boolean isExact() {
+            return exact;
+        }
+
+        Pattern getPattern() {
+            return pattern;
+        }
+
+        public boolean matches(String value) {
+            if (exact) {
+                return value.equals(text);
+            }
+            if (pattern != null) {
+                return pattern.matcher(value).find();
+            }
+            return (caseSensitive ? value : value.toLowerCase(Locale.ROOT)).contains(text);
+        }
+    }
+}
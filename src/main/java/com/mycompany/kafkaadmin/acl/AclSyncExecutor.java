@@ -0,0 +1,135 @@
+package com.mycompany.kafkaadmin.acl;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.CreateAclsResult;
+import org.apache.kafka.clients.admin.DeleteAclsResult;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.acl.AclBinding;
+import org.apache.kafka.common.acl.AclBindingFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+
+/**
+ * Применяет разность ACL к кластеру пачками {@code createAcls} или {@code deleteAcls}.
+ * Удаление выполняется фильтром, точно совпадающим с привязкой, поэтому затрагивает только
+ * ее. Ошибка отдельной привязки не прерывает остальные пачки.
+ */
+public class AclSyncExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(AclSyncExecutor.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final AdminClient adminClient;
+    private final int batchSize;
+
+    public AclSyncExecutor(AdminClient adminClient, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.adminClient = adminClient;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Создает привязки.
+     *
+     * @param progress получает число обработанных привязок после каждой пачки
+     */
+    public Result create(List<AclBinding> bindings, IntConsumer progress, BooleanSupplier cancelled)
+            throws InterruptedException {
+        Result result = new Result();
+        for (int start = 0; start < bindings.size() && !cancelled.getAsBoolean(); start += batchSize) {
+            List<AclBinding> batch = bindings.subList(start, Math.min(start + batchSize, bindings.size()));
+            CreateAclsResult response = adminClient.createAcls(batch);
+            for (AclBinding acl : batch) {
+                result.record(acl, response.values().get(acl));
+            }
+            progress.accept(start + batch.size());
+        }
+        return result;
+    }
+
+    /**
+     * Удаляет привязки.
+     *
+     * @param progress получает число обработанных привязок после каждой пачки
+     */
+    public Result delete(List<AclBinding> bindings, IntConsumer progress, BooleanSupplier cancelled)
+            throws InterruptedException {
+        Result result = new Result();
+        for (int start = 0; start < bindings.size() && !cancelled.getAsBoolean(); start += batchSize) {
+            List<AclBinding> batch = bindings.subList(start, Math.min(start + batchSize, bindings.size()));
+            List<AclBindingFilter> filters = new ArrayList<>(batch.size());
+            for (AclBinding acl : batch) {
+                filters.add(acl.toFilter());
+            }
+            DeleteAclsResult response = adminClient.deleteAcls(filters);
+            for (int i = 0; i < batch.size(); i++) {
+                result.recordDeletion(batch.get(i), response.values().get(filters.get(i)));
+            }
+            progress.accept(start + batch.size());
+        }
+        return result;
+    }
+
+    /**
+     * Итог применения: число успешных привязок, неудавшиеся привязки и ошибки по ним.
+     */
+    public static final class Result {
+        private int succeeded;
+        private final List<AclBinding> failed = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+
+        private void record(AclBinding acl, KafkaFuture<?> future) throws InterruptedException {
+            try {
+                future.get();
+                succeeded++;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                fail(acl, cause);
+            }
+        }
+
+        private void recordDeletion(AclBinding acl, KafkaFuture<DeleteAclsResult.FilterResults> future)
+                throws InterruptedException {
+            try {
+                // Ошибки могут прийти и по отдельным совпавшим привязкам внутри ответа на фильтр
+                for (DeleteAclsResult.FilterResult filterResult : future.get().values()) {
+                    if (filterResult.exception() != null) {
+                        throw new ExecutionException(filterResult.exception());
+                    }
+                }
+                succeeded++;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                fail(acl, cause);
+            }
+        }
+
+        private void fail(AclBinding acl, Throwable cause) {
+            log.warn("ACL sync failed for {}: {}", acl, cause.getMessage());
+            failed.add(acl);
+            errors.add(acl + ": " + cause.getMessage());
+        }
+
+        public int getSucceeded() {
+            return succeeded;
+        }
+
+        /** Привязки, которые не удалось создать или удалить. */
+        public List<AclBinding> getFailed() {
+            return failed;
+        }
+
+        public List<String> getErrors() {
+            return errors;
+        }
+    }
+}
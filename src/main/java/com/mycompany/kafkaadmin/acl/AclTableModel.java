@@ -0,0 +1,85 @@
+package com.mycompany.kafkaadmin.acl;
+
+import org.apache.kafka.common.acl.AclBinding;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Модель таблицы ACL. Хранит ссылку на список {@link AclBinding} (без копирования строк по
+ * ячейкам); новый результат фильтра подменяется целиком одним событием
+ * {@code fireTableDataChanged}.
+ */
+public class AclTableModel extends AbstractTableModel {
+
+    public static final String[] COLUMN_NAMES = { "Principal", "Host", "Operation", "Permission Type",
+            "Resource Type", "Resource Name", "Pattern Type" };
+
+    private List<AclBinding> bindings = Collections.emptyList();
+
+    /**
+     * Заменяет содержимое таблицы. Список не копируется и не должен изменяться после вызова.
+     */
+    public void setBindings(List<AclBinding> bindings) {
+        this.bindings = bindings;
+        fireTableDataChanged();
+    }
+
+    public List<AclBinding> getBindings() {
+        return bindings;
+    }
+
+    public AclBinding getBinding(int row) {
+        return bindings.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return bindings.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return String.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return columnValue(bindings.get(row), column);
+    }
+
+    /**
+     * Значение колонки для привязки (в том же виде, что и в таблице).
+     */
+    public static String columnValue(AclBinding acl, int column) {
+        switch (column) {
+            case 0:
+                return acl.entry().principal();
+            case 1:
+                return acl.entry().host();
+            case 2:
+                return acl.entry().operation().name();
+            case 3:
+                return acl.entry().permissionType().name();
+            case 4:
+                return acl.pattern().resourceType().name();
+            case 5:
+                return acl.pattern().name();
+            case 6:
+                return acl.pattern().patternType().name();
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.mycompany.kafkaadmin.acl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Префиксное дерево имен PREFIXED-шаблонов. Дочерние узлы хранятся в отсортированном массиве
+ * символов; поиск всех шаблонов, являющихся началом имени, занимает время, пропорциональное
+ * длине имени, независимо от числа шаблонов.
+ *
+ * @param <V> значение, связанное с шаблоном
+ */
+final class PrefixTrie<V> {
+
+    private final Node<V> root = new Node<>();
+    private int size;
+
+    /**
+     * Значение шаблона; если его нет, создается {@code factory}.
+     */
+    V computeIfAbsent(String prefix, Supplier<V> factory) {
+        Node<V> node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.childOrCreate(prefix.charAt(i));
+        }
+        if (node.value == null) {
+            node.value = factory.get();
+            size++;
+        }
+        return node.value;
+    }
+
+    /**
+     * Значение шаблона или {@code null}.
+     */
+    V get(String prefix) {
+        Node<V> node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Передает {@code action} значения всех шаблонов, с которых начинается {@code name}
+     * (включая совпадающий с ним целиком), от коротких к длинным.
+     */
+    void forEachPrefixOf(String name, Consumer<V> action) {
+        Node<V> node = root;
+        if (node.value != null) {
+            action.accept(node.value);
+        }
+        for (int i = 0; i < name.length() && node != null; i++) {
+            node = node.child(name.charAt(i));
+            if (node != null && node.value != null) {
+                action.accept(node.value);
+            }
+        }
+    }
+
+    /**
+     * Все значения в произвольном порядке.
+     */
+    List<V> values() {
+        List<V> values = new ArrayList<>(size);
+        // Обход без рекурсии: длинные префиксы не должны переполнять стек
+        List<Node<V>> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            Node<V> node = stack.remove(stack.size() - 1);
+            if (node.value != null) {
+                values.add(node.value);
+            }
+            stack.addAll(Arrays.asList(node.children));
+        }
+        return values;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static final class Node<V> {
+        private static final char[] NO_KEYS = new char[0];
+        @SuppressWarnings("rawtypes")
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] keys = NO_KEYS;
+        @SuppressWarnings("unchecked")
+        private Node<V>[] children = NO_CHILDREN;
+        private V value;
+
+        Node<V> child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node<V> childOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int insert = -i - 1;
+            char[] newKeys = Arrays.copyOf(keys, keys.length + 1);
+            Node<V>[] newChildren = Arrays.copyOf(children, children.length + 1);
+            newKeys[insert] = c;
+            newChildren[insert] = new Node<>();
+            System.arraycopy(keys, insert, newKeys, insert + 1, keys.length - insert);
+            System.arraycopy(children, insert, newChildren, insert + 1, children.length - insert);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insert];
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.mycompany.kafkaadmin.archive;
+
+import org.apache.kafka.common.record.CompressionType;
+
+/**
+ * Формат файлов выгрузки топика.
+ * <p>
+ * Каждая партиция выгружается в отдельный файл сообщений и файл индекса, общие сведения
+ * записываются в {@code manifest.json}.
+ * <p>
+ * Двоичный файл ({@code .seg}) начинается с заголовка {@code "KSEG"}, версии, кода сжатия
+ * ({@link CompressionType#id}) и двух резервных байт, затем идут блоки:
+ * <pre>
+ * int compressedSize, int uncompressedSize, int recordCount, long firstOffset, long lastOffset,
+ * byte[compressedSize] - сжатые независимо от других блоков записи:
+ *   int length, long offset, long timestamp, byte timestampType,
+ *   int keyLength (-1 = null), key, int valueLength (-1 = null), value,
+ *   int headerCount, { int keyLength, key (UTF-8), int valueLength (-1 = null), value }
+ * </pre>
+ * Файл NDJSON ({@code .ndjson}, {@code .ndjson.gz}, {@code .ndjson.zst}) - по одному
+ * JSON-объекту в строке; при сжатии каждый блок - отдельный член gzip или кадр zstd, поэтому
+ * файл читается обычными {@code zcat}/{@code zstdcat}. Ключи и значения в NDJSON записываются
+ * строкой, если это корректный UTF-8, иначе в base64 (поля {@code keyBase64}/{@code valueBase64}).
+ * <p>
+ * Индекс ({@code .idx}) - записи по 20 байт: {@code long firstOffset, long filePosition,
+ * int recordCount} для каждого блока, так что нужное смещение находится без чтения всего файла.
+ */
+public final class ArchiveFormat {
+
+    public enum Format {
+        BINARY("Binary"), NDJSON("NDJSON");
+
+        private final String label;
+
+        Format(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    public static final byte[] MAGIC = { 'K', 'S', 'E', 'G' };
+    public static final byte VERSION = 1;
+    public static final int FILE_HEADER_SIZE = 8;
+    public static final int BLOCK_HEADER_SIZE = 28;
+    public static final int INDEX_ENTRY_SIZE = 20;
+    public static final String MANIFEST_FILE = "manifest.json";
+
+    private ArchiveFormat() {
+    }
+
+    public static String segmentFileName(String topic, int partition, Format format, CompressionType compression) {
+        String base = topic + "-" + partition;
+        if (format == Format.BINARY) {
+            return base + ".seg";
+        }
+        switch (compression) {
+            case GZIP:
+                return base + ".ndjson.gz";
+            case ZSTD:
+                return base + ".ndjson.zst";
+            case NONE:
+                return base + ".ndjson";
+            default:
+                return base + ".ndjson." + compression.name;
+        }
+    }
+
+    public static String indexFileName(String topic, int partition) {
+        return topic + "-" + partition + ".idx";
+    }
+
+    /**
+     * Проверяет, что байты - корректный UTF-8 (без суррогатов и избыточных кодировок).
+     */
+    static boolean isValidUtf8(byte[] bytes) {
+        int i = 0;
+        int n = bytes.length;
+        while (i < n) {
+            int b = bytes[i];
+            if (b >= 0) {
+                i++;
+                continue;
+            }
+            int extra;
+            int min;
+            int codePoint;
+            if ((b & 0xe0) == 0xc0) {
+                extra = 1;
+                min = 0x80;
+                codePoint = b & 0x1f;
+            } else if ((b & 0xf0) == 0xe0) {
+                extra = 2;
+                min = 0x800;
+                codePoint = b & 0x0f;
+            } else if ((b & 0xf8) == 0xf0) {
+                extra = 3;
+                min = 0x10000;
+                codePoint = b & 0x07;
+            } else {
+                return false;
+            }
+            if (i + extra >= n) {
+                return false;
+            }
+            for (int k = 1; k <= extra; k++) {
+                int c = bytes[i + k];
+                if ((c & 0xc0) != 0x80) {
+                    return false;
+                }
+                codePoint = (codePoint << 6) | (c & 0x3f);
+            }
+            if (codePoint < min || codePoint > 0x10ffff || (codePoint >= 0xd800 && codePoint <= 0xdfff)) {
+                return false;
+            }
+            i += extra + 1;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,160 @@
+package com.mycompany.kafkaadmin.archive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.record.CompressionType;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Содержимое {@code manifest.json} каталога выгрузки (записывается {@link TopicExporter}).
+ */
+public final class ArchiveManifest {
+
+    private final Path directory;
+    private final String topic;
+    private final ArchiveFormat.Format format;
+    private final CompressionType compression;
+    private final boolean complete;
+    private final List<Partition> partitions;
+
+    private ArchiveManifest(Path directory, String topic, ArchiveFormat.Format format, CompressionType compression,
+            boolean complete, List<Partition> partitions) {
+        this.directory = directory;
+        this.topic = topic;
+        this.format = format;
+        this.compression = compression;
+        this.complete = complete;
+        this.partitions = Collections.unmodifiableList(partitions);
+    }
+
+    /**
+     * Читает манифест из каталога выгрузки.
+     *
+     * @throws IllegalArgumentException если манифест не соответствует формату
+     */
+    public static ArchiveManifest read(Path directory) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(directory.resolve(ArchiveFormat.MANIFEST_FILE).toFile());
+        if (root == null || !root.hasNonNull("topic") || !root.hasNonNull("format")
+                || !root.path("partitions").isArray()) {
+            throw new IllegalArgumentException("Invalid " + ArchiveFormat.MANIFEST_FILE + " in " + directory);
+        }
+        ArchiveFormat.Format format = ArchiveFormat.Format.valueOf(root.get("format").asText());
+        CompressionType compression = CompressionType.forName(root.path("compression").asText("none"));
+        List<Partition> partitions = new ArrayList<>();
+        for (JsonNode node : root.get("partitions")) {
+            partitions.add(new Partition(node.path("partition").asInt(), node.path("file").asText(),
+                    node.path("index").asText(), node.path("records").asLong(), node.path("firstOffset").asLong(-1),
+                    node.path("lastOffset").asLong(-1), node.path("bytes").asLong()));
+        }
+        partitions.sort((a, b) -> Integer.compare(a.getPartition(), b.getPartition()));
+        return new ArchiveManifest(directory, root.get("topic").asText(), format, compression,
+                root.path("complete").asBoolean(), partitions);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /** Исходный топик. */
+    public String getTopic() {
+        return topic;
+    }
+
+    public ArchiveFormat.Format getFormat() {
+        return format;
+    }
+
+    public CompressionType getCompression() {
+        return compression;
+    }
+
+    /** {@code false}, если выгрузка была отменена. */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public List<Partition> getPartitions() {
+        return partitions;
+    }
+
+    public long getRecords() {
+        long total = 0;
+        for (Partition p : partitions) {
+            total += p.getRecords();
+        }
+        return total;
+    }
+
+    public long getBytes() {
+        long total = 0;
+        for (Partition p : partitions) {
+            total += p.getBytes();
+        }
+        return total;
+    }
+
+    /** Открывает чтение файла партиции. */
+    public SegmentReader openReader(Partition partition) throws IOException {
+        return new SegmentReader(directory.resolve(partition.getFile()), directory.resolve(partition.getIndex()),
+                format, compression);
+    }
+
+    /**
+     * Файлы и смещения одной выгруженной партиции.
+     */
+    public static final class Partition {
+        private final int partition;
+        private final String file;
+        private final String index;
+        private final long records;
+        private final long firstOffset;
+        private final long lastOffset;
+        private final long bytes;
+
+        Partition(int partition, String file, String index, long records, long firstOffset, long lastOffset,
+                long bytes) {
+            this.partition = partition;
+            this.file = file;
+            this.index = index;
+            this.records = records;
+            this.firstOffset = firstOffset;
+            this.lastOffset = lastOffset;
+            this.bytes = bytes;
+        }
+
+        public int getPartition() {
+            return partition;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public String getIndex() {
+            return index;
+        }
+
+        public long getRecords() {
+            return records;
+        }
+
+        /** Смещение первого сообщения в исходном топике; -1, если сообщений нет. */
+        public long getFirstOffset() {
+            return firstOffset;
+        }
+
+        public long getLastOffset() {
+            return lastOffset;
+        }
+
+        /** Размер файла сообщений. */
+        public long getBytes() {
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.mycompany.kafkaadmin.archive;
+
+import org.apache.kafka.common.header.Header;
+
+/**
+ * Сообщение, прочитанное из файла выгрузки.
+ */
+public final class ArchivedRecord {
+
+    private static final Header[] NO_HEADERS = new Header[0];
+
+    private final long offset;
+    private final long timestamp;
+    private final byte[] key;
+    private final byte[] value;
+    private final Header[] headers;
+
+    ArchivedRecord(long offset, long timestamp, byte[] key, byte[] value, Header[] headers) {
+        this.offset = offset;
+        this.timestamp = timestamp;
+        this.key = key;
+        this.value = value;
+        this.headers = headers != null ? headers : NO_HEADERS;
+    }
+
+    /** Смещение в исходной партиции. */
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public byte[] getKey() {
+        return key;
+    }
+
+    public byte[] getValue() {
+        return value;
+    }
+
+    public Header[] getHeaders() {
+        return headers;
+    }
+
+    /** Размер ключа и значения в байтах. */
+    public int size() {
+        return (key != null ? key.length : 0) + (value != null ? value.length : 0);
+    }
+}
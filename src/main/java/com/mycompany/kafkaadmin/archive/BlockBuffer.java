@@ -0,0 +1,79 @@
+package com.mycompany.kafkaadmin.archive;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Растущий байтовый буфер для сборки блока. Используется повторно ({@link #reset()}), поэтому
+ * после первых блоков запись не выделяет память.
+ */
+final class BlockBuffer extends OutputStream {
+
+    private byte[] buffer;
+    private int size;
+
+    BlockBuffer(int initialCapacity) {
+        buffer = new byte[Math.max(initialCapacity, 64)];
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte[] array() {
+        return buffer;
+    }
+
+    /** Содержимое буфера без копирования; действительно до следующей записи. */
+    ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(buffer, 0, size);
+    }
+
+    private void ensureCapacity(int extra) {
+        int required = size + extra;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+    }
+
+    void writeInt(int value) {
+        ensureCapacity(4);
+        buffer[size++] = (byte) (value >>> 24);
+        buffer[size++] = (byte) (value >>> 16);
+        buffer[size++] = (byte) (value >>> 8);
+        buffer[size++] = (byte) value;
+    }
+
+    void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    /** Массив с длиной; {@code null} записывается как длина -1. */
+    void writeSizedBytes(byte[] bytes) {
+        if (bytes == null) {
+            writeInt(-1);
+        } else {
+            writeInt(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+    }
+}
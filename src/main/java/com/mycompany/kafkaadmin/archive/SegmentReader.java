@@ -0,0 +1,324 @@
+package com.mycompany.kafkaadmin.archive;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.record.CompressionType;
+import org.apache.kafka.common.record.RecordBatch;
+import org.apache.kafka.common.utils.BufferSupplier;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Чтение файла выгрузки партиции, записанного {@link SegmentWriter}.
+ * <p>
+ * Файл отображается в память ({@link FileChannel#map}) окнами до 256 MB, границы блоков
+ * берутся из индекса. Несжатые блоки разбираются прямо из отображенной памяти, сжатые
+ * распаковываются в переиспользуемый буфер; копируются только ключи, значения и заголовки
+ * отдаваемых сообщений. Индекс позволяет начать чтение с нужного смещения, не читая
+ * предыдущие блоки.
+ * <p>
+ * Экземпляр не потокобезопасен.
+ */
+public class SegmentReader implements Closeable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final long MAX_WINDOW_SIZE = 256L * 1024 * 1024;
+
+    private final ArchiveFormat.Format format;
+    private final CompressionType compression;
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long[] blockFirstOffsets;
+    private final long[] blockPositions;
+    private final BufferSupplier bufferSupplier = BufferSupplier.create();
+
+    private MappedByteBuffer window;
+    private long windowPosition;
+    private byte[] inflated = new byte[64 * 1024];
+
+    private int nextBlock;
+    private ByteBuffer block; // Текущий блок (двоичный формат)
+    private JsonParser json; // Текущий блок (NDJSON)
+    private ArchivedRecord pending; // Прочитано при seek, но еще не отдано
+
+    public SegmentReader(Path segmentFile, Path indexFile, ArchiveFormat.Format format, CompressionType compression)
+            throws IOException {
+        this.format = format;
+        this.compression = compression;
+        ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+        int blocks = index.remaining() / ArchiveFormat.INDEX_ENTRY_SIZE;
+        blockFirstOffsets = new long[blocks];
+        blockPositions = new long[blocks];
+        for (int i = 0; i < blocks; i++) {
+            blockFirstOffsets[i] = index.getLong();
+            blockPositions[i] = index.getLong();
+            index.getInt(); // Число сообщений в блоке
+        }
+        this.channel = FileChannel.open(segmentFile, StandardOpenOption.READ);
+        try {
+            this.fileSize = channel.size();
+            if (format == ArchiveFormat.Format.BINARY) {
+                checkHeader(segmentFile);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void checkHeader(Path segmentFile) throws IOException {
+        if (fileSize < ArchiveFormat.FILE_HEADER_SIZE) {
+            throw new IOException("File is too short: " + segmentFile);
+        }
+        ByteBuffer header = region(0, ArchiveFormat.FILE_HEADER_SIZE);
+        byte[] magic = new byte[ArchiveFormat.MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(magic, ArchiveFormat.MAGIC) || header.get() != ArchiveFormat.VERSION) {
+            throw new IOException("Not an export segment file: " + segmentFile);
+        }
+        if (header.get() != compression.id) {
+            throw new IOException("Compression of " + segmentFile + " does not match the manifest");
+        }
+    }
+
+    /**
+     * Переходит к первому сообщению со смещением не меньше заданного.
+     */
+    public void seek(long offset) throws IOException {
+        // Последний блок, начинающийся не дальше смещения
+        int found = Arrays.binarySearch(blockFirstOffsets, offset);
+        nextBlock = found >= 0 ? found : Math.max(0, -found - 2);
+        block = null;
+        closeJson();
+        pending = null;
+        ArchivedRecord record;
+        while ((record = next()) != null && record.getOffset() < offset) {
+            // Пропускаем сообщения блока до нужного смещения
+        }
+        pending = record;
+    }
+
+    /**
+     * Следующее сообщение или {@code null}, если файл прочитан.
+     */
+    public ArchivedRecord next() throws IOException {
+        if (pending != null) {
+            ArchivedRecord record = pending;
+            pending = null;
+            return record;
+        }
+        while (true) {
+            ArchivedRecord record = format == ArchiveFormat.Format.BINARY ? nextBinary() : nextJson();
+            if (record != null) {
+                return record;
+            }
+            if (nextBlock >= blockPositions.length) {
+                return null;
+            }
+            loadBlock(nextBlock++);
+        }
+    }
+
+    private void loadBlock(int blockIndex) throws IOException {
+        long start = blockPositions[blockIndex];
+        long end = blockIndex + 1 < blockPositions.length ? blockPositions[blockIndex + 1] : fileSize;
+        block = null;
+        closeJson();
+        ByteBuffer data;
+        int uncompressedSize = -1;
+        if (format == ArchiveFormat.Format.BINARY) {
+            ByteBuffer header = region(start, ArchiveFormat.BLOCK_HEADER_SIZE);
+            int compressedSize = header.getInt();
+            uncompressedSize = header.getInt();
+            data = region(start + ArchiveFormat.BLOCK_HEADER_SIZE, compressedSize);
+        } else {
+            data = region(start, (int) (end - start));
+        }
+        if (compression != CompressionType.NONE) {
+            data = inflate(data, uncompressedSize);
+        }
+        if (format == ArchiveFormat.Format.BINARY) {
+            block = data;
+        } else {
+            json = data.hasArray()
+                    ? JSON_FACTORY.createParser(data.array(), data.arrayOffset() + data.position(), data.remaining())
+                    : JSON_FACTORY.createParser(new ByteBufferBackedInputStream(data));
+        }
+    }
+
+    /**
+     * Распаковывает блок в переиспользуемый буфер.
+     *
+     * @param expectedSize размер распакованного блока; -1, если неизвестен
+     */
+    private ByteBuffer inflate(ByteBuffer data, int expectedSize) throws IOException {
+        if (expectedSize >= inflated.length) {
+            inflated = new byte[expectedSize + 1]; // +1: конец потока читается без расширения буфера
+        }
+        int size = 0;
+        try (InputStream in = compression.wrapForInput(data, RecordBatch.MAGIC_VALUE_V2, bufferSupplier)) {
+            int read;
+            while (true) {
+                if (size == inflated.length) {
+                    inflated = Arrays.copyOf(inflated, inflated.length * 2);
+                }
+                read = in.read(inflated, size, inflated.length - size);
+                if (read < 0) {
+                    break;
+                }
+                size += read;
+            }
+        }
+        if (expectedSize >= 0 && size != expectedSize) {
+            throw new IOException("Corrupted block: expected " + expectedSize + " bytes, got " + size);
+        }
+        return ByteBuffer.wrap(inflated, 0, size);
+    }
+
+    /**
+     * Участок файла; окно отображения сдвигается, если участок в него не попадает.
+     */
+    private ByteBuffer region(long position, int length) throws IOException {
+        if (position < 0 || length < 0 || position + length > fileSize) {
+            throw new IOException("Block at " + position + " is outside of the file (size " + fileSize + ")");
+        }
+        if (window == null || position < windowPosition || position + length > windowPosition + window.capacity()) {
+            long size = Math.max(length, Math.min(MAX_WINDOW_SIZE, fileSize - position));
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            windowPosition = position;
+        }
+        ByteBuffer slice = window.duplicate();
+        int from = (int) (position - windowPosition);
+        slice.position(from).limit(from + length);
+        return slice.slice();
+    }
+
+    private ArchivedRecord nextBinary() {
+        if (block == null || !block.hasRemaining()) {
+            return null;
+        }
+        block.getInt(); // Длина записи
+        long offset = block.getLong();
+        long timestamp = block.getLong();
+        block.get(); // Тип метки времени
+        byte[] key = readSizedBytes(block);
+        byte[] value = readSizedBytes(block);
+        int headerCount = block.getInt();
+        Header[] headers = headerCount == 0 ? null : new Header[headerCount];
+        for (int i = 0; i < headerCount; i++) {
+            byte[] headerKey = readSizedBytes(block);
+            headers[i] = new RecordHeader(new String(headerKey, StandardCharsets.UTF_8), readSizedBytes(block));
+        }
+        return new ArchivedRecord(offset, timestamp, key, value, headers);
+    }
+
+    private static byte[] readSizedBytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private ArchivedRecord nextJson() throws IOException {
+        if (json == null || json.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        long offset = -1;
+        long timestamp = -1;
+        byte[] key = null;
+        byte[] value = null;
+        List<Header> headers = null;
+        while (json.nextToken() == JsonToken.FIELD_NAME) {
+            String field = json.currentName();
+            JsonToken token = json.nextToken();
+            switch (field) {
+                case "offset":
+                    offset = json.getLongValue();
+                    break;
+                case "timestamp":
+                    timestamp = json.getLongValue();
+                    break;
+                case "key":
+                case "keyBase64":
+                    key = readJsonBytes(token, field.endsWith("Base64"));
+                    break;
+                case "value":
+                case "valueBase64":
+                    value = readJsonBytes(token, field.endsWith("Base64"));
+                    break;
+                case "headers":
+                    headers = readJsonHeaders();
+                    break;
+                default:
+                    json.skipChildren();
+            }
+        }
+        return new ArchivedRecord(offset, timestamp, key, value,
+                headers == null ? null : headers.toArray(new Header[0]));
+    }
+
+    private byte[] readJsonBytes(JsonToken token, boolean base64) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return base64 ? Base64.getDecoder().decode(json.getText()) : json.getText().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private List<Header> readJsonHeaders() throws IOException {
+        List<Header> headers = new ArrayList<>();
+        while (json.nextToken() == JsonToken.START_OBJECT) {
+            String key = null;
+            byte[] value = null;
+            while (json.nextToken() == JsonToken.FIELD_NAME) {
+                String field = json.currentName();
+                JsonToken token = json.nextToken();
+                if (field.equals("key")) {
+                    key = json.getText();
+                } else if (field.equals("value") || field.equals("valueBase64")) {
+                    value = readJsonBytes(token, field.endsWith("Base64"));
+                } else {
+                    json.skipChildren();
+                }
+            }
+            headers.add(new RecordHeader(key, value));
+        }
+        return headers;
+    }
+
+    private void closeJson() throws IOException {
+        if (json != null) {
+            json.close();
+            json = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            closeJson();
+        } finally {
+            window = null;
+            channel.close();
+        }
+    }
+}
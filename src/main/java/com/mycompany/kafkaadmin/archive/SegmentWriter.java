@@ -0,0 +1,272 @@
+package com.mycompany.kafkaadmin.archive;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.record.CompressionType;
+import org.apache.kafka.common.record.RecordBatch;
+import org.apache.kafka.common.utils.ByteBufferOutputStream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Запись сообщений одной партиции в файл выгрузки и его индекс (формат описан в
+ * {@link ArchiveFormat}).
+ * <p>
+ * Сообщения собираются в блок, блок сжимается целиком и записывается через
+ * {@link FileChannel} одной gather-записью вместе с заголовком. Буферы блока, сжатия,
+ * заголовка и индекса переиспользуются, так что потребление памяти не растет с числом
+ * сообщений. Сжатие выполняется кодеками kafka-clients ({@link CompressionType}).
+ * <p>
+ * Экземпляр не потокобезопасен.
+ */
+public class SegmentWriter implements Closeable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final int INDEX_BUFFER_ENTRIES = 1024;
+
+    private final ArchiveFormat.Format format;
+    private final CompressionType compression;
+    private final int blockSize;
+    private final FileChannel segmentChannel;
+    private final FileChannel indexChannel;
+
+    private final BlockBuffer block;
+    private final ByteBufferOutputStream compressed;
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(ArchiveFormat.BLOCK_HEADER_SIZE);
+    private final ByteBuffer indexBuffer = ByteBuffer.allocate(ArchiveFormat.INDEX_ENTRY_SIZE * INDEX_BUFFER_ENTRIES);
+    private final ByteBuffer[] gather = new ByteBuffer[2];
+    private final JsonGenerator json;
+
+    private long filePosition;
+    private int blockRecords;
+    private long blockFirstOffset;
+    private long blockLastOffset;
+
+    private long records;
+    private long firstOffset = -1;
+    private long lastOffset = -1;
+
+    /**
+     * @param blockSize размер несжатого блока в байтах (блок закрывается, когда его размер
+     *                  достигает этого значения)
+     */
+    public SegmentWriter(Path segmentFile, Path indexFile, ArchiveFormat.Format format, CompressionType compression,
+            int blockSize) throws IOException {
+        this.format = format;
+        this.compression = compression;
+        this.blockSize = blockSize;
+        this.block = new BlockBuffer(blockSize + blockSize / 8);
+        this.compressed = new ByteBufferOutputStream(compression == CompressionType.NONE ? 64 : blockSize / 2);
+        this.segmentChannel = FileChannel.open(segmentFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        FileChannel index = null;
+        try {
+            index = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            if (format == ArchiveFormat.Format.BINARY) {
+                ByteBuffer header = ByteBuffer.allocate(ArchiveFormat.FILE_HEADER_SIZE);
+                header.put(ArchiveFormat.MAGIC).put(ArchiveFormat.VERSION).put(compression.id)
+                        .putShort((short) 0);
+                header.flip();
+                writeFully(segmentChannel, header);
+                filePosition = ArchiveFormat.FILE_HEADER_SIZE;
+                json = null;
+            } else {
+                json = JSON_FACTORY.createGenerator(block);
+                json.setRootValueSeparator(null); // Строки разделяются только '\n'
+            }
+        } catch (IOException | RuntimeException e) {
+            segmentChannel.close();
+            if (index != null) {
+                index.close();
+            }
+            throw e;
+        }
+        this.indexChannel = index;
+    }
+
+    public void append(ConsumerRecord<byte[], byte[]> record) throws IOException {
+        if (blockRecords == 0) {
+            blockFirstOffset = record.offset();
+        }
+        if (format == ArchiveFormat.Format.BINARY) {
+            appendBinary(record);
+        } else {
+            appendJson(record);
+        }
+        blockRecords++;
+        blockLastOffset = record.offset();
+        records++;
+        if (firstOffset < 0) {
+            firstOffset = record.offset();
+        }
+        lastOffset = record.offset();
+        if (block.size() >= blockSize) {
+            flushBlock();
+        }
+    }
+
+    private void appendBinary(ConsumerRecord<byte[], byte[]> record) {
+        Headers headers = record.headers();
+        Header[] headerArray = headers.toArray();
+        byte[][] headerKeys = headerArray.length == 0 ? null : new byte[headerArray.length][];
+        int length = 8 + 8 + 1 + 4 + 4 + 4 + sizeOf(record.key()) + sizeOf(record.value());
+        for (int i = 0; i < headerArray.length; i++) {
+            headerKeys[i] = headerArray[i].key().getBytes(StandardCharsets.UTF_8);
+            length += 4 + headerKeys[i].length + 4 + sizeOf(headerArray[i].value());
+        }
+        block.writeInt(length);
+        block.writeLong(record.offset());
+        block.writeLong(record.timestamp());
+        block.write(record.timestampType().id);
+        block.writeSizedBytes(record.key());
+        block.writeSizedBytes(record.value());
+        block.writeInt(headerArray.length);
+        for (int i = 0; i < headerArray.length; i++) {
+            block.writeSizedBytes(headerKeys[i]);
+            block.writeSizedBytes(headerArray[i].value());
+        }
+    }
+
+    private static int sizeOf(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private void appendJson(ConsumerRecord<byte[], byte[]> record) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("partition", record.partition());
+        json.writeNumberField("offset", record.offset());
+        json.writeNumberField("timestamp", record.timestamp());
+        json.writeStringField("timestampType", record.timestampType().name);
+        writeBytesField("key", record.key());
+        writeBytesField("value", record.value());
+        Header[] headers = record.headers().toArray();
+        if (headers.length > 0) {
+            json.writeArrayFieldStart("headers");
+            for (Header header : headers) {
+                json.writeStartObject();
+                json.writeStringField("key", header.key());
+                writeBytesField("value", header.value());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+        json.flush(); // Переносит строку из буфера генератора в блок
+    }
+
+    private void writeBytesField(String name, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            json.writeNullField(name);
+        } else if (ArchiveFormat.isValidUtf8(bytes)) {
+            json.writeFieldName(name);
+            json.writeUTF8String(bytes, 0, bytes.length);
+        } else {
+            json.writeFieldName(name + "Base64");
+            json.writeBinary(bytes);
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockRecords == 0) {
+            return;
+        }
+        ByteBuffer data;
+        if (compression == CompressionType.NONE) {
+            data = block.asByteBuffer();
+        } else {
+            compressed.position(0);
+            try (OutputStream out = compression.wrapForOutput(compressed, RecordBatch.MAGIC_VALUE_V2)) {
+                out.write(block.array(), 0, block.size());
+            }
+            data = compressed.buffer().duplicate();
+            data.flip();
+        }
+        int dataSize = data.remaining();
+
+        indexBuffer.putLong(blockFirstOffset).putLong(filePosition).putInt(blockRecords);
+        if (!indexBuffer.hasRemaining()) {
+            flushIndex();
+        }
+
+        if (format == ArchiveFormat.Format.BINARY) {
+            blockHeader.clear();
+            blockHeader.putInt(dataSize).putInt(block.size()).putInt(blockRecords).putLong(blockFirstOffset)
+                    .putLong(blockLastOffset);
+            blockHeader.flip();
+            gather[0] = blockHeader;
+            gather[1] = data;
+            long remaining = blockHeader.remaining() + (long) dataSize;
+            while (remaining > 0) {
+                remaining -= segmentChannel.write(gather);
+            }
+            filePosition += ArchiveFormat.BLOCK_HEADER_SIZE + dataSize;
+        } else {
+            writeFully(segmentChannel, data);
+            filePosition += dataSize;
+        }
+        block.reset();
+        blockRecords = 0;
+    }
+
+    private void flushIndex() throws IOException {
+        indexBuffer.flip();
+        writeFully(indexChannel, indexBuffer);
+        indexBuffer.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /** Записано сообщений. */
+    public long getRecords() {
+        return records;
+    }
+
+    /** Смещение первого записанного сообщения; -1, если сообщений нет. */
+    public long getFirstOffset() {
+        return firstOffset;
+    }
+
+    public long getLastOffset() {
+        return lastOffset;
+    }
+
+    /** Размер файла сообщений (без учета еще не записанного блока). */
+    public long getBytesWritten() {
+        return filePosition;
+    }
+
+    /**
+     * Записывает последний блок и индекс, сбрасывает данные на диск и закрывает файлы.
+     */
+    @Override
+    public void close() throws IOException {
+        try (FileChannel segment = segmentChannel; FileChannel index = indexChannel) {
+            if (json != null) {
+                json.flush();
+            }
+            flushBlock();
+            if (indexBuffer.position() > 0) {
+                flushIndex();
+            }
+            segment.force(false);
+            index.force(false);
+        }
+    }
+}
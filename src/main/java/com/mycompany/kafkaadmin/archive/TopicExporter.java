@@ -0,0 +1,364 @@
+package com.mycompany.kafkaadmin.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mycompany.kafkaadmin.message.TopicMessageReader;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.record.CompressionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Выгрузка сообщений топика в файлы (формат описан в {@link ArchiveFormat}).
+ * <p>
+ * Партиции выгружаются параллельно: рабочие потоки разбирают их из общей очереди, у каждого
+ * потока свой {@link KafkaConsumer} ({@code assign}/{@code seek}, без группы и коммита
+ * смещений) и свой {@link SegmentWriter}. Выгрузка каждой партиции ограничена конечным
+ * смещением на момент запуска.
+ * <p>
+ * Экземпляр рассчитан на одну выгрузку.
+ */
+public class TopicExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicExporter.class);
+
+    public static final int DEFAULT_THREADS = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+    public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final Properties consumerProperties;
+    private final int threads;
+    private final int blockSize;
+    private volatile List<PartitionProgress> progress = Collections.emptyList();
+
+    public TopicExporter(Properties connectionProperties, int threads, int blockSize) {
+        if (threads <= 0 || blockSize <= 0) {
+            throw new IllegalArgumentException("threads and blockSize must be positive");
+        }
+        Properties props = TopicMessageReader.consumerProperties(connectionProperties);
+        // Свои значения по умолчанию для экспорта; заданные в подключении не переопределяются
+        props.put(ConsumerConfig.CLIENT_ID_CONFIG,
+                connectionProperties.getProperty(ConsumerConfig.CLIENT_ID_CONFIG, "kafkaadmin-export"));
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG,
+                connectionProperties.getProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, "5000"));
+        props.putIfAbsent(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, String.valueOf(4 * 1024 * 1024));
+        this.consumerProperties = props;
+        this.threads = threads;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Прогресс по партициям (пустой список до начала выгрузки).
+     */
+    public List<PartitionProgress> getProgress() {
+        return progress;
+    }
+
+    /**
+     * Выгружает партиции в каталог и записывает {@code manifest.json}; блокируется до
+     * завершения. При отмене уже записанные файлы остаются корректными, а манифест
+     * помечается как неполный.
+     *
+     * @param partitions номера партиций; пустая коллекция - все партиции топика
+     */
+    public Summary export(String topic, Collection<Integer> partitions, TopicMessageReader.StartPosition start,
+            Path directory, ArchiveFormat.Format format, CompressionType compression, BooleanSupplier cancelled)
+            throws IOException, InterruptedException, ExecutionException {
+        long startNanos = System.nanoTime();
+        Files.createDirectories(directory);
+        List<PartitionProgress> plan = plan(topic, partitions, start);
+        progress = Collections.unmodifiableList(plan);
+
+        // Сначала самые большие партиции, чтобы потоки заканчивали примерно одновременно
+        List<PartitionProgress> bySize = new ArrayList<>(plan);
+        bySize.sort((a, b) -> Long.compare(b.getTotal(), a.getTotal()));
+        Queue<PartitionProgress> queue = new ConcurrentLinkedQueue<>(bySize);
+        AtomicBoolean failed = new AtomicBoolean();
+        BooleanSupplier stopped = () -> failed.get() || cancelled.getAsBoolean();
+        int workerCount = Math.max(1, Math.min(threads, plan.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread thread = new Thread(r, "topic-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < workerCount; i++) {
+                int workerId = i;
+                workers.add(executor.submit(() -> {
+                    exportPartitions(workerId, queue, directory, format, compression, stopped);
+                    return null;
+                }));
+            }
+            try {
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            } catch (ExecutionException | InterruptedException e) {
+                failed.set(true); // Остальные потоки завершатся после текущего poll
+                throw e;
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        boolean complete = !cancelled.getAsBoolean();
+        Summary summary = new Summary(plan, complete, System.nanoTime() - startNanos);
+        writeManifest(directory, topic, format, compression, summary);
+        log.info("Exported {} record(s) of topic '{}' ({} partition(s), {} bytes) to {} in {} ms{}",
+                summary.getRecords(), topic, plan.size(), summary.getBytesWritten(), directory,
+                summary.getElapsedNanos() / 1_000_000, complete ? "" : " (cancelled)");
+        return summary;
+    }
+
+    private List<PartitionProgress> plan(String topic, Collection<Integer> partitions,
+            TopicMessageReader.StartPosition start) {
+        try (KafkaConsumer<byte[], byte[]> consumer = new KafkaConsumer<>(withClientIdSuffix("-plan"))) {
+            List<TopicPartition> selected = new ArrayList<>();
+            List<PartitionInfo> infos = consumer.partitionsFor(topic);
+            if (infos == null || infos.isEmpty()) {
+                throw new IllegalArgumentException("Topic '" + topic + "' has no partitions to export");
+            }
+            for (PartitionInfo info : infos) {
+                if (partitions.isEmpty() || partitions.contains(info.partition())) {
+                    selected.add(new TopicPartition(topic, info.partition()));
+                }
+            }
+            if (selected.size() < partitions.size()) {
+                throw new IllegalArgumentException("Topic '" + topic + "' has " + infos.size()
+                        + " partition(s); some of the selected partitions do not exist");
+            }
+            selected.sort((a, b) -> Integer.compare(a.partition(), b.partition()));
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(selected);
+            Map<TopicPartition, Long> startOffsets = start.resolve(consumer, selected, endOffsets);
+            List<PartitionProgress> plan = new ArrayList<>(selected.size());
+            for (TopicPartition tp : selected) {
+                plan.add(new PartitionProgress(tp, startOffsets.get(tp), endOffsets.get(tp)));
+            }
+            return plan;
+        }
+    }
+
+    private Properties withClientIdSuffix(String suffix) {
+        Properties props = new Properties();
+        props.putAll(consumerProperties);
+        props.put(ConsumerConfig.CLIENT_ID_CONFIG, consumerProperties.getProperty(ConsumerConfig.CLIENT_ID_CONFIG)
+                + suffix);
+        return props;
+    }
+
+    /**
+     * Рабочий поток: выгружает партиции из очереди, пока они не закончатся.
+     */
+    private void exportPartitions(int workerId, Queue<PartitionProgress> queue, Path directory,
+            ArchiveFormat.Format format, CompressionType compression, BooleanSupplier stopped) throws IOException {
+        try (KafkaConsumer<byte[], byte[]> consumer = new KafkaConsumer<>(withClientIdSuffix("-" + workerId))) {
+            PartitionProgress partition;
+            while (!stopped.getAsBoolean() && (partition = queue.poll()) != null) {
+                TopicPartition tp = partition.getTopicPartition();
+                Path segmentFile = directory.resolve(
+                        ArchiveFormat.segmentFileName(tp.topic(), tp.partition(), format, compression));
+                Path indexFile = directory.resolve(ArchiveFormat.indexFileName(tp.topic(), tp.partition()));
+                SegmentWriter writer = new SegmentWriter(segmentFile, indexFile, format, compression, blockSize);
+                long position = partition.getStartOffset();
+                try {
+                    consumer.assign(Collections.singletonList(tp));
+                    consumer.seek(tp, partition.getStartOffset());
+                    while (position < partition.getEndOffset() && !stopped.getAsBoolean()) {
+                        for (ConsumerRecord<byte[], byte[]> record : consumer.poll(POLL_TIMEOUT).records(tp)) {
+                            if (record.offset() >= partition.getEndOffset()) {
+                                break;
+                            }
+                            writer.append(record);
+                        }
+                        // Позиция учитывает пропуски смещений (компакция, маркеры транзакций)
+                        long newPosition = Math.min(consumer.position(tp), partition.getEndOffset());
+                        partition.advance(newPosition - position);
+                        position = newPosition;
+                    }
+                } finally {
+                    writer.close();
+                }
+                partition.finish(segmentFile, indexFile, writer, position >= partition.getEndOffset());
+            }
+        }
+    }
+
+    private static void writeManifest(Path directory, String topic, ArchiveFormat.Format format,
+            CompressionType compression, Summary summary) throws IOException {
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("topic", topic);
+        manifest.put("format", format.name());
+        manifest.put("compression", compression.name);
+        manifest.put("exportedAt", Instant.now().toString());
+        manifest.put("complete", summary.isComplete());
+        manifest.put("records", summary.getRecords());
+        List<Map<String, Object>> partitions = new ArrayList<>();
+        for (PartitionProgress p : summary.getPartitions()) {
+            if (!p.isFinished()) {
+                continue; // Партиция не начата из-за отмены или ошибки
+            }
+            Map<String, Object> partition = new LinkedHashMap<>();
+            partition.put("partition", p.getTopicPartition().partition());
+            partition.put("file", p.segmentFile);
+            partition.put("index", p.indexFile);
+            partition.put("records", p.getRecords());
+            partition.put("firstOffset", p.firstOffset);
+            partition.put("lastOffset", p.lastOffset);
+            partition.put("endOffset", p.getEndOffset());
+            partition.put("bytes", p.getBytesWritten());
+            partition.put("complete", p.complete);
+            partitions.add(partition);
+        }
+        manifest.put("partitions", partitions);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve(ArchiveFormat.MANIFEST_FILE).toFile(), manifest);
+    }
+
+    /**
+     * Прогресс выгрузки одной партиции.
+     */
+    public static final class PartitionProgress {
+        private final TopicPartition topicPartition;
+        private final long startOffset;
+        private final long endOffset;
+        private final AtomicLong scanned = new AtomicLong();
+        // Итоги заполняются рабочим потоком, когда файлы партиции закрыты
+        private volatile boolean finished;
+        private volatile long records;
+        private volatile long bytesWritten;
+        private String segmentFile;
+        private String indexFile;
+        private long firstOffset = -1;
+        private long lastOffset = -1;
+        private boolean complete;
+
+        PartitionProgress(TopicPartition topicPartition, long startOffset, long endOffset) {
+            this.topicPartition = topicPartition;
+            this.startOffset = startOffset;
+            this.endOffset = endOffset;
+        }
+
+        void advance(long offsets) {
+            scanned.addAndGet(offsets);
+        }
+
+        void finish(Path segmentFile, Path indexFile, SegmentWriter writer, boolean complete) {
+            this.segmentFile = segmentFile.getFileName().toString();
+            this.indexFile = indexFile.getFileName().toString();
+            this.firstOffset = writer.getFirstOffset();
+            this.lastOffset = writer.getLastOffset();
+            this.complete = complete;
+            this.records = writer.getRecords();
+            this.bytesWritten = writer.getBytesWritten();
+            this.finished = true; // Публикует остальные поля
+        }
+
+        public TopicPartition getTopicPartition() {
+            return topicPartition;
+        }
+
+        public long getStartOffset() {
+            return startOffset;
+        }
+
+        public long getEndOffset() {
+            return endOffset;
+        }
+
+        /** Число смещений для выгрузки. */
+        public long getTotal() {
+            return endOffset - startOffset;
+        }
+
+        /** Пройдено смещений (включая пропуски). */
+        public long getScanned() {
+            return scanned.get();
+        }
+
+        /** Файлы партиции записаны и закрыты. */
+        public boolean isFinished() {
+            return finished;
+        }
+
+        /** Записано сообщений; 0, пока партиция не выгружена. */
+        public long getRecords() {
+            return records;
+        }
+
+        /** Размер файла сообщений; 0, пока партиция не выгружена. */
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+    }
+
+    /**
+     * Итоги выгрузки.
+     */
+    public static final class Summary {
+        private final List<PartitionProgress> partitions;
+        private final boolean complete;
+        private final long elapsedNanos;
+
+        Summary(List<PartitionProgress> partitions, boolean complete, long elapsedNanos) {
+            this.partitions = partitions;
+            this.complete = complete;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public List<PartitionProgress> getPartitions() {
+            return partitions;
+        }
+
+        /** {@code false}, если выгрузка была отменена. */
+        public boolean isComplete() {
+            return complete;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public long getRecords() {
+            long total = 0;
+            for (PartitionProgress p : partitions) {
+                total += p.getRecords();
+            }
+            return total;
+        }
+
+        public long getBytesWritten() {
+            long total = 0;
+            for (PartitionProgress p : partitions) {
+                total += p.getBytesWritten();
+            }
+            return total;
+        }
+    }
+}
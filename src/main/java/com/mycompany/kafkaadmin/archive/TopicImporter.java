@@ -0,0 +1,591 @@
+package com.mycompany.kafkaadmin.archive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Загрузка выгрузки ({@link TopicExporter}) в топик того же или другого кластера.
+ * <p>
+ * Конвейер: рабочие потоки читают файлы партиций ({@link SegmentReader}, отображение в
+ * память) и передают сообщения общему {@link KafkaProducer}, который пакетирует и отправляет
+ * их асинхронно. Число неподтвержденных сообщений ограничено окном ({@link Semaphore}),
+ * темп - общим для всех потоков расписанием отправки.
+ * <p>
+ * Для каждой исходной партиции отслеживается последнее смещение, до которого включительно
+ * все сообщения подтверждены брокером. Эти смещения периодически сохраняются в файл
+ * состояния рядом с выгрузкой, и прерванная загрузка продолжается с них. Гарантия -
+ * "хотя бы один раз": сообщения, подтвержденные после первого неподтвержденного, при
+ * продолжении будут отправлены повторно. Первая ошибка чтения или отправки останавливает
+ * все потоки, и после нее новые сообщения не отправляются.
+ * <p>
+ * Экземпляр рассчитан на одну загрузку.
+ */
+public class TopicImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicImporter.class);
+
+    public static final int DEFAULT_THREADS = Math.min(Runtime.getRuntime().availableProcessors(), 4);
+    private static final long STATE_SAVE_INTERVAL_MS = 1000;
+    // Раньше срока меньше чем на это время не засыпаем: parkNanos не точнее ~50 мкс
+    private static final long MIN_PARK_NANOS = 100_000;
+
+    /** Выбор партиции назначения. */
+    public enum PartitionMapping {
+        PRESERVE("Same partition"), MODULO("Source partition mod target count"), PARTITIONER("By key (partitioner)");
+
+        private final String label;
+
+        PartitionMapping(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /** Обработка ключей сообщений. */
+    public enum KeyMapping {
+        PRESERVE("Keep keys"), DROP("Drop keys");
+
+        private final String label;
+
+        KeyMapping(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final Properties producerProperties;
+    private final Settings settings;
+    private volatile List<PartitionProgress> progress = Collections.emptyList();
+    private volatile long startNanos;
+
+    public TopicImporter(Properties connectionProperties, Settings settings) {
+        settings.validate();
+        Properties props = new Properties();
+        props.putAll(connectionProperties);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        // Идемпотентность сохраняет порядок сообщений партиции при повторах отправки
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "true");
+        props.putIfAbsent(ProducerConfig.CLIENT_ID_CONFIG, "kafkaadmin-import");
+        props.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, "20");
+        props.putIfAbsent(ProducerConfig.BATCH_SIZE_CONFIG, String.valueOf(256 * 1024));
+        props.putIfAbsent(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        this.producerProperties = props;
+        this.settings = settings;
+    }
+
+    /**
+     * Файл состояния загрузки выгрузки в заданный топик.
+     */
+    public static Path stateFile(Path directory, String targetTopic) {
+        return directory.resolve("import-" + targetTopic + ".state.json");
+    }
+
+    /**
+     * Прогресс по исходным партициям (пустой список до начала загрузки).
+     */
+    public List<PartitionProgress> getProgress() {
+        return progress;
+    }
+
+    /** Время с начала отправки; 0 до начала. */
+    public long getElapsedNanos() {
+        long start = startNanos;
+        return start == 0 ? 0 : System.nanoTime() - start;
+    }
+
+    /**
+     * Загружает выгрузку в топик; блокируется до завершения. При отмене дожидается
+     * подтверждения уже отправленных сообщений и сохраняет состояние для продолжения.
+     *
+     * @param resume продолжить с подтвержденных смещений из файла состояния, если он есть
+     */
+    public Summary run(ArchiveManifest manifest, boolean resume, BooleanSupplier cancelled)
+            throws IOException, InterruptedException, ExecutionException {
+        String topic = settings.getTopic();
+        Path stateFile = stateFile(manifest.getDirectory(), topic);
+        Map<Integer, Long> acknowledged = resume ? readState(stateFile) : Collections.emptyMap();
+
+        try (KafkaProducer<byte[], byte[]> producer = new KafkaProducer<>(producerProperties)) {
+            List<PartitionInfo> targetPartitions = producer.partitionsFor(topic);
+            int targetCount = targetPartitions.size();
+            List<PartitionProgress> plan = new ArrayList<>();
+            for (ArchiveManifest.Partition partition : manifest.getPartitions()) {
+                Integer target = targetPartition(partition.getPartition(), targetCount);
+                Long done = acknowledged.get(partition.getPartition());
+                plan.add(new PartitionProgress(partition, target, done != null ? done : -1, settings.getMaxInFlight()));
+            }
+            progress = Collections.unmodifiableList(plan);
+
+            Queue<PartitionProgress> queue = new ConcurrentLinkedQueue<>(plan);
+            Semaphore window = new Semaphore(settings.getMaxInFlight());
+            AtomicReference<Exception> sendError = new AtomicReference<>();
+            AtomicBoolean failed = new AtomicBoolean();
+            BooleanSupplier stopped = () -> failed.get() || sendError.get() != null || cancelled.getAsBoolean();
+            int workerCount = Math.max(1, Math.min(settings.getThreads(), plan.size()));
+            ExecutorService executor = Executors.newFixedThreadPool(workerCount, r -> {
+                Thread thread = new Thread(r, "topic-import");
+                thread.setDaemon(true);
+                return thread;
+            });
+            startNanos = System.nanoTime();
+            AtomicLong nextSendNanos = new AtomicLong(startNanos);
+            List<Future<?>> workers = new ArrayList<>();
+            try {
+                for (int i = 0; i < workerCount; i++) {
+                    workers.add(executor.submit(() -> {
+                        try {
+                            importPartitions(producer, manifest, queue, window, nextSendNanos, sendError, stopped);
+                        } catch (Exception e) {
+                            failed.set(true); // Остальные потоки останавливаются, не дожидаясь завершения этого
+                            throw e;
+                        }
+                        return null;
+                    }));
+                }
+                executor.shutdown();
+                // Пока потоки работают, периодически сохраняем подтвержденные смещения
+                while (!executor.awaitTermination(STATE_SAVE_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                    writeState(stateFile, manifest, plan, false);
+                }
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            } catch (ExecutionException | InterruptedException e) {
+                failed.set(true); // Остальные потоки завершатся после текущего сообщения
+                throw e;
+            } finally {
+                executor.shutdownNow();
+                producer.flush(); // Дожидаемся подтверждений, чтобы сохранить точное состояние
+                writeState(stateFile, manifest, plan, sendError.get() == null && allFinished(plan));
+            }
+            if (sendError.get() != null) {
+                throw new ExecutionException("Failed to send a record to topic '" + topic + "'", sendError.get());
+            }
+            boolean complete = allFinished(plan);
+            Summary summary = new Summary(plan, complete, getElapsedNanos());
+            log.info("Imported {} record(s) ({} bytes) from {} to topic '{}' in {} ms{}", summary.getAcked(),
+                    summary.getBytes(), manifest.getDirectory(), topic, summary.getElapsedNanos() / 1_000_000,
+                    complete ? "" : " (cancelled)");
+            return summary;
+        }
+    }
+
+    private static boolean allFinished(List<PartitionProgress> plan) {
+        for (PartitionProgress p : plan) {
+            if (!p.isFinished()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Integer targetPartition(int sourcePartition, int targetCount) {
+        switch (settings.getPartitionMapping()) {
+            case PRESERVE:
+                if (sourcePartition >= targetCount) {
+                    throw new IllegalArgumentException("Topic '" + settings.getTopic() + "' has " + targetCount
+                            + " partition(s), source partition " + sourcePartition + " cannot be preserved");
+                }
+                return sourcePartition;
+            case MODULO:
+                return sourcePartition % targetCount;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Резервирует время отправки следующего сообщения при ограничении скорости. Отставание от
+     * расписания больше чем на один интервал (медленный брокер, полное окно) не наверстывается
+     * пачкой сообщений: расписание сдвигается к текущему времени.
+     */
+    private static long reserveSendTime(AtomicLong nextSendNanos, long intervalNanos) {
+        long now = System.nanoTime();
+        long next;
+        long slot;
+        do {
+            next = nextSendNanos.get();
+            slot = Math.max(next, now - intervalNanos);
+        } while (!nextSendNanos.compareAndSet(next, slot + intervalNanos));
+        return slot;
+    }
+
+    /**
+     * Рабочий поток: загружает партиции из очереди, пока они не закончатся.
+     */
+    private void importPartitions(KafkaProducer<byte[], byte[]> producer, ArchiveManifest manifest,
+            Queue<PartitionProgress> queue, Semaphore window, AtomicLong nextSendNanos,
+            AtomicReference<Exception> sendError, BooleanSupplier stopped) throws IOException, InterruptedException {
+        String topic = settings.getTopic();
+        long intervalNanos = settings.getTargetRate() > 0 ? 1_000_000_000L / settings.getTargetRate() : 0;
+        boolean dropKeys = settings.getKeyMapping() == KeyMapping.DROP;
+        PartitionProgress partition;
+        while (!stopped.getAsBoolean() && (partition = queue.poll()) != null) {
+            try (SegmentReader reader = manifest.openReader(partition.source)) {
+                if (partition.resumeAfter >= 0) {
+                    reader.seek(partition.resumeAfter + 1);
+                }
+                ArchivedRecord record;
+                while (!stopped.getAsBoolean() && (record = reader.next()) != null) {
+                    if (intervalNanos > 0) {
+                        long ahead = reserveSendTime(nextSendNanos, intervalNanos) - System.nanoTime();
+                        if (ahead > MIN_PARK_NANOS) {
+                            LockSupport.parkNanos(ahead);
+                        }
+                    }
+                    while (!window.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                        if (stopped.getAsBoolean()) {
+                            return;
+                        }
+                    }
+                    if (stopped.getAsBoolean()) {
+                        window.release(); // Ошибка могла произойти, пока ждали место в окне
+                        return;
+                    }
+                    long sequence = partition.sent(record.getOffset());
+                    int size = record.size();
+                    PartitionProgress target = partition;
+                    ProducerRecord<byte[], byte[]> producerRecord = new ProducerRecord<>(topic,
+                            partition.targetPartition, settings.isPreserveTimestamps() && record.getTimestamp() >= 0
+                                    ? record.getTimestamp() : null,
+                            dropKeys ? null : record.getKey(), record.getValue(), Arrays.asList(record.getHeaders()));
+                    try {
+                        producer.send(producerRecord, (metadata, exception) -> {
+                            if (exception == null) {
+                                window.release(target.acked(sequence, size));
+                            } else {
+                                sendError.compareAndSet(null, exception);
+                                window.release();
+                            }
+                        });
+                    } catch (RuntimeException e) {
+                        window.release();
+                        throw e;
+                    }
+                }
+                if (!stopped.getAsBoolean()) {
+                    partition.readFinished();
+                }
+            }
+        }
+    }
+
+    private static Map<Integer, Long> readState(Path stateFile) throws IOException {
+        if (!Files.exists(stateFile)) {
+            return Collections.emptyMap();
+        }
+        JsonNode root = new ObjectMapper().readTree(stateFile.toFile());
+        Map<Integer, Long> acknowledged = new HashMap<>();
+        for (JsonNode node : root.path("partitions")) {
+            acknowledged.put(node.path("partition").asInt(), node.path("acknowledgedOffset").asLong(-1));
+        }
+        return acknowledged;
+    }
+
+    private void writeState(Path stateFile, ArchiveManifest manifest, List<PartitionProgress> plan, boolean complete)
+            throws IOException {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("sourceTopic", manifest.getTopic());
+        state.put("targetTopic", settings.getTopic());
+        state.put("updatedAt", Instant.now().toString());
+        state.put("complete", complete);
+        List<Map<String, Object>> partitions = new ArrayList<>();
+        for (PartitionProgress p : plan) {
+            Map<String, Object> partition = new LinkedHashMap<>();
+            partition.put("partition", p.getSourcePartition());
+            partition.put("acknowledgedOffset", p.getAcknowledgedOffset());
+            partitions.add(partition);
+        }
+        state.put("partitions", partitions);
+        // Запись через временный файл: прерывание не оставит испорченное состояние
+        File temp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp").toFile();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(temp, state);
+        Files.move(temp.toPath(), stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Прогресс загрузки одной исходной партиции.
+     * <p>
+     * Отправленные смещения хранятся в кольцевом буфере размером с окно отправки;
+     * подтверждения могут приходить не по порядку (разные партиции назначения), поэтому
+     * подтвержденное смещение сдвигается только по непрерывному префиксу. Место в окне
+     * освобождается при сдвиге префикса, так что буфер не переполняется.
+     */
+    public static final class PartitionProgress {
+        private final ArchiveManifest.Partition source;
+        private final Integer targetPartition;
+        private final long resumeAfter;
+        private final long[] pendingOffsets;
+        private final boolean[] pendingAcked;
+        private long nextSequence;
+        private long headSequence;
+        private long acknowledgedOffset;
+        private long sent;
+        private long acked;
+        private long bytes;
+        private volatile boolean readFinished;
+
+        PartitionProgress(ArchiveManifest.Partition source, Integer targetPartition, long resumeAfter, int window) {
+            this.source = source;
+            this.targetPartition = targetPartition;
+            this.resumeAfter = resumeAfter;
+            this.acknowledgedOffset = resumeAfter;
+            this.pendingOffsets = new long[window];
+            this.pendingAcked = new boolean[window];
+        }
+
+        synchronized long sent(long offset) {
+            long sequence = nextSequence++;
+            int slot = (int) (sequence % pendingOffsets.length);
+            pendingOffsets[slot] = offset;
+            pendingAcked[slot] = false;
+            sent++;
+            return sequence;
+        }
+
+        /**
+         * @return на сколько сообщений сдвинулся подтвержденный префикс
+         */
+        synchronized int acked(long sequence, int size) {
+            pendingAcked[(int) (sequence % pendingAcked.length)] = true;
+            acked++;
+            bytes += size;
+            long head = headSequence;
+            while (headSequence < nextSequence) {
+                int slot = (int) (headSequence % pendingAcked.length);
+                if (!pendingAcked[slot]) {
+                    break;
+                }
+                acknowledgedOffset = pendingOffsets[slot];
+                headSequence++;
+            }
+            return (int) (headSequence - head);
+        }
+
+        void readFinished() {
+            readFinished = true;
+        }
+
+        public int getSourcePartition() {
+            return source.getPartition();
+        }
+
+        /** Партиция назначения; {@code null} - выбирает partitioner производителя. */
+        public Integer getTargetPartition() {
+            return targetPartition;
+        }
+
+        /** Сообщений в файле партиции. */
+        public long getRecords() {
+            return source.getRecords();
+        }
+
+        /** Исходное смещение первого сообщения в файле; -1, если сообщений нет. */
+        public long getFirstOffset() {
+            return source.getFirstOffset();
+        }
+
+        public long getLastOffset() {
+            return source.getLastOffset();
+        }
+
+        /** Смещение, после которого продолжена загрузка; -1 - загрузка с начала. */
+        public long getResumeAfter() {
+            return resumeAfter;
+        }
+
+        public synchronized long getSent() {
+            return sent;
+        }
+
+        public synchronized long getAcked() {
+            return acked;
+        }
+
+        /** Байт ключей и значений в подтвержденных сообщениях. */
+        public synchronized long getBytes() {
+            return bytes;
+        }
+
+        /** Последнее исходное смещение, до которого включительно все сообщения подтверждены; -1 - нет. */
+        public synchronized long getAcknowledgedOffset() {
+            return acknowledgedOffset;
+        }
+
+        /** Файл прочитан и все отправленные сообщения подтверждены. */
+        public synchronized boolean isFinished() {
+            return readFinished && headSequence == nextSequence;
+        }
+    }
+
+    /**
+     * Итоги загрузки.
+     */
+    public static final class Summary {
+        private final List<PartitionProgress> partitions;
+        private final boolean complete;
+        private final long elapsedNanos;
+
+        Summary(List<PartitionProgress> partitions, boolean complete, long elapsedNanos) {
+            this.partitions = partitions;
+            this.complete = complete;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public List<PartitionProgress> getPartitions() {
+            return partitions;
+        }
+
+        /** {@code false}, если загрузка была отменена. */
+        public boolean isComplete() {
+            return complete;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public long getAcked() {
+            long total = 0;
+            for (PartitionProgress p : partitions) {
+                total += p.getAcked();
+            }
+            return total;
+        }
+
+        public long getBytes() {
+            long total = 0;
+            for (PartitionProgress p : partitions) {
+                total += p.getBytes();
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Параметры загрузки.
+     */
+    public static class Settings {
+        private String topic;
+        private PartitionMapping partitionMapping = PartitionMapping.PRESERVE;
+        private KeyMapping keyMapping = KeyMapping.PRESERVE;
+        private boolean preserveTimestamps = true;
+        private long targetRate; // Сообщений в секунду; 0 - без ограничения
+        private int maxInFlight = 10_000; // Неподтвержденных сообщений
+        private int threads = DEFAULT_THREADS;
+
+        void validate() {
+            if (topic == null || topic.isEmpty()) {
+                throw new IllegalArgumentException("Target topic is not set");
+            }
+            if (targetRate < 0) {
+                throw new IllegalArgumentException("Target rate must not be negative");
+            }
+            if (maxInFlight <= 0 || threads <= 0) {
+                throw new IllegalArgumentException("In-flight window and threads must be positive");
+            }
+        }
+
+        public String getTopic() {
+            return topic;
+        }
+
+        public void setTopic(String topic) {
+            this.topic = topic;
+        }
+
+        public PartitionMapping getPartitionMapping() {
+            return partitionMapping;
+        }
+
+        public void setPartitionMapping(PartitionMapping partitionMapping) {
+            this.partitionMapping = partitionMapping;
+        }
+
+        public KeyMapping getKeyMapping() {
+            return keyMapping;
+        }
+
+        public void setKeyMapping(KeyMapping keyMapping) {
+            this.keyMapping = keyMapping;
+        }
+
+        public boolean isPreserveTimestamps() {
+            return preserveTimestamps;
+        }
+
+        public void setPreserveTimestamps(boolean preserveTimestamps) {
+            this.preserveTimestamps = preserveTimestamps;
+        }
+
+        public long getTargetRate() {
+            return targetRate;
+        }
+
+        public void setTargetRate(long targetRate) {
+            this.targetRate = targetRate;
+        }
+
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public void setMaxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.mycompany.kafkaadmin.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Сохранение результатов нагрузочных тестов в JSON для последующего сравнения запусков.
+ * <p>
+ * Формат:
+ * <pre>
+ * { "benchmark": "producer", "cluster": "prod", "finishedAt": "2024-05-01T10:00:00Z",
+ *   "settings": { ... }, "results": { ... },
+ *   "latencyMicros": { "min": 812, "mean": 2310.5, "p50": 1983, "p99": 7551, "max": 40111 } }
+ * </pre>
+ */
+public final class BenchmarkReport {
+
+    /** Процентили, которые показываются в окнах тестов и сохраняются в отчет. */
+    public static final double[] PERCENTILES = { 50, 75, 90, 95, 99, 99.9, 99.99 };
+
+    private BenchmarkReport() {
+    }
+
+    public static String percentileLabel(double percentile) {
+        return "p" + (percentile == Math.rint(percentile) ? String.valueOf((long) percentile)
+                : String.valueOf(percentile));
+    }
+
+    /**
+     * Сводка гистограммы: минимум, среднее, процентили {@link #PERCENTILES} и максимум.
+     */
+    public static Map<String, Object> summarize(LatencyHistogram histogram) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", histogram.getCount());
+        map.put("min", histogram.getMin());
+        map.put("mean", Math.round(histogram.getMean() * 10) / 10.0);
+        for (double percentile : PERCENTILES) {
+            map.put(percentileLabel(percentile), histogram.valueAtPercentile(percentile));
+        }
+        map.put("max", histogram.getMax());
+        return map;
+    }
+
+    public static void write(File file, String benchmark, String cluster, Map<String, Object> settings,
+            Map<String, Object> results, LatencyHistogram latency) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("benchmark", benchmark);
+        report.put("cluster", cluster);
+        report.put("finishedAt", Instant.now().toString());
+        report.put("settings", settings);
+        report.put("results", results);
+        report.put("latencyMicros", summarize(latency));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+    }
+}
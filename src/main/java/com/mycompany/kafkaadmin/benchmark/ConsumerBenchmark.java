@@ -0,0 +1,510 @@
+package com.mycompany.kafkaadmin.benchmark;
+
+import com.mycompany.kafkaadmin.message.TopicMessageReader;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Нагрузочный тест потребителя: читает топик с заданной позиции до конечных смещений на
+ * момент запуска (без группы и коммита смещений) и измеряет скорость чтения, длительность
+ * {@code poll} и задержку по партициям.
+ * <p>
+ * Задержка партиции - время между двумя порциями ее сообщений (для первой порции - от начала
+ * теста); она показывает, насколько равномерно потребитель выбирает партиции при заданных
+ * {@code fetch.*} параметрах. Объем выделенной потоком чтения памяти берется из JMX
+ * ({@code com.sun.management.ThreadMXBean}), число и время сборок мусора - из
+ * {@link GarbageCollectorMXBean}.
+ * <p>
+ * Экземпляр рассчитан на один запуск; {@link #snapshot()} можно вызывать из любого потока.
+ */
+public class ConsumerBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsumerBenchmark.class);
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(1000);
+
+    private final Properties connectionProperties;
+    private final Settings settings;
+
+    private final LatencyHistogram pollLatency = new LatencyHistogram();
+    private final AtomicLong records = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong polls = new AtomicLong();
+    private volatile List<PartitionStats> partitions = Collections.emptyList();
+    private volatile long totalToRead;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    // Учет памяти и GC
+    private volatile long readerThreadId = -1;
+    private volatile long startAllocatedBytes;
+    private volatile long endAllocatedBytes = -1;
+    private volatile long startGcCount;
+    private volatile long startGcTimeMs;
+
+    public ConsumerBenchmark(Properties connectionProperties, Settings settings) {
+        settings.validate();
+        this.connectionProperties = connectionProperties;
+        this.settings = settings;
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    Properties consumerProperties() {
+        Properties props = TopicMessageReader.consumerProperties(connectionProperties);
+        // Параметры выборки - предмет теста и задаются настройками; client.id из подключения сохраняется
+        props.put(ConsumerConfig.CLIENT_ID_CONFIG,
+                connectionProperties.getProperty(ConsumerConfig.CLIENT_ID_CONFIG, "kafkaadmin-benchmark"));
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, String.valueOf(settings.getFetchMinBytes()));
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, String.valueOf(settings.getFetchMaxWaitMs()));
+        props.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG,
+                String.valueOf(settings.getMaxPartitionFetchBytes()));
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(settings.getMaxPollRecords()));
+        return props;
+    }
+
+    /**
+     * Выполняет тест и блокируется до его завершения.
+     *
+     * @param cancelled признак досрочной остановки
+     * @return итоговый снимок
+     */
+    public Snapshot run(BooleanSupplier cancelled) {
+        String topic = settings.getTopic();
+        try (KafkaConsumer<byte[], byte[]> consumer = new KafkaConsumer<>(consumerProperties())) {
+            List<PartitionInfo> infos = consumer.partitionsFor(topic);
+            if (infos == null || infos.isEmpty()) {
+                throw new IllegalArgumentException("Topic '" + topic + "' has no partitions to read");
+            }
+            List<TopicPartition> assigned = new ArrayList<>(infos.size());
+            for (PartitionInfo info : infos) {
+                assigned.add(new TopicPartition(topic, info.partition()));
+            }
+            assigned.sort((a, b) -> Integer.compare(a.partition(), b.partition()));
+            consumer.assign(assigned);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(assigned);
+            Map<TopicPartition, Long> startOffsets = settings.getStart().resolve(consumer, assigned, endOffsets);
+
+            Map<TopicPartition, PartitionStats> statsByPartition = new HashMap<>();
+            List<PartitionStats> stats = new ArrayList<>(assigned.size());
+            List<TopicPartition> finished = new ArrayList<>();
+            long total = 0;
+            for (TopicPartition tp : assigned) {
+                PartitionStats partitionStats = new PartitionStats(tp, startOffsets.get(tp), endOffsets.get(tp));
+                stats.add(partitionStats);
+                statsByPartition.put(tp, partitionStats);
+                total += partitionStats.getTotal();
+                consumer.seek(tp, partitionStats.startOffset);
+                if (partitionStats.getTotal() == 0) {
+                    partitionStats.done = true;
+                    finished.add(tp);
+                }
+            }
+            consumer.pause(finished);
+            int active = assigned.size() - finished.size();
+            long maxRecords = settings.getMaxRecords() > 0 ? settings.getMaxRecords() : Long.MAX_VALUE;
+            totalToRead = Math.min(total, maxRecords);
+            partitions = Collections.unmodifiableList(stats);
+
+            startMeasurements();
+            for (PartitionStats partitionStats : stats) {
+                partitionStats.lastDeliveryNanos = startNanos;
+            }
+            while (active > 0 && records.get() < maxRecords && !cancelled.getAsBoolean()) {
+                long pollStart = System.nanoTime();
+                ConsumerRecords<byte[], byte[]> batch = consumer.poll(POLL_TIMEOUT);
+                long pollEnd = System.nanoTime();
+                pollLatency.record((pollEnd - pollStart) / 1000);
+                polls.incrementAndGet();
+
+                finished.clear();
+                for (TopicPartition tp : batch.partitions()) {
+                    PartitionStats partitionStats = statsByPartition.get(tp);
+                    long partitionRecords = 0;
+                    long partitionBytes = 0;
+                    for (ConsumerRecord<byte[], byte[]> record : batch.records(tp)) {
+                        partitionRecords++;
+                        partitionBytes += Math.max(record.serializedKeySize(), 0)
+                                + Math.max(record.serializedValueSize(), 0);
+                    }
+                    partitionStats.deliver(partitionRecords, partitionBytes, pollEnd);
+                    records.addAndGet(partitionRecords);
+                    bytes.addAndGet(partitionBytes);
+                }
+                for (PartitionStats partitionStats : stats) {
+                    // Позиция учитывает пропуски смещений (компакция, маркеры транзакций)
+                    if (!partitionStats.done && consumer.position(partitionStats.topicPartition)
+                            >= partitionStats.endOffset) {
+                        partitionStats.done = true;
+                        finished.add(partitionStats.topicPartition);
+                    }
+                }
+                if (!finished.isEmpty()) {
+                    consumer.pause(finished);
+                    active -= finished.size();
+                }
+            }
+        } finally {
+            finishMeasurements();
+        }
+        Snapshot result = snapshot();
+        log.info("Consumer benchmark on '{}': {} record(s), {} rec/s, {} MB/s, {} poll(s), poll p99 {} us", topic,
+                result.getRecords(), Math.round(result.getRecordsPerSecond()),
+                String.format("%.2f", result.getMegabytesPerSecond()), result.getPolls(),
+                result.getPollLatency().valueAtPercentile(99));
+        return result;
+    }
+
+    private void startMeasurements() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+            if (allocation.isThreadAllocatedMemorySupported() && allocation.isThreadAllocatedMemoryEnabled()) {
+                readerThreadId = Thread.currentThread().getId();
+                startAllocatedBytes = allocation.getThreadAllocatedBytes(readerThreadId);
+            }
+        }
+        startGcCount = gcCount();
+        startGcTimeMs = gcTimeMs();
+        startNanos = System.nanoTime();
+    }
+
+    private void finishMeasurements() {
+        if (startNanos == 0) {
+            return;
+        }
+        endAllocatedBytes = allocatedBytes();
+        endNanos = System.nanoTime();
+    }
+
+    /** Выделено потоком чтения с начала теста; -1, если JVM не поддерживает учет. */
+    private long allocatedBytes() {
+        if (endAllocatedBytes >= 0) {
+            return endAllocatedBytes;
+        }
+        long threadId = readerThreadId;
+        if (threadId < 0) {
+            return -1;
+        }
+        long allocated = ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(threadId);
+        return allocated < 0 ? -1 : allocated - startAllocatedBytes;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private static long gcTimeMs() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(gc.getCollectionTime(), 0);
+        }
+        return time;
+    }
+
+    /**
+     * Текущее состояние теста.
+     */
+    public Snapshot snapshot() {
+        long start = startNanos;
+        long end = endNanos;
+        long elapsed = start == 0 ? 0 : (end != 0 ? end : System.nanoTime()) - start;
+        List<PartitionStats> current = partitions;
+        List<PartitionSnapshot> partitionSnapshots = new ArrayList<>(current.size());
+        for (PartitionStats stats : current) {
+            partitionSnapshots.add(stats.snapshot());
+        }
+        long gcCount = start == 0 ? 0 : gcCount() - startGcCount;
+        long gcTime = start == 0 ? 0 : gcTimeMs() - startGcTimeMs;
+        return new Snapshot(elapsed, totalToRead, records.get(), bytes.get(), polls.get(), pollLatency.copy(),
+                start == 0 ? -1 : allocatedBytes(), gcCount, gcTime, partitionSnapshots);
+    }
+
+    /**
+     * Счетчики партиции; изменяются только потоком чтения.
+     */
+    private static final class PartitionStats {
+        final TopicPartition topicPartition;
+        final long startOffset;
+        final long endOffset;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final AtomicLong records = new AtomicLong();
+        final AtomicLong bytes = new AtomicLong();
+        long lastDeliveryNanos;
+        boolean done;
+
+        PartitionStats(TopicPartition topicPartition, long startOffset, long endOffset) {
+            this.topicPartition = topicPartition;
+            this.startOffset = startOffset;
+            this.endOffset = endOffset;
+        }
+
+        long getTotal() {
+            return endOffset - startOffset;
+        }
+
+        void deliver(long count, long size, long nowNanos) {
+            latency.record((nowNanos - lastDeliveryNanos) / 1000);
+            lastDeliveryNanos = nowNanos;
+            records.addAndGet(count);
+            bytes.addAndGet(size);
+        }
+
+        PartitionSnapshot snapshot() {
+            return new PartitionSnapshot(topicPartition.partition(), getTotal(), records.get(), bytes.get(),
+                    latency.copy());
+        }
+    }
+
+    /**
+     * Параметры теста.
+     */
+    public static class Settings {
+        private String topic;
+        private TopicMessageReader.StartPosition start = TopicMessageReader.StartPosition.beginning();
+        private long maxRecords; // 0 - до конечных смещений на момент запуска
+        private int fetchMinBytes = 1;
+        private int fetchMaxWaitMs = 500;
+        private int maxPartitionFetchBytes = 1024 * 1024;
+        private int maxPollRecords = 500;
+
+        void validate() {
+            if (topic == null || topic.isEmpty()) {
+                throw new IllegalArgumentException("Topic is not set");
+            }
+            if (maxRecords < 0 || fetchMinBytes < 0 || fetchMaxWaitMs < 0) {
+                throw new IllegalArgumentException("Max records, fetch.min.bytes and fetch.max.wait.ms "
+                        + "must not be negative");
+            }
+            if (maxPartitionFetchBytes <= 0 || maxPollRecords <= 0) {
+                throw new IllegalArgumentException("max.partition.fetch.bytes and max.poll.records must be positive");
+            }
+        }
+
+        /** Параметры для отчета, в порядке отображения. */
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("topic", topic);
+            map.put("start", start.toString());
+            map.put("maxRecords", maxRecords);
+            map.put("fetchMinBytes", fetchMinBytes);
+            map.put("fetchMaxWaitMs", fetchMaxWaitMs);
+            map.put("maxPartitionFetchBytes", maxPartitionFetchBytes);
+            map.put("maxPollRecords", maxPollRecords);
+            return map;
+        }
+
+        public String getTopic() {
+            return topic;
+        }
+
+        public void setTopic(String topic) {
+            this.topic = topic;
+        }
+
+        public TopicMessageReader.StartPosition getStart() {
+            return start;
+        }
+
+        public void setStart(TopicMessageReader.StartPosition start) {
+            this.start = start;
+        }
+
+        public long getMaxRecords() {
+            return maxRecords;
+        }
+
+        public void setMaxRecords(long maxRecords) {
+            this.maxRecords = maxRecords;
+        }
+
+        public int getFetchMinBytes() {
+            return fetchMinBytes;
+        }
+
+        public void setFetchMinBytes(int fetchMinBytes) {
+            this.fetchMinBytes = fetchMinBytes;
+        }
+
+        public int getFetchMaxWaitMs() {
+            return fetchMaxWaitMs;
+        }
+
+        public void setFetchMaxWaitMs(int fetchMaxWaitMs) {
+            this.fetchMaxWaitMs = fetchMaxWaitMs;
+        }
+
+        public int getMaxPartitionFetchBytes() {
+            return maxPartitionFetchBytes;
+        }
+
+        public void setMaxPartitionFetchBytes(int maxPartitionFetchBytes) {
+            this.maxPartitionFetchBytes = maxPartitionFetchBytes;
+        }
+
+        public int getMaxPollRecords() {
+            return maxPollRecords;
+        }
+
+        public void setMaxPollRecords(int maxPollRecords) {
+            this.maxPollRecords = maxPollRecords;
+        }
+    }
+
+    /**
+     * Состояние партиции на момент снимка.
+     */
+    public static final class PartitionSnapshot {
+        private final int partition;
+        private final long total;
+        private final long records;
+        private final long bytes;
+        private final LatencyHistogram latency;
+
+        PartitionSnapshot(int partition, long total, long records, long bytes, LatencyHistogram latency) {
+            this.partition = partition;
+            this.total = total;
+            this.records = records;
+            this.bytes = bytes;
+            this.latency = latency;
+        }
+
+        public int getPartition() {
+            return partition;
+        }
+
+        /** Смещений между начальной позицией и конечным смещением. */
+        public long getTotal() {
+            return total;
+        }
+
+        public long getRecords() {
+            return records;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        /** Интервалы между порциями сообщений партиции в микросекундах. */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+    }
+
+    /**
+     * Состояние теста на момент вызова {@link #snapshot()}.
+     */
+    public static final class Snapshot {
+        private final long elapsedNanos;
+        private final long totalToRead;
+        private final long records;
+        private final long bytes;
+        private final long polls;
+        private final LatencyHistogram pollLatency;
+        private final long allocatedBytes;
+        private final long gcCount;
+        private final long gcTimeMs;
+        private final List<PartitionSnapshot> partitions;
+
+        Snapshot(long elapsedNanos, long totalToRead, long records, long bytes, long polls,
+                LatencyHistogram pollLatency, long allocatedBytes, long gcCount, long gcTimeMs,
+                List<PartitionSnapshot> partitions) {
+            this.elapsedNanos = elapsedNanos;
+            this.totalToRead = totalToRead;
+            this.records = records;
+            this.bytes = bytes;
+            this.polls = polls;
+            this.pollLatency = pollLatency;
+            this.allocatedBytes = allocatedBytes;
+            this.gcCount = gcCount;
+            this.gcTimeMs = gcTimeMs;
+            this.partitions = partitions;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /** Сколько сообщений (смещений) предстоит прочитать; 0 до начала теста. */
+        public long getTotalToRead() {
+            return totalToRead;
+        }
+
+        public long getRecords() {
+            return records;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getPolls() {
+            return polls;
+        }
+
+        /** Длительность {@code poll} в микросекундах. */
+        public LatencyHistogram getPollLatency() {
+            return pollLatency;
+        }
+
+        /** Выделено потоком чтения с начала теста; -1, если учет недоступен. */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /** Сборок мусора во всей JVM с начала теста. */
+        public long getGcCount() {
+            return gcCount;
+        }
+
+        public long getGcTimeMs() {
+            return gcTimeMs;
+        }
+
+        public List<PartitionSnapshot> getPartitions() {
+            return partitions;
+        }
+
+        public double getRecordsPerSecond() {
+            return elapsedNanos == 0 ? 0 : records * 1e9 / elapsedNanos;
+        }
+
+        public double getMegabytesPerSecond() {
+            return elapsedNanos == 0 ? 0 : bytes * 1e9 / elapsedNanos / (1024 * 1024);
+        }
+
+        /** Скорость выделения памяти потоком чтения, MB/s; -1, если учет недоступен. */
+        public double getAllocationMegabytesPerSecond() {
+            return allocatedBytes < 0 || elapsedNanos == 0 ? -1
+                    : allocatedBytes * 1e9 / elapsedNanos / (1024 * 1024);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.mycompany.kafkaadmin.benchmark;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Гистограмма задержек в микросекундах с логарифмически-линейными корзинами (по схеме
+ * HdrHistogram): значения до 128 хранятся точно, дальше каждая степень двойки делится на 64
+ * корзины, так что относительная погрешность не превышает 1/64 (~1.6%). Память фиксирована
+ * (около 16 KB) и не зависит от числа значений.
+ * <p>
+ * Запись ({@link #record(long)}) не блокируется и безопасна из нескольких потоков;
+ * {@link #copy()} дает согласованный для отображения снимок.
+ */
+public final class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 128;
+    private static final int SUB_BUCKETS = 64;
+    private static final int SUB_BUCKET_BITS = 6;
+    // Значения больше 2^37 мкс (~38 часов) учитываются в последней корзине
+    private static final int MAX_SHIFT = 30;
+    private static final long MAX_VALUE = (1L << (MAX_SHIFT + SUB_BUCKET_BITS + 1)) - 1;
+    private static final int BUCKET_COUNT = LINEAR_BUCKETS + MAX_SHIFT * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long micros) {
+        long value = Math.max(0, Math.min(micros, MAX_VALUE));
+        counts.incrementAndGet(index(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long current;
+        while (value < (current = min.get()) && !min.compareAndSet(current, value)) {
+            // Повторяем, пока другой поток не записал меньшее значение
+        }
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // Повторяем, пока другой поток не записал большее значение
+        }
+    }
+
+    /**
+     * Копия текущего состояния; запись в исходную гистограмму при этом не останавливается.
+     */
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long c = counts.get(i);
+            if (c != 0) {
+                copy.counts.set(i, c);
+                total += c;
+            }
+        }
+        // Счетчик берется из корзин, чтобы процентили копии были согласованы
+        copy.count.set(total);
+        copy.sum.set(sum.get());
+        copy.min.set(min.get());
+        copy.max.set(max.get());
+        return copy;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMin() {
+        return count.get() == 0 ? 0 : min.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Значение, не меньше которого {@code percentile} процентов записанных значений
+     * (верхняя граница корзины, но не больше максимума).
+     *
+     * @param percentile от 0 до 100
+     */
+    public long valueAtPercentile(double percentile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestEquivalent(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    static int index(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestEquivalent(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        long lowest = (long) ((index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,381 @@
+package com.mycompany.kafkaadmin.benchmark;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Нагрузочный тест производителя: отправляет сообщения заданного размера в топик и измеряет
+ * пропускную способность и задержку подтверждения.
+ * <p>
+ * Значения и последовательность ключей генерируются заранее, поэтому в измеряемом цикле
+ * остаются только {@code send} и ожидание по темпу. Задержка - время от вызова {@code send}
+ * до callback (включая ожидание места в буфере производителя).
+ * <p>
+ * Экземпляр рассчитан на один запуск; {@link #snapshot()} можно вызывать из любого потока.
+ */
+public class ProducerBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ProducerBenchmark.class);
+
+    // Разные значения, чтобы сжатие не получало одно и то же сообщение
+    private static final int PAYLOAD_VARIANTS = 64;
+    private static final int KEY_SEQUENCE_LENGTH = 1 << 16;
+    // Раньше срока меньше чем на это время не засыпаем: parkNanos не точнее ~50 мкс
+    private static final long MIN_PARK_NANOS = 100_000;
+
+    public enum KeyDistribution {
+        NONE("No keys"), SEQUENTIAL("Sequential"), RANDOM("Uniform random");
+
+        private final String label;
+
+        KeyDistribution(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final Properties connectionProperties;
+    private final Settings settings;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong acked = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong bytesAcked = new AtomicLong();
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile String lastError;
+
+    public ProducerBenchmark(Properties connectionProperties, Settings settings) {
+        settings.validate();
+        this.connectionProperties = connectionProperties;
+        this.settings = settings;
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    Properties producerProperties() {
+        Properties props = new Properties();
+        props.putAll(connectionProperties);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        props.put(ProducerConfig.ACKS_CONFIG, settings.getAcks());
+        props.put(ProducerConfig.LINGER_MS_CONFIG, String.valueOf(settings.getLingerMs()));
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, String.valueOf(settings.getBatchSize()));
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, settings.getCompressionType());
+        props.putIfAbsent(ProducerConfig.CLIENT_ID_CONFIG, "kafkaadmin-benchmark");
+        if (!"all".equals(settings.getAcks()) && !"-1".equals(settings.getAcks())) {
+            props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "false"); // Идемпотентность требует acks=all
+        }
+        return props;
+    }
+
+    /**
+     * Выполняет тест и блокируется до его завершения (все отправленные сообщения подтверждены
+     * или завершились ошибкой).
+     *
+     * @param cancelled признак досрочной остановки
+     * @return итоговый снимок
+     */
+    public Snapshot run(BooleanSupplier cancelled) {
+        byte[][] payloads = generatePayloads(settings.getRecordSize());
+        byte[][] keys = generateKeys(settings.getKeyDistribution(), settings.getKeyCount());
+        int[] keySequence = generateKeySequence(settings.getKeyDistribution(), settings.getKeyCount());
+        String topic = settings.getTopic();
+        long total = settings.getRecordCount();
+        long targetRate = settings.getTargetRate();
+        long intervalNanos = targetRate > 0 ? 1_000_000_000L / targetRate : 0;
+
+        try (KafkaProducer<byte[], byte[]> producer = new KafkaProducer<>(producerProperties())) {
+            // Метаданные топика загружаются до начала измерений
+            producer.partitionsFor(topic);
+            startNanos = System.nanoTime();
+            long nextSendNanos = startNanos;
+            for (long i = 0; i < total && !cancelled.getAsBoolean(); i++) {
+                if (intervalNanos > 0) {
+                    // Отставание больше чем на интервал не наверстываем пачкой: сдвигаем расписание
+                    long now = System.nanoTime();
+                    nextSendNanos = Math.max(nextSendNanos, now - intervalNanos);
+                    long ahead = nextSendNanos - now;
+                    nextSendNanos += intervalNanos;
+                    if (ahead > MIN_PARK_NANOS) {
+                        LockSupport.parkNanos(ahead);
+                    }
+                }
+                byte[] value = payloads[(int) (i % PAYLOAD_VARIANTS)];
+                byte[] key = keys == null ? null : keys[keySequence[(int) (i % KEY_SEQUENCE_LENGTH)]];
+                int size = value.length + (key != null ? key.length : 0);
+                long sendNanos = System.nanoTime();
+                producer.send(new ProducerRecord<>(topic, key, value), (metadata, exception) -> {
+                    latency.record((System.nanoTime() - sendNanos) / 1000);
+                    if (exception == null) {
+                        acked.incrementAndGet();
+                        bytesAcked.addAndGet(size);
+                    } else {
+                        failed.incrementAndGet();
+                        lastError = exception.getMessage();
+                    }
+                });
+                sent.incrementAndGet();
+            }
+            producer.flush();
+        } finally {
+            endNanos = System.nanoTime();
+        }
+        Snapshot result = snapshot();
+        log.info("Producer benchmark on '{}': {} record(s), {} rec/s, {} MB/s, p99 {} us, {} failed", topic,
+                result.getAcked(), Math.round(result.getRecordsPerSecond()),
+                String.format("%.2f", result.getMegabytesPerSecond()), result.getLatency().valueAtPercentile(99),
+                result.getFailed());
+        return result;
+    }
+
+    /**
+     * Текущее состояние теста.
+     */
+    public Snapshot snapshot() {
+        long start = startNanos;
+        long end = endNanos;
+        long elapsed = start == 0 ? 0 : (end != 0 ? end : System.nanoTime()) - start;
+        return new Snapshot(elapsed, sent.get(), acked.get(), failed.get(), bytesAcked.get(), latency.copy(),
+                lastError);
+    }
+
+    private static byte[][] generatePayloads(int size) {
+        // Заглавные латинские буквы, как в kafka-producer-perf-test: сжатие работает, но не вырождается
+        Random random = new Random(42);
+        byte[][] payloads = new byte[PAYLOAD_VARIANTS][];
+        for (int v = 0; v < PAYLOAD_VARIANTS; v++) {
+            byte[] payload = new byte[size];
+            for (int i = 0; i < size; i++) {
+                payload[i] = (byte) ('A' + random.nextInt(26));
+            }
+            payloads[v] = payload;
+        }
+        return payloads;
+    }
+
+    private static byte[][] generateKeys(KeyDistribution distribution, int keyCount) {
+        if (distribution == KeyDistribution.NONE) {
+            return null;
+        }
+        byte[][] keys = new byte[keyCount][];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = ("key-" + i).getBytes(StandardCharsets.UTF_8);
+        }
+        return keys;
+    }
+
+    private static int[] generateKeySequence(KeyDistribution distribution, int keyCount) {
+        int[] sequence = new int[KEY_SEQUENCE_LENGTH];
+        Random random = new Random(7);
+        for (int i = 0; i < KEY_SEQUENCE_LENGTH; i++) {
+            sequence[i] = distribution == KeyDistribution.RANDOM ? random.nextInt(keyCount) : i % keyCount;
+        }
+        return sequence;
+    }
+
+    /**
+     * Параметры теста.
+     */
+    public static class Settings {
+        private String topic;
+        private long recordCount = 1_000_000;
+        private int recordSize = 1024;
+        private KeyDistribution keyDistribution = KeyDistribution.NONE;
+        private int keyCount = 1000;
+        private String acks = "all";
+        private int lingerMs = 5;
+        private int batchSize = 64 * 1024;
+        private String compressionType = "none";
+        private long targetRate; // Сообщений в секунду; 0 - без ограничения
+
+        void validate() {
+            if (topic == null || topic.isEmpty()) {
+                throw new IllegalArgumentException("Topic is not set");
+            }
+            if (recordCount <= 0 || recordSize <= 0 || keyCount <= 0) {
+                throw new IllegalArgumentException("Record count, record size and key count must be positive");
+            }
+            if (lingerMs < 0 || batchSize < 0 || targetRate < 0) {
+                throw new IllegalArgumentException("linger.ms, batch.size and target rate must not be negative");
+            }
+        }
+
+        /** Параметры для отчета, в порядке отображения. */
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("topic", topic);
+            map.put("recordCount", recordCount);
+            map.put("recordSize", recordSize);
+            map.put("keyDistribution", keyDistribution.name());
+            map.put("keyCount", keyDistribution == KeyDistribution.NONE ? 0 : keyCount);
+            map.put("acks", acks);
+            map.put("lingerMs", lingerMs);
+            map.put("batchSize", batchSize);
+            map.put("compressionType", compressionType);
+            map.put("targetRate", targetRate);
+            return map;
+        }
+
+        public String getTopic() {
+            return topic;
+        }
+
+        public void setTopic(String topic) {
+            this.topic = topic;
+        }
+
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        public void setRecordCount(long recordCount) {
+            this.recordCount = recordCount;
+        }
+
+        public int getRecordSize() {
+            return recordSize;
+        }
+
+        public void setRecordSize(int recordSize) {
+            this.recordSize = recordSize;
+        }
+
+        public KeyDistribution getKeyDistribution() {
+            return keyDistribution;
+        }
+
+        public void setKeyDistribution(KeyDistribution keyDistribution) {
+            this.keyDistribution = keyDistribution;
+        }
+
+        public int getKeyCount() {
+            return keyCount;
+        }
+
+        public void setKeyCount(int keyCount) {
+            this.keyCount = keyCount;
+        }
+
+        public String getAcks() {
+            return acks;
+        }
+
+        public void setAcks(String acks) {
+            this.acks = acks;
+        }
+
+        public int getLingerMs() {
+            return lingerMs;
+        }
+
+        public void setLingerMs(int lingerMs) {
+            this.lingerMs = lingerMs;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public String getCompressionType() {
+            return compressionType;
+        }
+
+        public void setCompressionType(String compressionType) {
+            this.compressionType = compressionType;
+        }
+
+        public long getTargetRate() {
+            return targetRate;
+        }
+
+        public void setTargetRate(long targetRate) {
+            this.targetRate = targetRate;
+        }
+    }
+
+    /**
+     * Состояние теста на момент вызова {@link #snapshot()}.
+     */
+    public static final class Snapshot {
+        private final long elapsedNanos;
+        private final long sent;
+        private final long acked;
+        private final long failed;
+        private final long bytesAcked;
+        private final LatencyHistogram latency;
+        private final String lastError;
+
+        Snapshot(long elapsedNanos, long sent, long acked, long failed, long bytesAcked, LatencyHistogram latency,
+                String lastError) {
+            this.elapsedNanos = elapsedNanos;
+            this.sent = sent;
+            this.acked = acked;
+            this.failed = failed;
+            this.bytesAcked = bytesAcked;
+            this.latency = latency;
+            this.lastError = lastError;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public long getSent() {
+            return sent;
+        }
+
+        public long getAcked() {
+            return acked;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getBytesAcked() {
+            return bytesAcked;
+        }
+
+        /** Задержки подтверждения в микросекундах. */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public String getLastError() {
+            return lastError;
+        }
+
+        public double getRecordsPerSecond() {
+            return elapsedNanos == 0 ? 0 : acked * 1e9 / elapsedNanos;
+        }
+
+        public double getMegabytesPerSecond() {
+            return elapsedNanos == 0 ? 0 : bytesAcked * 1e9 / elapsedNanos / (1024 * 1024);
+        }
+    }
+}
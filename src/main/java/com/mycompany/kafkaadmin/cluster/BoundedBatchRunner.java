@@ -0,0 +1,147 @@
+package com.mycompany.kafkaadmin.cluster;
+
+import org.apache.kafka.common.KafkaFuture;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Отправляет элементы пакетными запросами AdminClient с ограниченным числом одновременных
+ * запросов.
+ * <p>
+ * Разрешение на следующий запрос возвращается после того, как обработчик завершенного пакета
+ * отработал. {@link #run} блокируется до завершения всех отправленных пакетов - в том числе
+ * при отмене, ошибке и прерывании потока, поэтому после возврата ни один обработчик уже не
+ * вызывается.
+ */
+public final class BoundedBatchRunner {
+
+    private static final long CANCEL_POLL_MS = 100;
+
+    private final int batchSize;
+    private final int maxInFlight;
+
+    /**
+     * @throws IllegalArgumentException если размер пакета или лимит запросов не положительны
+     */
+    public BoundedBatchRunner(int batchSize, int maxInFlight) {
+        if (batchSize <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("batchSize and maxInFlight must be positive");
+        }
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Отправляет элементы пакетами по порядку.
+     *
+     * @param items      элементы; не должны изменяться до возврата
+     * @param request    отправляет пакет и возвращает его завершение; вызывается из потока
+     *                   {@code run}. Исключение прекращает отправку и пробрасывается после
+     *                   завершения уже отправленных пакетов
+     * @param onComplete обработчик завершенного пакета; вызывается из потока AdminClient.
+     *                   Исключение обработчика прекращает отправку новых пакетов
+     * @param cancelled  признак отмены - новые пакеты перестают отправляться
+     * @return количество отправленных пакетов; отправлены первые
+     *         {@code min(пакеты * batchSize, items.size())} элементов
+     * @throws ExecutionException с первым исключением обработчика
+     */
+    public <T, R> int run(List<T> items, Function<List<T>, CompletionStage<R>> request,
+            BatchCallback<T, R> onComplete, BooleanSupplier cancelled) throws InterruptedException, ExecutionException {
+        Semaphore permits = new Semaphore(maxInFlight);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        BooleanSupplier stopped = () -> cancelled.getAsBoolean() || failure.get() != null;
+        int batches = 0;
+        try {
+            for (int from = 0; from < items.size(); from += batchSize) {
+                if (!acquire(permits, stopped)) {
+                    break;
+                }
+                List<T> batch = items.subList(from, Math.min(from + batchSize, items.size()));
+                CompletionStage<R> completion;
+                try {
+                    completion = request.apply(batch);
+                } catch (RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+                batches++;
+                completion.whenComplete((result, error) -> {
+                    try {
+                        onComplete.onComplete(batch, result, unwrap(error));
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, unwrap(e));
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } finally {
+            // Дожидаемся завершения пакетов, которые уже отправлены
+            permits.acquireUninterruptibly(maxInFlight);
+        }
+
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new ExecutionException(error);
+        }
+        return batches;
+    }
+
+    /**
+     * Завершение, которое наступает, когда завершены все futures, независимо от их ошибок.
+     * Результаты и ошибки отдельных элементов берутся из самих futures.
+     */
+    public static CompletionStage<Void> allDone(Collection<? extends KafkaFuture<?>> futures) {
+        return KafkaFuture.allOf(futures.toArray(new KafkaFuture<?>[0])).toCompletionStage()
+                .handle((ignored, error) -> null);
+    }
+
+    /**
+     * Ждет разрешения, проверяя признак остановки.
+     *
+     * @return false, если ожидание прервано остановкой
+     */
+    private static boolean acquire(Semaphore permits, BooleanSupplier stopped) throws InterruptedException {
+        while (!permits.tryAcquire(CANCEL_POLL_MS, TimeUnit.MILLISECONDS)) {
+            if (stopped.getAsBoolean()) {
+                return false;
+            }
+        }
+        if (stopped.getAsBoolean()) {
+            permits.release();
+            return false;
+        }
+        return true;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Обработчик завершенного пакета.
+     */
+    @FunctionalInterface
+    public interface BatchCallback<T, R> {
+        /**
+         * @param batch  элементы пакета
+         * @param result результат запроса или null при ошибке
+         * @param error  ошибка запроса или null
+         */
+        void onComplete(List<T> batch, R result, Throwable error);
+    }
+}
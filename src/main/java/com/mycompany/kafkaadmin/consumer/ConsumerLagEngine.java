@@ -0,0 +1,228 @@
+package com.mycompany.kafkaadmin.consumer;
+
+import com.mycompany.kafkaadmin.cluster.BoundedBatchRunner;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Вычисляет отставание групп потребителей.
+ * <p>
+ * За одно обновление: список групп ({@code listConsumerGroups}), закоммиченные смещения
+ * пакетами по несколько групп на запрос ({@code listConsumerGroupOffsets}) и конечные
+ * смещения одним общим запросом {@code listOffsets(OffsetSpec.latest())} для всех партиций
+ * всех групп - партиция, которую читают несколько групп, запрашивается один раз.
+ * <p>
+ * Между обновлениями движок хранит смещения и пересчитывает отставание только тех групп,
+ * у которых изменились закоммиченные смещения или конечные смещения их партиций.
+ * Группа, смещения которой получить не удалось, остается в результате с признаком ошибки
+ * ({@link GroupLag#hasError()}) и пересчитывается при следующем обновлении.
+ * <p>
+ * Движок относится к одному кластеру: при смене подключения создается новый экземпляр,
+ * а результат обновления старого отбрасывается. Монитор движка удерживается на время
+ * сетевых запросов, поэтому методы движка нельзя вызывать из EDT.
+ */
+public class ConsumerLagEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsumerLagEngine.class);
+
+    public static final int DEFAULT_GROUP_BATCH_SIZE = 50;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private final BoundedBatchRunner runner;
+
+    // Состояние предыдущего обновления
+    private Map<String, Map<TopicPartition, Long>> committedByGroup = Collections.emptyMap();
+    private Map<TopicPartition, Long> endOffsets = Collections.emptyMap();
+    private Map<String, GroupLag> lagByGroup = Collections.emptyMap();
+
+    public ConsumerLagEngine() {
+        this(DEFAULT_GROUP_BATCH_SIZE, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public ConsumerLagEngine(int groupBatchSize, int maxInFlight) {
+        this.runner = new BoundedBatchRunner(groupBatchSize, maxInFlight);
+    }
+
+    /**
+     * Выполняет обновление и возвращает отставание всех групп. Вызывается из фонового потока;
+     * обновления одного движка выполняются по очереди.
+     */
+    public synchronized Result refresh(AdminClient adminClient) throws InterruptedException, ExecutionException {
+        Collection<ConsumerGroupListing> listings = adminClient.listConsumerGroups().all().get();
+        Map<String, String> states = new HashMap<>();
+        for (ConsumerGroupListing listing : listings) {
+            states.put(listing.groupId(), listing.state().map(Enum::name).orElse("UNKNOWN"));
+        }
+
+        Map<String, String> errors = new ConcurrentHashMap<>();
+        Map<String, Map<TopicPartition, Long>> committed = fetchCommittedOffsets(adminClient, states.keySet(), errors);
+
+        Set<TopicPartition> partitions = new HashSet<>();
+        for (Map<TopicPartition, Long> offsets : committed.values()) {
+            partitions.addAll(offsets.keySet());
+        }
+        Map<TopicPartition, Long> newEndOffsets = fetchEndOffsets(adminClient, partitions);
+
+        Set<TopicPartition> changedEndOffsets = new HashSet<>();
+        for (TopicPartition tp : partitions) {
+            if (!Objects.equals(endOffsets.get(tp), newEndOffsets.get(tp))) {
+                changedEndOffsets.add(tp);
+            }
+        }
+
+        Map<String, GroupLag> newLag = new HashMap<>();
+        int recomputed = 0;
+        for (Map.Entry<String, Map<TopicPartition, Long>> entry : committed.entrySet()) {
+            String groupId = entry.getKey();
+            Map<TopicPartition, Long> offsets = entry.getValue();
+            String state = states.getOrDefault(groupId, "UNKNOWN");
+            GroupLag previous = lagByGroup.get(groupId);
+            if (previous != null && offsets.equals(committedByGroup.get(groupId))
+                    && Collections.disjoint(offsets.keySet(), changedEndOffsets)) {
+                newLag.put(groupId, previous.withState(state));
+                continue;
+            }
+            newLag.put(groupId, computeLag(groupId, state, offsets, newEndOffsets));
+            recomputed++;
+        }
+        errors.forEach((groupId, error) -> newLag.put(groupId,
+                GroupLag.failed(groupId, states.getOrDefault(groupId, "UNKNOWN"), error)));
+
+        committedByGroup = committed;
+        endOffsets = newEndOffsets;
+        lagByGroup = newLag;
+        log.info("Consumer lag refresh: {} group(s), {} partition(s), {} group(s) recomputed, {} failed",
+                newLag.size(), partitions.size(), recomputed, errors.size());
+        return new Result(new ArrayList<>(newLag.values()), partitions.size(), recomputed, errors.size());
+    }
+
+    private static GroupLag computeLag(String groupId, String state, Map<TopicPartition, Long> offsets,
+            Map<TopicPartition, Long> ends) {
+        List<GroupLag.PartitionLag> partitionLags = new ArrayList<>(offsets.size());
+        offsets.forEach((tp, committedOffset) -> partitionLags
+                .add(new GroupLag.PartitionLag(tp, committedOffset, ends.getOrDefault(tp, -1L))));
+        partitionLags.sort((a, b) -> {
+            int cmp = a.getTopicPartition().topic().compareTo(b.getTopicPartition().topic());
+            return cmp != 0 ? cmp : Integer.compare(a.getTopicPartition().partition(), b.getTopicPartition().partition());
+        });
+        return new GroupLag(groupId, state, partitionLags);
+    }
+
+    /**
+     * Загружает закоммиченные смещения пакетами групп с ограниченным числом одновременных
+     * запросов. Группы, для которых запрос не удался, в результат не попадают, а причина
+     * записывается в {@code errors}.
+     */
+    private Map<String, Map<TopicPartition, Long>> fetchCommittedOffsets(AdminClient adminClient,
+            Collection<String> groupIds, Map<String, String> errors) throws InterruptedException, ExecutionException {
+        Map<String, Map<TopicPartition, Long>> result = new ConcurrentHashMap<>();
+        runner.run(new ArrayList<>(groupIds), batch -> {
+            Map<String, ListConsumerGroupOffsetsSpec> specs = new HashMap<>();
+            for (String groupId : batch) {
+                specs.put(groupId, new ListConsumerGroupOffsetsSpec()); // Все партиции группы
+            }
+            ListConsumerGroupOffsetsResult offsetsResult = adminClient.listConsumerGroupOffsets(specs);
+            List<KafkaFuture<Map<TopicPartition, OffsetAndMetadata>>> futures = new ArrayList<>(batch.size());
+            for (String groupId : batch) {
+                futures.add(offsetsResult.partitionsToOffsetAndMetadata(groupId).whenComplete((offsets, error) -> {
+                    if (error != null) {
+                        log.warn("Failed to list offsets for group '{}': {}", groupId, error.getMessage());
+                        errors.put(groupId, String.valueOf(error.getMessage()));
+                        return;
+                    }
+                    Map<TopicPartition, Long> committed = new HashMap<>();
+                    for (Map.Entry<TopicPartition, OffsetAndMetadata> entry : offsets.entrySet()) {
+                        if (entry.getValue() != null) {
+                            committed.put(entry.getKey(), entry.getValue().offset());
+                        }
+                    }
+                    result.put(groupId, committed);
+                }));
+            }
+            return BoundedBatchRunner.allDone(futures);
+        }, (batch, ignored, error) -> { }, () -> false);
+        return result;
+    }
+
+    /**
+     * Загружает конечные смещения всех партиций одним запросом.
+     */
+    private static Map<TopicPartition, Long> fetchEndOffsets(AdminClient adminClient,
+            Collection<TopicPartition> partitions) throws InterruptedException {
+        Map<TopicPartition, Long> result = new HashMap<>(partitions.size() * 2);
+        if (partitions.isEmpty()) {
+            return result;
+        }
+        Map<TopicPartition, OffsetSpec> request = new HashMap<>(partitions.size() * 2);
+        for (TopicPartition tp : partitions) {
+            request.put(tp, OffsetSpec.latest());
+        }
+        ListOffsetsResult offsetsResult = adminClient.listOffsets(request);
+        for (TopicPartition tp : partitions) {
+            try {
+                result.put(tp, offsetsResult.partitionResult(tp).get().offset());
+            } catch (ExecutionException e) {
+                // Например, топик удален, а смещения группы остались
+                log.debug("Failed to get end offset for {}: {}", tp, e.getCause().getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Результат обновления.
+     */
+    public static class Result {
+        private final List<GroupLag> groups;
+        private final int partitionCount;
+        private final int recomputedGroups;
+        private final int failedGroups;
+
+        Result(List<GroupLag> groups, int partitionCount, int recomputedGroups, int failedGroups) {
+            this.groups = groups;
+            this.partitionCount = partitionCount;
+            this.recomputedGroups = recomputedGroups;
+            this.failedGroups = failedGroups;
+        }
+
+        public List<GroupLag> getGroups() {
+            return groups;
+        }
+
+        /** Количество уникальных партиций во всех группах (размер запроса listOffsets). */
+        public int getPartitionCount() {
+            return partitionCount;
+        }
+
+        /** Количество групп, отставание которых пересчитано в этом обновлении. */
+        public int getRecomputedGroups() {
+            return recomputedGroups;
+        }
+
+        /** Количество групп, смещения которых получить не удалось. */
+        public int getFailedGroups() {
+            return failedGroups;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.mycompany.kafkaadmin.consumer;
+
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Отставание (lag) одной группы потребителей: по партициям, по топикам и суммарно.
+ * Объект неизменяем и переиспользуется между обновлениями, если данные группы не менялись.
+ * Если смещения группы получить не удалось, отставание неизвестно: партиций нет, а
+ * {@link #getError()} содержит причину.
+ */
+public class GroupLag {
+
+    private final String groupId;
+    private final String state;
+    private final List<PartitionLag> partitions;
+    private final Map<String, TopicLag> topics;
+    private final long totalLag;
+    private final String error; // null, если смещения получены
+
+    GroupLag(String groupId, String state, List<PartitionLag> partitions) {
+        this(groupId, state, partitions, null);
+    }
+
+    private GroupLag(String groupId, String state, List<PartitionLag> partitions, String error) {
+        this.groupId = groupId;
+        this.state = state;
+        this.partitions = Collections.unmodifiableList(partitions);
+
+        Map<String, TopicLag> byTopic = new TreeMap<>();
+        long total = 0;
+        for (PartitionLag partition : partitions) {
+            byTopic.computeIfAbsent(partition.getTopicPartition().topic(), TopicLag::new).add(partition);
+            total += partition.getLag();
+        }
+        this.topics = Collections.unmodifiableMap(byTopic);
+        this.totalLag = total;
+        this.error = error;
+    }
+
+    /**
+     * Группа, закоммиченные смещения которой получить не удалось.
+     */
+    static GroupLag failed(String groupId, String state, String error) {
+        return new GroupLag(groupId, state, Collections.emptyList(), error);
+    }
+
+    GroupLag withState(String newState) {
+        return newState.equals(state) ? this : new GroupLag(groupId, newState, new ArrayList<>(partitions), error);
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public List<PartitionLag> getPartitions() {
+        return partitions;
+    }
+
+    public Map<String, TopicLag> getTopics() {
+        return topics;
+    }
+
+    public long getTotalLag() {
+        return totalLag;
+    }
+
+    /** Причина, по которой отставание неизвестно, или {@code null}. */
+    public String getError() {
+        return error;
+    }
+
+    public boolean hasError() {
+        return error != null;
+    }
+
+    /**
+     * Суммарное отставание группы по одному топику.
+     */
+    public static class TopicLag {
+        private final String topic;
+        private int partitionCount;
+        private long lag;
+
+        TopicLag(String topic) {
+            this.topic = topic;
+        }
+
+        private void add(PartitionLag partition) {
+            partitionCount++;
+            lag += partition.getLag();
+        }
+
+        public String getTopic() {
+            return topic;
+        }
+
+        public int getPartitionCount() {
+            return partitionCount;
+        }
+
+        public long getLag() {
+            return lag;
+        }
+    }
+
+    /**
+     * Отставание группы по одной партиции.
+     */
+    public static class PartitionLag {
+        private final TopicPartition topicPartition;
+        private final long committedOffset;
+        private final long endOffset; // -1, если конечное смещение неизвестно
+
+        PartitionLag(TopicPartition topicPartition, long committedOffset, long endOffset) {
+            this.topicPartition = topicPartition;
+            this.committedOffset = committedOffset;
+            this.endOffset = endOffset;
+        }
+
+        public TopicPartition getTopicPartition() {
+            return topicPartition;
+        }
+
+        public long getCommittedOffset() {
+            return committedOffset;
+        }
+
+        public long getEndOffset() {
+            return endOffset;
+        }
+
+        public long getLag() {
+            return endOffset < 0 ? 0 : Math.max(0, endOffset - committedOffset);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.mycompany.kafkaadmin.consumer;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Модель таблицы групп потребителей. Хранит ссылки на {@link GroupLag}; результат обновления
+ * подменяется целиком одним событием {@code fireTableDataChanged}. У групп с ошибкой
+ * отставание пустое, а причина выводится в колонке "Error".
+ */
+public class GroupLagTableModel extends AbstractTableModel {
+
+    private static final String[] COLUMN_NAMES = { "Group ID", "State", "Topics", "Partitions", "Total Lag", "Error" };
+    private static final Class<?>[] COLUMN_CLASSES = { String.class, String.class, Integer.class, Integer.class,
+            Long.class, String.class };
+
+    private List<GroupLag> groups = Collections.emptyList();
+
+    /**
+     * Заменяет содержимое таблицы. Список не копируется и не должен изменяться после вызова.
+     */
+    public void setGroups(List<GroupLag> groups) {
+        this.groups = groups;
+        fireTableDataChanged();
+    }
+
+    public GroupLag getGroup(int row) {
+        return groups.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return groups.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return COLUMN_CLASSES[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        GroupLag group = groups.get(row);
+        switch (column) {
+            case 0:
+                return group.getGroupId();
+            case 1:
+                return group.getState();
+            case 2:
+                return group.getTopics().size();
+            case 3:
+                return group.getPartitions().size();
+            case 4:
+                return group.hasError() ? null : group.getTotalLag();
+            case 5:
+                return group.getError();
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.mycompany.kafkaadmin.dialog;
+
+import com.mycompany.kafkaadmin.acl.AclFinding;
+import com.mycompany.kafkaadmin.acl.AclFindingTableModel;
+import com.mycompany.kafkaadmin.acl.AclHygieneReport;
+import com.mycompany.kafkaadmin.acl.AclSyncExecutor;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.common.acl.AclBinding;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Просмотр лишних ACL, найденных {@link com.mycompany.kafkaadmin.acl.AclHygieneAnalyzer}, и их
+ * удаление пачками {@code deleteAcls} после подтверждения со списком удаляемых привязок.
+ */
+public class AclCleanupDialog extends JDialog {
+
+    private static final Logger log = LoggerFactory.getLogger(AclCleanupDialog.class);
+
+    private static final int BATCH_SIZE = Integer.getInteger("kafkaadmin.aclCleanup.batchSize",
+            AclSyncExecutor.DEFAULT_BATCH_SIZE);
+    private static final int PREVIEW_LIMIT = 1000; // Строк в окне подтверждения
+
+    private final AdminClient adminClient;
+    private final List<AclFinding> findings; // Еще не удаленные
+    private final Map<AclFinding.Type, JCheckBox> typeCheckBoxes = new EnumMap<>(AclFinding.Type.class);
+    private final AclFindingTableModel tableModel = new AclFindingTableModel();
+    private final JTable table;
+    private final JButton deleteButton;
+    private final JProgressBar progressBar;
+    private final JLabel statusLabel;
+    private final JButton cancelButton;
+
+    private final AtomicBoolean cancelRequested = new AtomicBoolean();
+    private SwingWorker<AclSyncExecutor.Result, Void> worker;
+    private boolean deleted;
+
+    public AclCleanupDialog(Frame owner, AdminClient adminClient, AclHygieneReport report) {
+        super(owner, "Stale ACLs", true);
+        this.adminClient = adminClient;
+        this.findings = new ArrayList<>(report.getFindings());
+        setLayout(new BorderLayout(10, 10));
+
+        // --- Итоги и выбор видов проблем ---
+        JPanel topPanel = new JPanel(new BorderLayout(5, 5));
+        JLabel summaryLabel = new JLabel("Checked " + report.getAclCount() + " ACL(s) against "
+                + report.getTopicCount() + " topic(s) and " + report.getGroupCount() + " group(s) in "
+                + report.getAnalysisMillis() + " ms: " + report.getCount(AclFinding.Type.ORPHANED) + " orphaned, "
+                + report.getCount(AclFinding.Type.DUPLICATE) + " duplicate, "
+                + report.getCount(AclFinding.Type.SHADOWED) + " shadowed");
+        summaryLabel.setBorder(BorderFactory.createEmptyBorder(5, 5, 0, 5));
+        topPanel.add(summaryLabel, BorderLayout.NORTH);
+        JPanel typePanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        typePanel.add(new JLabel("Show:"));
+        for (AclFinding.Type type : AclFinding.Type.values()) {
+            JCheckBox checkBox = new JCheckBox(type.toString(), true);
+            checkBox.addActionListener(e -> showFindings());
+            typeCheckBoxes.put(type, checkBox);
+            typePanel.add(checkBox);
+        }
+        typeCheckBoxes.get(AclFinding.Type.ORPHANED).setToolTipText(
+                "ACL на топики и группы, которых нет в кластере"
+                        + " (группа без сохраненных смещений тоже считается отсутствующей)");
+        typeCheckBoxes.get(AclFinding.Type.DUPLICATE).setToolTipText("Повторы привязки; первая остается");
+        typeCheckBoxes.get(AclFinding.Type.SHADOWED).setToolTipText(
+                "ACL, полностью перекрытые более широкими (*, PREFIXED, ALL, User:*, host *)");
+        topPanel.add(typePanel, BorderLayout.SOUTH);
+        add(topPanel, BorderLayout.NORTH);
+
+        // --- Найденные привязки ---
+        table = new JTable(tableModel);
+        table.setAutoCreateRowSorter(true);
+        table.getColumnModel().getColumn(tableModel.getColumnCount() - 1).setPreferredWidth(360);
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setPreferredSize(new Dimension(1100, 420));
+        add(scrollPane, BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        progressBar = new JProgressBar(0, 1);
+        progressBar.setStringPainted(true);
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.GRAY);
+        bottomPanel.add(progressBar, BorderLayout.NORTH);
+        bottomPanel.add(statusLabel, BorderLayout.CENTER);
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        deleteButton = new JButton("Delete...");
+        deleteButton.setToolTipText("Удалить выбранные строки (или все показанные, если ничего не выбрано)");
+        cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(false);
+        JButton closeButton = new JButton("Close");
+        buttonPanel.add(deleteButton);
+        buttonPanel.add(cancelButton);
+        buttonPanel.add(closeButton);
+        bottomPanel.add(buttonPanel, BorderLayout.SOUTH);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        deleteButton.addActionListener(e -> delete());
+        cancelButton.addActionListener(e -> cancelRequested.set(true));
+        closeButton.addActionListener(e -> close());
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                close();
+            }
+        });
+
+        showFindings();
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    /**
+     * Были ли удалены ACL (список в панели нужно обновить).
+     */
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Показывает привязки с отмеченными видами проблем.
+     */
+    private void showFindings() {
+        List<AclFinding> shown = new ArrayList<>();
+        for (AclFinding finding : findings) {
+            for (AclFinding.Type type : finding.getTypes()) {
+                if (typeCheckBoxes.get(type).isSelected()) {
+                    shown.add(finding);
+                    break;
+                }
+            }
+        }
+        tableModel.setFindings(shown);
+        deleteButton.setEnabled(!shown.isEmpty() && (worker == null || worker.isDone()));
+        statusLabel.setText(shown.size() + " of " + findings.size() + " ACL(s) shown");
+    }
+
+    /**
+     * Удаляет выбранные (или все показанные) привязки после подтверждения.
+     */
+    private void delete() {
+        List<AclFinding> selected;
+        int[] selectedRows = table.getSelectedRows();
+        if (selectedRows.length == 0) {
+            selected = tableModel.getFindings();
+        } else {
+            selected = new ArrayList<>(selectedRows.length);
+            for (int viewRow : selectedRows) {
+                selected.add(tableModel.getFinding(table.convertRowIndexToModel(viewRow)));
+            }
+        }
+        if (selected.isEmpty() || !confirmDeletion(selected)) {
+            return;
+        }
+        List<AclBinding> bindings = new ArrayList<>(selected.size());
+        for (AclFinding finding : selected) {
+            bindings.add(finding.getBinding());
+        }
+
+        AclSyncExecutor executor = new AclSyncExecutor(adminClient, BATCH_SIZE);
+        cancelRequested.set(false);
+        deleted = true;
+        deleteButton.setEnabled(false);
+        cancelButton.setEnabled(true);
+        progressBar.setMaximum(bindings.size());
+        progressBar.setValue(0);
+        statusLabel.setText("Deleting " + bindings.size() + " ACL(s)...");
+
+        worker = new SwingWorker<AclSyncExecutor.Result, Void>() {
+            @Override
+            protected AclSyncExecutor.Result doInBackground() throws Exception {
+                return executor.delete(bindings, this::showProgress, cancelRequested::get);
+            }
+
+            private void showProgress(int processed) {
+                SwingUtilities.invokeLater(() -> progressBar.setValue(processed));
+            }
+
+            @Override
+            protected void done() {
+                cancelButton.setEnabled(false);
+                try {
+                    AclSyncExecutor.Result result = get();
+                    // Пачки обрабатываются по порядку: удалены первые processed привязок, кроме неудавшихся
+                    int processed = result.getSucceeded() + result.getFailed().size();
+                    Set<AclBinding> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+                    failed.addAll(result.getFailed());
+                    Set<AclFinding> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+                    for (int i = 0; i < processed; i++) {
+                        if (!failed.contains(bindings.get(i))) {
+                            removed.add(selected.get(i));
+                        }
+                    }
+                    findings.removeIf(removed::contains);
+                    showFindings();
+                    statusLabel.setText("Deleted " + result.getSucceeded() + " ACL(s), "
+                            + result.getFailed().size() + " failed"
+                            + (processed < bindings.size() ? ", " + (bindings.size() - processed) + " skipped" : ""));
+                    if (!result.getErrors().isEmpty()) {
+                        showErrors(result.getErrors());
+                    }
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error deleting ACLs: {}", cause.getMessage(), cause);
+                    showFindings();
+                    JOptionPane.showMessageDialog(AclCleanupDialog.this,
+                            "Error deleting ACLs: " + cause.getMessage(), "ACL Delete Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    /**
+     * Показывает удаляемые привязки и запрашивает подтверждение.
+     */
+    private boolean confirmDeletion(List<AclFinding> selected) {
+        int[] counts = new int[AclFinding.Type.values().length];
+        StringBuilder preview = new StringBuilder();
+        for (int i = 0; i < selected.size(); i++) {
+            AclFinding finding = selected.get(i);
+            for (AclFinding.Type type : finding.getTypes()) {
+                counts[type.ordinal()]++;
+            }
+            if (i < PREVIEW_LIMIT) {
+                preview.append(AclFindingTableModel.describe(finding.getBinding())).append('\n');
+            }
+        }
+        if (selected.size() > PREVIEW_LIMIT) {
+            preview.append("... and ").append(selected.size() - PREVIEW_LIMIT).append(" more\n");
+        }
+        JTextArea textArea = new JTextArea(preview.toString(), 15, 90);
+        textArea.setEditable(false);
+        textArea.setCaretPosition(0);
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+        panel.add(new JLabel("Delete " + selected.size() + " ACL binding(s) ("
+                + counts[AclFinding.Type.ORPHANED.ordinal()] + " orphaned, "
+                + counts[AclFinding.Type.DUPLICATE.ordinal()] + " duplicate, "
+                + counts[AclFinding.Type.SHADOWED.ordinal()] + " shadowed)? This cannot be undone."),
+                BorderLayout.NORTH);
+        panel.add(new JScrollPane(textArea), BorderLayout.CENTER);
+        return JOptionPane.showConfirmDialog(this, panel, "Confirm Delete", JOptionPane.YES_NO_OPTION,
+                JOptionPane.WARNING_MESSAGE) == JOptionPane.YES_OPTION;
+    }
+
+    private void showErrors(List<String> errors) {
+        JTextArea textArea = new JTextArea(String.join("\n", errors), 15, 80);
+        textArea.setEditable(false);
+        JOptionPane.showMessageDialog(this, new JScrollPane(textArea), errors.size() + " ACL deletion(s) failed",
+                JOptionPane.WARNING_MESSAGE);
+    }
+
+    private void close() {
+        if (worker != null && !worker.isDone()) {
+            int confirm = JOptionPane.showConfirmDialog(this,
+                    "Deletion is in progress. Stop after the current batch and close?", "Stop Deletion",
+                    JOptionPane.YES_NO_OPTION);
+            if (confirm != JOptionPane.YES_OPTION) {
+                return;
+            }
+            cancelRequested.set(true);
+        }
+        setVisible(false);
+        dispose();
+    }
+}
@@ -0,0 +1,359 @@
+package com.mycompany.kafkaadmin.dialog;
+
+import com.mycompany.kafkaadmin.acl.AclDiff;
+import com.mycompany.kafkaadmin.acl.AclSyncExecutor;
+import com.mycompany.kafkaadmin.acl.AclTableModel;
+import com.mycompany.kafkaadmin.cluster.ClusterConfig;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.acl.AclBinding;
+import org.apache.kafka.common.acl.AclBindingFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Сравнение ACL двух сохраненных кластеров и синхронизация выбранной разности.
+ */
+public class AclCompareDialog extends JDialog {
+
+    private static final Logger log = LoggerFactory.getLogger(AclCompareDialog.class);
+
+    private static final int BATCH_SIZE = Integer.getInteger("kafkaadmin.aclSync.batchSize",
+            AclSyncExecutor.DEFAULT_BATCH_SIZE);
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final JComboBox<ClusterConfig> leftComboBox;
+    private final JComboBox<ClusterConfig> rightComboBox;
+    private final JButton compareButton;
+    private final JLabel summaryLabel;
+    private final JTabbedPane tabbedPane;
+    private final AclTableModel onlyLeftModel = new AclTableModel();
+    private final AclTableModel onlyRightModel = new AclTableModel();
+    private final JTable onlyLeftTable;
+    private final JTable onlyRightTable;
+    private final List<JButton> applyButtons = new ArrayList<>();
+    private final JProgressBar progressBar;
+    private final JLabel statusLabel;
+    private final JButton cancelButton;
+
+    private final AtomicBoolean cancelRequested = new AtomicBoolean();
+    private ClusterConfig leftConfig;
+    private ClusterConfig rightConfig;
+    private AdminClient leftClient;
+    private AdminClient rightClient;
+    private SwingWorker<?, ?> worker;
+
+    public AclCompareDialog(Frame owner, List<ClusterConfig> clusters) {
+        super(owner, "Compare ACLs", false);
+        setLayout(new BorderLayout(10, 10));
+
+        // --- Выбор кластеров ---
+        JPanel topPanel = new JPanel(new BorderLayout(5, 5));
+        JPanel clusterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        leftComboBox = new JComboBox<>(clusters.toArray(new ClusterConfig[0]));
+        rightComboBox = new JComboBox<>(clusters.toArray(new ClusterConfig[0]));
+        if (clusters.size() > 1) {
+            rightComboBox.setSelectedIndex(1);
+        }
+        compareButton = new JButton("Compare");
+        clusterPanel.add(new JLabel("Left:"));
+        clusterPanel.add(leftComboBox);
+        clusterPanel.add(new JLabel("Right:"));
+        clusterPanel.add(rightComboBox);
+        clusterPanel.add(compareButton);
+        topPanel.add(clusterPanel, BorderLayout.NORTH);
+        summaryLabel = new JLabel(" ");
+        summaryLabel.setBorder(BorderFactory.createEmptyBorder(0, 5, 0, 5));
+        topPanel.add(summaryLabel, BorderLayout.SOUTH);
+        add(topPanel, BorderLayout.NORTH);
+
+        // --- Разность ---
+        tabbedPane = new JTabbedPane();
+        onlyLeftTable = createTable(onlyLeftModel);
+        onlyRightTable = createTable(onlyRightModel);
+        tabbedPane.addTab("Only in Left", createDiffPanel(onlyLeftTable, true));
+        tabbedPane.addTab("Only in Right", createDiffPanel(onlyRightTable, false));
+        add(tabbedPane, BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        progressBar = new JProgressBar(0, 1);
+        progressBar.setStringPainted(true);
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.GRAY);
+        bottomPanel.add(progressBar, BorderLayout.NORTH);
+        bottomPanel.add(statusLabel, BorderLayout.CENTER);
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(false);
+        JButton closeButton = new JButton("Close");
+        buttonPanel.add(cancelButton);
+        buttonPanel.add(closeButton);
+        bottomPanel.add(buttonPanel, BorderLayout.SOUTH);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        compareButton.addActionListener(e -> compare());
+        cancelButton.addActionListener(e -> {
+            cancelRequested.set(true);
+            if (worker != null) {
+                worker.cancel(true);
+            }
+        });
+        closeButton.addActionListener(e -> close());
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                close();
+            }
+        });
+        setApplyEnabled(false);
+
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    private static JTable createTable(AclTableModel model) {
+        JTable table = new JTable(model);
+        table.setAutoCreateRowSorter(true);
+        return table;
+    }
+
+    private JPanel createDiffPanel(JTable table, boolean left) {
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setPreferredSize(new Dimension(1000, 420));
+        panel.add(scrollPane, BorderLayout.CENTER);
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JButton createButton = new JButton(left ? "Create on Right" : "Create on Left");
+        createButton.setToolTipText("Создать выбранные (или все, если ничего не выбрано) ACL на другом кластере");
+        createButton.addActionListener(e -> apply(table, !left, true));
+        JButton deleteButton = new JButton(left ? "Delete from Left" : "Delete from Right");
+        deleteButton.setToolTipText("Удалить выбранные (или все, если ничего не выбрано) ACL с этого кластера");
+        deleteButton.addActionListener(e -> apply(table, left, false));
+        buttons.add(createButton);
+        buttons.add(deleteButton);
+        buttons.add(new JLabel("Applies to selected rows, or to all rows if none are selected"));
+        applyButtons.add(createButton);
+        applyButtons.add(deleteButton);
+        panel.add(buttons, BorderLayout.SOUTH);
+        return panel;
+    }
+
+    private void setApplyEnabled(boolean enabled) {
+        for (JButton button : applyButtons) {
+            button.setEnabled(enabled);
+        }
+    }
+
+    private void setBusy(boolean busy) {
+        compareButton.setEnabled(!busy);
+        leftComboBox.setEnabled(!busy);
+        rightComboBox.setEnabled(!busy);
+        cancelButton.setEnabled(busy);
+        setApplyEnabled(!busy && leftClient != null && rightClient != null);
+        progressBar.setIndeterminate(false);
+    }
+
+    /**
+     * Загружает ACL обоих кластеров одновременно и вычисляет разность в фоне.
+     */
+    private void compare() {
+        ClusterConfig left = (ClusterConfig) leftComboBox.getSelectedItem();
+        ClusterConfig right = (ClusterConfig) rightComboBox.getSelectedItem();
+        if (left == null || right == null || left.equals(right)) {
+            JOptionPane.showMessageDialog(this, "Please select two different clusters.", "Input Error",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (!left.equals(leftConfig) || !right.equals(rightConfig)) {
+            closeClients();
+            leftConfig = left;
+            rightConfig = right;
+        }
+        cancelRequested.set(false);
+        setBusy(true);
+        setApplyEnabled(false);
+        progressBar.setIndeterminate(true);
+        statusLabel.setText("Loading ACLs from " + left.getName() + " and " + right.getName() + "...");
+        onlyLeftModel.setBindings(new ArrayList<>());
+        onlyRightModel.setBindings(new ArrayList<>());
+
+        worker = new SwingWorker<AclDiff, Void>() {
+            private int leftCount;
+            private int rightCount;
+
+            @Override
+            protected AclDiff doInBackground() throws Exception {
+                if (leftClient == null) {
+                    leftClient = AdminClient.create(left.getConnectionProperties());
+                }
+                if (rightClient == null) {
+                    rightClient = AdminClient.create(right.getConnectionProperties());
+                }
+                // Оба запроса отправляются сразу, ожидание - после
+                KafkaFuture<Collection<AclBinding>> leftFuture = leftClient.describeAcls(AclBindingFilter.ANY)
+                        .values();
+                KafkaFuture<Collection<AclBinding>> rightFuture = rightClient.describeAcls(AclBindingFilter.ANY)
+                        .values();
+                List<AclBinding> leftAcls = new ArrayList<>(leftFuture.get());
+                List<AclBinding> rightAcls = new ArrayList<>(rightFuture.get());
+                leftCount = leftAcls.size();
+                rightCount = rightAcls.size();
+                long startNanos = System.nanoTime();
+                AclDiff diff = AclDiff.compute(leftAcls, rightAcls, this::isCancelled);
+                log.debug("ACL diff of {} and {} binding(s) computed in {} ms", leftCount, rightCount,
+                        (System.nanoTime() - startNanos) / 1_000_000);
+                return diff;
+            }
+
+            @Override
+            protected void done() {
+                setBusy(false);
+                if (isCancelled()) {
+                    statusLabel.setText("Compare cancelled");
+                    return;
+                }
+                try {
+                    AclDiff diff = get();
+                    onlyLeftModel.setBindings(diff.getOnlyLeft());
+                    onlyRightModel.setBindings(diff.getOnlyRight());
+                    tabbedPane.setTitleAt(0, "Only in " + left.getName() + " (" + diff.getOnlyLeft().size() + ")");
+                    tabbedPane.setTitleAt(1, "Only in " + right.getName() + " (" + diff.getOnlyRight().size() + ")");
+                    summaryLabel.setText(left.getName() + ": " + leftCount + " ACL(s), " + right.getName() + ": "
+                            + rightCount + " ACL(s), in both: " + diff.getCommon());
+                    statusLabel.setText(" ");
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error comparing ACLs: {}", cause.getMessage(), cause);
+                    statusLabel.setText(" ");
+                    closeClients();
+                    setApplyEnabled(false);
+                    JOptionPane.showMessageDialog(AclCompareDialog.this,
+                            "Error comparing ACLs: " + cause.getMessage(), "ACL Compare Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    /**
+     * Создает или удаляет выбранные привязки на одном из кластеров и повторяет сравнение.
+     *
+     * @param onLeft  кластер назначения - левый
+     * @param create  создавать (иначе удалять)
+     */
+    private void apply(JTable table, boolean onLeft, boolean create) {
+        AclTableModel model = (AclTableModel) table.getModel();
+        List<AclBinding> bindings;
+        int[] selectedRows = table.getSelectedRows();
+        if (selectedRows.length == 0) {
+            bindings = model.getBindings();
+        } else {
+            bindings = new ArrayList<>(selectedRows.length);
+            for (int viewRow : selectedRows) {
+                bindings.add(model.getBinding(table.convertRowIndexToModel(viewRow)));
+            }
+        }
+        if (bindings.isEmpty()) {
+            return;
+        }
+        ClusterConfig target = onLeft ? leftConfig : rightConfig;
+        AdminClient client = onLeft ? leftClient : rightClient;
+        String action = create ? "Create" : "Delete";
+        int confirm = JOptionPane.showConfirmDialog(this,
+                action + " " + bindings.size() + " ACL binding(s) " + (create ? "on " : "from ") + target.getName()
+                        + "?",
+                "Confirm " + action, JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        AclSyncExecutor executor = new AclSyncExecutor(client, BATCH_SIZE);
+        cancelRequested.set(false);
+        setBusy(true);
+        setApplyEnabled(false);
+        progressBar.setMaximum(bindings.size());
+        progressBar.setValue(0);
+        statusLabel.setText(action + " ACLs " + (create ? "on " : "from ") + target.getName() + "...");
+
+        worker = new SwingWorker<AclSyncExecutor.Result, Void>() {
+            @Override
+            protected AclSyncExecutor.Result doInBackground() throws Exception {
+                if (create) {
+                    return executor.create(bindings, this::showProgress, cancelRequested::get);
+                }
+                return executor.delete(bindings, this::showProgress, cancelRequested::get);
+            }
+
+            private void showProgress(int processed) {
+                SwingUtilities.invokeLater(() -> progressBar.setValue(processed));
+            }
+
+            @Override
+            protected void done() {
+                setBusy(false);
+                if (isCancelled()) {
+                    statusLabel.setText(action + " cancelled");
+                    compare();
+                    return;
+                }
+                try {
+                    AclSyncExecutor.Result result = get();
+                    statusLabel.setText(action + ": " + result.getSucceeded() + " succeeded, "
+                            + result.getErrors().size() + " failed");
+                    if (!result.getErrors().isEmpty()) {
+                        showErrors(result.getErrors());
+                    }
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error applying ACL changes: {}", cause.getMessage(), cause);
+                    JOptionPane.showMessageDialog(AclCompareDialog.this,
+                            "Error applying ACL changes: " + cause.getMessage(), "ACL Sync Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+                compare(); // Разность изменилась
+            }
+        };
+        worker.execute();
+    }
+
+    private void showErrors(List<String> errors) {
+        JTextArea textArea = new JTextArea(String.join("\n", errors), 15, 80);
+        textArea.setEditable(false);
+        JOptionPane.showMessageDialog(this, new JScrollPane(textArea), errors.size() + " ACL change(s) failed",
+                JOptionPane.WARNING_MESSAGE);
+    }
+
+    private void closeClients() {
+        if (leftClient != null) {
+            leftClient.close(CLOSE_TIMEOUT);
+            leftClient = null;
+        }
+        if (rightClient != null) {
+            rightClient.close(CLOSE_TIMEOUT);
+            rightClient = null;
+        }
+    }
+
+    private void close() {
+        if (worker != null && !worker.isDone()) {
+            cancelRequested.set(true);
+            worker.cancel(true);
+        }
+        closeClients();
+        setVisible(false);
+        dispose();
+    }
+}
@@ -0,0 +1,288 @@
+package com.mycompany.kafkaadmin.dialog;
+
+import com.mycompany.kafkaadmin.acl.AclFileReader;
+import com.mycompany.kafkaadmin.acl.AclImportTableModel;
+import com.mycompany.kafkaadmin.acl.AclImporter;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.common.acl.AclBinding;
+import org.apache.kafka.common.acl.AclBindingFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Импорт ACL из CSV (в формате экспорта) или JSON: проверка строк, отбрасывание уже
+ * существующих и повторяющихся привязок, пакетное создание с результатом по каждой строке.
+ */
+public class AclImportDialog extends JDialog {
+
+    private static final Logger log = LoggerFactory.getLogger(AclImportDialog.class);
+
+    private static final int BATCH_SIZE = Integer.getInteger("kafkaadmin.aclImport.batchSize",
+            AclImporter.DEFAULT_BATCH_SIZE);
+    private static final int CONCURRENCY = Integer.getInteger("kafkaadmin.aclImport.concurrency",
+            AclImporter.DEFAULT_CONCURRENCY);
+    private static final int REFRESH_INTERVAL_MS = 250;
+
+    private final AdminClient adminClient;
+    private final Collection<AclBinding> existingAcls;
+
+    private final JTextField fileField;
+    private final JButton loadButton;
+    private final JLabel summaryLabel;
+    private final AclImportTableModel tableModel;
+    private final JProgressBar progressBar;
+    private final JLabel statusLabel;
+    private final JButton importButton;
+    private final JButton cancelButton;
+    private final javax.swing.Timer refreshTimer;
+
+    private final AtomicBoolean cancelRequested = new AtomicBoolean();
+    private SwingWorker<Integer, Void> importWorker;
+    private int pendingCount;
+    private boolean imported = false;
+
+    /**
+     * @param existingAcls все ACL кластера; {@code null} - запросить у брокера при чтении файла
+     */
+    public AclImportDialog(Frame owner, AdminClient adminClient, Collection<AclBinding> existingAcls) {
+        super(owner, "Import ACLs", true);
+        this.adminClient = adminClient;
+        this.existingAcls = existingAcls;
+        setLayout(new BorderLayout(10, 10));
+
+        // --- Файл ---
+        JPanel filePanel = new JPanel(new BorderLayout(5, 5));
+        JPanel fileRow = new JPanel(new BorderLayout(5, 0));
+        fileRow.add(new JLabel("File:"), BorderLayout.WEST);
+        fileField = new JTextField(40);
+        fileField.setToolTipText("CSV в формате экспорта ACL или JSON (массив объектов или JSON Lines)");
+        fileRow.add(fileField, BorderLayout.CENTER);
+        JPanel fileButtons = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        JButton browseButton = new JButton("Browse...");
+        browseButton.addActionListener(e -> chooseFile());
+        loadButton = new JButton("Load");
+        loadButton.addActionListener(e -> loadFile());
+        fileButtons.add(browseButton);
+        fileButtons.add(loadButton);
+        fileRow.add(fileButtons, BorderLayout.EAST);
+        filePanel.add(fileRow, BorderLayout.NORTH);
+        summaryLabel = new JLabel("Batch size: " + BATCH_SIZE + ", concurrent requests: " + CONCURRENCY);
+        filePanel.add(summaryLabel, BorderLayout.SOUTH);
+        filePanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 0, 5));
+        add(filePanel, BorderLayout.NORTH);
+
+        // --- Строки файла ---
+        tableModel = new AclImportTableModel();
+        JTable table = new JTable(tableModel);
+        table.setAutoCreateRowSorter(true);
+        table.getColumnModel().getColumn(tableModel.getColumnCount() - 1).setPreferredWidth(260);
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setPreferredSize(new Dimension(1000, 400));
+        add(scrollPane, BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        progressBar = new JProgressBar(0, 1);
+        progressBar.setStringPainted(true);
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.GRAY);
+        bottomPanel.add(progressBar, BorderLayout.NORTH);
+        bottomPanel.add(statusLabel, BorderLayout.CENTER);
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        importButton = new JButton("Import");
+        importButton.setEnabled(false);
+        cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(false);
+        JButton closeButton = new JButton("Close");
+        buttonPanel.add(importButton);
+        buttonPanel.add(cancelButton);
+        buttonPanel.add(closeButton);
+        bottomPanel.add(buttonPanel, BorderLayout.SOUTH);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        refreshTimer = new javax.swing.Timer(REFRESH_INTERVAL_MS, e -> refreshProgress());
+        importButton.addActionListener(e -> startImport());
+        cancelButton.addActionListener(e -> cancelRequested.set(true));
+        closeButton.addActionListener(e -> close());
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                close();
+            }
+        });
+
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    /**
+     * Создавались ли ACL (хотя бы частично) - список ACL нужно обновить.
+     */
+    public boolean isImported() {
+        return imported;
+    }
+
+    private void chooseFile() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Import ACLs");
+        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("CSV or JSON Files", "csv",
+                "json", "jsonl", "ndjson", "gz"));
+        if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            fileField.setText(fileChooser.getSelectedFile().getPath());
+            loadFile();
+        }
+    }
+
+    /**
+     * Читает и проверяет файл в фоне, затем помечает существующие и повторяющиеся привязки.
+     */
+    private void loadFile() {
+        String fileText = fileField.getText().trim();
+        if (fileText.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Please choose a file to import.", "Input Error",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        Path file = new File(fileText).toPath();
+        loadButton.setEnabled(false);
+        importButton.setEnabled(false);
+        statusLabel.setText("Reading " + file.getFileName() + "...");
+
+        new SwingWorker<List<AclImporter.Item>, Void>() {
+            private int pending;
+
+            @Override
+            protected List<AclImporter.Item> doInBackground() throws Exception {
+                List<AclImporter.Item> items = AclFileReader.read(file);
+                Collection<AclBinding> existing = existingAcls != null ? existingAcls
+                        : adminClient.describeAcls(AclBindingFilter.ANY).values().get();
+                pending = AclImporter.markDuplicates(items, existing);
+                return items;
+            }
+
+            @Override
+            protected void done() {
+                loadButton.setEnabled(true);
+                try {
+                    List<AclImporter.Item> items = get();
+                    tableModel.setItems(items);
+                    pendingCount = pending;
+                    Map<AclImporter.Status, Integer> counts = countByStatus(items);
+                    summaryLabel.setText(items.size() + " row(s): " + pending + " to create, "
+                            + counts.get(AclImporter.Status.EXISTS) + " already exist, "
+                            + counts.get(AclImporter.Status.DUPLICATE) + " duplicate, "
+                            + counts.get(AclImporter.Status.INVALID) + " invalid");
+                    statusLabel.setText(" ");
+                    progressBar.setMaximum(Math.max(pending, 1));
+                    progressBar.setValue(0);
+                    importButton.setEnabled(pending > 0);
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error reading ACL file: {}", cause.getMessage(), cause);
+                    statusLabel.setText(" ");
+                    JOptionPane.showMessageDialog(AclImportDialog.this,
+                            "Error reading file: " + cause.getMessage(), "ACL Import Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private static Map<AclImporter.Status, Integer> countByStatus(List<AclImporter.Item> items) {
+        Map<AclImporter.Status, Integer> counts = new EnumMap<>(AclImporter.Status.class);
+        for (AclImporter.Status status : AclImporter.Status.values()) {
+            counts.put(status, 0);
+        }
+        for (AclImporter.Item item : items) {
+            counts.merge(item.getStatus(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private void startImport() {
+        int confirm = JOptionPane.showConfirmDialog(this, "Create " + pendingCount + " ACL binding(s)?",
+                "Confirm Import", JOptionPane.YES_NO_OPTION);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+        List<AclImporter.Item> items = tableModel.getItems();
+        AclImporter importer = new AclImporter(adminClient, BATCH_SIZE, CONCURRENCY);
+        cancelRequested.set(false);
+        imported = true;
+        importButton.setEnabled(false);
+        loadButton.setEnabled(false);
+        cancelButton.setEnabled(true);
+        statusLabel.setText("Creating ACLs...");
+        long startNanos = System.nanoTime();
+
+        importWorker = new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                return importer.run(items, cancelRequested::get);
+            }
+
+            @Override
+            protected void done() {
+                refreshTimer.stop();
+                refreshProgress();
+                cancelButton.setEnabled(false);
+                loadButton.setEnabled(true);
+                try {
+                    int created = get();
+                    Map<AclImporter.Status, Integer> counts = countByStatus(items);
+                    statusLabel.setText(String.format("Created %d, failed %d, cancelled %d in %.1f s", created,
+                            counts.get(AclImporter.Status.FAILED), counts.get(AclImporter.Status.CANCELLED),
+                            (System.nanoTime() - startNanos) / 1e9));
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error importing ACLs: {}", cause.getMessage(), cause);
+                    statusLabel.setText(" ");
+                    JOptionPane.showMessageDialog(AclImportDialog.this,
+                            "Error importing ACLs: " + cause.getMessage(), "ACL Import Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        refreshTimer.start();
+        importWorker.execute();
+    }
+
+    private void refreshProgress() {
+        int done = 0;
+        for (AclImporter.Item item : tableModel.getItems()) {
+            AclImporter.Status status = item.getStatus();
+            if (status == AclImporter.Status.CREATED || status == AclImporter.Status.FAILED) {
+                done++;
+            }
+        }
+        progressBar.setValue(done);
+        tableModel.refreshStatuses();
+    }
+
+    private void close() {
+        if (importWorker != null && !importWorker.isDone()) {
+            int confirm = JOptionPane.showConfirmDialog(this, "Stop the import?", "Confirm Close",
+                    JOptionPane.YES_NO_OPTION);
+            if (confirm != JOptionPane.YES_OPTION) {
+                return;
+            }
+            cancelRequested.set(true);
+        }
+        refreshTimer.stop();
+        setVisible(false);
+        dispose();
+    }
+}
@@ -0,0 +1,411 @@
+package com.mycompany.kafkaadmin.dialog;
+
+import com.mycompany.kafkaadmin.archive.ArchiveManifest;
+import com.mycompany.kafkaadmin.archive.TopicImporter;
+import com.mycompany.kafkaadmin.cluster.ClusterConfig;
+import com.mycompany.kafkaadmin.topic.ByteSizeFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Загрузка выгрузки топика в топик того же или другого сохраненного кластера: сопоставление
+ * партиций и ключей, ограничение темпа и окна отправки, продолжение прерванной загрузки.
+ */
+public class ArchiveImportDialog extends JDialog {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveImportDialog.class);
+
+    private static final int THREADS = Integer.getInteger("kafkaadmin.import.threads", TopicImporter.DEFAULT_THREADS);
+    private static final int REFRESH_INTERVAL_MS = 500;
+
+    private final JTextField directoryField;
+    private final JLabel manifestLabel;
+    private final JComboBox<ClusterConfig> clusterComboBox;
+    private final JTextField topicField;
+    private final JComboBox<TopicImporter.PartitionMapping> partitionMappingComboBox;
+    private final JComboBox<TopicImporter.KeyMapping> keyMappingComboBox;
+    private final JCheckBox preserveTimestampsCheckBox;
+    private final JTextField rateField;
+    private final JTextField inFlightField;
+    private final JCheckBox resumeCheckBox;
+    private final DefaultTableModel progressTableModel;
+    private final JProgressBar progressBar;
+    private final JLabel statusLabel;
+    private final JButton importButton;
+    private final JButton stopButton;
+    private final javax.swing.Timer refreshTimer;
+
+    private ArchiveManifest manifest;
+    private TopicImporter importer;
+    private AtomicBoolean stopRequested = new AtomicBoolean();
+    private long lastAcked;
+    private long lastBytes;
+    private long lastRefreshNanos;
+
+    /**
+     * @param clusters сохраненные кластеры, в которые можно загрузить выгрузку
+     * @param current  активный кластер (выбирается по умолчанию)
+     */
+    public ArchiveImportDialog(Frame owner, List<ClusterConfig> clusters, ClusterConfig current, String topic) {
+        super(owner, "Import Archive", false);
+        setLayout(new BorderLayout(10, 10));
+
+        // --- Параметры загрузки ---
+        JPanel settingsPanel = new JPanel(new GridBagLayout());
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(3, 5, 3, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        int row = 0;
+
+        JPanel directoryPanel = new JPanel(new BorderLayout(5, 0));
+        directoryField = new JTextField(36);
+        directoryField.setToolTipText("Каталог выгрузки с файлом manifest.json");
+        JButton browseButton = new JButton("Browse...");
+        browseButton.addActionListener(e -> chooseDirectory());
+        directoryPanel.add(directoryField, BorderLayout.CENTER);
+        directoryPanel.add(browseButton, BorderLayout.EAST);
+        addRow(settingsPanel, gbc, row++, "Archive:", directoryPanel);
+
+        manifestLabel = new JLabel("No archive selected");
+        manifestLabel.setForeground(Color.GRAY);
+        addRow(settingsPanel, gbc, row++, "", manifestLabel);
+
+        clusterComboBox = new JComboBox<>();
+        for (ClusterConfig cluster : clusters) {
+            clusterComboBox.addItem(cluster);
+        }
+        if (current != null && !clusters.contains(current)) {
+            clusterComboBox.addItem(current);
+        }
+        clusterComboBox.setSelectedItem(current);
+        addRow(settingsPanel, gbc, row++, "Target Cluster:", clusterComboBox);
+
+        topicField = new JTextField(topic != null ? topic : "", 36);
+        addRow(settingsPanel, gbc, row++, "Target Topic:", topicField);
+
+        JPanel mappingPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        partitionMappingComboBox = new JComboBox<>(TopicImporter.PartitionMapping.values());
+        partitionMappingComboBox.setToolTipText("Партиция назначения: та же, по модулю числа партиций или по ключу");
+        keyMappingComboBox = new JComboBox<>(TopicImporter.KeyMapping.values());
+        preserveTimestampsCheckBox = new JCheckBox("Preserve timestamps", true);
+        preserveTimestampsCheckBox.setToolTipText("Сохранить исходные метки времени; иначе - время отправки");
+        mappingPanel.add(partitionMappingComboBox);
+        mappingPanel.add(keyMappingComboBox);
+        mappingPanel.add(preserveTimestampsCheckBox);
+        addRow(settingsPanel, gbc, row++, "Mapping:", mappingPanel);
+
+        JPanel limitsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        rateField = new JTextField("0", 8);
+        rateField.setToolTipText("Сообщений в секунду; 0 - без ограничения");
+        inFlightField = new JTextField("10000", 8);
+        inFlightField.setToolTipText("Максимум отправленных, но не подтвержденных сообщений");
+        limitsPanel.add(new JLabel("Rate (records/s):"));
+        limitsPanel.add(rateField);
+        limitsPanel.add(new JLabel("In-flight:"));
+        limitsPanel.add(inFlightField);
+        limitsPanel.add(new JLabel("Threads: " + THREADS));
+        addRow(settingsPanel, gbc, row++, "Limits:", limitsPanel);
+
+        resumeCheckBox = new JCheckBox("Resume from last acknowledged offsets");
+        resumeCheckBox.setToolTipText("Продолжить прерванную загрузку в этот топик по файлу состояния в каталоге выгрузки");
+        resumeCheckBox.setEnabled(false);
+        addRow(settingsPanel, gbc, row++, "", resumeCheckBox);
+        add(settingsPanel, BorderLayout.NORTH);
+
+        DocumentListener stateListener = new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                updateResumeState();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                updateResumeState();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                updateResumeState();
+            }
+        };
+        topicField.getDocument().addDocumentListener(stateListener);
+
+        // --- Прогресс по партициям ---
+        progressTableModel = new DefaultTableModel(
+                new String[] { "Partition", "Target", "Records", "Sent", "Acked", "Acked Offset", "%" }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return column == 0 || column == 6 ? Integer.class : column == 1 ? String.class : Long.class;
+            }
+        };
+        JScrollPane progressScrollPane = new JScrollPane(new JTable(progressTableModel));
+        progressScrollPane.setPreferredSize(new Dimension(760, 300));
+        add(progressScrollPane, BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        progressBar = new JProgressBar(0, 1000);
+        progressBar.setStringPainted(true);
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.GRAY);
+        bottomPanel.add(progressBar, BorderLayout.NORTH);
+        bottomPanel.add(statusLabel, BorderLayout.CENTER);
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        importButton = new JButton("Import");
+        stopButton = new JButton("Stop");
+        stopButton.setEnabled(false);
+        JButton closeButton = new JButton("Close");
+        buttonPanel.add(importButton);
+        buttonPanel.add(stopButton);
+        buttonPanel.add(closeButton);
+        bottomPanel.add(buttonPanel, BorderLayout.SOUTH);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        refreshTimer = new javax.swing.Timer(REFRESH_INTERVAL_MS, e -> refreshProgress());
+        directoryField.addActionListener(e -> loadManifest());
+        importButton.addActionListener(e -> startImport());
+        stopButton.addActionListener(e -> stopRequested.set(true));
+        closeButton.addActionListener(e -> close());
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                close();
+            }
+        });
+
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    private static void addRow(JPanel panel, GridBagConstraints gbc, int row, String label, JComponent component) {
+        gbc.gridx = 0;
+        gbc.gridy = row;
+        gbc.weightx = 0;
+        gbc.anchor = GridBagConstraints.WEST;
+        panel.add(new JLabel(label), gbc);
+        gbc.gridx = 1;
+        gbc.weightx = 1.0;
+        panel.add(component, gbc);
+    }
+
+    private void chooseDirectory() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Archive Directory");
+        fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        if (!directoryField.getText().trim().isEmpty()) {
+            fileChooser.setSelectedFile(new File(directoryField.getText().trim()));
+        }
+        if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            directoryField.setText(fileChooser.getSelectedFile().getPath());
+            loadManifest();
+        }
+    }
+
+    /**
+     * Читает манифест выбранного каталога; при ошибке показывает сообщение.
+     *
+     * @return {@code true}, если манифест прочитан
+     */
+    private boolean loadManifest() {
+        manifest = null;
+        Path directory = new File(directoryField.getText().trim()).toPath();
+        try {
+            manifest = ArchiveManifest.read(directory);
+        } catch (IOException | IllegalArgumentException ex) {
+            log.error("Error reading archive manifest in {}: {}", directory, ex.getMessage(), ex);
+            manifestLabel.setText("No valid archive in this directory");
+            updateResumeState();
+            JOptionPane.showMessageDialog(this, "Error reading archive: " + ex.getMessage(), "Import Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return false;
+        }
+        manifestLabel.setText(String.format("Topic '%s': %d partition(s), %,d record(s), %s, %s / %s%s",
+                manifest.getTopic(), manifest.getPartitions().size(), manifest.getRecords(),
+                ByteSizeFormat.format(manifest.getBytes()), manifest.getFormat(), manifest.getCompression().name,
+                manifest.isComplete() ? "" : " (incomplete export)"));
+        if (topicField.getText().trim().isEmpty()) {
+            topicField.setText(manifest.getTopic());
+        }
+        updateResumeState();
+        return true;
+    }
+
+    private void updateResumeState() {
+        String topic = topicField.getText().trim();
+        boolean stateExists = manifest != null && !topic.isEmpty()
+                && Files.exists(TopicImporter.stateFile(manifest.getDirectory(), topic));
+        resumeCheckBox.setEnabled(stateExists);
+        resumeCheckBox.setSelected(stateExists);
+    }
+
+    private void startImport() {
+        if (manifest == null || !manifest.getDirectory().equals(new File(directoryField.getText().trim()).toPath())) {
+            if (!loadManifest()) {
+                return;
+            }
+        }
+        ClusterConfig cluster = (ClusterConfig) clusterComboBox.getSelectedItem();
+        TopicImporter.Settings settings = new TopicImporter.Settings();
+        try {
+            if (cluster == null) {
+                throw new IllegalArgumentException("Target cluster is not selected");
+            }
+            settings.setTopic(topicField.getText().trim());
+            settings.setPartitionMapping((TopicImporter.PartitionMapping) partitionMappingComboBox.getSelectedItem());
+            settings.setKeyMapping((TopicImporter.KeyMapping) keyMappingComboBox.getSelectedItem());
+            settings.setPreserveTimestamps(preserveTimestampsCheckBox.isSelected());
+            settings.setTargetRate(Long.parseLong(rateField.getText().trim()));
+            settings.setMaxInFlight(Integer.parseInt(inFlightField.getText().trim()));
+            settings.setThreads(THREADS);
+            importer = new TopicImporter(cluster.getConnectionProperties(), settings);
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid number: " + ex.getMessage(), "Invalid Import Settings",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Invalid Import Settings",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        boolean resume = resumeCheckBox.isEnabled() && resumeCheckBox.isSelected();
+        int confirm = JOptionPane.showConfirmDialog(this,
+                String.format("%s %,d record(s) from '%s' into topic '%s' on cluster '%s'?",
+                        resume ? "Resume importing" : "Import", manifest.getRecords(), manifest.getTopic(),
+                        settings.getTopic(), cluster.getName()),
+                "Confirm Import", JOptionPane.YES_NO_OPTION);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        TopicImporter topicImporter = importer;
+        ArchiveManifest archive = manifest;
+        AtomicBoolean stop = new AtomicBoolean();
+        stopRequested = stop;
+        progressTableModel.setRowCount(0);
+        lastAcked = 0;
+        lastBytes = 0;
+        lastRefreshNanos = System.nanoTime();
+        setImporting(true);
+        statusLabel.setText("Importing...");
+
+        new SwingWorker<TopicImporter.Summary, Void>() {
+            @Override
+            protected TopicImporter.Summary doInBackground() throws Exception {
+                return topicImporter.run(archive, resume, stop::get);
+            }
+
+            @Override
+            protected void done() {
+                setImporting(false);
+                refreshProgress();
+                try {
+                    TopicImporter.Summary summary = get();
+                    double seconds = summary.getElapsedNanos() / 1e9;
+                    statusLabel.setText(String.format("%s: %,d record(s), %s in %.1f s (%,.0f records/s)",
+                            summary.isComplete() ? "Completed" : "Stopped", summary.getAcked(),
+                            ByteSizeFormat.format(summary.getBytes()), seconds,
+                            seconds > 0 ? summary.getAcked() / seconds : 0));
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof ExecutionException && cause.getCause() != null) {
+                        cause = cause.getCause(); // Ошибка отправки сообщения
+                    }
+                    log.error("Error importing archive {}: {}", archive.getDirectory(), cause.getMessage(), cause);
+                    statusLabel.setText("Import failed: " + cause.getMessage());
+                    JOptionPane.showMessageDialog(ArchiveImportDialog.this,
+                            "Error importing archive: " + cause.getMessage()
+                                    + "\nAcknowledged offsets are saved; the import can be resumed.",
+                            "Import Error", JOptionPane.ERROR_MESSAGE);
+                }
+                updateResumeState();
+            }
+        }.execute();
+    }
+
+    private void setImporting(boolean importing) {
+        importButton.setEnabled(!importing);
+        stopButton.setEnabled(importing);
+        if (importing) {
+            refreshTimer.start();
+        } else {
+            refreshTimer.stop();
+        }
+    }
+
+    private void refreshProgress() {
+        if (importer == null) {
+            return;
+        }
+        List<TopicImporter.PartitionProgress> partitions = importer.getProgress();
+        if (progressTableModel.getRowCount() != partitions.size()) {
+            progressTableModel.setRowCount(0);
+            for (TopicImporter.PartitionProgress p : partitions) {
+                Integer target = p.getTargetPartition();
+                progressTableModel.addRow(new Object[] { p.getSourcePartition(),
+                        target != null ? String.valueOf(target) : "by key", p.getRecords(), 0L, 0L,
+                        p.getAcknowledgedOffset(), 0 });
+            }
+        }
+        long acked = 0;
+        long bytes = 0;
+        long offsetsTotal = 0;
+        long offsetsDone = 0;
+        for (int row = 0; row < partitions.size(); row++) {
+            TopicImporter.PartitionProgress p = partitions.get(row);
+            long partitionAcked = p.getAcked();
+            long acknowledgedOffset = p.getAcknowledgedOffset();
+            acked += partitionAcked;
+            bytes += p.getBytes();
+            // Доля по смещениям учитывает и сообщения, загруженные до продолжения
+            long span = p.getFirstOffset() >= 0 ? p.getLastOffset() - p.getFirstOffset() + 1 : 0;
+            long done = acknowledgedOffset >= p.getFirstOffset()
+                    ? Math.min(span, acknowledgedOffset - p.getFirstOffset() + 1) : 0;
+            offsetsTotal += span;
+            offsetsDone += done;
+            progressTableModel.setValueAt(p.getSent(), row, 3);
+            progressTableModel.setValueAt(partitionAcked, row, 4);
+            progressTableModel.setValueAt(acknowledgedOffset, row, 5);
+            progressTableModel.setValueAt(span > 0 ? (int) (done * 100 / span) : 100, row, 6);
+        }
+        progressBar.setValue(offsetsTotal > 0 ? (int) (offsetsDone * 1000 / offsetsTotal) : 0);
+        progressBar.setString(String.format("%,d record(s) acknowledged", acked));
+
+        long now = System.nanoTime();
+        double interval = (now - lastRefreshNanos) / 1e9;
+        if (refreshTimer.isRunning() && interval > 0) {
+            statusLabel.setText(String.format("Importing: %,.0f records/s, %.2f MB/s, %s total",
+                    (acked - lastAcked) / interval, (bytes - lastBytes) / interval / (1024 * 1024),
+                    ByteSizeFormat.format(bytes)));
+        }
+        lastAcked = acked;
+        lastBytes = bytes;
+        lastRefreshNanos = now;
+    }
+
+    private void close() {
+        stopRequested.set(true);
+        refreshTimer.stop();
+        setVisible(false);
+        dispose();
+    }
+}
@@ -0,0 +1,420 @@
+package com.mycompany.kafkaadmin.dialog;
+
+import com.mycompany.kafkaadmin.benchmark.BenchmarkReport;
+import com.mycompany.kafkaadmin.benchmark.ConsumerBenchmark;
+import com.mycompany.kafkaadmin.benchmark.LatencyHistogram;
+import com.mycompany.kafkaadmin.cluster.ClusterConfig;
+import com.mycompany.kafkaadmin.message.TopicMessageReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Нагрузочный тест потребителя для выбранного топика: параметры выборки, живая статистика
+ * скорости чтения, длительности {@code poll}, задержек по партициям и выделения памяти,
+ * экспорт результатов в JSON.
+ */
+public class ConsumerBenchmarkDialog extends JDialog {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsumerBenchmarkDialog.class);
+
+    private static final int REFRESH_INTERVAL_MS = 500;
+
+    private static final String START_BEGINNING = "Beginning";
+    private static final String START_LATEST = "Latest N";
+    private static final String START_TIMESTAMP = "Since Timestamp";
+
+    private final ClusterConfig clusterConfig;
+    private final String topic;
+
+    private final JComboBox<String> startComboBox;
+    private final JTextField startValueField;
+    private final JTextField maxRecordsField;
+    private final JTextField fetchMinBytesField;
+    private final JTextField fetchMaxWaitMsField;
+    private final JTextField maxPartitionFetchBytesField;
+    private final JTextField maxPollRecordsField;
+
+    private final JLabel elapsedLabel = new JLabel("-");
+    private final JLabel recordsLabel = new JLabel("-");
+    private final JLabel currentRateLabel = new JLabel("-");
+    private final JLabel averageRateLabel = new JLabel("-");
+    private final JLabel throughputLabel = new JLabel("-");
+    private final JLabel pollsLabel = new JLabel("-");
+    private final JLabel allocationLabel = new JLabel("-");
+    private final JLabel gcLabel = new JLabel("-");
+    private final DefaultTableModel pollLatencyTableModel;
+    private final DefaultTableModel partitionsTableModel;
+    private final JProgressBar progressBar;
+    private final JLabel statusLabel;
+    private final JButton startButton;
+    private final JButton stopButton;
+    private final JButton exportButton;
+    private final javax.swing.Timer refreshTimer;
+
+    private ConsumerBenchmark benchmark;
+    private ConsumerBenchmark.Snapshot lastSnapshot;
+    private ConsumerBenchmark.Snapshot result;
+    private AtomicBoolean stopRequested = new AtomicBoolean();
+
+    public ConsumerBenchmarkDialog(Frame owner, ClusterConfig clusterConfig, String topic) {
+        super(owner, "Consumer Benchmark: " + topic, false);
+        this.clusterConfig = clusterConfig;
+        this.topic = topic;
+        setLayout(new BorderLayout(10, 10));
+
+        // --- Параметры теста ---
+        ConsumerBenchmark.Settings defaults = new ConsumerBenchmark.Settings();
+        JPanel settingsPanel = new JPanel(new GridBagLayout());
+        settingsPanel.setBorder(BorderFactory.createTitledBorder("Settings"));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(3, 5, 3, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        int row = 0;
+        startComboBox = new JComboBox<>(new String[] { START_BEGINNING, START_LATEST, START_TIMESTAMP });
+        addRow(settingsPanel, gbc, row++, "Start:", startComboBox);
+        startValueField = new JTextField(12);
+        startValueField.setEnabled(false);
+        startValueField.setToolTipText("Latest N: число последних сообщений на партицию; "
+                + "Since Timestamp: yyyy-MM-dd HH:mm:ss, ISO-8601 или миллисекунды epoch");
+        startComboBox.addActionListener(e -> startValueField.setEnabled(
+                !START_BEGINNING.equals(startComboBox.getSelectedItem())));
+        addRow(settingsPanel, gbc, row++, "Start value:", startValueField);
+        maxRecordsField = new JTextField("0", 12);
+        maxRecordsField.setToolTipText("0 - читать до конечных смещений на момент запуска");
+        addRow(settingsPanel, gbc, row++, "Max records:", maxRecordsField);
+        fetchMinBytesField = new JTextField(String.valueOf(defaults.getFetchMinBytes()), 12);
+        addRow(settingsPanel, gbc, row++, "fetch.min.bytes:", fetchMinBytesField);
+        fetchMaxWaitMsField = new JTextField(String.valueOf(defaults.getFetchMaxWaitMs()), 12);
+        addRow(settingsPanel, gbc, row++, "fetch.max.wait.ms:", fetchMaxWaitMsField);
+        maxPartitionFetchBytesField = new JTextField(String.valueOf(defaults.getMaxPartitionFetchBytes()), 12);
+        addRow(settingsPanel, gbc, row++, "max.partition.fetch.bytes:", maxPartitionFetchBytesField);
+        maxPollRecordsField = new JTextField(String.valueOf(defaults.getMaxPollRecords()), 12);
+        addRow(settingsPanel, gbc, row++, "max.poll.records:", maxPollRecordsField);
+        gbc.gridx = 0;
+        gbc.gridy = row;
+        gbc.weighty = 1.0;
+        settingsPanel.add(Box.createVerticalGlue(), gbc);
+        add(settingsPanel, BorderLayout.WEST);
+
+        // --- Результаты ---
+        JPanel statsPanel = new JPanel(new GridBagLayout());
+        statsPanel.setBorder(BorderFactory.createTitledBorder("Throughput"));
+        GridBagConstraints statsGbc = new GridBagConstraints();
+        statsGbc.insets = new Insets(3, 5, 3, 5);
+        statsGbc.fill = GridBagConstraints.HORIZONTAL;
+        row = 0;
+        addRow(statsPanel, statsGbc, row++, "Elapsed:", elapsedLabel);
+        addRow(statsPanel, statsGbc, row++, "Records:", recordsLabel);
+        addRow(statsPanel, statsGbc, row++, "Current rate:", currentRateLabel);
+        addRow(statsPanel, statsGbc, row++, "Average rate:", averageRateLabel);
+        addRow(statsPanel, statsGbc, row++, "Average throughput:", throughputLabel);
+        addRow(statsPanel, statsGbc, row++, "Polls:", pollsLabel);
+        allocationLabel.setToolTipText("Память, выделенная потоком чтения (JMX ThreadMXBean)");
+        addRow(statsPanel, statsGbc, row++, "Allocation rate:", allocationLabel);
+        gcLabel.setToolTipText("Сборки мусора во всей JVM с начала теста");
+        addRow(statsPanel, statsGbc, row++, "GC:", gcLabel);
+
+        pollLatencyTableModel = new DefaultTableModel(new String[] { "poll()", "ms" }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        pollLatencyTableModel.addRow(new Object[] { "min", "" });
+        pollLatencyTableModel.addRow(new Object[] { "mean", "" });
+        for (double percentile : BenchmarkReport.PERCENTILES) {
+            pollLatencyTableModel.addRow(new Object[] { BenchmarkReport.percentileLabel(percentile), "" });
+        }
+        pollLatencyTableModel.addRow(new Object[] { "max", "" });
+        JPanel pollLatencyPanel = new JPanel(new BorderLayout());
+        pollLatencyPanel.setBorder(BorderFactory.createTitledBorder("Poll latency"));
+        pollLatencyPanel.add(new JScrollPane(new JTable(pollLatencyTableModel)), BorderLayout.CENTER);
+
+        JPanel summaryPanel = new JPanel(new GridLayout(1, 2, 5, 5));
+        summaryPanel.add(statsPanel);
+        summaryPanel.add(pollLatencyPanel);
+
+        partitionsTableModel = new DefaultTableModel(
+                new String[] { "Partition", "Records", "To Read", "MB", "Gap p50 ms", "Gap p99 ms", "Gap max ms" }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return column == 0 ? Integer.class : column <= 2 ? Long.class : String.class;
+            }
+        };
+        JTable partitionsTable = new JTable(partitionsTableModel);
+        partitionsTable.setToolTipText("Gap - интервал между порциями сообщений партиции");
+        JPanel partitionsPanel = new JPanel(new BorderLayout());
+        partitionsPanel.setBorder(BorderFactory.createTitledBorder("Partitions"));
+        partitionsPanel.add(new JScrollPane(partitionsTable), BorderLayout.CENTER);
+
+        JSplitPane resultsSplit = new JSplitPane(JSplitPane.VERTICAL_SPLIT, summaryPanel, partitionsPanel);
+        resultsSplit.setResizeWeight(0.4);
+        resultsSplit.setPreferredSize(new Dimension(700, 560));
+        add(resultsSplit, BorderLayout.CENTER);
+
+        // --- Прогресс и кнопки ---
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        progressBar = new JProgressBar(0, 1000);
+        progressBar.setStringPainted(true);
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.GRAY);
+        bottomPanel.add(progressBar, BorderLayout.NORTH);
+        bottomPanel.add(statusLabel, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        startButton = new JButton("Start");
+        stopButton = new JButton("Stop");
+        stopButton.setEnabled(false);
+        exportButton = new JButton("Export...");
+        exportButton.setToolTipText("Сохранить параметры и результаты в JSON для сравнения запусков");
+        exportButton.setEnabled(false);
+        JButton closeButton = new JButton("Close");
+        buttonPanel.add(startButton);
+        buttonPanel.add(stopButton);
+        buttonPanel.add(exportButton);
+        buttonPanel.add(closeButton);
+        bottomPanel.add(buttonPanel, BorderLayout.SOUTH);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        refreshTimer = new javax.swing.Timer(REFRESH_INTERVAL_MS, e -> refreshView());
+        startButton.addActionListener(e -> startBenchmark());
+        stopButton.addActionListener(e -> stopRequested.set(true));
+        exportButton.addActionListener(e -> exportResult());
+        closeButton.addActionListener(e -> close());
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                close();
+            }
+        });
+
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    private static void addRow(JPanel panel, GridBagConstraints gbc, int row, String label, JComponent component) {
+        gbc.gridx = 0;
+        gbc.gridy = row;
+        gbc.weightx = 0;
+        gbc.anchor = GridBagConstraints.WEST;
+        panel.add(new JLabel(label), gbc);
+        gbc.gridx = 1;
+        gbc.weightx = 1.0;
+        panel.add(component, gbc);
+    }
+
+    private void startBenchmark() {
+        ConsumerBenchmark.Settings settings = new ConsumerBenchmark.Settings();
+        try {
+            settings.setTopic(topic);
+            settings.setStart(parseStartPosition());
+            settings.setMaxRecords(Long.parseLong(maxRecordsField.getText().trim()));
+            settings.setFetchMinBytes(Integer.parseInt(fetchMinBytesField.getText().trim()));
+            settings.setFetchMaxWaitMs(Integer.parseInt(fetchMaxWaitMsField.getText().trim()));
+            settings.setMaxPartitionFetchBytes(Integer.parseInt(maxPartitionFetchBytesField.getText().trim()));
+            settings.setMaxPollRecords(Integer.parseInt(maxPollRecordsField.getText().trim()));
+            benchmark = new ConsumerBenchmark(clusterConfig.getConnectionProperties(), settings);
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid number: " + ex.getMessage(), "Invalid Settings",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Invalid Settings", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        ConsumerBenchmark running = benchmark;
+        AtomicBoolean stop = new AtomicBoolean();
+        stopRequested = stop;
+        lastSnapshot = null;
+        result = null;
+        partitionsTableModel.setRowCount(0);
+        setRunning(true);
+        statusLabel.setText("Running...");
+
+        new SwingWorker<ConsumerBenchmark.Snapshot, Void>() {
+            @Override
+            protected ConsumerBenchmark.Snapshot doInBackground() {
+                return running.run(stop::get);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    result = get();
+                    setRunning(false);
+                    refreshView();
+                    statusLabel.setText(stop.get() ? "Stopped" : "Completed");
+                } catch (InterruptedException | ExecutionException ex) {
+                    setRunning(false);
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Consumer benchmark on topic '{}' failed: {}", topic, cause.getMessage(), cause);
+                    statusLabel.setText("Failed: " + cause.getMessage());
+                    JOptionPane.showMessageDialog(ConsumerBenchmarkDialog.this,
+                            "Consumer benchmark failed: " + cause.getMessage(),
+                            "Benchmark Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private TopicMessageReader.StartPosition parseStartPosition() {
+        String mode = (String) startComboBox.getSelectedItem();
+        String text = startValueField.getText().trim();
+        if (START_TIMESTAMP.equals(mode)) {
+            return TopicMessageReader.StartPosition.timestamp(TopicMessageReader.StartPosition.parseTimestamp(text));
+        }
+        if (START_LATEST.equals(mode)) {
+            long count = Long.parseLong(text);
+            if (count < 0) {
+                throw new IllegalArgumentException("N must not be negative");
+            }
+            return TopicMessageReader.StartPosition.latest(count);
+        }
+        return TopicMessageReader.StartPosition.beginning();
+    }
+
+    private void setRunning(boolean running) {
+        startButton.setEnabled(!running);
+        stopButton.setEnabled(running);
+        exportButton.setEnabled(!running && result != null);
+        if (running) {
+            refreshTimer.start();
+        } else {
+            refreshTimer.stop();
+        }
+    }
+
+    private void refreshView() {
+        if (benchmark == null) {
+            return;
+        }
+        ConsumerBenchmark.Snapshot snapshot = result != null ? result : benchmark.snapshot();
+        // Текущая скорость - по приросту с прошлого обновления
+        if (lastSnapshot != null && snapshot.getElapsedNanos() > lastSnapshot.getElapsedNanos()) {
+            double rate = (snapshot.getRecords() - lastSnapshot.getRecords()) * 1e9
+                    / (snapshot.getElapsedNanos() - lastSnapshot.getElapsedNanos());
+            currentRateLabel.setText(String.format("%,.0f rec/s", rate));
+        }
+        lastSnapshot = snapshot;
+
+        elapsedLabel.setText(String.format("%.1f s", snapshot.getElapsedNanos() / 1e9));
+        recordsLabel.setText(String.format("%,d / %,d", snapshot.getRecords(), snapshot.getTotalToRead()));
+        averageRateLabel.setText(String.format("%,.0f rec/s", snapshot.getRecordsPerSecond()));
+        throughputLabel.setText(String.format("%.2f MB/s", snapshot.getMegabytesPerSecond()));
+        pollsLabel.setText(String.format("%,d", snapshot.getPolls()));
+        double allocationRate = snapshot.getAllocationMegabytesPerSecond();
+        allocationLabel.setText(allocationRate < 0 ? "n/a" : String.format("%.1f MB/s (%.1f MB total)",
+                allocationRate, snapshot.getAllocatedBytes() / (1024.0 * 1024)));
+        gcLabel.setText(String.format("%d collection(s), %d ms", snapshot.getGcCount(), snapshot.getGcTimeMs()));
+        long total = snapshot.getTotalToRead();
+        progressBar.setValue(total > 0 ? (int) (Math.min(snapshot.getRecords(), total) * 1000 / total) : 0);
+        progressBar.setString(String.format("%,d / %,d", snapshot.getRecords(), total));
+
+        LatencyHistogram latency = snapshot.getPollLatency();
+        int row = 0;
+        pollLatencyTableModel.setValueAt(millis(latency.getMin()), row++, 1);
+        pollLatencyTableModel.setValueAt(String.format("%.3f", latency.getMean() / 1000), row++, 1);
+        for (double percentile : BenchmarkReport.PERCENTILES) {
+            pollLatencyTableModel.setValueAt(millis(latency.valueAtPercentile(percentile)), row++, 1);
+        }
+        pollLatencyTableModel.setValueAt(millis(latency.getMax()), row, 1);
+
+        List<ConsumerBenchmark.PartitionSnapshot> partitions = snapshot.getPartitions();
+        if (partitionsTableModel.getRowCount() != partitions.size()) {
+            partitionsTableModel.setRowCount(0);
+            for (ConsumerBenchmark.PartitionSnapshot p : partitions) {
+                partitionsTableModel.addRow(new Object[] { p.getPartition(), 0L, p.getTotal(), "", "", "", "" });
+            }
+        }
+        for (int i = 0; i < partitions.size(); i++) {
+            ConsumerBenchmark.PartitionSnapshot p = partitions.get(i);
+            if (Long.valueOf(p.getRecords()).equals(partitionsTableModel.getValueAt(i, 1))
+                    && result == null) {
+                continue; // Партиция не изменилась
+            }
+            partitionsTableModel.setValueAt(p.getRecords(), i, 1);
+            partitionsTableModel.setValueAt(String.format("%.2f", p.getBytes() / (1024.0 * 1024)), i, 3);
+            partitionsTableModel.setValueAt(millis(p.getLatency().valueAtPercentile(50)), i, 4);
+            partitionsTableModel.setValueAt(millis(p.getLatency().valueAtPercentile(99)), i, 5);
+            partitionsTableModel.setValueAt(millis(p.getLatency().getMax()), i, 6);
+        }
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.3f", micros / 1000.0);
+    }
+
+    private void exportResult() {
+        if (result == null) {
+            return;
+        }
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Export Benchmark Results");
+        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("JSON Files", "json"));
+        fileChooser.setSelectedFile(new File("consumer_benchmark_" + topic + ".json"));
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = fileChooser.getSelectedFile();
+        if (!file.getName().toLowerCase().endsWith(".json")) {
+            file = new File(file.getAbsolutePath() + ".json");
+        }
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("elapsedMs", result.getElapsedNanos() / 1_000_000);
+        results.put("records", result.getRecords());
+        results.put("bytes", result.getBytes());
+        results.put("polls", result.getPolls());
+        results.put("recordsPerSecond", Math.round(result.getRecordsPerSecond()));
+        results.put("megabytesPerSecond", Math.round(result.getMegabytesPerSecond() * 100) / 100.0);
+        results.put("allocatedBytes", result.getAllocatedBytes());
+        results.put("allocationMegabytesPerSecond", Math.round(result.getAllocationMegabytesPerSecond() * 10) / 10.0);
+        results.put("gcCount", result.getGcCount());
+        results.put("gcTimeMs", result.getGcTimeMs());
+        List<Map<String, Object>> partitions = new ArrayList<>();
+        for (ConsumerBenchmark.PartitionSnapshot p : result.getPartitions()) {
+            Map<String, Object> partition = new LinkedHashMap<>();
+            partition.put("partition", p.getPartition());
+            partition.put("records", p.getRecords());
+            partition.put("bytes", p.getBytes());
+            partition.put("gapMicros", BenchmarkReport.summarize(p.getLatency()));
+            partitions.add(partition);
+        }
+        results.put("partitions", partitions);
+        try {
+            BenchmarkReport.write(file, "consumer", clusterConfig.getName(), benchmark.getSettings().toMap(), results,
+                    result.getPollLatency());
+            statusLabel.setText("Exported results to " + file.getName());
+        } catch (Exception ex) {
+            log.error("Error exporting benchmark results: {}", ex.getMessage(), ex);
+            JOptionPane.showMessageDialog(this, "Error exporting results: " + ex.getMessage(), "Export Error",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void close() {
+        stopRequested.set(true);
+        refreshTimer.stop();
+        setVisible(false);
+        dispose();
+    }
+}
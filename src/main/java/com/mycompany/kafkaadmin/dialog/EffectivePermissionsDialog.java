@@ -0,0 +1,318 @@
+package com.mycompany.kafkaadmin.dialog;
+
+import com.mycompany.kafkaadmin.acl.AccessMatrix;
+import com.mycompany.kafkaadmin.acl.AccessMatrixTableModel;
+import com.mycompany.kafkaadmin.acl.AclPermissionEvaluator;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.ListTopicsOptions;
+import org.apache.kafka.common.acl.AclBinding;
+import org.apache.kafka.common.acl.AclBindingFilter;
+import org.apache.kafka.common.acl.AclOperation;
+import org.apache.kafka.common.resource.ResourceType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Калькулятор эффективных прав: решение авторизатора для пары principal/ресурс по
+ * загруженным ACL и матрица доступа principal ко всем топикам и группам потребителей.
+ */
+public class EffectivePermissionsDialog extends JDialog {
+
+    private static final Logger log = LoggerFactory.getLogger(EffectivePermissionsDialog.class);
+
+    private static final AclOperation[] OPERATIONS = { AclOperation.READ, AclOperation.WRITE, AclOperation.CREATE,
+            AclOperation.DELETE, AclOperation.ALTER, AclOperation.DESCRIBE, AclOperation.CLUSTER_ACTION,
+            AclOperation.DESCRIBE_CONFIGS, AclOperation.ALTER_CONFIGS, AclOperation.IDEMPOTENT_WRITE,
+            AclOperation.CREATE_TOKENS, AclOperation.DESCRIBE_TOKENS };
+    private static final ResourceType[] RESOURCE_TYPES = { ResourceType.TOPIC, ResourceType.GROUP,
+            ResourceType.CLUSTER, ResourceType.TRANSACTIONAL_ID, ResourceType.DELEGATION_TOKEN, ResourceType.USER };
+
+    private final AdminClient adminClient;
+
+    private final JComboBox<String> principalComboBox;
+    private final JTextField hostField;
+    private final JComboBox<AclOperation> operationComboBox;
+    private final JComboBox<ResourceType> resourceTypeComboBox;
+    private final JTextField resourceNameField;
+    private final JButton checkButton;
+    private final JLabel decisionLabel;
+    private final JLabel reasonLabel;
+    private final JButton matrixButton;
+    private final AccessMatrixTableModel matrixTableModel;
+    private final JLabel statusLabel;
+
+    private AclPermissionEvaluator evaluator;
+    private SwingWorker<AccessMatrix, Void> matrixWorker;
+
+    /**
+     * @param acls все ACL кластера; {@code null} - запросить у брокера
+     */
+    public EffectivePermissionsDialog(Frame owner, AdminClient adminClient, Collection<AclBinding> acls) {
+        super(owner, "Effective Permissions", false);
+        this.adminClient = adminClient;
+        setLayout(new BorderLayout(10, 10));
+
+        // --- Запрос ---
+        JPanel queryPanel = new JPanel(new GridBagLayout());
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(3, 5, 3, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        int row = 0;
+
+        principalComboBox = new JComboBox<>();
+        principalComboBox.setEditable(true);
+        principalComboBox.setToolTipText("Например: User:svc-billing; список - principal из загруженных ACL");
+        addRow(queryPanel, gbc, row++, "Principal:", principalComboBox);
+
+        hostField = new JTextField(30);
+        hostField.setToolTipText("Адрес клиента; пусто - учитываются только ACL с host *");
+        addRow(queryPanel, gbc, row++, "Host:", hostField);
+
+        JPanel resourcePanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        operationComboBox = new JComboBox<>(OPERATIONS);
+        resourceTypeComboBox = new JComboBox<>(RESOURCE_TYPES);
+        resourceNameField = new JTextField(24);
+        resourceNameField.setToolTipText("Для CLUSTER - kafka-cluster");
+        resourceTypeComboBox.addActionListener(e -> {
+            if (resourceTypeComboBox.getSelectedItem() == ResourceType.CLUSTER) {
+                resourceNameField.setText("kafka-cluster");
+            }
+        });
+        resourcePanel.add(operationComboBox);
+        resourcePanel.add(resourceTypeComboBox);
+        resourcePanel.add(resourceNameField);
+        checkButton = new JButton("Check");
+        checkButton.setEnabled(false);
+        resourcePanel.add(checkButton);
+        addRow(queryPanel, gbc, row++, "Access:", resourcePanel);
+
+        decisionLabel = new JLabel(" ");
+        decisionLabel.setFont(decisionLabel.getFont().deriveFont(Font.BOLD));
+        addRow(queryPanel, gbc, row++, "Decision:", decisionLabel);
+        reasonLabel = new JLabel(" ");
+        addRow(queryPanel, gbc, row++, "Reason:", reasonLabel);
+        add(queryPanel, BorderLayout.NORTH);
+
+        // --- Матрица доступа ---
+        JPanel matrixPanel = new JPanel(new BorderLayout(5, 5));
+        matrixPanel.setBorder(BorderFactory.createTitledBorder("Access Matrix"));
+        JPanel matrixButtonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        matrixButton = new JButton("Build Matrix");
+        matrixButton.setToolTipText("Права principal на все топики и группы потребителей кластера");
+        matrixButton.setEnabled(false);
+        matrixButtonPanel.add(matrixButton);
+        matrixButtonPanel.add(new JLabel("'-' - нет разрешающего ACL, 'no ACLs' - см. allow.everyone.if.no.acl.found"));
+        matrixPanel.add(matrixButtonPanel, BorderLayout.NORTH);
+        matrixTableModel = new AccessMatrixTableModel();
+        JTable matrixTable = new JTable(matrixTableModel);
+        matrixTable.setAutoCreateRowSorter(true);
+        matrixTable.getColumnModel().getColumn(1).setPreferredWidth(240);
+        JScrollPane matrixScrollPane = new JScrollPane(matrixTable);
+        matrixScrollPane.setPreferredSize(new Dimension(900, 360));
+        matrixPanel.add(matrixScrollPane, BorderLayout.CENTER);
+        add(matrixPanel, BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        statusLabel = new JLabel(acls != null ? "Indexing " + acls.size() + " ACL(s)..." : "Loading ACLs...");
+        statusLabel.setForeground(Color.GRAY);
+        bottomPanel.add(statusLabel, BorderLayout.CENTER);
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JButton closeButton = new JButton("Close");
+        buttonPanel.add(closeButton);
+        bottomPanel.add(buttonPanel, BorderLayout.EAST);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        checkButton.addActionListener(e -> check());
+        resourceNameField.addActionListener(e -> check());
+        hostField.addActionListener(e -> check());
+        matrixButton.addActionListener(e -> buildMatrix());
+        closeButton.addActionListener(e -> close());
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                close();
+            }
+        });
+
+        pack();
+        setLocationRelativeTo(owner);
+        buildEvaluator(acls);
+    }
+
+    private static void addRow(JPanel panel, GridBagConstraints gbc, int row, String label, JComponent component) {
+        gbc.gridx = 0;
+        gbc.gridy = row;
+        gbc.weightx = 0;
+        gbc.anchor = GridBagConstraints.WEST;
+        panel.add(new JLabel(label), gbc);
+        gbc.gridx = 1;
+        gbc.weightx = 1.0;
+        panel.add(component, gbc);
+    }
+
+    /**
+     * Строит индекс вычислителя вне EDT.
+     */
+    private void buildEvaluator(Collection<AclBinding> acls) {
+        new SwingWorker<AclPermissionEvaluator, Void>() {
+            @Override
+            protected AclPermissionEvaluator doInBackground() throws Exception {
+                Collection<AclBinding> allAcls = acls != null ? acls
+                        : adminClient.describeAcls(AclBindingFilter.ANY).values().get();
+                return AclPermissionEvaluator.build(allAcls);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    evaluator = get();
+                    for (String principal : evaluator.getPrincipals()) {
+                        principalComboBox.addItem(principal);
+                    }
+                    checkButton.setEnabled(true);
+                    matrixButton.setEnabled(true);
+                    statusLabel.setText("Indexed " + evaluator.size() + " ACL(s), "
+                            + evaluator.getPrincipals().size() + " principal(s)");
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error indexing ACLs: {}", cause.getMessage(), cause);
+                    statusLabel.setText("Error indexing ACLs: " + cause.getMessage());
+                }
+            }
+        }.execute();
+    }
+
+    private String selectedPrincipal() {
+        Object selected = principalComboBox.getEditor().getItem();
+        return selected == null ? "" : selected.toString().trim();
+    }
+
+    /**
+     * Вычисляет решение для одной пары principal/ресурс (в EDT - поиск занимает микросекунды).
+     */
+    private void check() {
+        if (evaluator == null) {
+            return;
+        }
+        String principal = selectedPrincipal();
+        String resourceName = resourceNameField.getText().trim();
+        if (principal.isEmpty() || resourceName.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Principal and resource name are required.", "Input Error",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        AclOperation operation = (AclOperation) operationComboBox.getSelectedItem();
+        ResourceType resourceType = (ResourceType) resourceTypeComboBox.getSelectedItem();
+
+        long startNanos = System.nanoTime();
+        AclPermissionEvaluator.Decision decision = evaluator.authorize(principal, hostField.getText(), operation,
+                resourceType, resourceName);
+        long micros = (System.nanoTime() - startNanos) / 1000;
+
+        switch (decision.getResult()) {
+            case ALLOWED:
+                decisionLabel.setForeground(new Color(0, 128, 0));
+                decisionLabel.setText("ALLOWED");
+                reasonLabel.setText("Allowed by " + describe(decision.getBinding()));
+                break;
+            case DENIED:
+                decisionLabel.setForeground(Color.RED);
+                decisionLabel.setText("DENIED");
+                reasonLabel.setText("Denied by " + describe(decision.getBinding()));
+                break;
+            case NO_MATCHING_ALLOW:
+                decisionLabel.setForeground(Color.RED);
+                decisionLabel.setText("DENIED");
+                reasonLabel.setText("No ALLOW ACL matches this principal, host and operation");
+                break;
+            default:
+                decisionLabel.setForeground(Color.ORANGE.darker());
+                decisionLabel.setText("NO ACLS");
+                reasonLabel.setText("No ACLs on this resource: allowed only if allow.everyone.if.no.acl.found=true");
+                break;
+        }
+        statusLabel.setText("Evaluated in " + micros + " us");
+    }
+
+    private static String describe(AclBinding acl) {
+        return acl.entry().permissionType() + " " + acl.entry().operation() + " on " + acl.pattern().resourceType()
+                + " " + acl.pattern().patternType() + " '" + acl.pattern().name() + "' for "
+                + acl.entry().principal() + " from host " + acl.entry().host();
+    }
+
+    /**
+     * Загружает списки топиков и групп и строит матрицу доступа в фоне.
+     */
+    private void buildMatrix() {
+        String principal = selectedPrincipal();
+        if (principal.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Principal is required.", "Input Error",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        String host = hostField.getText();
+        AclPermissionEvaluator currentEvaluator = evaluator;
+        matrixButton.setEnabled(false);
+        statusLabel.setText("Loading topics and consumer groups...");
+
+        matrixWorker = new SwingWorker<AccessMatrix, Void>() {
+            @Override
+            protected AccessMatrix doInBackground() throws Exception {
+                Collection<String> topics = new TreeSet<>(
+                        adminClient.listTopics(new ListTopicsOptions().listInternal(true)).names().get());
+                Collection<String> groups = new TreeSet<>();
+                for (ConsumerGroupListing listing : adminClient.listConsumerGroups().all().get()) {
+                    groups.add(listing.groupId());
+                }
+                return AccessMatrix.compute(currentEvaluator, principal, host, new ArrayList<>(topics),
+                        new ArrayList<>(groups), this::isCancelled);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return;
+                }
+                matrixButton.setEnabled(true);
+                try {
+                    AccessMatrix matrix = get();
+                    List<AccessMatrix.Row> rows = matrix.getRows();
+                    matrixTableModel.setRows(rows);
+                    statusLabel.setText(principal + ": access to " + matrix.countAccessible() + " of "
+                            + rows.size() + " resource(s)");
+                } catch (CancellationException ex) {
+                    log.debug("Access matrix cancelled");
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error building access matrix: {}", cause.getMessage(), cause);
+                    statusLabel.setText(" ");
+                    JOptionPane.showMessageDialog(EffectivePermissionsDialog.this,
+                            "Error building access matrix: " + cause.getMessage(), "Access Matrix Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        matrixWorker.execute();
+    }
+
+    private void close() {
+        if (matrixWorker != null) {
+            matrixWorker.cancel(true);
+        }
+        setVisible(false);
+        dispose();
+    }
+}
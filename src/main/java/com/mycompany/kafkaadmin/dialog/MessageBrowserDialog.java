@@ -0,0 +1,256 @@
+package com.mycompany.kafkaadmin.dialog;
+
+import com.mycompany.kafkaadmin.cluster.ClusterConfig;
+import com.mycompany.kafkaadmin.message.MessageRingBuffer;
+import com.mycompany.kafkaadmin.message.MessageTableModel;
+import com.mycompany.kafkaadmin.message.TopicMessageReader;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Просмотр сообщений топика. Сообщения читаются в кольцевой буфер фиксированной емкости,
+ * поэтому объем памяти не зависит от размера партиций.
+ */
+public class MessageBrowserDialog extends JDialog {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageBrowserDialog.class);
+
+    private static final int CAPACITY = Integer.getInteger("kafkaadmin.browser.capacity", 10_000);
+    private static final int MAX_STORED_BYTES = Integer.getInteger("kafkaadmin.browser.maxValueBytes", 64 * 1024);
+    private static final int REFRESH_INTERVAL_MS = 250;
+
+    private static final String ALL_PARTITIONS = "All";
+    private static final String START_BEGINNING = "Beginning";
+    private static final String START_LATEST = "Latest N";
+    private static final String START_OFFSET = "Offset";
+    private static final String START_TIMESTAMP = "Timestamp";
+
+    private final String topic;
+    private final TopicMessageReader reader;
+    private final MessageRingBuffer buffer = new MessageRingBuffer(CAPACITY, MAX_STORED_BYTES);
+    private final MessageTableModel tableModel = new MessageTableModel(buffer);
+
+    private final JComboBox<Object> partitionComboBox;
+    private final JComboBox<String> startComboBox;
+    private final JTextField startValueField;
+    private final JCheckBox followCheckBox;
+    private final JButton startButton;
+    private final JButton nextPageButton;
+    private final JButton stopButton;
+    private final JTable messagesTable;
+    private final JTextArea detailsArea;
+    private final JLabel statusLabel;
+    private final javax.swing.Timer refreshTimer;
+
+    private AtomicBoolean stopRequested = new AtomicBoolean();
+    private Map<TopicPartition, Long> resumeOffsets = Collections.emptyMap();
+
+    public MessageBrowserDialog(Frame owner, ClusterConfig clusterConfig, String topic, int partitionCount) {
+        super(owner, "Messages: " + topic, false);
+        this.topic = topic;
+        this.reader = new TopicMessageReader(clusterConfig.getConnectionProperties());
+        setLayout(new BorderLayout(10, 10));
+
+        // --- Параметры чтения ---
+        JPanel controlsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        partitionComboBox = new JComboBox<>();
+        partitionComboBox.addItem(ALL_PARTITIONS);
+        for (int p = 0; p < partitionCount; p++) {
+            partitionComboBox.addItem(p);
+        }
+        startComboBox = new JComboBox<>(new String[] { START_LATEST, START_BEGINNING, START_OFFSET, START_TIMESTAMP });
+        startValueField = new JTextField("100", 16);
+        startValueField.setToolTipText("Latest N: число сообщений на партицию; Offset: смещение; "
+                + "Timestamp: yyyy-MM-dd HH:mm:ss, ISO-8601 или миллисекунды epoch");
+        startComboBox.addActionListener(e -> startValueField.setEnabled(
+                !START_BEGINNING.equals(startComboBox.getSelectedItem())));
+        followCheckBox = new JCheckBox("Follow");
+        followCheckBox.setToolTipText("Продолжать читать новые сообщения; старые вытесняются из буфера ("
+                + CAPACITY + " сообщений)");
+        startButton = new JButton("Read");
+        nextPageButton = new JButton("Next Page");
+        nextPageButton.setToolTipText("Прочитать следующие " + CAPACITY + " сообщений с места остановки");
+        nextPageButton.setEnabled(false);
+        stopButton = new JButton("Stop");
+        stopButton.setEnabled(false);
+        JButton searchButton = new JButton("Search...");
+        searchButton.setToolTipText("Параллельный поиск по ключу, значению и заголовкам во всех партициях");
+        controlsPanel.add(new JLabel("Partition:"));
+        controlsPanel.add(partitionComboBox);
+        controlsPanel.add(new JLabel("Start:"));
+        controlsPanel.add(startComboBox);
+        controlsPanel.add(startValueField);
+        controlsPanel.add(followCheckBox);
+        controlsPanel.add(startButton);
+        controlsPanel.add(nextPageButton);
+        controlsPanel.add(stopButton);
+        controlsPanel.add(searchButton);
+        add(controlsPanel, BorderLayout.NORTH);
+
+        // --- Сообщения и детали выбранного сообщения ---
+        messagesTable = new JTable(tableModel);
+        messagesTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        messagesTable.getColumnModel().getColumn(4).setPreferredWidth(400);
+        messagesTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showSelectedMessage();
+            }
+        });
+        detailsArea = new JTextArea(8, 80);
+        detailsArea.setEditable(false);
+        detailsArea.setLineWrap(true);
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT, new JScrollPane(messagesTable),
+                new JScrollPane(detailsArea));
+        split.setResizeWeight(0.7);
+        split.setPreferredSize(new Dimension(1000, 600));
+        add(split, BorderLayout.CENTER);
+
+        statusLabel = new JLabel("Buffer: 0 / " + CAPACITY);
+        statusLabel.setForeground(Color.GRAY);
+        add(statusLabel, BorderLayout.SOUTH);
+
+        refreshTimer = new javax.swing.Timer(REFRESH_INTERVAL_MS, e -> refreshView());
+        startButton.addActionListener(e -> startReading(false));
+        nextPageButton.addActionListener(e -> startReading(true));
+        stopButton.addActionListener(e -> stopRequested.set(true));
+        searchButton.addActionListener(e -> new MessageSearchDialog(owner, clusterConfig, topic).setVisible(true));
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                stopRequested.set(true);
+                refreshTimer.stop();
+                setVisible(false);
+                dispose();
+            }
+        });
+
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    /**
+     * Запускает чтение: с выбранной позиции (буфер очищается) или с места остановки.
+     */
+    private void startReading(boolean resume) {
+        TopicMessageReader.StartPosition start;
+        if (resume) {
+            start = TopicMessageReader.StartPosition.resume(resumeOffsets);
+        } else {
+            try {
+                start = parseStartPosition();
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Invalid Start Position",
+                        JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            buffer.clear();
+            messagesTable.clearSelection();
+            refreshView();
+        }
+        Object selectedPartition = partitionComboBox.getSelectedItem();
+        List<Integer> partitions = selectedPartition instanceof Integer
+                ? Collections.singletonList((Integer) selectedPartition) : Collections.emptyList();
+        boolean follow = followCheckBox.isSelected();
+
+        setReading(true);
+        AtomicBoolean stop = new AtomicBoolean();
+        stopRequested = stop;
+        new SwingWorker<Map<TopicPartition, Long>, Void>() {
+            @Override
+            protected Map<TopicPartition, Long> doInBackground() {
+                return reader.read(topic, partitions, start, CAPACITY, follow, buffer::add, stop::get);
+            }
+
+            @Override
+            protected void done() {
+                setReading(false);
+                refreshView();
+                try {
+                    resumeOffsets = get();
+                    nextPageButton.setEnabled(true);
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error reading messages from topic '{}': {}", topic, cause.getMessage(), cause);
+                    JOptionPane.showMessageDialog(MessageBrowserDialog.this,
+                            "Error reading messages: " + cause.getMessage(),
+                            "Message Browser Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private void setReading(boolean reading) {
+        startButton.setEnabled(!reading);
+        nextPageButton.setEnabled(!reading && !resumeOffsets.isEmpty());
+        stopButton.setEnabled(reading);
+        partitionComboBox.setEnabled(!reading);
+        startComboBox.setEnabled(!reading);
+        startValueField.setEnabled(!reading && !START_BEGINNING.equals(startComboBox.getSelectedItem()));
+        followCheckBox.setEnabled(!reading);
+        if (reading) {
+            refreshTimer.start();
+        } else {
+            refreshTimer.stop();
+        }
+    }
+
+    private TopicMessageReader.StartPosition parseStartPosition() {
+        String mode = (String) startComboBox.getSelectedItem();
+        String text = startValueField.getText().trim();
+        if (START_BEGINNING.equals(mode)) {
+            return TopicMessageReader.StartPosition.beginning();
+        }
+        if (START_TIMESTAMP.equals(mode)) {
+            return TopicMessageReader.StartPosition.timestamp(
+                    TopicMessageReader.StartPosition.parseTimestamp(text));
+        }
+        long value;
+        try {
+            value = Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number: '" + text + "'");
+        }
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must not be negative");
+        }
+        return START_LATEST.equals(mode) ? TopicMessageReader.StartPosition.latest(value)
+                : TopicMessageReader.StartPosition.offset(value);
+    }
+
+    private void refreshView() {
+        tableModel.refresh();
+        long added = buffer.getAdded();
+        int size = buffer.size();
+        statusLabel.setText("Read: " + added + " | buffer: " + size + " / " + CAPACITY
+                + (added > size ? " | evicted: " + (added - size) : ""));
+    }
+
+    /**
+     * Показывает выбранное сообщение целиком (в пределах сохраненных байт).
+     */
+    private void showSelectedMessage() {
+        int row = messagesTable.getSelectedRow();
+        if (row == -1) {
+            detailsArea.setText("");
+            return;
+        }
+        String details = tableModel.describe(row);
+        if (details == null) {
+            return;
+        }
+        detailsArea.setText(details);
+        detailsArea.setCaretPosition(0);
+    }
+}
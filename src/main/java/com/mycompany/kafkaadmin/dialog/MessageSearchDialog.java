@@ -0,0 +1,308 @@
+package com.mycompany.kafkaadmin.dialog;
+
+import com.mycompany.kafkaadmin.cluster.ClusterConfig;
+import com.mycompany.kafkaadmin.message.MessageMatcher;
+import com.mycompany.kafkaadmin.message.MessageRingBuffer;
+import com.mycompany.kafkaadmin.message.MessageSearchEngine;
+import com.mycompany.kafkaadmin.message.MessageTableModel;
+import com.mycompany.kafkaadmin.message.TopicMessageReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Поиск сообщений топика по ключу, значению и заголовкам. Найденные сообщения появляются в
+ * таблице по мере нахождения, прогресс показывается по каждой партиции.
+ */
+public class MessageSearchDialog extends JDialog {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageSearchDialog.class);
+
+    private static final int THREADS = Integer.getInteger("kafkaadmin.search.threads",
+            MessageSearchEngine.DEFAULT_THREADS);
+    private static final int MAX_STORED_BYTES = Integer.getInteger("kafkaadmin.browser.maxValueBytes", 64 * 1024);
+    private static final int REFRESH_INTERVAL_MS = 250;
+
+    private static final String START_BEGINNING = "Beginning";
+    private static final String START_LATEST = "Latest N";
+    private static final String START_TIMESTAMP = "Since Timestamp";
+
+    private final ClusterConfig clusterConfig;
+    private final String topic;
+
+    private final JComboBox<MessageMatcher.Mode> modeComboBox;
+    private final JTextField expressionField;
+    private final JCheckBox keyCheckBox;
+    private final JCheckBox valueCheckBox;
+    private final JCheckBox headersCheckBox;
+    private final JComboBox<String> startComboBox;
+    private final JTextField startValueField;
+    private final JTextField maxHitsField;
+    private final JButton searchButton;
+    private final JButton cancelButton;
+    private final JProgressBar progressBar;
+    private final JLabel statusLabel;
+    private final DefaultTableModel progressTableModel;
+    private final JTable hitsTable;
+    private final JTextArea detailsArea;
+    private final javax.swing.Timer refreshTimer;
+
+    private MessageTableModel hitsTableModel;
+    private MessageSearchEngine engine;
+    private AtomicBoolean cancelRequested = new AtomicBoolean();
+
+    public MessageSearchDialog(Frame owner, ClusterConfig clusterConfig, String topic) {
+        super(owner, "Search Messages: " + topic, false);
+        this.clusterConfig = clusterConfig;
+        this.topic = topic;
+        setLayout(new BorderLayout(10, 10));
+
+        // --- Условие поиска ---
+        JPanel queryPanel = new JPanel(new GridLayout(2, 1));
+        JPanel expressionPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        modeComboBox = new JComboBox<>(MessageMatcher.Mode.values());
+        expressionField = new JTextField(40);
+        expressionField.setToolTipText("Literal: подстрока (ищется в байтах); Regex: регулярное выражение; "
+                + "JSON path: $.order.id или $.order.id=42");
+        keyCheckBox = new JCheckBox("Key", true);
+        valueCheckBox = new JCheckBox("Value", true);
+        headersCheckBox = new JCheckBox("Headers");
+        expressionPanel.add(modeComboBox);
+        expressionPanel.add(expressionField);
+        expressionPanel.add(keyCheckBox);
+        expressionPanel.add(valueCheckBox);
+        expressionPanel.add(headersCheckBox);
+
+        JPanel rangePanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        startComboBox = new JComboBox<>(new String[] { START_BEGINNING, START_LATEST, START_TIMESTAMP });
+        startValueField = new JTextField(16);
+        startValueField.setEnabled(false);
+        startValueField.setToolTipText("Latest N: число последних сообщений на партицию; "
+                + "Since Timestamp: yyyy-MM-dd HH:mm:ss, ISO-8601 или миллисекунды epoch");
+        startComboBox.addActionListener(e -> startValueField.setEnabled(
+                !START_BEGINNING.equals(startComboBox.getSelectedItem())));
+        maxHitsField = new JTextField("1000", 6);
+        searchButton = new JButton("Search");
+        cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(false);
+        rangePanel.add(new JLabel("From:"));
+        rangePanel.add(startComboBox);
+        rangePanel.add(startValueField);
+        rangePanel.add(new JLabel("Max hits:"));
+        rangePanel.add(maxHitsField);
+        rangePanel.add(searchButton);
+        rangePanel.add(cancelButton);
+        rangePanel.add(new JLabel("Threads: " + THREADS));
+        queryPanel.add(expressionPanel);
+        queryPanel.add(rangePanel);
+        add(queryPanel, BorderLayout.NORTH);
+
+        // --- Результаты, детали и прогресс по партициям ---
+        hitsTable = new JTable();
+        hitsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        hitsTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showSelectedHit();
+            }
+        });
+        detailsArea = new JTextArea(8, 60);
+        detailsArea.setEditable(false);
+        detailsArea.setLineWrap(true);
+        JSplitPane hitsSplit = new JSplitPane(JSplitPane.VERTICAL_SPLIT, new JScrollPane(hitsTable),
+                new JScrollPane(detailsArea));
+        hitsSplit.setResizeWeight(0.7);
+
+        progressTableModel = new DefaultTableModel(new String[] { "Partition", "Start", "End", "Scanned", "%" }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return column == 0 || column == 4 ? Integer.class : Long.class;
+            }
+        };
+        JTable progressTable = new JTable(progressTableModel);
+        JPanel progressPanel = new JPanel(new BorderLayout());
+        progressPanel.setBorder(BorderFactory.createTitledBorder("Partitions"));
+        progressPanel.add(new JScrollPane(progressTable), BorderLayout.CENTER);
+
+        JSplitPane split = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, hitsSplit, progressPanel);
+        split.setResizeWeight(0.75);
+        split.setPreferredSize(new Dimension(1100, 600));
+        add(split, BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        progressBar = new JProgressBar(0, 1000);
+        progressBar.setStringPainted(true);
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.GRAY);
+        bottomPanel.add(progressBar, BorderLayout.CENTER);
+        bottomPanel.add(statusLabel, BorderLayout.SOUTH);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        refreshTimer = new javax.swing.Timer(REFRESH_INTERVAL_MS, e -> refreshView());
+        searchButton.addActionListener(e -> startSearch());
+        expressionField.addActionListener(e -> startSearch());
+        cancelButton.addActionListener(e -> cancelRequested.set(true));
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                cancelRequested.set(true);
+                refreshTimer.stop();
+                setVisible(false);
+                dispose();
+            }
+        });
+
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    private void startSearch() {
+        if (!searchButton.isEnabled()) {
+            return;
+        }
+        MessageMatcher matcher;
+        TopicMessageReader.StartPosition start;
+        int maxHits;
+        try {
+            matcher = MessageMatcher.compile((MessageMatcher.Mode) modeComboBox.getSelectedItem(),
+                    expressionField.getText(), keyCheckBox.isSelected(), valueCheckBox.isSelected(),
+                    headersCheckBox.isSelected());
+            start = parseStartPosition();
+            maxHits = Integer.parseInt(maxHitsField.getText().trim());
+            if (maxHits <= 0) {
+                throw new IllegalArgumentException("Max hits must be positive");
+            }
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid number: " + ex.getMessage(), "Invalid Search",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Invalid Search", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        MessageRingBuffer hits = new MessageRingBuffer(maxHits, MAX_STORED_BYTES);
+        hitsTableModel = new MessageTableModel(hits);
+        hitsTable.setModel(hitsTableModel);
+        hitsTable.getColumnModel().getColumn(4).setPreferredWidth(400);
+        detailsArea.setText("");
+        progressTableModel.setRowCount(0);
+        progressBar.setValue(0);
+
+        MessageSearchEngine searchEngine = new MessageSearchEngine(clusterConfig.getConnectionProperties(), THREADS);
+        engine = searchEngine;
+        AtomicBoolean cancel = new AtomicBoolean();
+        cancelRequested = cancel;
+        setSearching(true);
+        statusLabel.setText("Searching...");
+
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                return searchEngine.search(topic, start, matcher, maxHits, hits::add, cancel::get);
+            }
+
+            @Override
+            protected void done() {
+                setSearching(false);
+                refreshView();
+                try {
+                    int found = get();
+                    statusLabel.setText((cancel.get() ? "Cancelled" : "Completed") + ": " + found + " hit(s)"
+                            + (found >= maxHits ? " (limit reached)" : ""));
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error searching topic '{}': {}", topic, cause.getMessage(), cause);
+                    statusLabel.setText("Search failed: " + cause.getMessage());
+                    JOptionPane.showMessageDialog(MessageSearchDialog.this,
+                            "Error searching messages: " + cause.getMessage(),
+                            "Message Search Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private void setSearching(boolean searching) {
+        searchButton.setEnabled(!searching);
+        cancelButton.setEnabled(searching);
+        if (searching) {
+            refreshTimer.start();
+        } else {
+            refreshTimer.stop();
+        }
+    }
+
+    private TopicMessageReader.StartPosition parseStartPosition() {
+        String mode = (String) startComboBox.getSelectedItem();
+        String text = startValueField.getText().trim();
+        if (START_TIMESTAMP.equals(mode)) {
+            return TopicMessageReader.StartPosition.timestamp(TopicMessageReader.StartPosition.parseTimestamp(text));
+        }
+        if (START_LATEST.equals(mode)) {
+            long count = Long.parseLong(text);
+            if (count < 0) {
+                throw new IllegalArgumentException("N must not be negative");
+            }
+            return TopicMessageReader.StartPosition.latest(count);
+        }
+        return TopicMessageReader.StartPosition.beginning();
+    }
+
+    /**
+     * Обновляет таблицу найденных сообщений и прогресс по партициям.
+     */
+    private void refreshView() {
+        if (hitsTableModel != null) {
+            hitsTableModel.refresh();
+        }
+        if (engine == null) {
+            return;
+        }
+        List<MessageSearchEngine.PartitionProgress> partitions = engine.getProgress();
+        if (progressTableModel.getRowCount() != partitions.size()) {
+            progressTableModel.setRowCount(0);
+            for (MessageSearchEngine.PartitionProgress p : partitions) {
+                progressTableModel.addRow(new Object[] { p.getTopicPartition().partition(), p.getStartOffset(),
+                        p.getEndOffset(), 0L, 0 });
+            }
+        }
+        long total = 0;
+        long scanned = 0;
+        for (int row = 0; row < partitions.size(); row++) {
+            MessageSearchEngine.PartitionProgress p = partitions.get(row);
+            long partitionScanned = p.getScanned();
+            total += p.getTotal();
+            scanned += partitionScanned;
+            if (!Long.valueOf(partitionScanned).equals(progressTableModel.getValueAt(row, 3))) {
+                progressTableModel.setValueAt(partitionScanned, row, 3);
+                progressTableModel.setValueAt(percent(partitionScanned, p.getTotal()), row, 4);
+            }
+        }
+        progressBar.setValue(total > 0 ? (int) (scanned * 1000 / total) : (partitions.isEmpty() ? 0 : 1000));
+        progressBar.setString(scanned + " / " + total + " offsets");
+    }
+
+    private static int percent(long done, long total) {
+        return total > 0 ? (int) (done * 100 / total) : 100;
+    }
+
+    private void showSelectedHit() {
+        int row = hitsTable.getSelectedRow();
+        String details = row != -1 && hitsTableModel != null ? hitsTableModel.describe(row) : null;
+        detailsArea.setText(details != null ? details : "");
+        detailsArea.setCaretPosition(0);
+    }
+}
@@ -0,0 +1,167 @@
+package com.mycompany.kafkaadmin.dialog;
+
+import com.mycompany.kafkaadmin.partition.PreferredLeaderElector;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Показывает партиции с непредпочтительным лидером и проводит для них выборы
+ * предпочтительного лидера.
+ */
+public class PreferredLeaderElectionDialog extends JDialog {
+
+    private static final Logger log = LoggerFactory.getLogger(PreferredLeaderElectionDialog.class);
+
+    private static final int COL_RESULT = 5;
+
+    private final AdminClient adminClient;
+    private final List<PreferredLeaderElector.Candidate> candidates;
+    private final DefaultTableModel tableModel;
+    private final Map<PreferredLeaderElector.Candidate, Integer> rowByCandidate = new IdentityHashMap<>();
+    private final JButton electButton;
+    private final JProgressBar progressBar;
+    private final JLabel summaryLabel;
+
+    private boolean elected = false;
+
+    public PreferredLeaderElectionDialog(Frame owner, AdminClient adminClient,
+            List<PreferredLeaderElector.Candidate> candidates) {
+        super(owner, "Preferred Leader Election", true);
+        this.adminClient = adminClient;
+        this.candidates = candidates;
+        setLayout(new BorderLayout(10, 10));
+
+        tableModel = new DefaultTableModel(new String[] { "Topic", "Partition", "Leader", "Preferred Leader",
+                "Preferred In ISR", "Result" }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                switch (column) {
+                    case 1:
+                    case 2:
+                    case 3:
+                        return Integer.class;
+                    case 4:
+                        return Boolean.class;
+                    default:
+                        return String.class;
+                }
+            }
+        };
+        int outOfSync = 0;
+        for (PreferredLeaderElector.Candidate candidate : candidates) {
+            rowByCandidate.put(candidate, tableModel.getRowCount());
+            tableModel.addRow(new Object[] { candidate.getTopicPartition().topic(),
+                    candidate.getTopicPartition().partition(), candidate.getLeader(), candidate.getPreferredLeader(),
+                    candidate.isPreferredInSync(), "" });
+            if (!candidate.isPreferredInSync()) {
+                outOfSync++;
+            }
+        }
+        JTable table = new JTable(tableModel);
+        table.setAutoCreateRowSorter(true);
+        table.getColumnModel().getColumn(COL_RESULT).setPreferredWidth(300);
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setPreferredSize(new Dimension(800, 400));
+        add(scrollPane, BorderLayout.CENTER);
+
+        summaryLabel = new JLabel(candidates.size() + " partition(s) with non-preferred leader"
+                + (outOfSync > 0 ? ", preferred replica out of ISR: " + outOfSync : ""));
+        add(summaryLabel, BorderLayout.NORTH);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        progressBar = new JProgressBar(0, Math.max(candidates.size(), 1));
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+        bottomPanel.add(progressBar, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        electButton = new JButton("Elect");
+        electButton.setEnabled(!candidates.isEmpty());
+        electButton.addActionListener(e -> elect());
+        JButton closeButton = new JButton("Close");
+        closeButton.addActionListener(e -> {
+            setVisible(false);
+            dispose();
+        });
+        buttonPanel.add(electButton);
+        buttonPanel.add(closeButton);
+        bottomPanel.add(buttonPanel, BorderLayout.EAST);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    /**
+     * Проводились ли выборы (хотя бы частично) - лидеры партиций изменились.
+     */
+    public boolean isElected() {
+        return elected;
+    }
+
+    private void elect() {
+        int confirm = JOptionPane.showConfirmDialog(this,
+                "Run preferred leader election for " + candidates.size() + " partition(s)?",
+                "Confirm Election", JOptionPane.YES_NO_OPTION);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+        electButton.setEnabled(false);
+        elected = true;
+        progressBar.setValue(0);
+        progressBar.setVisible(true);
+
+        new SwingWorker<Integer, PreferredLeaderElector.Candidate>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                return new PreferredLeaderElector(adminClient).elect(candidates, this::publish, this::isCancelled);
+            }
+
+            @Override
+            protected void process(List<PreferredLeaderElector.Candidate> chunks) {
+                for (PreferredLeaderElector.Candidate candidate : chunks) {
+                    Integer row = rowByCandidate.get(candidate);
+                    if (row != null) {
+                        tableModel.setValueAt(candidate.getResult(), row, COL_RESULT);
+                    }
+                }
+                progressBar.setValue(progressBar.getValue() + chunks.size());
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    int requests = get();
+                    int failed = 0;
+                    for (PreferredLeaderElector.Candidate candidate : candidates) {
+                        if (candidate.isFailed()) {
+                            failed++;
+                        }
+                    }
+                    summaryLabel.setText("Election completed for " + candidates.size() + " partition(s) in "
+                            + requests + " request(s), failed: " + failed);
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error electing preferred leaders: {}", cause.getMessage(), cause);
+                    JOptionPane.showMessageDialog(PreferredLeaderElectionDialog.this,
+                            "Error electing leaders: " + cause.getMessage(),
+                            "Election Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+}
@@ -0,0 +1,341 @@
+package com.mycompany.kafkaadmin.dialog;
+
+import com.mycompany.kafkaadmin.benchmark.BenchmarkReport;
+import com.mycompany.kafkaadmin.benchmark.LatencyHistogram;
+import com.mycompany.kafkaadmin.benchmark.ProducerBenchmark;
+import com.mycompany.kafkaadmin.cluster.ClusterConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Нагрузочный тест производителя для выбранного топика: параметры производителя, живая
+ * статистика пропускной способности и процентили задержки, экспорт результатов в JSON.
+ */
+public class ProducerBenchmarkDialog extends JDialog {
+
+    private static final Logger log = LoggerFactory.getLogger(ProducerBenchmarkDialog.class);
+
+    private static final int REFRESH_INTERVAL_MS = 500;
+
+    private final ClusterConfig clusterConfig;
+    private final String topic;
+
+    private final JTextField recordCountField;
+    private final JTextField recordSizeField;
+    private final JComboBox<ProducerBenchmark.KeyDistribution> keyDistributionComboBox;
+    private final JTextField keyCountField;
+    private final JComboBox<String> acksComboBox;
+    private final JTextField lingerMsField;
+    private final JTextField batchSizeField;
+    private final JComboBox<String> compressionComboBox;
+    private final JTextField targetRateField;
+
+    private final JLabel elapsedLabel = new JLabel("-");
+    private final JLabel sentLabel = new JLabel("-");
+    private final JLabel failedLabel = new JLabel("-");
+    private final JLabel currentRateLabel = new JLabel("-");
+    private final JLabel averageRateLabel = new JLabel("-");
+    private final JLabel throughputLabel = new JLabel("-");
+    private final DefaultTableModel latencyTableModel;
+    private final JProgressBar progressBar;
+    private final JLabel statusLabel;
+    private final JButton startButton;
+    private final JButton stopButton;
+    private final JButton exportButton;
+    private final javax.swing.Timer refreshTimer;
+
+    private ProducerBenchmark benchmark;
+    private ProducerBenchmark.Snapshot lastSnapshot;
+    private ProducerBenchmark.Snapshot result;
+    private AtomicBoolean stopRequested = new AtomicBoolean();
+
+    public ProducerBenchmarkDialog(Frame owner, ClusterConfig clusterConfig, String topic) {
+        super(owner, "Producer Benchmark: " + topic, false);
+        this.clusterConfig = clusterConfig;
+        this.topic = topic;
+        setLayout(new BorderLayout(10, 10));
+
+        // --- Параметры теста ---
+        ProducerBenchmark.Settings defaults = new ProducerBenchmark.Settings();
+        JPanel settingsPanel = new JPanel(new GridBagLayout());
+        settingsPanel.setBorder(BorderFactory.createTitledBorder("Settings"));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(3, 5, 3, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        int row = 0;
+        recordCountField = new JTextField(String.valueOf(defaults.getRecordCount()), 10);
+        addRow(settingsPanel, gbc, row++, "Records:", recordCountField);
+        recordSizeField = new JTextField(String.valueOf(defaults.getRecordSize()), 10);
+        addRow(settingsPanel, gbc, row++, "Record size (bytes):", recordSizeField);
+        keyDistributionComboBox = new JComboBox<>(ProducerBenchmark.KeyDistribution.values());
+        addRow(settingsPanel, gbc, row++, "Keys:", keyDistributionComboBox);
+        keyCountField = new JTextField(String.valueOf(defaults.getKeyCount()), 10);
+        keyCountField.setToolTipText("Число различных ключей");
+        keyCountField.setEnabled(false);
+        keyDistributionComboBox.addActionListener(e -> keyCountField.setEnabled(
+                keyDistributionComboBox.getSelectedItem() != ProducerBenchmark.KeyDistribution.NONE));
+        addRow(settingsPanel, gbc, row++, "Distinct keys:", keyCountField);
+        acksComboBox = new JComboBox<>(new String[] { "all", "1", "0" });
+        addRow(settingsPanel, gbc, row++, "acks:", acksComboBox);
+        lingerMsField = new JTextField(String.valueOf(defaults.getLingerMs()), 10);
+        addRow(settingsPanel, gbc, row++, "linger.ms:", lingerMsField);
+        batchSizeField = new JTextField(String.valueOf(defaults.getBatchSize()), 10);
+        addRow(settingsPanel, gbc, row++, "batch.size:", batchSizeField);
+        compressionComboBox = new JComboBox<>(new String[] { "none", "gzip", "snappy", "lz4", "zstd" });
+        addRow(settingsPanel, gbc, row++, "compression.type:", compressionComboBox);
+        targetRateField = new JTextField("0", 10);
+        targetRateField.setToolTipText("Сообщений в секунду; 0 - без ограничения");
+        addRow(settingsPanel, gbc, row++, "Target rate (rec/s):", targetRateField);
+        gbc.gridx = 0;
+        gbc.gridy = row;
+        gbc.weighty = 1.0;
+        settingsPanel.add(Box.createVerticalGlue(), gbc);
+        add(settingsPanel, BorderLayout.WEST);
+
+        // --- Результаты ---
+        JPanel statsPanel = new JPanel(new GridBagLayout());
+        statsPanel.setBorder(BorderFactory.createTitledBorder("Throughput"));
+        GridBagConstraints statsGbc = new GridBagConstraints();
+        statsGbc.insets = new Insets(3, 5, 3, 5);
+        statsGbc.fill = GridBagConstraints.HORIZONTAL;
+        row = 0;
+        addRow(statsPanel, statsGbc, row++, "Elapsed:", elapsedLabel);
+        addRow(statsPanel, statsGbc, row++, "Sent / acked:", sentLabel);
+        addRow(statsPanel, statsGbc, row++, "Failed:", failedLabel);
+        addRow(statsPanel, statsGbc, row++, "Current rate:", currentRateLabel);
+        addRow(statsPanel, statsGbc, row++, "Average rate:", averageRateLabel);
+        addRow(statsPanel, statsGbc, row++, "Average throughput:", throughputLabel);
+
+        latencyTableModel = new DefaultTableModel(new String[] { "Latency", "ms" }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        latencyTableModel.addRow(new Object[] { "min", "" });
+        latencyTableModel.addRow(new Object[] { "mean", "" });
+        for (double percentile : BenchmarkReport.PERCENTILES) {
+            latencyTableModel.addRow(new Object[] { BenchmarkReport.percentileLabel(percentile), "" });
+        }
+        latencyTableModel.addRow(new Object[] { "max", "" });
+        JTable latencyTable = new JTable(latencyTableModel);
+        JPanel latencyPanel = new JPanel(new BorderLayout());
+        latencyPanel.setBorder(BorderFactory.createTitledBorder("Ack latency"));
+        latencyPanel.add(new JScrollPane(latencyTable), BorderLayout.CENTER);
+
+        JPanel resultsPanel = new JPanel(new BorderLayout(5, 5));
+        resultsPanel.add(statsPanel, BorderLayout.NORTH);
+        resultsPanel.add(latencyPanel, BorderLayout.CENTER);
+        resultsPanel.setPreferredSize(new Dimension(420, 440));
+        add(resultsPanel, BorderLayout.CENTER);
+
+        // --- Прогресс и кнопки ---
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        progressBar = new JProgressBar(0, 1000);
+        progressBar.setStringPainted(true);
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.GRAY);
+        bottomPanel.add(progressBar, BorderLayout.NORTH);
+        bottomPanel.add(statusLabel, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        startButton = new JButton("Start");
+        stopButton = new JButton("Stop");
+        stopButton.setEnabled(false);
+        exportButton = new JButton("Export...");
+        exportButton.setToolTipText("Сохранить параметры и результаты в JSON для сравнения запусков");
+        exportButton.setEnabled(false);
+        JButton closeButton = new JButton("Close");
+        buttonPanel.add(startButton);
+        buttonPanel.add(stopButton);
+        buttonPanel.add(exportButton);
+        buttonPanel.add(closeButton);
+        bottomPanel.add(buttonPanel, BorderLayout.SOUTH);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        refreshTimer = new javax.swing.Timer(REFRESH_INTERVAL_MS, e -> refreshView());
+        startButton.addActionListener(e -> startBenchmark());
+        stopButton.addActionListener(e -> stopRequested.set(true));
+        exportButton.addActionListener(e -> exportResult());
+        closeButton.addActionListener(e -> close());
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                close();
+            }
+        });
+
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    private static void addRow(JPanel panel, GridBagConstraints gbc, int row, String label, JComponent component) {
+        gbc.gridx = 0;
+        gbc.gridy = row;
+        gbc.weightx = 0;
+        gbc.anchor = GridBagConstraints.WEST;
+        panel.add(new JLabel(label), gbc);
+        gbc.gridx = 1;
+        gbc.weightx = 1.0;
+        panel.add(component, gbc);
+    }
+
+    private void startBenchmark() {
+        ProducerBenchmark.Settings settings = new ProducerBenchmark.Settings();
+        try {
+            settings.setTopic(topic);
+            settings.setRecordCount(Long.parseLong(recordCountField.getText().trim()));
+            settings.setRecordSize(Integer.parseInt(recordSizeField.getText().trim()));
+            settings.setKeyDistribution((ProducerBenchmark.KeyDistribution) keyDistributionComboBox.getSelectedItem());
+            settings.setKeyCount(Integer.parseInt(keyCountField.getText().trim()));
+            settings.setAcks((String) acksComboBox.getSelectedItem());
+            settings.setLingerMs(Integer.parseInt(lingerMsField.getText().trim()));
+            settings.setBatchSize(Integer.parseInt(batchSizeField.getText().trim()));
+            settings.setCompressionType((String) compressionComboBox.getSelectedItem());
+            settings.setTargetRate(Long.parseLong(targetRateField.getText().trim()));
+            benchmark = new ProducerBenchmark(clusterConfig.getConnectionProperties(), settings);
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid number: " + ex.getMessage(), "Invalid Settings",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Invalid Settings", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        ProducerBenchmark running = benchmark;
+        AtomicBoolean stop = new AtomicBoolean();
+        stopRequested = stop;
+        lastSnapshot = null;
+        result = null;
+        setRunning(true);
+        statusLabel.setText("Running...");
+
+        new SwingWorker<ProducerBenchmark.Snapshot, Void>() {
+            @Override
+            protected ProducerBenchmark.Snapshot doInBackground() {
+                return running.run(stop::get);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    result = get();
+                    setRunning(false);
+                    refreshView();
+                    statusLabel.setText((stop.get() ? "Stopped" : "Completed")
+                            + (result.getFailed() > 0 ? " with " + result.getFailed() + " failed record(s): "
+                                    + result.getLastError() : ""));
+                } catch (InterruptedException | ExecutionException ex) {
+                    setRunning(false);
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Producer benchmark on topic '{}' failed: {}", topic, cause.getMessage(), cause);
+                    statusLabel.setText("Failed: " + cause.getMessage());
+                    JOptionPane.showMessageDialog(ProducerBenchmarkDialog.this,
+                            "Producer benchmark failed: " + cause.getMessage(),
+                            "Benchmark Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private void setRunning(boolean running) {
+        startButton.setEnabled(!running);
+        stopButton.setEnabled(running);
+        exportButton.setEnabled(!running && result != null);
+        if (running) {
+            refreshTimer.start();
+        } else {
+            refreshTimer.stop();
+        }
+    }
+
+    private void refreshView() {
+        if (benchmark == null) {
+            return;
+        }
+        ProducerBenchmark.Snapshot snapshot = result != null ? result : benchmark.snapshot();
+        // Текущая скорость - по приросту с прошлого обновления
+        if (lastSnapshot != null && snapshot.getElapsedNanos() > lastSnapshot.getElapsedNanos()) {
+            double rate = (snapshot.getAcked() - lastSnapshot.getAcked()) * 1e9
+                    / (snapshot.getElapsedNanos() - lastSnapshot.getElapsedNanos());
+            currentRateLabel.setText(String.format("%,.0f rec/s", rate));
+        }
+        lastSnapshot = snapshot;
+
+        long total = benchmark.getSettings().getRecordCount();
+        elapsedLabel.setText(String.format("%.1f s", snapshot.getElapsedNanos() / 1e9));
+        sentLabel.setText(String.format("%,d / %,d", snapshot.getSent(), snapshot.getAcked()));
+        failedLabel.setText(String.format("%,d", snapshot.getFailed()));
+        averageRateLabel.setText(String.format("%,.0f rec/s", snapshot.getRecordsPerSecond()));
+        throughputLabel.setText(String.format("%.2f MB/s", snapshot.getMegabytesPerSecond()));
+        long done = snapshot.getAcked() + snapshot.getFailed();
+        progressBar.setValue((int) (done * 1000 / total));
+        progressBar.setString(String.format("%,d / %,d", done, total));
+
+        LatencyHistogram latency = snapshot.getLatency();
+        int row = 0;
+        latencyTableModel.setValueAt(millis(latency.getMin()), row++, 1);
+        latencyTableModel.setValueAt(String.format("%.3f", latency.getMean() / 1000), row++, 1);
+        for (double percentile : BenchmarkReport.PERCENTILES) {
+            latencyTableModel.setValueAt(millis(latency.valueAtPercentile(percentile)), row++, 1);
+        }
+        latencyTableModel.setValueAt(millis(latency.getMax()), row, 1);
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.3f", micros / 1000.0);
+    }
+
+    private void exportResult() {
+        if (result == null) {
+            return;
+        }
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Export Benchmark Results");
+        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("JSON Files", "json"));
+        fileChooser.setSelectedFile(new File("producer_benchmark_" + topic + ".json"));
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = fileChooser.getSelectedFile();
+        if (!file.getName().toLowerCase().endsWith(".json")) {
+            file = new File(file.getAbsolutePath() + ".json");
+        }
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("elapsedMs", result.getElapsedNanos() / 1_000_000);
+        results.put("sent", result.getSent());
+        results.put("acked", result.getAcked());
+        results.put("failed", result.getFailed());
+        results.put("recordsPerSecond", Math.round(result.getRecordsPerSecond()));
+        results.put("megabytesPerSecond", Math.round(result.getMegabytesPerSecond() * 100) / 100.0);
+        try {
+            BenchmarkReport.write(file, "producer", clusterConfig.getName(), benchmark.getSettings().toMap(), results,
+                    result.getLatency());
+            statusLabel.setText("Exported results to " + file.getName());
+        } catch (Exception ex) {
+            log.error("Error exporting benchmark results: {}", ex.getMessage(), ex);
+            JOptionPane.showMessageDialog(this, "Error exporting results: " + ex.getMessage(), "Export Error",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void close() {
+        stopRequested.set(true);
+        refreshTimer.stop();
+        setVisible(false);
+        dispose();
+    }
+}
@@ -0,0 +1,412 @@
+package com.mycompany.kafkaadmin.dialog;
+
+import com.mycompany.kafkaadmin.partition.ReassignmentExecutor;
+import com.mycompany.kafkaadmin.partition.ReassignmentMoveTableModel;
+import com.mycompany.kafkaadmin.partition.ReassignmentPlan;
+import com.mycompany.kafkaadmin.partition.ReassignmentPlanner;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Строит план переназначения реплик на выбранные брокеры, отправляет его и показывает ход
+ * копирования данных.
+ */
+public class ReassignmentPlannerDialog extends JDialog {
+
+    private static final Logger log = LoggerFactory.getLogger(ReassignmentPlannerDialog.class);
+
+    private static final int POLL_INTERVAL_MS = Integer.getInteger("kafkaadmin.reassignment.pollIntervalMs", 2_000);
+
+    private final AdminClient adminClient;
+    private final Collection<TopicDescription> topics;
+    private final ReassignmentPlanner planner;
+    private final Map<Integer, JCheckBox> brokerCheckBoxes = new LinkedHashMap<>();
+    private final JCheckBox balanceLeadersCheckBox;
+    private final JButton computeButton;
+    private final JButton executeButton;
+    private final JButton cancelReassignmentsButton;
+    private final JLabel summaryLabel;
+    private final JProgressBar progressBar;
+    private final DefaultTableModel brokersTableModel;
+    private final ReassignmentMoveTableModel movesTableModel;
+    private final javax.swing.Timer pollTimer;
+
+    private ReassignmentPlan plan;
+    private Set<TopicPartition> plannedPartitions = new HashSet<>();
+    private Set<TopicPartition> ongoing = new HashSet<>();
+    private SwingWorker<Set<TopicPartition>, Void> pollWorker;
+    private boolean executed = false;
+
+    public ReassignmentPlannerDialog(Frame owner, AdminClient adminClient, Collection<TopicDescription> topics,
+            Collection<Node> brokers) {
+        super(owner, "Partition Reassignment Planner", true);
+        this.adminClient = adminClient;
+        this.topics = topics;
+        this.planner = new ReassignmentPlanner(brokers);
+        setLayout(new BorderLayout(10, 10));
+
+        // --- Выбор целевых брокеров ---
+        JPanel topPanel = new JPanel(new BorderLayout(5, 5));
+        JPanel brokersSelectionPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        brokersSelectionPanel.setBorder(BorderFactory.createTitledBorder(
+                "Target brokers (реплики со снятых брокеров будут перенесены)"));
+        List<Node> sortedBrokers = new ArrayList<>(brokers);
+        sortedBrokers.sort(Comparator.comparingInt(Node::id));
+        for (Node node : sortedBrokers) {
+            JCheckBox checkBox = new JCheckBox(node.id() + (node.hasRack() ? " (" + node.rack() + ")" : ""), true);
+            brokerCheckBoxes.put(node.id(), checkBox);
+            brokersSelectionPanel.add(checkBox);
+        }
+        topPanel.add(brokersSelectionPanel, BorderLayout.CENTER);
+
+        JPanel optionsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        balanceLeadersCheckBox = new JCheckBox("Balance leaders", true);
+        balanceLeadersCheckBox.setToolTipText("Выравнивать число предпочтительных лидеров перестановкой реплик");
+        computeButton = new JButton("Compute Plan");
+        computeButton.addActionListener(e -> computePlan());
+        summaryLabel = new JLabel(topics.size() + " topic(s) from metadata cache");
+        optionsPanel.add(balanceLeadersCheckBox);
+        optionsPanel.add(computeButton);
+        optionsPanel.add(summaryLabel);
+        topPanel.add(optionsPanel, BorderLayout.SOUTH);
+        add(topPanel, BorderLayout.NORTH);
+
+        // --- Нагрузка брокеров и переназначения ---
+        brokersTableModel = new DefaultTableModel(new String[] { "Broker", "Rack", "Target", "Replicas Before",
+                "Replicas After", "Leaders Before", "Leaders After" }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return column == 1 ? String.class : column == 2 ? Boolean.class : Integer.class;
+            }
+        };
+        JTable brokersTable = new JTable(brokersTableModel);
+        brokersTable.setAutoCreateRowSorter(true);
+        JPanel brokersPanel = new JPanel(new BorderLayout());
+        brokersPanel.setBorder(BorderFactory.createTitledBorder("Broker Load"));
+        brokersPanel.add(new JScrollPane(brokersTable), BorderLayout.CENTER);
+
+        movesTableModel = new ReassignmentMoveTableModel();
+        JTable movesTable = new JTable(movesTableModel);
+        movesTable.setAutoCreateRowSorter(true);
+        JPanel movesPanel = new JPanel(new BorderLayout());
+        movesPanel.setBorder(BorderFactory.createTitledBorder("Moves"));
+        movesPanel.add(new JScrollPane(movesTable), BorderLayout.CENTER);
+
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT, brokersPanel, movesPanel);
+        split.setResizeWeight(0.35);
+        split.setPreferredSize(new Dimension(900, 550));
+        add(split, BorderLayout.CENTER);
+
+        // --- Выполнение ---
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        progressBar = new JProgressBar(0, 1);
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+        bottomPanel.add(progressBar, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        executeButton = new JButton("Execute");
+        executeButton.setEnabled(false);
+        executeButton.addActionListener(e -> executePlan());
+        cancelReassignmentsButton = new JButton("Cancel Reassignments");
+        cancelReassignmentsButton.setEnabled(false);
+        cancelReassignmentsButton.setToolTipText("Отменить выполняющиеся переназначения партиций этого плана");
+        cancelReassignmentsButton.addActionListener(e -> cancelReassignments());
+        JButton closeButton = new JButton("Close");
+        closeButton.addActionListener(e -> close());
+        buttonPanel.add(executeButton);
+        buttonPanel.add(cancelReassignmentsButton);
+        buttonPanel.add(closeButton);
+        bottomPanel.add(buttonPanel, BorderLayout.EAST);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        pollTimer = new javax.swing.Timer(POLL_INTERVAL_MS, e -> pollProgress());
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                close();
+            }
+        });
+
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    /**
+     * Был ли план отправлен (хотя бы частично) - метаданные топиков устарели.
+     */
+    public boolean isExecuted() {
+        return executed;
+    }
+
+    private void close() {
+        pollTimer.stop();
+        setVisible(false);
+        dispose();
+    }
+
+    private void computePlan() {
+        List<Integer> targets = new ArrayList<>();
+        brokerCheckBoxes.forEach((id, checkBox) -> {
+            if (checkBox.isSelected()) {
+                targets.add(id);
+            }
+        });
+        if (targets.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Select at least one target broker.", "Reassignment",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        boolean balanceLeaders = balanceLeadersCheckBox.isSelected();
+        computeButton.setEnabled(false);
+        executeButton.setEnabled(false);
+        summaryLabel.setText("Computing plan...");
+
+        new SwingWorker<ReassignmentPlan, Void>() {
+            @Override
+            protected ReassignmentPlan doInBackground() {
+                return planner.plan(topics, targets, balanceLeaders);
+            }
+
+            @Override
+            protected void done() {
+                computeButton.setEnabled(true);
+                try {
+                    showPlan(get());
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error computing reassignment plan: {}", cause.getMessage(), cause);
+                    summaryLabel.setText("Plan failed: " + cause.getMessage());
+                    JOptionPane.showMessageDialog(ReassignmentPlannerDialog.this,
+                            "Error computing plan: " + cause.getMessage(),
+                            "Reassignment Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private void showPlan(ReassignmentPlan newPlan) {
+        plan = newPlan;
+        plannedPartitions = new HashSet<>(newPlan.getMoves().size() * 2);
+        int leaderOnly = 0;
+        for (ReassignmentPlan.Move move : newPlan.getMoves()) {
+            plannedPartitions.add(move.getTopicPartition());
+            if (move.isLeaderOnly()) {
+                leaderOnly++;
+            }
+        }
+
+        brokersTableModel.setRowCount(0);
+        for (ReassignmentPlan.BrokerLoad broker : newPlan.getBrokers()) {
+            brokersTableModel.addRow(new Object[] {
+                    broker.getBrokerId(),
+                    broker.getRack() != null ? broker.getRack() : "",
+                    broker.isTarget(),
+                    broker.getReplicasBefore(),
+                    broker.getReplicasAfter(),
+                    broker.getLeadersBefore(),
+                    broker.getLeadersAfter()
+            });
+        }
+        movesTableModel.setMoves(newPlan.getMoves());
+
+        String summary = String.format("%d partition(s) to reassign, %d replica(s) to copy, %d reorder only",
+                newPlan.getMoves().size(), newPlan.getMovedReplicas(), leaderOnly);
+        if (newPlan.getUnplacedReplicas() > 0) {
+            summary += ", " + newPlan.getUnplacedReplicas() + " replica(s) could not be placed";
+        }
+        int targetsWithoutRack = 0;
+        boolean anyRack = false;
+        for (ReassignmentPlan.BrokerLoad broker : newPlan.getBrokers()) {
+            if (broker.isTarget()) {
+                if (broker.getRack() == null) {
+                    targetsWithoutRack++;
+                } else {
+                    anyRack = true;
+                }
+            }
+        }
+        if (newPlan.isRackAware()) {
+            summary += ", rack-aware";
+        } else if (anyRack && targetsWithoutRack > 0) {
+            summary += ", NOT rack-aware: " + targetsWithoutRack + " target broker(s) have no rack";
+        }
+        summaryLabel.setText(summary + " | planned in " + newPlan.getPlanMillis() + " ms");
+        executeButton.setEnabled(!newPlan.getMoves().isEmpty());
+        progressBar.setVisible(false);
+    }
+
+    private void executePlan() {
+        ReassignmentPlan current = plan;
+        int confirm = JOptionPane.showConfirmDialog(this,
+                "Submit reassignment of " + current.getMoves().size() + " partition(s)?\n"
+                        + "Leadership moves to the new preferred leaders only after a preferred leader election.",
+                "Confirm Reassignment", JOptionPane.YES_NO_OPTION);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+        executed = true;
+        executeButton.setEnabled(false);
+        computeButton.setEnabled(false);
+        progressBar.setMaximum(Math.max(current.getMoves().size(), 1));
+        progressBar.setValue(0);
+        progressBar.setString(null);
+        progressBar.setVisible(true);
+
+        new SwingWorker<Integer, ReassignmentPlan.Move>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                return new ReassignmentExecutor(adminClient).execute(current, this::publish, this::isCancelled);
+            }
+
+            @Override
+            protected void process(List<ReassignmentPlan.Move> chunks) {
+                for (ReassignmentPlan.Move move : chunks) {
+                    movesTableModel.moveUpdated(move);
+                }
+                progressBar.setValue(progressBar.getValue() + chunks.size());
+            }
+
+            @Override
+            protected void done() {
+                computeButton.setEnabled(true);
+                try {
+                    int requests = get();
+                    // Отклоненные переназначения не отслеживаются
+                    Set<TopicPartition> accepted = new HashSet<>(plannedPartitions.size() * 2);
+                    int failed = 0;
+                    for (ReassignmentPlan.Move move : current.getMoves()) {
+                        if (move.isFailed()) {
+                            failed++;
+                        } else if (move.getResult() != null) {
+                            accepted.add(move.getTopicPartition());
+                        }
+                    }
+                    plannedPartitions = accepted;
+                    progressBar.setMaximum(Math.max(accepted.size(), 1));
+                    summaryLabel.setText("Submitted " + current.getMoves().size() + " partition(s) in " + requests
+                            + " request(s), failed: " + failed);
+                    cancelReassignmentsButton.setEnabled(true);
+                    progressBar.setValue(0);
+                    pollTimer.start();
+                    pollProgress();
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error submitting reassignment: {}", cause.getMessage(), cause);
+                    JOptionPane.showMessageDialog(ReassignmentPlannerDialog.this,
+                            "Error submitting reassignment: " + cause.getMessage(),
+                            "Reassignment Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Запрашивает выполняющиеся переназначения и обновляет прогресс.
+     */
+    private void pollProgress() {
+        if (pollWorker != null && !pollWorker.isDone()) {
+            return;
+        }
+        Set<TopicPartition> planned = plannedPartitions;
+        pollWorker = new SwingWorker<Set<TopicPartition>, Void>() {
+            @Override
+            protected Set<TopicPartition> doInBackground() throws Exception {
+                Set<TopicPartition> result = new HashSet<>(new ReassignmentExecutor(adminClient).listOngoing());
+                result.retainAll(planned);
+                return result;
+            }
+
+            @Override
+            protected void done() {
+                if (planned != plannedPartitions) {
+                    return; // План пересчитан, пока шел запрос
+                }
+                try {
+                    ongoing = get();
+                    movesTableModel.setOngoing(ongoing);
+                    int completed = planned.size() - ongoing.size();
+                    progressBar.setValue(completed);
+                    progressBar.setString("Completed " + completed + " of " + planned.size());
+                    if (ongoing.isEmpty()) {
+                        pollTimer.stop();
+                        cancelReassignmentsButton.setEnabled(false);
+                        summaryLabel.setText("Reassignment completed for " + planned.size() + " partition(s)");
+                    }
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.warn("Error listing partition reassignments: {}", cause.getMessage());
+                }
+            }
+        };
+        pollWorker.execute();
+    }
+
+    private void cancelReassignments() {
+        Set<TopicPartition> toCancel = new HashSet<>(ongoing);
+        if (toCancel.isEmpty()) {
+            return;
+        }
+        int confirm = JOptionPane.showConfirmDialog(this,
+                "Cancel " + toCancel.size() + " ongoing reassignment(s)?",
+                "Confirm Cancel", JOptionPane.YES_NO_OPTION);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+        cancelReassignmentsButton.setEnabled(false);
+
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                return new ReassignmentExecutor(adminClient).cancel(toCancel);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    int cancelled = get();
+                    // Отмененные партиции больше не учитываются в прогрессе плана
+                    Set<TopicPartition> remaining = new HashSet<>(plannedPartitions);
+                    remaining.removeAll(toCancel);
+                    plannedPartitions = remaining;
+                    movesTableModel.setCancelled(toCancel);
+                    progressBar.setMaximum(Math.max(remaining.size(), 1));
+                    summaryLabel.setText("Cancelled " + cancelled + " reassignment(s)");
+                    pollProgress();
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error cancelling reassignments: {}", cause.getMessage(), cause);
+                    cancelReassignmentsButton.setEnabled(true);
+                    JOptionPane.showMessageDialog(ReassignmentPlannerDialog.this,
+                            "Error cancelling reassignments: " + cause.getMessage(),
+                            "Reassignment Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+}
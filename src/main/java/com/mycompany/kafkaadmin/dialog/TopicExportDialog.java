@@ -0,0 +1,342 @@
+package com.mycompany.kafkaadmin.dialog;
+
+import com.mycompany.kafkaadmin.archive.ArchiveFormat;
+import com.mycompany.kafkaadmin.archive.TopicExporter;
+import com.mycompany.kafkaadmin.cluster.ClusterConfig;
+import com.mycompany.kafkaadmin.message.TopicMessageReader;
+import com.mycompany.kafkaadmin.topic.ByteSizeFormat;
+import org.apache.kafka.common.record.CompressionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Выгрузка сообщений топика в файлы: выбор партиций, начальной позиции, формата и сжатия,
+ * прогресс по партициям.
+ */
+public class TopicExportDialog extends JDialog {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicExportDialog.class);
+
+    private static final int THREADS = Integer.getInteger("kafkaadmin.export.threads", TopicExporter.DEFAULT_THREADS);
+    private static final int BLOCK_SIZE = Integer.getInteger("kafkaadmin.export.blockBytes",
+            TopicExporter.DEFAULT_BLOCK_SIZE);
+    private static final int REFRESH_INTERVAL_MS = 250;
+
+    private static final String START_BEGINNING = "Beginning";
+    private static final String START_LATEST = "Latest N";
+    private static final String START_TIMESTAMP = "Since Timestamp";
+
+    private final ClusterConfig clusterConfig;
+    private final String topic;
+    private final int partitionCount;
+
+    private final JTextField directoryField;
+    private final JTextField partitionsField;
+    private final JComboBox<String> startComboBox;
+    private final JTextField startValueField;
+    private final JComboBox<ArchiveFormat.Format> formatComboBox;
+    private final JComboBox<CompressionType> compressionComboBox;
+    private final DefaultTableModel progressTableModel;
+    private final JProgressBar progressBar;
+    private final JLabel statusLabel;
+    private final JButton exportButton;
+    private final JButton cancelButton;
+    private final javax.swing.Timer refreshTimer;
+
+    private TopicExporter exporter;
+    private AtomicBoolean cancelRequested = new AtomicBoolean();
+
+    public TopicExportDialog(Frame owner, ClusterConfig clusterConfig, String topic, int partitionCount) {
+        super(owner, "Export Topic: " + topic, false);
+        this.clusterConfig = clusterConfig;
+        this.topic = topic;
+        this.partitionCount = partitionCount;
+        setLayout(new BorderLayout(10, 10));
+
+        // --- Параметры выгрузки ---
+        JPanel settingsPanel = new JPanel(new GridBagLayout());
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(3, 5, 3, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        int row = 0;
+
+        JPanel directoryPanel = new JPanel(new BorderLayout(5, 0));
+        directoryField = new JTextField(new File(System.getProperty("user.home"), topic + "-export").getPath(), 36);
+        JButton browseButton = new JButton("Browse...");
+        browseButton.addActionListener(e -> chooseDirectory());
+        directoryPanel.add(directoryField, BorderLayout.CENTER);
+        directoryPanel.add(browseButton, BorderLayout.EAST);
+        addRow(settingsPanel, gbc, row++, "Directory:", directoryPanel);
+
+        partitionsField = new JTextField("all", 36);
+        partitionsField.setToolTipText("all или список партиций, например: 0,2,5-7 (всего партиций: "
+                + partitionCount + ")");
+        addRow(settingsPanel, gbc, row++, "Partitions:", partitionsField);
+
+        JPanel startPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        startComboBox = new JComboBox<>(new String[] { START_BEGINNING, START_LATEST, START_TIMESTAMP });
+        startValueField = new JTextField(16);
+        startValueField.setEnabled(false);
+        startValueField.setToolTipText("Latest N: число последних сообщений на партицию; "
+                + "Since Timestamp: yyyy-MM-dd HH:mm:ss, ISO-8601 или миллисекунды epoch");
+        startComboBox.addActionListener(e -> startValueField.setEnabled(
+                !START_BEGINNING.equals(startComboBox.getSelectedItem())));
+        startPanel.add(startComboBox);
+        startPanel.add(startValueField);
+        addRow(settingsPanel, gbc, row++, "From:", startPanel);
+
+        JPanel formatPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        formatComboBox = new JComboBox<>(ArchiveFormat.Format.values());
+        formatComboBox.setToolTipText("Binary - компактный формат с префиксом длины; NDJSON - JSON по строке на сообщение");
+        compressionComboBox = new JComboBox<>(
+                new CompressionType[] { CompressionType.ZSTD, CompressionType.GZIP, CompressionType.NONE });
+        compressionComboBox.setToolTipText("Сжатие блоками; файлы NDJSON читаются zcat/zstdcat");
+        formatPanel.add(formatComboBox);
+        formatPanel.add(new JLabel("Compression:"));
+        formatPanel.add(compressionComboBox);
+        formatPanel.add(new JLabel("Threads: " + THREADS));
+        addRow(settingsPanel, gbc, row++, "Format:", formatPanel);
+        add(settingsPanel, BorderLayout.NORTH);
+
+        // --- Прогресс по партициям ---
+        progressTableModel = new DefaultTableModel(
+                new String[] { "Partition", "Start", "End", "Exported", "%", "Records", "File Size" }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return column == 0 || column == 4 ? Integer.class : column == 6 ? String.class : Long.class;
+            }
+        };
+        JScrollPane progressScrollPane = new JScrollPane(new JTable(progressTableModel));
+        progressScrollPane.setPreferredSize(new Dimension(760, 320));
+        add(progressScrollPane, BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        progressBar = new JProgressBar(0, 1000);
+        progressBar.setStringPainted(true);
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.GRAY);
+        bottomPanel.add(progressBar, BorderLayout.NORTH);
+        bottomPanel.add(statusLabel, BorderLayout.CENTER);
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        exportButton = new JButton("Export");
+        cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(false);
+        JButton closeButton = new JButton("Close");
+        buttonPanel.add(exportButton);
+        buttonPanel.add(cancelButton);
+        buttonPanel.add(closeButton);
+        bottomPanel.add(buttonPanel, BorderLayout.SOUTH);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        refreshTimer = new javax.swing.Timer(REFRESH_INTERVAL_MS, e -> refreshProgress());
+        exportButton.addActionListener(e -> startExport());
+        cancelButton.addActionListener(e -> cancelRequested.set(true));
+        closeButton.addActionListener(e -> close());
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                close();
+            }
+        });
+
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    private static void addRow(JPanel panel, GridBagConstraints gbc, int row, String label, JComponent component) {
+        gbc.gridx = 0;
+        gbc.gridy = row;
+        gbc.weightx = 0;
+        gbc.anchor = GridBagConstraints.WEST;
+        panel.add(new JLabel(label), gbc);
+        gbc.gridx = 1;
+        gbc.weightx = 1.0;
+        panel.add(component, gbc);
+    }
+
+    private void chooseDirectory() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Export Directory");
+        fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        fileChooser.setSelectedFile(new File(directoryField.getText().trim()));
+        if (fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
+            directoryField.setText(fileChooser.getSelectedFile().getPath());
+        }
+    }
+
+    private void startExport() {
+        List<Integer> partitions;
+        TopicMessageReader.StartPosition start;
+        Path directory;
+        try {
+            partitions = parsePartitions(partitionsField.getText(), partitionCount);
+            start = parseStartPosition();
+            String directoryText = directoryField.getText().trim();
+            if (directoryText.isEmpty()) {
+                throw new IllegalArgumentException("Export directory is not set");
+            }
+            directory = new File(directoryText).toPath();
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid number: " + ex.getMessage(), "Invalid Export Settings",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Invalid Export Settings",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        File manifest = directory.resolve(ArchiveFormat.MANIFEST_FILE).toFile();
+        if (manifest.exists() && JOptionPane.showConfirmDialog(this,
+                "Directory already contains an export. Overwrite files?", "Confirm Overwrite",
+                JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
+            return;
+        }
+        ArchiveFormat.Format format = (ArchiveFormat.Format) formatComboBox.getSelectedItem();
+        CompressionType compression = (CompressionType) compressionComboBox.getSelectedItem();
+
+        TopicExporter topicExporter = new TopicExporter(clusterConfig.getConnectionProperties(), THREADS, BLOCK_SIZE);
+        exporter = topicExporter;
+        AtomicBoolean cancel = new AtomicBoolean();
+        cancelRequested = cancel;
+        progressTableModel.setRowCount(0);
+        setExporting(true);
+        statusLabel.setText("Exporting...");
+
+        new SwingWorker<TopicExporter.Summary, Void>() {
+            @Override
+            protected TopicExporter.Summary doInBackground() throws Exception {
+                return topicExporter.export(topic, partitions, start, directory, format, compression, cancel::get);
+            }
+
+            @Override
+            protected void done() {
+                setExporting(false);
+                refreshProgress();
+                try {
+                    TopicExporter.Summary summary = get();
+                    statusLabel.setText(String.format("%s: %,d record(s), %s in %.1f s to %s",
+                            summary.isComplete() ? "Completed" : "Cancelled", summary.getRecords(),
+                            ByteSizeFormat.format(summary.getBytesWritten()), summary.getElapsedNanos() / 1e9,
+                            directory));
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error exporting topic '{}': {}", topic, cause.getMessage(), cause);
+                    statusLabel.setText("Export failed: " + cause.getMessage());
+                    JOptionPane.showMessageDialog(TopicExportDialog.this,
+                            "Error exporting topic: " + cause.getMessage(),
+                            "Export Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private void setExporting(boolean exporting) {
+        exportButton.setEnabled(!exporting);
+        cancelButton.setEnabled(exporting);
+        if (exporting) {
+            refreshTimer.start();
+        } else {
+            refreshTimer.stop();
+        }
+    }
+
+    /**
+     * Разбирает список партиций вида {@code 0,2,5-7}; {@code all} или пустая строка - все партиции.
+     */
+    static List<Integer> parsePartitions(String text, int partitionCount) {
+        String spec = text.trim();
+        if (spec.isEmpty() || spec.equalsIgnoreCase("all")) {
+            return new ArrayList<>();
+        }
+        TreeSet<Integer> partitions = new TreeSet<>();
+        for (String part : spec.split(",")) {
+            String item = part.trim();
+            int dash = item.indexOf('-', 1);
+            int from = Integer.parseInt((dash > 0 ? item.substring(0, dash) : item).trim());
+            int to = dash > 0 ? Integer.parseInt(item.substring(dash + 1).trim()) : from;
+            if (from < 0 || to < from || (partitionCount > 0 && to >= partitionCount)) {
+                throw new IllegalArgumentException("Invalid partition range '" + item + "' (topic has "
+                        + partitionCount + " partition(s))");
+            }
+            for (int p = from; p <= to; p++) {
+                partitions.add(p);
+            }
+        }
+        return new ArrayList<>(partitions);
+    }
+
+    private TopicMessageReader.StartPosition parseStartPosition() {
+        String mode = (String) startComboBox.getSelectedItem();
+        String text = startValueField.getText().trim();
+        if (START_TIMESTAMP.equals(mode)) {
+            return TopicMessageReader.StartPosition.timestamp(TopicMessageReader.StartPosition.parseTimestamp(text));
+        }
+        if (START_LATEST.equals(mode)) {
+            long count = Long.parseLong(text);
+            if (count < 0) {
+                throw new IllegalArgumentException("N must not be negative");
+            }
+            return TopicMessageReader.StartPosition.latest(count);
+        }
+        return TopicMessageReader.StartPosition.beginning();
+    }
+
+    private void refreshProgress() {
+        if (exporter == null) {
+            return;
+        }
+        List<TopicExporter.PartitionProgress> partitions = exporter.getProgress();
+        if (progressTableModel.getRowCount() != partitions.size()) {
+            progressTableModel.setRowCount(0);
+            for (TopicExporter.PartitionProgress p : partitions) {
+                progressTableModel.addRow(new Object[] { p.getTopicPartition().partition(), p.getStartOffset(),
+                        p.getEndOffset(), 0L, 0, 0L, "" });
+            }
+        }
+        long total = 0;
+        long scanned = 0;
+        for (int row = 0; row < partitions.size(); row++) {
+            TopicExporter.PartitionProgress p = partitions.get(row);
+            long partitionScanned = p.getScanned();
+            total += p.getTotal();
+            scanned += partitionScanned;
+            if (!Long.valueOf(partitionScanned).equals(progressTableModel.getValueAt(row, 3))) {
+                progressTableModel.setValueAt(partitionScanned, row, 3);
+                progressTableModel.setValueAt(p.getTotal() > 0 ? (int) (partitionScanned * 100 / p.getTotal()) : 100,
+                        row, 4);
+            }
+            if (p.isFinished() && "".equals(progressTableModel.getValueAt(row, 6))) {
+                progressTableModel.setValueAt(p.getRecords(), row, 5);
+                progressTableModel.setValueAt(ByteSizeFormat.format(p.getBytesWritten()), row, 6);
+            }
+        }
+        progressBar.setValue(total > 0 ? (int) (scanned * 1000 / total) : (partitions.isEmpty() ? 0 : 1000));
+        progressBar.setString(String.format("%,d / %,d offsets", scanned, total));
+    }
+
+    private void close() {
+        cancelRequested.set(true);
+        refreshTimer.stop();
+        setVisible(false);
+        dispose();
+    }
+}
@@ -0,0 +1,146 @@
+package com.mycompany.kafkaadmin.dialog;
+
+import com.mycompany.kafkaadmin.topic.TopicPlan;
+import com.mycompany.kafkaadmin.topic.TopicPlanExecutor;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Показывает план приведения топиков к манифесту и применяет его.
+ */
+public class TopicManifestDialog extends JDialog {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicManifestDialog.class);
+
+    private static final int COL_RESULT = 3;
+
+    private final AdminClient adminClient;
+    private final TopicPlan plan;
+    private final DefaultTableModel planTableModel;
+    private final Map<TopicPlan.Item, Integer> rowByItem = new HashMap<>();
+    private final JButton applyButton;
+    private final JProgressBar progressBar;
+    private final JLabel summaryLabel;
+
+    private boolean applied = false;
+
+    public TopicManifestDialog(Frame owner, AdminClient adminClient, TopicPlan plan) {
+        super(owner, "Topic Manifest Plan", true);
+        this.adminClient = adminClient;
+        this.plan = plan;
+        setLayout(new BorderLayout(10, 10));
+
+        planTableModel = new DefaultTableModel(new String[] { "Action", "Topic", "Details", "Result" }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        for (TopicPlan.Item item : plan.getItems()) {
+            rowByItem.put(item, planTableModel.getRowCount());
+            planTableModel.addRow(new Object[] { item.getAction(), item.getTopic(), item.getDetails(),
+                    item.isExecutable() ? "" : "Skipped" });
+        }
+        JTable planTable = new JTable(planTableModel);
+        planTable.setAutoCreateRowSorter(true);
+        planTable.getColumnModel().getColumn(2).setPreferredWidth(400);
+        JScrollPane scrollPane = new JScrollPane(planTable);
+        scrollPane.setPreferredSize(new Dimension(800, 400));
+        add(scrollPane, BorderLayout.CENTER);
+
+        summaryLabel = new JLabel(plan.getExecutableCount() + " action(s) to apply, "
+                + plan.getUnchangedTopics() + " topic(s) already up to date");
+        add(summaryLabel, BorderLayout.NORTH);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        progressBar = new JProgressBar(0, Math.max(plan.getExecutableCount(), 1));
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+        bottomPanel.add(progressBar, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        applyButton = new JButton("Apply");
+        applyButton.setEnabled(plan.getExecutableCount() > 0);
+        applyButton.addActionListener(e -> applyPlan());
+        JButton closeButton = new JButton("Close");
+        closeButton.addActionListener(e -> {
+            setVisible(false);
+            dispose();
+        });
+        buttonPanel.add(applyButton);
+        buttonPanel.add(closeButton);
+        bottomPanel.add(buttonPanel, BorderLayout.EAST);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    /**
+     * Был ли план применен (хотя бы частично) - нужно обновить список топиков.
+     */
+    public boolean isApplied() {
+        return applied;
+    }
+
+    private void applyPlan() {
+        int confirm = JOptionPane.showConfirmDialog(this,
+                "Apply " + plan.getExecutableCount() + " action(s) to the cluster?",
+                "Confirm Apply", JOptionPane.YES_NO_OPTION);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+        applyButton.setEnabled(false);
+        applied = true;
+        progressBar.setValue(0);
+        progressBar.setVisible(true);
+
+        new SwingWorker<Integer, TopicPlan.Item>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                return new TopicPlanExecutor(adminClient).execute(plan, this::publish, this::isCancelled);
+            }
+
+            @Override
+            protected void process(List<TopicPlan.Item> chunks) {
+                for (TopicPlan.Item item : chunks) {
+                    Integer row = rowByItem.get(item);
+                    if (row != null) {
+                        planTableModel.setValueAt(item.getResult(), row, COL_RESULT);
+                    }
+                }
+                progressBar.setValue(progressBar.getValue() + chunks.size());
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    int requests = get();
+                    int failed = 0;
+                    for (TopicPlan.Item item : plan.getItems()) {
+                        if (item.isFailed()) {
+                            failed++;
+                        }
+                    }
+                    summaryLabel.setText("Applied " + plan.getExecutableCount() + " action(s) in " + requests
+                            + " request(s), failed: " + failed);
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Error applying topic manifest: {}", cause.getMessage(), cause);
+                    JOptionPane.showMessageDialog(TopicManifestDialog.this,
+                            "Error applying manifest: " + cause.getMessage(),
+                            "Manifest Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+}
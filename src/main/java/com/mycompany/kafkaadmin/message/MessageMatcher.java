@@ -0,0 +1,250 @@
+package com.mycompany.kafkaadmin.message;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Условие поиска сообщений по ключу, значению и заголовкам.
+ * <p>
+ * Подстрока ищется прямо в байтах (UTF-8 представление искомой строки) без декодирования
+ * сообщения. Регулярное выражение применяется к значению, декодированному как UTF-8.
+ * JSON-путь ({@code $.order.id} или {@code $.order.id=42}) разбирает значение как JSON; если
+ * задано искомое значение, сообщения без него в байтах отбрасываются до разбора.
+ * Экземпляр неизменяем и используется из нескольких потоков.
+ */
+public final class MessageMatcher {
+
+    public enum Mode {
+        LITERAL("Literal"), REGEX("Regex"), JSON_PATH("JSON path");
+
+        private final String label;
+
+        Mode(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final BytePredicate predicate;
+    private final boolean matchKey;
+    private final boolean matchValue;
+    private final boolean matchHeaders;
+
+    private MessageMatcher(BytePredicate predicate, boolean matchKey, boolean matchValue, boolean matchHeaders) {
+        this.predicate = predicate;
+        this.matchKey = matchKey;
+        this.matchValue = matchValue;
+        this.matchHeaders = matchHeaders;
+    }
+
+    /**
+     * Компилирует условие.
+     *
+     * @throws IllegalArgumentException если выражение пустое или некорректное
+     */
+    public static MessageMatcher compile(Mode mode, String expression, boolean matchKey, boolean matchValue,
+            boolean matchHeaders) {
+        if (expression == null || expression.isEmpty()) {
+            throw new IllegalArgumentException("Search expression is empty");
+        }
+        if (!matchKey && !matchValue && !matchHeaders) {
+            throw new IllegalArgumentException("Select at least one of key, value or headers");
+        }
+        BytePredicate predicate;
+        switch (mode) {
+            case LITERAL:
+                predicate = new BytePattern(expression.getBytes(StandardCharsets.UTF_8))::occursIn;
+                break;
+            case REGEX:
+                predicate = regex(expression);
+                break;
+            default:
+                predicate = jsonPath(expression);
+                break;
+        }
+        return new MessageMatcher(predicate, matchKey, matchValue, matchHeaders);
+    }
+
+    public boolean matches(ConsumerRecord<byte[], byte[]> record) {
+        if (matchValue && record.value() != null && predicate.test(record.value())) {
+            return true;
+        }
+        if (matchKey && record.key() != null && predicate.test(record.key())) {
+            return true;
+        }
+        if (matchHeaders) {
+            for (Header header : record.headers()) {
+                if (header.value() != null && predicate.test(header.value())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static BytePredicate regex(String expression) {
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(expression);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid regex: " + e.getDescription());
+        }
+        return bytes -> pattern.matcher(new String(bytes, StandardCharsets.UTF_8)).find();
+    }
+
+    /**
+     * JSON-путь вида {@code $.a.b[0].c} с необязательным {@code =значение}.
+     */
+    private static BytePredicate jsonPath(String expression) {
+        int eq = expression.indexOf('=');
+        String path = (eq >= 0 ? expression.substring(0, eq) : expression).trim();
+        String expected = eq >= 0 ? expression.substring(eq + 1).trim() : null;
+        if (expected != null && expected.startsWith("=")) {
+            expected = expected.substring(1).trim(); // Допускается и "=="
+        }
+        if (expected != null && expected.length() >= 2 && expected.startsWith("\"") && expected.endsWith("\"")) {
+            expected = expected.substring(1, expected.length() - 1);
+        }
+        JsonPointer pointer = toPointer(path);
+
+        // Значение без символов, которые JSON обязан экранировать, встречается в байтах как есть,
+        // если в документе нет экранирования (любой символ можно записать через обратную косую).
+        // Числа Jackson приводит к каноническому виду (1e2 - "100.0"), их по байтам не проверяем
+        BytePattern prefilter = expected != null && isPlainAscii(expected) && !looksNumeric(expected)
+                ? new BytePattern(expected.getBytes(StandardCharsets.UTF_8)) : null;
+        String expectedValue = expected;
+        return bytes -> {
+            if (prefilter != null && !prefilter.occursIn(bytes) && !containsBackslash(bytes)) {
+                return false;
+            }
+            JsonNode node;
+            try {
+                node = JSON.readTree(bytes).at(pointer);
+            } catch (IOException e) {
+                return false; // Не JSON
+            }
+            if (node.isMissingNode()) {
+                return false;
+            }
+            return expectedValue == null || (node.isValueNode() && node.asText().equals(expectedValue));
+        };
+    }
+
+    static JsonPointer toPointer(String path) {
+        String p = path.startsWith("$") ? path.substring(1) : path;
+        StringBuilder pointer = new StringBuilder();
+        int i = 0;
+        while (i < p.length()) {
+            char c = p.charAt(i);
+            if (c == '.') {
+                int end = i + 1;
+                while (end < p.length() && p.charAt(end) != '.' && p.charAt(end) != '[') {
+                    end++;
+                }
+                if (end == i + 1) {
+                    throw new IllegalArgumentException("Empty field name in JSON path: " + path);
+                }
+                appendSegment(pointer, p.substring(i + 1, end));
+                i = end;
+            } else if (c == '[') {
+                int end = p.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed '[' in JSON path: " + path);
+                }
+                String index = p.substring(i + 1, end).trim();
+                if (index.length() >= 2 && (index.startsWith("'") || index.startsWith("\""))) {
+                    index = index.substring(1, index.length() - 1);
+                }
+                appendSegment(pointer, index);
+                i = end + 1;
+            } else {
+                throw new IllegalArgumentException("Invalid JSON path (expected $.field or $[index]): " + path);
+            }
+        }
+        return JsonPointer.compile(pointer.toString());
+    }
+
+    private static void appendSegment(StringBuilder pointer, String segment) {
+        pointer.append('/').append(segment.replace("~", "~0").replace("/", "~1"));
+    }
+
+    private static boolean isPlainAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c >= 0x7f || c == '"' || c == '\\' || c == '/') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean looksNumeric(String value) {
+        char first = value.isEmpty() ? 0 : value.charAt(0);
+        return (first >= '0' && first <= '9') || first == '-' || first == '+' || first == '.';
+    }
+
+    private static boolean containsBackslash(byte[] bytes) {
+        for (byte b : bytes) {
+            if (b == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface BytePredicate {
+        boolean test(byte[] bytes);
+    }
+
+    /**
+     * Поиск подстроки в байтах алгоритмом Бойера-Мура-Хорспула.
+     */
+    static final class BytePattern {
+        private final byte[] needle;
+        private final int[] shift = new int[256];
+
+        BytePattern(byte[] needle) {
+            this.needle = needle;
+            Arrays.fill(shift, needle.length);
+            for (int i = 0; i < needle.length - 1; i++) {
+                shift[needle[i] & 0xff] = needle.length - 1 - i;
+            }
+        }
+
+        boolean occursIn(byte[] haystack) {
+            int n = needle.length;
+            int last = n - 1;
+            int i = 0;
+            while (i + n <= haystack.length) {
+                byte b = haystack[i + last];
+                if (b == needle[last]) {
+                    int j = last - 1;
+                    while (j >= 0 && haystack[i + j] == needle[j]) {
+                        j--;
+                    }
+                    if (j < 0) {
+                        return true;
+                    }
+                }
+                i += shift[b & 0xff];
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.mycompany.kafkaadmin.message;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Декодирование ключей и значений сообщений для отображения.
+ * <p>
+ * Байты показываются как текст UTF-8, если они корректно декодируются и не содержат
+ * управляющих символов, иначе - в шестнадцатеричном виде. Для превью декодируется только
+ * начало массива.
+ */
+public final class MessagePreview {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private MessagePreview() {
+    }
+
+    /**
+     * Короткое однострочное представление: не больше {@code maxChars} символов.
+     */
+    public static String preview(byte[] bytes, int maxChars) {
+        if (bytes == null) {
+            return "null";
+        }
+        int length = Math.min(bytes.length, maxChars * 4); // UTF-8 - не больше 4 байт на символ
+        ByteBuffer in = ByteBuffer.wrap(bytes, 0, length);
+        String text = decodeText(in, length == bytes.length, maxChars);
+        if (text == null) {
+            return hex(bytes, Math.min(bytes.length, maxChars / 2));
+        }
+        text = text.replace('\n', ' ').replace('\r', ' ').replace('\t', ' ');
+        return in.hasRemaining() || length < bytes.length ? text + "..." : text;
+    }
+
+    /**
+     * Полное представление для просмотра одного сообщения.
+     *
+     * @param originalSize исходный размер; если он больше длины массива, байты усечены
+     */
+    public static String full(byte[] bytes, int originalSize) {
+        if (bytes == null) {
+            return "null";
+        }
+        boolean truncated = originalSize > bytes.length;
+        String text = decodeText(ByteBuffer.wrap(bytes), !truncated, bytes.length);
+        String result = text != null ? text : hex(bytes, bytes.length);
+        return truncated ? result + "\n... (" + (originalSize - bytes.length) + " more bytes not loaded)" : result;
+    }
+
+    /**
+     * Декодирует до {@code maxChars} символов или возвращает null, если данные не похожи
+     * на текст. Если ввод не последний, обрезанный в конце многобайтный символ не считается
+     * ошибкой.
+     */
+    private static String decodeText(ByteBuffer in, boolean endOfInput, int maxChars) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        CharBuffer out = CharBuffer.allocate(Math.max(Math.min(in.remaining(), maxChars), 1));
+        CoderResult result = decoder.decode(in, out, endOfInput);
+        if (result.isError()) {
+            return null;
+        }
+        out.flip();
+        for (int i = 0; i < out.length(); i++) {
+            char c = out.charAt(i);
+            if (c < 0x20 && c != '\n' && c != '\r' && c != '\t') {
+                return null;
+            }
+        }
+        return out.toString();
+    }
+
+    private static String hex(byte[] bytes, int length) {
+        StringBuilder sb = new StringBuilder(length * 3 + 8);
+        sb.append("0x");
+        for (int i = 0; i < length; i++) {
+            sb.append(HEX[(bytes[i] >> 4) & 0x0f]).append(HEX[bytes[i] & 0x0f]);
+        }
+        if (length < bytes.length) {
+            sb.append("...");
+        }
+        return sb.toString();
+    }
+}
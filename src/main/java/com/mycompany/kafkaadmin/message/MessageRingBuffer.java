@@ -0,0 +1,150 @@
+package com.mycompany.kafkaadmin.message;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+
+import java.util.Arrays;
+
+/**
+ * Кольцевой буфер прочитанных сообщений фиксированной емкости.
+ * <p>
+ * Поля сообщений хранятся в параллельных массивах; при заполнении новое сообщение
+ * вытесняет самое старое, поэтому в памяти никогда не больше {@code capacity} сообщений.
+ * Ключ и значение хранятся в исходном виде (не длиннее {@code maxStoredBytes}) и
+ * декодируются только при отображении. Буфер заполняется потоком чтения и читается из EDT,
+ * поэтому все методы синхронизированы.
+ */
+public class MessageRingBuffer {
+
+    private final int capacity;
+    private final int maxStoredBytes;
+
+    private final int[] partitions;
+    private final long[] offsets;
+    private final long[] timestamps;
+    private final byte[][] keys;
+    private final byte[][] values;
+    private final int[] keySizes;   // Исходный размер; -1 - null
+    private final int[] valueSizes;
+    private final Header[][] headers;
+
+    private int head; // Индекс самого старого сообщения
+    private int size;
+    private long added;
+    private long version; // Меняется при каждом изменении содержимого
+
+    public MessageRingBuffer(int capacity, int maxStoredBytes) {
+        if (capacity <= 0 || maxStoredBytes <= 0) {
+            throw new IllegalArgumentException("capacity and maxStoredBytes must be positive");
+        }
+        this.capacity = capacity;
+        this.maxStoredBytes = maxStoredBytes;
+        partitions = new int[capacity];
+        offsets = new long[capacity];
+        timestamps = new long[capacity];
+        keys = new byte[capacity][];
+        values = new byte[capacity][];
+        keySizes = new int[capacity];
+        valueSizes = new int[capacity];
+        headers = new Header[capacity][];
+    }
+
+    public synchronized void add(ConsumerRecord<byte[], byte[]> record) {
+        int slot;
+        if (size < capacity) {
+            slot = (head + size) % capacity;
+            size++;
+        } else {
+            slot = head;
+            head = (head + 1) % capacity;
+        }
+        partitions[slot] = record.partition();
+        offsets[slot] = record.offset();
+        timestamps[slot] = record.timestamp();
+        keySizes[slot] = record.key() != null ? record.key().length : -1;
+        valueSizes[slot] = record.value() != null ? record.value().length : -1;
+        keys[slot] = truncate(record.key());
+        values[slot] = truncate(record.value());
+        Header[] recordHeaders = record.headers().toArray();
+        headers[slot] = recordHeaders.length > 0 ? recordHeaders : null;
+        added++;
+        version++;
+    }
+
+    private byte[] truncate(byte[] bytes) {
+        return bytes != null && bytes.length > maxStoredBytes ? Arrays.copyOf(bytes, maxStoredBytes) : bytes;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        Arrays.fill(headers, null);
+        head = 0;
+        size = 0;
+        added = 0;
+        version++;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /** Всего добавлено сообщений с последней очистки (включая вытесненные). */
+    public synchronized long getAdded() {
+        return added;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+        return (head + index) % capacity;
+    }
+
+    // Индекс 0 - самое старое сообщение в буфере
+
+    public synchronized int getPartition(int index) {
+        return partitions[slot(index)];
+    }
+
+    public synchronized long getOffset(int index) {
+        return offsets[slot(index)];
+    }
+
+    public synchronized long getTimestamp(int index) {
+        return timestamps[slot(index)];
+    }
+
+    /** Ключ (возможно, усеченный до {@code maxStoredBytes}) или null. */
+    public synchronized byte[] getKey(int index) {
+        return keys[slot(index)];
+    }
+
+    /** Значение (возможно, усеченное до {@code maxStoredBytes}) или null. */
+    public synchronized byte[] getValue(int index) {
+        return values[slot(index)];
+    }
+
+    /** Исходный размер ключа в байтах или -1 для null. */
+    public synchronized int getKeySize(int index) {
+        return keySizes[slot(index)];
+    }
+
+    /** Исходный размер значения в байтах или -1 для null. */
+    public synchronized int getValueSize(int index) {
+        return valueSizes[slot(index)];
+    }
+
+    /** Заголовки сообщения или null, если их нет. */
+    public synchronized Header[] getHeaders(int index) {
+        return headers[slot(index)];
+    }
+}
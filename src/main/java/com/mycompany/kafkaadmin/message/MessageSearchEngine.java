@@ -0,0 +1,268 @@
+package com.mycompany.kafkaadmin.message;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Параллельный поиск сообщений топика.
+ * <p>
+ * Диапазон смещений каждой партиции (от начальной позиции до конечного смещения на момент
+ * запуска) делится на отрезки, которые разбирают рабочие потоки из общей очереди. У каждого
+ * потока свой {@link KafkaConsumer}: отрезок читается через {@code assign}/{@code seek}, так
+ * что скорость растет с числом ядер и партиций. Найденные сообщения сразу передаются
+ * обработчику; прогресс ведется по каждой партиции.
+ * <p>
+ * Экземпляр рассчитан на один поиск.
+ */
+public class MessageSearchEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageSearchEngine.class);
+
+    public static final int DEFAULT_THREADS = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+    // Отрезок не меньше этого числа смещений, чтобы не тратить время на частые seek
+    private static final long MIN_RANGE = 20_000;
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final Properties consumerProperties;
+    private final int threads;
+    private volatile List<PartitionProgress> progress = Collections.emptyList();
+
+    public MessageSearchEngine(Properties connectionProperties) {
+        this(connectionProperties, DEFAULT_THREADS);
+    }
+
+    public MessageSearchEngine(Properties connectionProperties, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        this.consumerProperties = TopicMessageReader.consumerProperties(connectionProperties);
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, "2000");
+        this.threads = threads;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Прогресс по партициям (пустой список до начала поиска).
+     */
+    public List<PartitionProgress> getProgress() {
+        return progress;
+    }
+
+    /**
+     * Выполняет поиск и блокируется до его завершения.
+     *
+     * @param maxHits   после стольких найденных сообщений поиск останавливается
+     * @param onHit     обработчик найденного сообщения; вызывается из рабочих потоков
+     * @param cancelled признак отмены
+     * @return количество найденных сообщений
+     */
+    public int search(String topic, TopicMessageReader.StartPosition start, MessageMatcher matcher, int maxHits,
+            Consumer<ConsumerRecord<byte[], byte[]>> onHit, BooleanSupplier cancelled)
+            throws InterruptedException, ExecutionException {
+        long startNanos = System.nanoTime();
+        Queue<Range> ranges = planRanges(topic, start);
+
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicInteger hits = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(ranges.size(), 1)), r -> {
+            Thread thread = new Thread(r, "message-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Long>> workers = new ArrayList<>();
+            int workerCount = Math.min(threads, ranges.size());
+            for (int i = 0; i < workerCount; i++) {
+                int workerId = i;
+                Callable<Long> worker = () -> scan(workerId, ranges, matcher, maxHits, hits, onHit,
+                        () -> stop.get() || hits.get() >= maxHits || cancelled.getAsBoolean());
+                workers.add(executor.submit(worker));
+            }
+            long scanned = 0;
+            try {
+                for (Future<Long> future : workers) {
+                    scanned += future.get();
+                }
+            } catch (ExecutionException | InterruptedException e) {
+                stop.set(true); // Остальные потоки завершатся после текущего poll
+                throw e;
+            }
+            log.info("Searched {} message(s) of topic '{}' with {} thread(s) in {} ms, {} hit(s)", scanned, topic,
+                    workerCount, (System.nanoTime() - startNanos) / 1_000_000, Math.min(hits.get(), maxHits));
+            return Math.min(hits.get(), maxHits);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Определяет границы партиций и делит их на отрезки.
+     */
+    private Queue<Range> planRanges(String topic, TopicMessageReader.StartPosition start) {
+        Properties props = new Properties();
+        props.putAll(consumerProperties);
+        props.put(ConsumerConfig.CLIENT_ID_CONFIG, consumerProperties.getProperty(ConsumerConfig.CLIENT_ID_CONFIG)
+                + "-search-plan");
+        try (KafkaConsumer<byte[], byte[]> consumer = new KafkaConsumer<>(props)) {
+            List<PartitionInfo> infos = consumer.partitionsFor(topic);
+            if (infos == null || infos.isEmpty()) {
+                throw new IllegalArgumentException("Topic '" + topic + "' has no partitions to search");
+            }
+            List<TopicPartition> partitions = new ArrayList<>(infos.size());
+            for (PartitionInfo info : infos) {
+                partitions.add(new TopicPartition(topic, info.partition()));
+            }
+            partitions.sort((a, b) -> Integer.compare(a.partition(), b.partition()));
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+            Map<TopicPartition, Long> startOffsets = start.resolve(consumer, partitions, endOffsets);
+
+            long total = 0;
+            List<PartitionProgress> partitionProgress = new ArrayList<>(partitions.size());
+            for (TopicPartition tp : partitions) {
+                PartitionProgress p = new PartitionProgress(tp, startOffsets.get(tp), endOffsets.get(tp));
+                partitionProgress.add(p);
+                total += p.getTotal();
+            }
+            // Отрезков примерно в четыре раза больше, чем потоков, чтобы потоки не простаивали
+            long rangeSize = Math.max(MIN_RANGE, total / (threads * 4L) + 1);
+            Queue<Range> ranges = new ConcurrentLinkedQueue<>();
+            for (PartitionProgress p : partitionProgress) {
+                for (long from = p.getStartOffset(); from < p.getEndOffset(); from += rangeSize) {
+                    ranges.add(new Range(p, from, Math.min(from + rangeSize, p.getEndOffset())));
+                }
+            }
+            progress = Collections.unmodifiableList(partitionProgress);
+            return ranges;
+        }
+    }
+
+    /**
+     * Рабочий поток: берет отрезки из очереди, пока они не закончатся.
+     *
+     * @return количество просмотренных сообщений
+     */
+    private long scan(int workerId, Queue<Range> ranges, MessageMatcher matcher, int maxHits, AtomicInteger hits,
+            Consumer<ConsumerRecord<byte[], byte[]>> onHit, BooleanSupplier stopped) {
+        Properties props = new Properties();
+        props.putAll(consumerProperties);
+        props.put(ConsumerConfig.CLIENT_ID_CONFIG, consumerProperties.getProperty(ConsumerConfig.CLIENT_ID_CONFIG)
+                + "-search-" + workerId);
+        long scanned = 0;
+        try (KafkaConsumer<byte[], byte[]> consumer = new KafkaConsumer<>(props)) {
+            Range range;
+            while (!stopped.getAsBoolean() && (range = ranges.poll()) != null) {
+                TopicPartition tp = range.progress.getTopicPartition();
+                consumer.assign(Collections.singletonList(tp));
+                consumer.seek(tp, range.from);
+                long position = range.from;
+                while (position < range.to && !stopped.getAsBoolean()) {
+                    for (ConsumerRecord<byte[], byte[]> record : consumer.poll(POLL_TIMEOUT).records(tp)) {
+                        if (record.offset() >= range.to) {
+                            break;
+                        }
+                        scanned++;
+                        if (matcher.matches(record)) {
+                            int hit = hits.incrementAndGet();
+                            if (hit <= maxHits) {
+                                onHit.accept(record);
+                            }
+                            if (hit >= maxHits) {
+                                range.progress.advance(record.offset() + 1 - position);
+                                return scanned;
+                            }
+                        }
+                    }
+                    // Позиция учитывает пропуски смещений (компакция, маркеры транзакций)
+                    long newPosition = Math.min(consumer.position(tp), range.to);
+                    range.progress.advance(newPosition - position);
+                    position = newPosition;
+                }
+            }
+        }
+        return scanned;
+    }
+
+    /**
+     * Отрезок смещений партиции [from, to).
+     */
+    private static final class Range {
+        final PartitionProgress progress;
+        final long from;
+        final long to;
+
+        Range(PartitionProgress progress, long from, long to) {
+            this.progress = progress;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /**
+     * Прогресс поиска по одной партиции.
+     */
+    public static final class PartitionProgress {
+        private final TopicPartition topicPartition;
+        private final long startOffset;
+        private final long endOffset;
+        private final AtomicLong scanned = new AtomicLong();
+
+        PartitionProgress(TopicPartition topicPartition, long startOffset, long endOffset) {
+            this.topicPartition = topicPartition;
+            this.startOffset = startOffset;
+            this.endOffset = endOffset;
+        }
+
+        void advance(long offsets) {
+            scanned.addAndGet(offsets);
+        }
+
+        public TopicPartition getTopicPartition() {
+            return topicPartition;
+        }
+
+        public long getStartOffset() {
+            return startOffset;
+        }
+
+        public long getEndOffset() {
+            return endOffset;
+        }
+
+        /** Число смещений для просмотра. */
+        public long getTotal() {
+            return endOffset - startOffset;
+        }
+
+        /** Просмотрено смещений (включая пропуски). */
+        public long getScanned() {
+            return scanned.get();
+        }
+    }
+}
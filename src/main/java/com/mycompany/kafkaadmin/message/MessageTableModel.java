@@ -0,0 +1,146 @@
+package com.mycompany.kafkaadmin.message;
+
+import org.apache.kafka.common.header.Header;
+
+import javax.swing.table.AbstractTableModel;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Виртуальная модель таблицы поверх {@link MessageRingBuffer}. Строки не копируются:
+ * ячейки читаются из буфера, а ключ и значение декодируются только для отображаемых строк.
+ */
+public class MessageTableModel extends AbstractTableModel {
+
+    private static final String[] COLUMN_NAMES = { "Partition", "Offset", "Timestamp", "Key", "Value", "Size" };
+    private static final Class<?>[] COLUMN_CLASSES = { Integer.class, Long.class, String.class, String.class,
+            String.class, Integer.class };
+    private static final int PREVIEW_CHARS = 200;
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private final MessageRingBuffer buffer;
+    private int rowCount;
+    private long shownVersion = -1;
+    private long shownAdded;
+
+    public MessageTableModel(MessageRingBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public MessageRingBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Показывает изменения буфера. Пока сообщения только добавляются, строки дописываются
+     * в конец (выделение сохраняется); после вытеснения старых сообщений таблица
+     * перерисовывается целиком. Вызывается из EDT.
+     */
+    public void refresh() {
+        int size;
+        long added;
+        long version;
+        synchronized (buffer) {
+            size = buffer.size();
+            added = buffer.getAdded();
+            version = buffer.getVersion();
+        }
+        if (version == shownVersion) {
+            return;
+        }
+        int previousCount = rowCount;
+        boolean appendedOnly = size > previousCount && added - shownAdded == size - previousCount;
+        rowCount = size;
+        shownVersion = version;
+        shownAdded = added;
+        if (appendedOnly) {
+            fireTableRowsInserted(previousCount, size - 1);
+        } else {
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * Полное описание сообщения строки (в пределах сохраненных байт) или null, если строки
+     * уже нет в буфере.
+     */
+    public String describe(int row) {
+        StringBuilder sb = new StringBuilder();
+        synchronized (buffer) {
+            if (row >= buffer.size()) {
+                return null;
+            }
+            sb.append("Partition: ").append(buffer.getPartition(row))
+                    .append("   Offset: ").append(buffer.getOffset(row))
+                    .append("   Timestamp: ").append(formatTimestamp(buffer.getTimestamp(row)))
+                    .append('\n');
+            Header[] headers = buffer.getHeaders(row);
+            if (headers != null) {
+                sb.append("Headers:\n");
+                for (Header header : headers) {
+                    sb.append("  ").append(header.key()).append(" = ")
+                            .append(MessagePreview.preview(header.value(), PREVIEW_CHARS)).append('\n');
+                }
+            }
+            sb.append("Key:\n").append(MessagePreview.full(buffer.getKey(row), buffer.getKeySize(row))).append('\n');
+            sb.append("Value:\n").append(MessagePreview.full(buffer.getValue(row), buffer.getValueSize(row)));
+        }
+        return sb.toString();
+    }
+
+    public static String formatTimestamp(long timestamp) {
+        return timestamp < 0 ? "" : TIMESTAMP_FORMAT.format(Instant.ofEpochMilli(timestamp));
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return COLUMN_CLASSES[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        byte[] bytes;
+        synchronized (buffer) {
+            if (row >= buffer.size()) {
+                return null; // Буфер очищен, а таблица еще не обновлена
+            }
+            switch (column) {
+                case 0:
+                    return buffer.getPartition(row);
+                case 1:
+                    return buffer.getOffset(row);
+                case 2:
+                    return formatTimestamp(buffer.getTimestamp(row));
+                case 3:
+                    bytes = buffer.getKey(row);
+                    break;
+                case 4:
+                    bytes = buffer.getValue(row);
+                    break;
+                case 5:
+                    return Math.max(buffer.getKeySize(row), 0) + Math.max(buffer.getValueSize(row), 0);
+                default:
+                    return null;
+            }
+        }
+        // Массивы в буфере не изменяются, поэтому декодирование идет без блокировки
+        return MessagePreview.preview(bytes, PREVIEW_CHARS);
+    }
+}
@@ -0,0 +1,291 @@
+package com.mycompany.kafkaadmin.message;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Читает сообщения топика через {@link KafkaConsumer} без участия в группе потребителей:
+ * партиции назначаются через {@code assign}, позиция задается через {@code seek}, смещения
+ * не коммитятся. Ключи и значения читаются как байты и не десериализуются.
+ */
+public class TopicMessageReader {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicMessageReader.class);
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final Properties consumerProperties;
+
+    /**
+     * @param connectionProperties параметры подключения кластера
+     *                             ({@code ClusterConfig.getConnectionProperties()})
+     */
+    public TopicMessageReader(Properties connectionProperties) {
+        this.consumerProperties = consumerProperties(connectionProperties);
+    }
+
+    /**
+     * Свойства потребителя, читающего топики без группы и без коммитов: байтовые
+     * десериализаторы, чтение с начала, если смещение удалено по retention.
+     */
+    public static Properties consumerProperties(Properties connectionProperties) {
+        Properties props = new Properties();
+        props.putAll(connectionProperties);
+        props.remove(ConsumerConfig.GROUP_ID_CONFIG); // assign без группы
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest"); // Если смещение удалено по retention
+        props.putIfAbsent(ConsumerConfig.CLIENT_ID_CONFIG, "kafkaadmin-browser");
+        props.putIfAbsent(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, "1000");
+        return props;
+    }
+
+    /**
+     * Читает сообщения и передает их обработчику.
+     *
+     * @param partitions номера партиций; пустая коллекция - все партиции топика
+     * @param maxRecords сколько сообщений прочитать (без {@code follow}); чтение также
+     *                   останавливается, когда все партиции дочитаны до конца
+     * @param follow     читать новые сообщения, пока чтение не отменено
+     * @param sink       обработчик сообщений; вызывается из потока чтения
+     * @param cancelled  признак отмены
+     * @return смещения, с которых нужно продолжить чтение каждой партиции
+     */
+    public Map<TopicPartition, Long> read(String topic, Collection<Integer> partitions, StartPosition start,
+            long maxRecords, boolean follow, Consumer<ConsumerRecord<byte[], byte[]>> sink,
+            BooleanSupplier cancelled) {
+        try (KafkaConsumer<byte[], byte[]> consumer = new KafkaConsumer<>(consumerProperties)) {
+            List<TopicPartition> assigned = new ArrayList<>();
+            if (partitions.isEmpty()) {
+                List<PartitionInfo> infos = consumer.partitionsFor(topic);
+                if (infos != null) {
+                    for (PartitionInfo info : infos) {
+                        assigned.add(new TopicPartition(topic, info.partition()));
+                    }
+                }
+            } else {
+                for (int partition : partitions) {
+                    assigned.add(new TopicPartition(topic, partition));
+                }
+            }
+            if (assigned.isEmpty()) {
+                throw new IllegalArgumentException("Topic '" + topic + "' has no partitions to read");
+            }
+            consumer.assign(assigned);
+
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(assigned);
+            Map<TopicPartition, Long> next = start.resolve(consumer, assigned, endOffsets);
+            next.forEach(consumer::seek);
+
+            // Без follow дочитанные до конца партиции приостанавливаются
+            Set<TopicPartition> active = new HashSet<>(assigned);
+            if (!follow) {
+                for (TopicPartition tp : assigned) {
+                    if (next.get(tp) >= endOffsets.get(tp)) {
+                        active.remove(tp);
+                    }
+                }
+                consumer.pause(difference(assigned, active));
+            }
+
+            long consumed = 0;
+            while (!cancelled.getAsBoolean() && (follow || (!active.isEmpty() && consumed < maxRecords))) {
+                ConsumerRecords<byte[], byte[]> records = consumer.poll(POLL_TIMEOUT);
+                for (ConsumerRecord<byte[], byte[]> record : records) {
+                    if (!follow && consumed >= maxRecords) {
+                        break;
+                    }
+                    sink.accept(record);
+                    consumed++;
+                    next.put(new TopicPartition(record.topic(), record.partition()), record.offset() + 1);
+                }
+                if (!follow) {
+                    List<TopicPartition> finished = new ArrayList<>();
+                    for (TopicPartition tp : active) {
+                        // Позиция потребителя учитывает пропуски (компакция, маркеры транзакций)
+                        if (consumer.position(tp) >= endOffsets.get(tp)) {
+                            finished.add(tp);
+                        }
+                    }
+                    if (!finished.isEmpty()) {
+                        active.removeAll(finished);
+                        consumer.pause(finished);
+                    }
+                }
+            }
+            log.info("Read {} message(s) from topic '{}'", consumed, topic);
+            return next;
+        }
+    }
+
+    private static List<TopicPartition> difference(Collection<TopicPartition> all, Set<TopicPartition> excluded) {
+        List<TopicPartition> result = new ArrayList<>();
+        for (TopicPartition tp : all) {
+            if (!excluded.contains(tp)) {
+                result.add(tp);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Начальная позиция чтения.
+     */
+    public static final class StartPosition {
+
+        private enum Mode {
+            BEGINNING, LATEST, OFFSET, TIMESTAMP, RESUME
+        }
+
+        private static final DateTimeFormatter LOCAL_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        private final Mode mode;
+        private final long value;
+        private final Map<TopicPartition, Long> offsets;
+
+        private StartPosition(Mode mode, long value, Map<TopicPartition, Long> offsets) {
+            this.mode = mode;
+            this.value = value;
+            this.offsets = offsets;
+        }
+
+        /** С начала каждой партиции. */
+        public static StartPosition beginning() {
+            return new StartPosition(Mode.BEGINNING, 0, Collections.emptyMap());
+        }
+
+        /** Последние {@code count} сообщений каждой партиции. */
+        public static StartPosition latest(long count) {
+            return new StartPosition(Mode.LATEST, count, Collections.emptyMap());
+        }
+
+        /** С заданного смещения в каждой партиции (с учетом границ партиции). */
+        public static StartPosition offset(long offset) {
+            return new StartPosition(Mode.OFFSET, offset, Collections.emptyMap());
+        }
+
+        /** С первого сообщения с меткой времени не меньше заданной ({@code offsetsForTimes}). */
+        public static StartPosition timestamp(long timestampMs) {
+            return new StartPosition(Mode.TIMESTAMP, timestampMs, Collections.emptyMap());
+        }
+
+        /**
+         * Разбирает метку времени: миллисекунды epoch, ISO-8601 или локальное
+         * {@code yyyy-MM-dd HH:mm:ss}.
+         *
+         * @throws IllegalArgumentException если формат не распознан
+         */
+        public static long parseTimestamp(String text) {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException ignored) {
+                // Не миллисекунды - пробуем форматы даты
+            }
+            try {
+                return Instant.parse(text).toEpochMilli();
+            } catch (DateTimeParseException ignored) {
+                // Не ISO-8601 - пробуем локальное время
+            }
+            try {
+                return LocalDateTime.parse(text, LOCAL_TIMESTAMP).atZone(ZoneId.systemDefault()).toInstant()
+                        .toEpochMilli();
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Unsupported timestamp: '" + text
+                        + "'. Use yyyy-MM-dd HH:mm:ss, ISO-8601 or epoch milliseconds");
+            }
+        }
+
+        /** Продолжить с позиций, возвращенных предыдущим чтением. */
+        public static StartPosition resume(Map<TopicPartition, Long> offsets) {
+            return new StartPosition(Mode.RESUME, 0, new HashMap<>(offsets));
+        }
+
+        @Override
+        public String toString() {
+            switch (mode) {
+                case BEGINNING:
+                    return "beginning";
+                case LATEST:
+                    return "latest " + value;
+                case OFFSET:
+                    return "offset " + value;
+                case TIMESTAMP:
+                    return "timestamp " + Instant.ofEpochMilli(value);
+                default:
+                    return "resume";
+            }
+        }
+
+        /**
+         * Вычисляет начальное смещение каждой партиции (в пределах границ партиции).
+         *
+         * @param endOffsets конечные смещения партиций
+         */
+        public Map<TopicPartition, Long> resolve(KafkaConsumer<?, ?> consumer, List<TopicPartition> partitions,
+                Map<TopicPartition, Long> endOffsets) {
+            Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(partitions);
+            Map<TopicPartition, OffsetAndTimestamp> byTime = Collections.emptyMap();
+            if (mode == Mode.TIMESTAMP) {
+                Map<TopicPartition, Long> query = new HashMap<>();
+                for (TopicPartition tp : partitions) {
+                    query.put(tp, value);
+                }
+                byTime = consumer.offsetsForTimes(query);
+            }
+
+            Map<TopicPartition, Long> result = new HashMap<>();
+            for (TopicPartition tp : partitions) {
+                long begin = beginningOffsets.get(tp);
+                long end = endOffsets.get(tp);
+                long offset;
+                switch (mode) {
+                    case BEGINNING:
+                        offset = begin;
+                        break;
+                    case LATEST:
+                        offset = end - value;
+                        break;
+                    case OFFSET:
+                        offset = value;
+                        break;
+                    case TIMESTAMP:
+                        OffsetAndTimestamp found = byTime.get(tp);
+                        offset = found != null ? found.offset() : end; // Более поздних сообщений нет
+                        break;
+                    default:
+                        offset = offsets.getOrDefault(tp, end);
+                        break;
+                }
+                result.put(tp, Math.max(begin, Math.min(offset, end)));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.mycompany.kafkaadmin.partition;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Результат сканирования состояния партиций: итоги по кластеру, счетчики по брокерам и
+ * список проблемных партиций.
+ */
+public class PartitionHealthReport {
+
+    private final int topicCount;
+    private final int partitionCount;
+    private final int[] issueCounts; // По Type.ordinal()
+    private final List<BrokerHealth> brokers;
+    private final List<PartitionIssue> issues;
+    private final long scanMillis;
+
+    PartitionHealthReport(int topicCount, int partitionCount, int[] issueCounts, List<BrokerHealth> brokers,
+            List<PartitionIssue> issues, long scanMillis) {
+        this.topicCount = topicCount;
+        this.partitionCount = partitionCount;
+        this.issueCounts = issueCounts;
+        this.brokers = Collections.unmodifiableList(brokers);
+        this.issues = Collections.unmodifiableList(issues);
+        this.scanMillis = scanMillis;
+    }
+
+    public int getTopicCount() {
+        return topicCount;
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public int getCount(PartitionIssue.Type type) {
+        return issueCounts[type.ordinal()];
+    }
+
+    /** Счетчики по брокерам, упорядоченные по ID брокера. */
+    public List<BrokerHealth> getBrokers() {
+        return brokers;
+    }
+
+    /** Проблемные партиции, упорядоченные по топику и номеру партиции. */
+    public List<PartitionIssue> getIssues() {
+        return issues;
+    }
+
+    /** Время сканирования метаданных (без загрузки), мс. */
+    public long getScanMillis() {
+        return scanMillis;
+    }
+
+    /**
+     * Счетчики партиций одного брокера.
+     */
+    public static class BrokerHealth {
+        private final int brokerId;
+        int replicas;
+        int leaders;
+        int preferredLeaders; // Партиции, где брокер - первая реплика
+        int outOfSyncReplicas; // Реплики брокера вне ISR
+        int underReplicated; // Недореплицированные партиции с репликой на брокере
+        int underMinIsr;
+        int offline;
+        int nonPreferredLeader; // Брокер - предпочтительный лидер, но лидерство у другого
+
+        BrokerHealth(int brokerId) {
+            this.brokerId = brokerId;
+        }
+
+        void merge(BrokerHealth other) {
+            replicas += other.replicas;
+            leaders += other.leaders;
+            preferredLeaders += other.preferredLeaders;
+            outOfSyncReplicas += other.outOfSyncReplicas;
+            underReplicated += other.underReplicated;
+            underMinIsr += other.underMinIsr;
+            offline += other.offline;
+            nonPreferredLeader += other.nonPreferredLeader;
+        }
+
+        public int getBrokerId() {
+            return brokerId;
+        }
+
+        public int getReplicas() {
+            return replicas;
+        }
+
+        public int getLeaders() {
+            return leaders;
+        }
+
+        public int getPreferredLeaders() {
+            return preferredLeaders;
+        }
+
+        public int getOutOfSyncReplicas() {
+            return outOfSyncReplicas;
+        }
+
+        public int getUnderReplicated() {
+            return underReplicated;
+        }
+
+        public int getUnderMinIsr() {
+            return underMinIsr;
+        }
+
+        public int getOffline() {
+            return offline;
+        }
+
+        public int getNonPreferredLeader() {
+            return nonPreferredLeader;
+        }
+    }
+}
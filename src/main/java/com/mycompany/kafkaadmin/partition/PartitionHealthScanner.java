@@ -0,0 +1,191 @@
+package com.mycompany.kafkaadmin.partition;
+
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Сканирует метаданные всех партиций кластера и классифицирует проблемные партиции:
+ * offline (нет лидера), ниже {@code min.insync.replicas}, недореплицированные (ISR меньше
+ * списка реплик) и с непредпочтительным лидером (лидер - не первая реплика).
+ * <p>
+ * Работает только по уже загруженным {@link TopicDescription} без запросов к кластеру.
+ * Партиции всех топиков обходятся параллельно: диапазоны сквозных номеров партиций
+ * распределяются по потокам общего пула, каждый поток копит свои счетчики, которые затем
+ * объединяются. Большой топик не становится узким местом, так как делится между потоками.
+ */
+public class PartitionHealthScanner {
+
+    public static final int UNKNOWN_MIN_ISR = -1;
+
+    /**
+     * Сканирует партиции.
+     *
+     * @param descriptions описания топиков
+     * @param minIsrOf     {@code min.insync.replicas} топика или {@link #UNKNOWN_MIN_ISR};
+     *                     вызывается один раз на топик в вызывающем потоке
+     */
+    public PartitionHealthReport scan(Collection<TopicDescription> descriptions, ToIntFunction<String> minIsrOf) {
+        long start = System.nanoTime();
+        TopicDescription[] topics = descriptions.toArray(new TopicDescription[0]);
+        Arrays.sort(topics, Comparator.comparing(TopicDescription::name));
+
+        // Сквозная нумерация партиций: партиции топика i занимают [offsets[i], offsets[i + 1])
+        int[] offsets = new int[topics.length + 1];
+        int[] minIsr = new int[topics.length];
+        for (int i = 0; i < topics.length; i++) {
+            offsets[i + 1] = offsets[i] + topics[i].partitions().size();
+            minIsr[i] = minIsrOf.applyAsInt(topics[i].name());
+        }
+        int partitionCount = offsets[topics.length];
+
+        Accumulator total = IntStream.range(0, partitionCount).parallel().collect(
+                Accumulator::new,
+                (accumulator, index) -> accumulator.add(topics, offsets, minIsr, index),
+                Accumulator::merge);
+
+        List<PartitionHealthReport.BrokerHealth> brokers = new ArrayList<>(total.brokers.values());
+        brokers.sort(Comparator.comparingInt(PartitionHealthReport.BrokerHealth::getBrokerId));
+        long scanMillis = (System.nanoTime() - start) / 1_000_000;
+        return new PartitionHealthReport(topics.length, partitionCount, total.issueCounts, brokers, total.issues,
+                scanMillis);
+    }
+
+    /**
+     * Счетчики одного потока. Элементы упорядоченного потока поступают в аккумулятор
+     * подряд, поэтому последний найденный топик запоминается и бинарный поиск почти не нужен.
+     */
+    private static final class Accumulator {
+        final Map<Integer, PartitionHealthReport.BrokerHealth> brokers = new HashMap<>();
+        final int[] issueCounts = new int[PartitionIssue.Type.values().length];
+        final List<PartitionIssue> issues = new ArrayList<>();
+        int topicIndex = -1;
+
+        void add(TopicDescription[] topics, int[] offsets, int[] minIsr, int index) {
+            if (topicIndex < 0 || index < offsets[topicIndex] || index >= offsets[topicIndex + 1]) {
+                topicIndex = findTopic(offsets, index);
+            }
+            TopicDescription topic = topics[topicIndex];
+            TopicPartitionInfo info = topic.partitions().get(index - offsets[topicIndex]);
+            scanPartition(topic.name(), info, minIsr[topicIndex]);
+        }
+
+        private void scanPartition(String topic, TopicPartitionInfo info, int minIsr) {
+            List<Node> replicaNodes = info.replicas();
+            List<Node> isrNodes = info.isr();
+            int[] replicas = ids(replicaNodes);
+            int[] isr = ids(isrNodes);
+            Node leaderNode = info.leader();
+            int leader = leaderNode == null || leaderNode.isEmpty() ? PartitionIssue.NO_LEADER : leaderNode.id();
+            int preferred = replicas.length > 0 ? replicas[0] : PartitionIssue.NO_LEADER;
+
+            int types = 0;
+            if (leader == PartitionIssue.NO_LEADER) {
+                types |= PartitionIssue.Type.OFFLINE.bit();
+            } else if (preferred != PartitionIssue.NO_LEADER && leader != preferred) {
+                types |= PartitionIssue.Type.NON_PREFERRED_LEADER.bit();
+            }
+            if (isr.length < replicas.length) {
+                types |= PartitionIssue.Type.UNDER_REPLICATED.bit();
+            }
+            if (minIsr != PartitionHealthScanner.UNKNOWN_MIN_ISR && isr.length < minIsr) {
+                types |= PartitionIssue.Type.UNDER_MIN_ISR.bit();
+            }
+
+            for (int replica : replicas) {
+                PartitionHealthReport.BrokerHealth broker = broker(replica);
+                broker.replicas++;
+                if (!contains(isr, replica)) {
+                    broker.outOfSyncReplicas++;
+                }
+                if ((types & PartitionIssue.Type.UNDER_REPLICATED.bit()) != 0) {
+                    broker.underReplicated++;
+                }
+                if ((types & PartitionIssue.Type.UNDER_MIN_ISR.bit()) != 0) {
+                    broker.underMinIsr++;
+                }
+                if ((types & PartitionIssue.Type.OFFLINE.bit()) != 0) {
+                    broker.offline++;
+                }
+            }
+            if (leader != PartitionIssue.NO_LEADER) {
+                broker(leader).leaders++;
+            }
+            if (preferred != PartitionIssue.NO_LEADER) {
+                PartitionHealthReport.BrokerHealth broker = broker(preferred);
+                broker.preferredLeaders++;
+                if ((types & PartitionIssue.Type.NON_PREFERRED_LEADER.bit()) != 0) {
+                    broker.nonPreferredLeader++;
+                }
+            }
+
+            if (types != 0) {
+                for (PartitionIssue.Type type : PartitionIssue.Type.values()) {
+                    if ((types & type.bit()) != 0) {
+                        issueCounts[type.ordinal()]++;
+                    }
+                }
+                issues.add(new PartitionIssue(topic, info.partition(), leader, replicas, isr, minIsr, types));
+            }
+        }
+
+        private PartitionHealthReport.BrokerHealth broker(int brokerId) {
+            PartitionHealthReport.BrokerHealth broker = brokers.get(brokerId);
+            if (broker == null) {
+                broker = new PartitionHealthReport.BrokerHealth(brokerId);
+                brokers.put(brokerId, broker);
+            }
+            return broker;
+        }
+
+        void merge(Accumulator other) {
+            other.brokers.forEach((id, health) -> broker(id).merge(health));
+            for (int i = 0; i < issueCounts.length; i++) {
+                issueCounts[i] += other.issueCounts[i];
+            }
+            issues.addAll(other.issues); // Порядок сохраняется: other идет после this
+        }
+
+        private static int findTopic(int[] offsets, int index) {
+            // Последний топик с offsets[i] <= index (пустые топики пропускаются)
+            int low = 0;
+            int high = offsets.length - 2;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (offsets[mid] <= index) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        private static int[] ids(List<Node> nodes) {
+            int[] ids = new int[nodes.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = nodes.get(i).id();
+            }
+            return ids;
+        }
+
+        private static boolean contains(int[] ids, int id) {
+            for (int value : ids) {
+                if (value == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
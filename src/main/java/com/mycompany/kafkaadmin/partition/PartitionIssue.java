@@ -0,0 +1,106 @@
+package com.mycompany.kafkaadmin.partition;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Проблемная партиция, найденная {@link PartitionHealthScanner}.
+ * ID брокеров хранятся как массивы чисел и форматируются только при отображении.
+ */
+public class PartitionIssue {
+
+    /**
+     * Вид проблемы партиции.
+     */
+    public enum Type {
+        OFFLINE("Offline"),
+        UNDER_MIN_ISR("Under Min ISR"),
+        UNDER_REPLICATED("Under-Replicated"),
+        NON_PREFERRED_LEADER("Non-Preferred Leader");
+
+        private final String title;
+
+        Type(String title) {
+            this.title = title;
+        }
+
+        int bit() {
+            return 1 << ordinal();
+        }
+
+        @Override
+        public String toString() {
+            return title;
+        }
+    }
+
+    public static final int NO_LEADER = -1;
+
+    private final String topic;
+    private final int partition;
+    private final int leader; // NO_LEADER, если лидера нет
+    private final int[] replicas;
+    private final int[] isr;
+    private final int minIsr; // -1, если min.insync.replicas неизвестен
+    private final int types; // Битовая маска Type
+
+    PartitionIssue(String topic, int partition, int leader, int[] replicas, int[] isr, int minIsr, int types) {
+        this.topic = topic;
+        this.partition = partition;
+        this.leader = leader;
+        this.replicas = replicas;
+        this.isr = isr;
+        this.minIsr = minIsr;
+        this.types = types;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+
+    public int getLeader() {
+        return leader;
+    }
+
+    public int[] getReplicas() {
+        return replicas;
+    }
+
+    public int[] getIsr() {
+        return isr;
+    }
+
+    public int getMinIsr() {
+        return minIsr;
+    }
+
+    public boolean has(Type type) {
+        return (types & type.bit()) != 0;
+    }
+
+    public Set<Type> getTypes() {
+        Set<Type> result = EnumSet.noneOf(Type.class);
+        for (Type type : Type.values()) {
+            if (has(type)) {
+                result.add(type);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Является ли брокер одной из реплик партиции.
+     */
+    public boolean involves(int brokerId) {
+        for (int replica : replicas) {
+            if (replica == brokerId) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
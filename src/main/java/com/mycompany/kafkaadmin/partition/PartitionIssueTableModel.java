@@ -0,0 +1,89 @@
+package com.mycompany.kafkaadmin.partition;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Модель таблицы проблемных партиций. Хранит ссылки на {@link PartitionIssue} и форматирует
+ * списки реплик только для видимых ячеек.
+ */
+public class PartitionIssueTableModel extends AbstractTableModel {
+
+    private static final String[] COLUMN_NAMES = { "Topic", "Partition", "Leader", "Replicas", "ISR", "Min ISR",
+            "Issues" };
+    private static final Class<?>[] COLUMN_CLASSES = { String.class, Integer.class, String.class, String.class,
+            String.class, String.class, String.class };
+
+    private List<PartitionIssue> issues = Collections.emptyList();
+
+    public void setIssues(List<PartitionIssue> issues) {
+        this.issues = new ArrayList<>(issues);
+        fireTableDataChanged();
+    }
+
+    public PartitionIssue getIssue(int row) {
+        return issues.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return issues.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return COLUMN_CLASSES[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        PartitionIssue issue = issues.get(row);
+        switch (column) {
+            case 0:
+                return issue.getTopic();
+            case 1:
+                return issue.getPartition();
+            case 2:
+                return issue.getLeader() == PartitionIssue.NO_LEADER ? "none" : String.valueOf(issue.getLeader());
+            case 3:
+                return join(issue.getReplicas());
+            case 4:
+                return join(issue.getIsr());
+            case 5:
+                return issue.getMinIsr() == PartitionHealthScanner.UNKNOWN_MIN_ISR ? "?"
+                        : String.valueOf(issue.getMinIsr());
+            case 6:
+                StringJoiner types = new StringJoiner(", ");
+                for (PartitionIssue.Type type : issue.getTypes()) {
+                    types.add(type.toString());
+                }
+                return types.toString();
+            default:
+                return null;
+        }
+    }
+
+    private static String join(int[] ids) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(ids[i]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,160 @@
+package com.mycompany.kafkaadmin.partition;
+
+import com.mycompany.kafkaadmin.cluster.BoundedBatchRunner;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.ElectionType;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.errors.ElectionNotNeededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Выборы предпочтительного лидера ({@code electLeaders(ElectionType.PREFERRED)}) для
+ * партиций, лидер которых не совпадает с первой репликой.
+ * <p>
+ * Партиции отправляются пакетами с ограниченным числом одновременных запросов, чтобы не
+ * перегружать контроллер при десятках тысяч партиций. Результат каждой партиции берется из
+ * ответа ее пакета.
+ */
+public class PreferredLeaderElector {
+
+    private static final Logger log = LoggerFactory.getLogger(PreferredLeaderElector.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 2;
+
+    private final AdminClient adminClient;
+    private final BoundedBatchRunner runner;
+
+    public PreferredLeaderElector(AdminClient adminClient) {
+        this(adminClient, DEFAULT_BATCH_SIZE, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public PreferredLeaderElector(AdminClient adminClient, int batchSize, int maxInFlight) {
+        this.adminClient = adminClient;
+        this.runner = new BoundedBatchRunner(batchSize, maxInFlight);
+    }
+
+    /**
+     * Находит партиции с лидером, отличным от предпочтительного (первой реплики).
+     * Партиции без лидера не включаются - для них нужны не предпочтительные выборы.
+     */
+    public static List<Candidate> findCandidates(Collection<TopicDescription> topics) {
+        List<Candidate> candidates = new ArrayList<>();
+        for (TopicDescription description : topics) {
+            for (TopicPartitionInfo partition : description.partitions()) {
+                Node leader = partition.leader();
+                if (leader == null || leader.isEmpty() || partition.replicas().isEmpty()) {
+                    continue;
+                }
+                Node preferred = partition.replicas().get(0);
+                if (leader.id() != preferred.id()) {
+                    candidates.add(new Candidate(new TopicPartition(description.name(), partition.partition()),
+                            leader.id(), preferred.id(), partition.isr().contains(preferred)));
+                }
+            }
+        }
+        candidates.sort(Comparator.comparing((Candidate c) -> c.getTopicPartition().topic())
+                .thenComparingInt(c -> c.getTopicPartition().partition()));
+        return candidates;
+    }
+
+    /**
+     * Проводит выборы и блокируется до получения результатов всех отправленных пакетов.
+     *
+     * @param onDone    обработчик партиции с результатом; вызывается из потока AdminClient
+     * @param cancelled признак отмены - новые пакеты перестают отправляться
+     * @return количество отправленных пакетов (запросов)
+     */
+    public int elect(List<Candidate> candidates, Consumer<Candidate> onDone, BooleanSupplier cancelled)
+            throws InterruptedException, ExecutionException {
+        int requests = runner.run(candidates, batch -> {
+            Set<TopicPartition> partitions = new HashSet<>(batch.size() * 2);
+            for (Candidate candidate : batch) {
+                partitions.add(candidate.getTopicPartition());
+            }
+            return adminClient.electLeaders(ElectionType.PREFERRED, partitions).partitions().toCompletionStage();
+        }, (batch, results, error) -> {
+            for (Candidate candidate : batch) {
+                Throwable partitionError = error;
+                if (error == null) {
+                    Optional<Throwable> result = results.get(candidate.getTopicPartition());
+                    partitionError = result != null ? result.orElse(null) : null;
+                }
+                candidate.complete(partitionError);
+                onDone.accept(candidate);
+            }
+        }, cancelled);
+        log.info("Preferred leader election: {} partition(s) in {} request(s)", candidates.size(), requests);
+        return requests;
+    }
+
+    /**
+     * Партиция-кандидат на выборы предпочтительного лидера.
+     */
+    public static class Candidate {
+        private final TopicPartition topicPartition;
+        private final int leader;
+        private final int preferredLeader;
+        private final boolean preferredInSync;
+
+        private volatile String result; // null - еще не отправлено
+        private volatile boolean failed;
+
+        Candidate(TopicPartition topicPartition, int leader, int preferredLeader, boolean preferredInSync) {
+            this.topicPartition = topicPartition;
+            this.leader = leader;
+            this.preferredLeader = preferredLeader;
+            this.preferredInSync = preferredInSync;
+        }
+
+        public TopicPartition getTopicPartition() {
+            return topicPartition;
+        }
+
+        public int getLeader() {
+            return leader;
+        }
+
+        public int getPreferredLeader() {
+            return preferredLeader;
+        }
+
+        /** Входит ли предпочтительная реплика в ISR - иначе выборы завершатся ошибкой. */
+        public boolean isPreferredInSync() {
+            return preferredInSync;
+        }
+
+        public String getResult() {
+            return result;
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+
+        void complete(Throwable error) {
+            if (error instanceof ElectionNotNeededException) {
+                failed = false;
+                result = "Already preferred";
+            } else {
+                failed = error != null;
+                result = error != null ? "Error: " + error.getMessage() : "Elected";
+            }
+        }
+    }
+}
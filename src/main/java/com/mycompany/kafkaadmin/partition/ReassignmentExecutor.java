@@ -0,0 +1,133 @@
+package com.mycompany.kafkaadmin.partition;
+
+import com.mycompany.kafkaadmin.cluster.BoundedBatchRunner;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.NewPartitionReassignment;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.NoReassignmentInProgressException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Отправляет {@link ReassignmentPlan} пакетными запросами
+ * {@code alterPartitionReassignments} и отслеживает незавершенные переназначения через
+ * {@code listPartitionReassignments}.
+ * <p>
+ * Брокер принимает запрос сразу, а копирование данных идет в фоне, поэтому результат
+ * отправки партиции означает только, что переназначение принято контроллером.
+ */
+public class ReassignmentExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReassignmentExecutor.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private final AdminClient adminClient;
+    private final BoundedBatchRunner runner;
+
+    public ReassignmentExecutor(AdminClient adminClient) {
+        this(adminClient, DEFAULT_BATCH_SIZE, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public ReassignmentExecutor(AdminClient adminClient, int batchSize, int maxInFlight) {
+        this.adminClient = adminClient;
+        this.runner = new BoundedBatchRunner(batchSize, maxInFlight);
+    }
+
+    /**
+     * Отправляет все переназначения плана и блокируется до получения ответов.
+     *
+     * @param onMoveDone обработчик принятого или отклоненного переназначения; вызывается из
+     *                   потока AdminClient
+     * @param cancelled  признак отмены - новые пакеты перестают отправляться
+     * @return количество отправленных пакетов (запросов)
+     */
+    public int execute(ReassignmentPlan plan, Consumer<ReassignmentPlan.Move> onMoveDone, BooleanSupplier cancelled)
+            throws InterruptedException, ExecutionException {
+        List<ReassignmentPlan.Move> moves = plan.getMoves();
+        int requests = runner.run(moves, batch -> {
+            Map<TopicPartition, Optional<NewPartitionReassignment>> request = new HashMap<>(batch.size() * 2);
+            for (ReassignmentPlan.Move move : batch) {
+                request.put(move.getTopicPartition(), Optional.of(new NewPartitionReassignment(
+                        toList(move.getTargetReplicas()))));
+            }
+            Map<TopicPartition, KafkaFuture<Void>> futures = adminClient.alterPartitionReassignments(request).values();
+            List<KafkaFuture<Void>> moveFutures = new ArrayList<>(batch.size());
+            for (ReassignmentPlan.Move move : batch) {
+                moveFutures.add(futures.get(move.getTopicPartition()).whenComplete((ignored, error) -> {
+                    move.complete(error);
+                    onMoveDone.accept(move);
+                }));
+            }
+            return BoundedBatchRunner.allDone(moveFutures);
+        }, (batch, ignored, error) -> { }, cancelled);
+        log.info("Reassignment submitted: {} partition(s) in {} request(s)", moves.size(), requests);
+        return requests;
+    }
+
+    /**
+     * Возвращает партиции, переназначение которых еще выполняется.
+     */
+    public Set<TopicPartition> listOngoing() throws InterruptedException, ExecutionException {
+        return adminClient.listPartitionReassignments().reassignments().get().keySet();
+    }
+
+    /**
+     * Отменяет выполняющиеся переназначения партиций теми же пакетами. Партиции, для
+     * которых переназначение уже завершилось, пропускаются.
+     *
+     * @return количество отмененных переназначений
+     */
+    public int cancel(Collection<TopicPartition> partitions) throws InterruptedException, ExecutionException {
+        List<KafkaFuture<Void>> all = new ArrayList<>(partitions.size()); // Запросы отправляются из этого потока
+        runner.run(new ArrayList<>(partitions), batch -> {
+            Map<TopicPartition, Optional<NewPartitionReassignment>> request = new HashMap<>(batch.size() * 2);
+            for (TopicPartition tp : batch) {
+                request.put(tp, Optional.empty());
+            }
+            Collection<KafkaFuture<Void>> futures = adminClient.alterPartitionReassignments(request).values().values();
+            all.addAll(futures);
+            return BoundedBatchRunner.allDone(futures);
+        }, (batch, ignored, error) -> { }, () -> false);
+
+        int cancelledCount = 0;
+        Throwable failure = null;
+        for (KafkaFuture<Void> future : all) {
+            try {
+                future.get();
+                cancelledCount++;
+            } catch (ExecutionException e) {
+                // NoReassignmentInProgressException - переназначение успело завершиться
+                if (!(e.getCause() instanceof NoReassignmentInProgressException) && failure == null) {
+                    failure = e.getCause();
+                }
+            }
+        }
+        if (failure != null) {
+            throw new ExecutionException(failure);
+        }
+        log.info("Reassignment cancelled for {} partition(s)", cancelledCount);
+        return cancelledCount;
+    }
+
+    private static List<Integer> toList(int[] replicas) {
+        List<Integer> list = new ArrayList<>(replicas.length);
+        for (int broker : replicas) {
+            list.add(broker);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,132 @@
+package com.mycompany.kafkaadmin.partition;
+
+import org.apache.kafka.common.TopicPartition;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Модель таблицы переназначений плана. Статус строки вычисляется из результата отправки и
+ * последнего списка выполняющихся переназначений ({@code listPartitionReassignments}).
+ */
+public class ReassignmentMoveTableModel extends AbstractTableModel {
+
+    private static final String[] COLUMN_NAMES = { "Topic", "Partition", "Current Replicas", "Target Replicas",
+            "Status" };
+    private static final Class<?>[] COLUMN_CLASSES = { String.class, Integer.class, String.class, String.class,
+            String.class };
+    private static final int COL_STATUS = 4;
+
+    private List<ReassignmentPlan.Move> moves = Collections.emptyList();
+    private Map<ReassignmentPlan.Move, Integer> rowByMove = new IdentityHashMap<>();
+    private Set<TopicPartition> ongoing; // null - статус еще не запрашивался
+    private Set<TopicPartition> cancelled = Collections.emptySet();
+
+    public void setMoves(List<ReassignmentPlan.Move> moves) {
+        this.moves = moves;
+        this.ongoing = null;
+        this.cancelled = Collections.emptySet();
+        rowByMove = new IdentityHashMap<>(moves.size() * 2);
+        for (int row = 0; row < moves.size(); row++) {
+            rowByMove.put(moves.get(row), row);
+        }
+        fireTableDataChanged();
+    }
+
+    /**
+     * Обновляет строку после получения результата отправки переназначения.
+     */
+    public void moveUpdated(ReassignmentPlan.Move move) {
+        Integer row = rowByMove.get(move);
+        if (row != null) {
+            fireTableCellUpdated(row, COL_STATUS);
+        }
+    }
+
+    /**
+     * Задает партиции, переназначение которых еще выполняется.
+     */
+    public void setOngoing(Set<TopicPartition> ongoing) {
+        this.ongoing = ongoing;
+        if (!moves.isEmpty()) {
+            fireTableRowsUpdated(0, moves.size() - 1);
+        }
+    }
+
+    /**
+     * Задает партиции, переназначение которых было отменено.
+     */
+    public void setCancelled(Set<TopicPartition> cancelled) {
+        this.cancelled = cancelled;
+        if (!moves.isEmpty()) {
+            fireTableRowsUpdated(0, moves.size() - 1);
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return moves.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return COLUMN_CLASSES[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        ReassignmentPlan.Move move = moves.get(row);
+        switch (column) {
+            case 0:
+                return move.getTopicPartition().topic();
+            case 1:
+                return move.getTopicPartition().partition();
+            case 2:
+                return join(move.getCurrentReplicas());
+            case 3:
+                return join(move.getTargetReplicas());
+            case 4:
+                return status(move);
+            default:
+                return null;
+        }
+    }
+
+    private String status(ReassignmentPlan.Move move) {
+        if (move.getResult() == null || move.isFailed()) {
+            return move.getResult() != null ? move.getResult() : (move.isLeaderOnly() ? "Reorder only" : "");
+        }
+        if (cancelled.contains(move.getTopicPartition())) {
+            return "Cancelled";
+        }
+        if (ongoing == null) {
+            return move.getResult();
+        }
+        return ongoing.contains(move.getTopicPartition()) ? "In progress" : "Completed";
+    }
+
+    private static String join(int[] ids) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(ids[i]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,162 @@
+package com.mycompany.kafkaadmin.partition;
+
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * План переназначения реплик, построенный {@link ReassignmentPlanner}.
+ */
+public class ReassignmentPlan {
+
+    private final List<Move> moves;
+    private final List<BrokerLoad> brokers;
+    private final int movedReplicas;
+    private final int unplacedReplicas;
+    private final boolean rackAware;
+    private final long planMillis;
+
+    ReassignmentPlan(List<Move> moves, List<BrokerLoad> brokers, int movedReplicas, int unplacedReplicas,
+            boolean rackAware, long planMillis) {
+        this.moves = Collections.unmodifiableList(moves);
+        this.brokers = Collections.unmodifiableList(brokers);
+        this.movedReplicas = movedReplicas;
+        this.unplacedReplicas = unplacedReplicas;
+        this.rackAware = rackAware;
+        this.planMillis = planMillis;
+    }
+
+    /** Партиции, у которых меняется список реплик или их порядок. */
+    public List<Move> getMoves() {
+        return moves;
+    }
+
+    /** Нагрузка брокеров до и после, упорядоченная по ID брокера. */
+    public List<BrokerLoad> getBrokers() {
+        return brokers;
+    }
+
+    /** Количество реплик, которые будут скопированы на новые брокеры. */
+    public int getMovedReplicas() {
+        return movedReplicas;
+    }
+
+    /** Реплики на выводимых брокерах, для которых не нашлось подходящего брокера. */
+    public int getUnplacedReplicas() {
+        return unplacedReplicas;
+    }
+
+    /**
+     * Учитывались ли стойки: они заданы у всех целевых брокеров и их больше одной. Если стойка
+     * не задана хотя бы у одного целевого брокера, стойки не учитываются совсем.
+     */
+    public boolean isRackAware() {
+        return rackAware;
+    }
+
+    public long getPlanMillis() {
+        return planMillis;
+    }
+
+    /**
+     * Переназначение одной партиции.
+     */
+    public static class Move {
+        private final TopicPartition topicPartition;
+        private final int[] currentReplicas;
+        private final int[] targetReplicas;
+
+        private volatile String result; // null - еще не отправлено
+        private volatile boolean failed;
+
+        Move(TopicPartition topicPartition, int[] currentReplicas, int[] targetReplicas) {
+            this.topicPartition = topicPartition;
+            this.currentReplicas = currentReplicas;
+            this.targetReplicas = targetReplicas;
+        }
+
+        public TopicPartition getTopicPartition() {
+            return topicPartition;
+        }
+
+        public int[] getCurrentReplicas() {
+            return currentReplicas;
+        }
+
+        public int[] getTargetReplicas() {
+            return targetReplicas;
+        }
+
+        /** Меняется только порядок реплик (предпочтительный лидер) - данные не копируются. */
+        public boolean isLeaderOnly() {
+            int[] current = currentReplicas.clone();
+            int[] target = targetReplicas.clone();
+            Arrays.sort(current);
+            Arrays.sort(target);
+            return Arrays.equals(current, target);
+        }
+
+        public String getResult() {
+            return result;
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+
+        void complete(Throwable error) {
+            failed = error != null;
+            result = error != null ? "Error: " + error.getMessage() : "Submitted";
+        }
+    }
+
+    /**
+     * Число реплик и предпочтительных лидеров брокера до и после переназначения.
+     */
+    public static class BrokerLoad {
+        private final int brokerId;
+        private final String rack;
+        private final boolean target;
+        int replicasBefore;
+        int replicasAfter;
+        int leadersBefore;
+        int leadersAfter;
+
+        BrokerLoad(int brokerId, String rack, boolean target) {
+            this.brokerId = brokerId;
+            this.rack = rack;
+            this.target = target;
+        }
+
+        public int getBrokerId() {
+            return brokerId;
+        }
+
+        public String getRack() {
+            return rack;
+        }
+
+        /** Участвует ли брокер в размещении (false - реплики с него выводятся). */
+        public boolean isTarget() {
+            return target;
+        }
+
+        public int getReplicasBefore() {
+            return replicasBefore;
+        }
+
+        public int getReplicasAfter() {
+            return replicasAfter;
+        }
+
+        public int getLeadersBefore() {
+            return leadersBefore;
+        }
+
+        public int getLeadersAfter() {
+            return leadersAfter;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.mycompany.kafkaadmin.partition;
+
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Строит план переназначения реплик с минимальным перемещением данных.
+ * <p>
+ * Реплика перемещается только если она находится на выводимом брокере, нарушает
+ * размещение по стойкам ({@link Node#rack()}) или ее брокер перегружен относительно
+ * среднего. Новый брокер выбирается жадно - наименее загруженный из допустимых, без
+ * второй реплики той же партиции и, если стоек хватает, без реплики в той же стойке.
+ * Стойки учитываются, только если они заданы у всех целевых брокеров и их больше одной
+ * ({@link ReassignmentPlan#isRackAware()}).
+ * Лидеры балансируются перестановкой реплик внутри партиции (первая реплика -
+ * предпочтительный лидер), что не требует копирования данных.
+ * <p>
+ * Брокеры внутри алгоритма - индексы в массивах, поэтому каждый проход по партициям стоит
+ * O(партиции x реплики x брокеры) без выделения памяти.
+ */
+public class ReassignmentPlanner {
+
+    private static final int MAX_LEADER_PASSES = 16;
+
+    private final Map<Integer, String> rackByBroker = new HashMap<>();
+
+    /**
+     * @param brokers живые брокеры кластера ({@code describeCluster().nodes()})
+     */
+    public ReassignmentPlanner(Collection<Node> brokers) {
+        for (Node broker : brokers) {
+            rackByBroker.put(broker.id(), broker.rack());
+        }
+    }
+
+    /**
+     * Строит план.
+     *
+     * @param topics          описания топиков, реплики которых нужно разместить
+     * @param targetBrokerIds брокеры, на которых должны оказаться реплики; реплики с
+     *                        остальных брокеров переносятся
+     * @param balanceLeaders  выравнивать ли число предпочтительных лидеров
+     * @throws IllegalArgumentException если набор брокеров пуст или содержит неизвестный брокер
+     */
+    public ReassignmentPlan plan(Collection<TopicDescription> topics, Collection<Integer> targetBrokerIds,
+            boolean balanceLeaders) {
+        long start = System.nanoTime();
+        int[] targets = targetBrokerIds.stream().mapToInt(Integer::intValue).distinct().sorted().toArray();
+        if (targets.length == 0) {
+            throw new IllegalArgumentException("No target brokers selected");
+        }
+        for (int id : targets) {
+            if (!rackByBroker.containsKey(id)) {
+                throw new IllegalArgumentException("Unknown broker: " + id);
+            }
+        }
+        return new Planning(targets, topics).run(balanceLeaders, start);
+    }
+
+    /**
+     * Состояние одного построения плана.
+     */
+    private final class Planning {
+        private final int targetCount;
+        private final List<Integer> brokerIds = new ArrayList<>(); // Индекс -> ID; сначала целевые брокеры
+        private final Map<Integer, Integer> indexById = new HashMap<>();
+        private final int[] rackOf; // Номер стойки целевого брокера, -1 - стойка не задана
+        private final int rackCount;
+        private final boolean rackAware;
+
+        private final List<TopicPartition> partitions = new ArrayList<>();
+        private final List<int[]> current = new ArrayList<>(); // Индексы брокеров до
+        private int[][] assignment; // Индексы брокеров после
+        private int[] load;
+        private int[] minLoad; // Нижняя и верхняя граница "справедливой" нагрузки целевого брокера
+        private int[] maxLoad;
+        private int[] leaderLoad;
+
+        Planning(int[] targets, Collection<TopicDescription> topics) {
+            targetCount = targets.length;
+            for (int id : targets) {
+                indexOf(id);
+            }
+            Map<String, Integer> rackIds = new HashMap<>();
+            rackOf = new int[targetCount];
+            boolean allRacks = true;
+            for (int i = 0; i < targetCount; i++) {
+                String rack = rackByBroker.get(targets[i]);
+                if (rack == null) {
+                    rackOf[i] = -1;
+                    allRacks = false;
+                } else {
+                    rackOf[i] = rackIds.computeIfAbsent(rack, r -> rackIds.size());
+                }
+            }
+            rackCount = rackIds.size();
+            rackAware = allRacks && rackCount > 1;
+
+            TopicDescription[] sorted = topics.toArray(new TopicDescription[0]);
+            Arrays.sort(sorted, Comparator.comparing(TopicDescription::name));
+            for (TopicDescription topic : sorted) {
+                for (TopicPartitionInfo info : topic.partitions()) {
+                    int[] replicas = new int[info.replicas().size()];
+                    for (int i = 0; i < replicas.length; i++) {
+                        replicas[i] = indexOf(info.replicas().get(i).id());
+                    }
+                    partitions.add(new TopicPartition(topic.name(), info.partition()));
+                    current.add(replicas);
+                }
+            }
+        }
+
+        private int indexOf(int brokerId) {
+            Integer index = indexById.get(brokerId);
+            if (index == null) {
+                index = brokerIds.size();
+                brokerIds.add(brokerId);
+                indexById.put(brokerId, index);
+            }
+            return index;
+        }
+
+        ReassignmentPlan run(boolean balanceLeaders, long start) {
+            int count = partitions.size();
+            assignment = new int[count][];
+            load = new int[brokerIds.size()];
+            for (int p = 0; p < count; p++) {
+                assignment[p] = current.get(p).clone();
+                for (int broker : assignment[p]) {
+                    load[broker]++;
+                }
+            }
+
+            int unplaced = evacuate();
+            if (rackAware) {
+                fixRackViolations();
+            }
+
+            computeLoadBounds();
+            rebalance(true, false);
+            rebalance(true, true);
+            rebalance(false, false);
+
+            leaderLoad = new int[brokerIds.size()];
+            for (int[] replicas : assignment) {
+                if (replicas.length > 0) {
+                    leaderLoad[replicas[0]]++;
+                }
+            }
+            if (balanceLeaders) {
+                // Перестановка возможна только внутри партиции, поэтому излишек лидеров
+                // передается по цепочке брокеров за несколько проходов
+                for (int pass = 0; pass < MAX_LEADER_PASSES; pass++) {
+                    if (rebalanceLeaders() == 0) {
+                        break;
+                    }
+                }
+            }
+
+            return buildPlan(unplaced, start);
+        }
+
+        /**
+         * Переносит реплики с брокеров, не входящих в целевой набор.
+         *
+         * @return количество реплик, которые не удалось разместить
+         */
+        private int evacuate() {
+            int unplaced = 0;
+            for (int[] replicas : assignment) {
+                for (int k = 0; k < replicas.length; k++) {
+                    if (replicas[k] >= targetCount && !move(replicas, k, null)) {
+                        unplaced++;
+                    }
+                }
+            }
+            return unplaced;
+        }
+
+        /**
+         * Разносит по разным стойкам реплики партиций, если стоек не меньше, чем реплик.
+         */
+        private void fixRackViolations() {
+            for (int[] replicas : assignment) {
+                if (replicas.length > rackCount) {
+                    continue;
+                }
+                for (int k = 1; k < replicas.length; k++) {
+                    if (replicas[k] < targetCount && sharesRack(replicas, k, rackOf[replicas[k]])) {
+                        move(replicas, k, null);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Вычисляет среднюю нагрузку брокеров. При размещении по стойкам каждая стойка
+         * получает примерно одну реплику каждой партиции, поэтому среднее считается внутри
+         * стойки: брокеры малочисленной стойки неизбежно загружены сильнее.
+         */
+        private void computeLoadBounds() {
+            minLoad = new int[targetCount];
+            maxLoad = new int[targetCount];
+            int groups = rackAware ? rackCount : 1;
+            long[] groupLoad = new long[groups];
+            int[] groupSize = new int[groups];
+            for (int b = 0; b < targetCount; b++) {
+                int group = rackAware ? rackOf[b] : 0;
+                groupLoad[group] += load[b];
+                groupSize[group]++;
+            }
+            for (int b = 0; b < targetCount; b++) {
+                int group = rackAware ? rackOf[b] : 0;
+                minLoad[b] = (int) (groupLoad[group] / groupSize[group]);
+                maxLoad[b] = (int) ((groupLoad[group] + groupSize[group] - 1) / groupSize[group]);
+            }
+        }
+
+        /**
+         * Один проход выравнивания: реплики с брокеров, загруженных выше границы, переносятся
+         * на брокеры, загруженные ниже границы.
+         *
+         * @param fromAboveMax источник - брокеры выше верхней (true) или нижней (false) границы
+         * @param toBelowMax   приемник - брокеры ниже верхней (true) или нижней (false) границы
+         */
+        private void rebalance(boolean fromAboveMax, boolean toBelowMax) {
+            int[] fromBound = fromAboveMax ? maxLoad : minLoad;
+            int[] toBound = toBelowMax ? maxLoad : minLoad;
+            for (int[] replicas : assignment) {
+                for (int k = 0; k < replicas.length; k++) {
+                    int broker = replicas[k];
+                    if (broker < targetCount && load[broker] > fromBound[broker]) {
+                        move(replicas, k, toBound);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Переносит реплику k на наименее загруженный допустимый брокер, нагрузка которого
+         * ниже его границы (null - без ограничения).
+         */
+        private boolean move(int[] replicas, int k, int[] bound) {
+            int best = -1;
+            for (int candidate = 0; candidate < targetCount; candidate++) {
+                if ((bound != null && load[candidate] >= bound[candidate])
+                        || (best >= 0 && load[candidate] >= load[best])) {
+                    continue;
+                }
+                if (canPlace(replicas, k, candidate)) {
+                    best = candidate;
+                }
+            }
+            if (best < 0) {
+                return false;
+            }
+            load[replicas[k]]--;
+            load[best]++;
+            replicas[k] = best;
+            return true;
+        }
+
+        private boolean canPlace(int[] replicas, int k, int candidate) {
+            for (int j = 0; j < replicas.length; j++) {
+                if (replicas[j] == candidate) {
+                    return false;
+                }
+            }
+            return !rackAware || replicas.length > rackCount || !sharesRack(replicas, k, rackOf[candidate]);
+        }
+
+        /** Есть ли среди реплик, кроме k, реплика в стойке rack. */
+        private boolean sharesRack(int[] replicas, int k, int rack) {
+            for (int j = 0; j < replicas.length; j++) {
+                if (j != k && replicas[j] < targetCount && rackOf[replicas[j]] == rack) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Один проход выравнивания лидеров: лидерство передается реплике той же партиции,
+         * если у ее брокера хотя бы на два лидера меньше. Каждая перестановка уменьшает
+         * разброс, поэтому проходы сходятся.
+         *
+         * @return количество перестановок
+         */
+        private int rebalanceLeaders() {
+            int swaps = 0;
+            for (int[] replicas : assignment) {
+                if (replicas.length < 2 || replicas[0] >= targetCount) {
+                    continue;
+                }
+                int best = -1;
+                for (int j = 1; j < replicas.length; j++) {
+                    int broker = replicas[j];
+                    if (broker < targetCount && leaderLoad[broker] + 1 < leaderLoad[replicas[0]]
+                            && (best < 0 || leaderLoad[broker] < leaderLoad[replicas[best]])) {
+                        best = j;
+                    }
+                }
+                if (best > 0) {
+                    leaderLoad[replicas[0]]--;
+                    leaderLoad[replicas[best]]++;
+                    int leader = replicas[0];
+                    replicas[0] = replicas[best];
+                    replicas[best] = leader;
+                    swaps++;
+                }
+            }
+            return swaps;
+        }
+
+        private ReassignmentPlan buildPlan(int unplaced, long start) {
+            List<ReassignmentPlan.BrokerLoad> brokers = new ArrayList<>(brokerIds.size());
+            for (int b = 0; b < brokerIds.size(); b++) {
+                brokers.add(new ReassignmentPlan.BrokerLoad(brokerIds.get(b), rackByBroker.get(brokerIds.get(b)),
+                        b < targetCount));
+            }
+
+            List<ReassignmentPlan.Move> moves = new ArrayList<>();
+            int movedReplicas = 0;
+            for (int p = 0; p < assignment.length; p++) {
+                int[] before = current.get(p);
+                int[] after = assignment[p];
+                for (int k = 0; k < before.length; k++) {
+                    brokers.get(before[k]).replicasBefore++;
+                    brokers.get(after[k]).replicasAfter++;
+                }
+                if (before.length > 0) {
+                    brokers.get(before[0]).leadersBefore++;
+                    brokers.get(after[0]).leadersAfter++;
+                }
+                if (Arrays.equals(before, after)) {
+                    continue;
+                }
+                Set<Integer> beforeSet = new HashSet<>();
+                for (int broker : before) {
+                    beforeSet.add(broker);
+                }
+                for (int broker : after) {
+                    if (!beforeSet.contains(broker)) {
+                        movedReplicas++;
+                    }
+                }
+                moves.add(new ReassignmentPlan.Move(partitions.get(p), toIds(before), toIds(after)));
+            }
+            brokers.sort(Comparator.comparingInt(ReassignmentPlan.BrokerLoad::getBrokerId));
+            return new ReassignmentPlan(moves, brokers, movedReplicas, unplaced, rackAware,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+
+        private int[] toIds(int[] indexes) {
+            int[] ids = new int[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+                ids[i] = brokerIds.get(indexes[i]);
+            }
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.mycompany.kafkaadmin.topic;
+
+import com.mycompany.kafkaadmin.cluster.BoundedBatchRunner;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.config.ConfigResource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Загружает конфигурации топиков многоресурсными запросами {@code describeConfigs}:
+ * один запрос на пакет топиков вместо запроса на каждый топик, с ограниченным числом
+ * одновременных запросов.
+ */
+public class BatchedConfigDescriber {
+
+    public static final int DEFAULT_BATCH_SIZE = 200;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private final AdminClient adminClient;
+    private final BoundedBatchRunner runner;
+
+    public BatchedConfigDescriber(AdminClient adminClient) {
+        this(adminClient, DEFAULT_BATCH_SIZE, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public BatchedConfigDescriber(AdminClient adminClient, int batchSize, int maxInFlight) {
+        this.adminClient = adminClient;
+        this.runner = new BoundedBatchRunner(batchSize, maxInFlight);
+    }
+
+    /**
+     * Загружает конфигурации пакетами; каждый завершенный пакет передается обработчику.
+     * Метод блокируется до завершения всех отправленных запросов. Топики, удаленные до
+     * ответа, пропускаются.
+     *
+     * @param onBatch   обработчик пакета; вызывается из потока AdminClient
+     * @param cancelled признак отмены - новые пакеты перестают отправляться
+     */
+    public void describe(Collection<String> topicNames, Consumer<Map<String, Config>> onBatch,
+            BooleanSupplier cancelled) throws InterruptedException, ExecutionException {
+        runner.run(new ArrayList<>(topicNames), batch -> {
+            List<ConfigResource> resources = new ArrayList<>(batch.size());
+            for (String name : batch) {
+                resources.add(new ConfigResource(ConfigResource.Type.TOPIC, name));
+            }
+            Map<ConfigResource, KafkaFuture<Config>> futures = adminClient.describeConfigs(resources).values();
+            return BoundedBatchRunner.allDone(futures.values()).thenApply(ignored -> futures);
+        }, (batch, futures, error) -> {
+            Map<String, Config> result = ChunkedTopicDescriber.existingValues(futures, ConfigResource::name);
+            if (!cancelled.getAsBoolean()) {
+                onBatch.accept(result);
+            }
+        }, cancelled);
+    }
+}
@@ -0,0 +1,27 @@
+package com.mycompany.kafkaadmin.topic;
+
+import java.util.Locale;
+
+/**
+ * Форматирование размеров в байтах в удобочитаемый вид (KB, MB, GB...).
+ */
+public final class ByteSizeFormat {
+
+    private static final String[] UNITS = { "B", "KB", "MB", "GB", "TB", "PB" };
+
+    private ByteSizeFormat() {
+    }
+
+    public static String format(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        double value = bytes;
+        int unit = 0;
+        while (value >= 1024 && unit < UNITS.length - 1) {
+            value /= 1024;
+            unit++;
+        }
+        return String.format(Locale.ROOT, "%.1f %s", value, UNITS[unit]);
+    }
+}
@@ -0,0 +1,92 @@
+package com.mycompany.kafkaadmin.topic;
+
+import com.mycompany.kafkaadmin.cluster.BoundedBatchRunner;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Описывает топики порциями фиксированного размера с ограниченным числом одновременных
+ * запросов {@code describeTopics}. Каждая завершенная порция сразу передается обработчику,
+ * поэтому первые результаты доступны задолго до окончания загрузки всего кластера.
+ */
+public class ChunkedTopicDescriber {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedTopicDescriber.class);
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private final AdminClient adminClient;
+    private final BoundedBatchRunner runner;
+
+    public ChunkedTopicDescriber(AdminClient adminClient) {
+        this(adminClient, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public ChunkedTopicDescriber(AdminClient adminClient, int chunkSize, int maxInFlight) {
+        this.adminClient = adminClient;
+        this.runner = new BoundedBatchRunner(chunkSize, maxInFlight);
+    }
+
+    /**
+     * Описывает переданные топики порциями. Метод блокируется до завершения всех
+     * отправленных запросов.
+     *
+     * @param topicNames имена топиков
+     * @param onChunk    обработчик завершенной порции; вызывается из потока AdminClient
+     * @param cancelled  признак отмены - новые порции перестают отправляться
+     * @throws ExecutionException если хотя бы одна порция завершилась ошибкой
+     */
+    public void describe(Collection<String> topicNames, Consumer<Map<String, TopicDescription>> onChunk,
+            BooleanSupplier cancelled) throws InterruptedException, ExecutionException {
+        runner.run(new ArrayList<>(topicNames), chunk -> {
+            Map<String, KafkaFuture<TopicDescription>> futures = adminClient.describeTopics(chunk).topicNameValues();
+            return BoundedBatchRunner.allDone(futures.values()).thenApply(ignored -> futures);
+        }, (chunk, futures, error) -> {
+            // Топики, удаленные между listTopics и describeTopics, пропускаются, а не проваливают порцию
+            Map<String, TopicDescription> result = existingValues(futures, name -> name);
+            if (!cancelled.getAsBoolean()) {
+                onChunk.accept(result);
+            }
+        }, cancelled);
+    }
+
+    /**
+     * Результаты завершенных запросов по топикам, кроме топиков, удаленных до ответа.
+     *
+     * @param nameOf имя топика по ключу запроса
+     * @throws CompletionException с первой ошибкой другого рода
+     */
+    static <K, V> Map<String, V> existingValues(Map<K, KafkaFuture<V>> futures, Function<K, String> nameOf) {
+        Map<String, V> result = new HashMap<>(futures.size() * 2);
+        for (Map.Entry<K, KafkaFuture<V>> entry : futures.entrySet()) {
+            String name = nameOf.apply(entry.getKey());
+            try {
+                result.put(name, entry.getValue().getNow(null));
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof UnknownTopicOrPartitionException)) {
+                    throw new CompletionException(e.getCause());
+                }
+                log.debug("Topic '{}' disappeared before it could be described", name);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+package com.mycompany.kafkaadmin.topic;
+
+/**
+ * Стабильная сортировка слиянием для массивов int с пользовательским компаратором.
+ * Позволяет сортировать индексы строк без упаковки в {@code Integer}.
+ */
+final class IntSorter {
+
+    /**
+     * Компаратор для примитивных int.
+     */
+    @FunctionalInterface
+    interface IntComparator {
+        int compare(int a, int b);
+    }
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private IntSorter() {
+    }
+
+    /**
+     * Сортирует первые {@code length} элементов массива.
+     */
+    static void sort(int[] array, int length, IntComparator comparator) {
+        if (length < 2) {
+            return;
+        }
+        int[] buffer = new int[length];
+        System.arraycopy(array, 0, buffer, 0, length);
+        mergeSort(buffer, array, 0, length, comparator);
+    }
+
+    // src и dst содержат одинаковые данные на входе; результат оказывается в dst
+    private static void mergeSort(int[] src, int[] dst, int from, int to, IntComparator comparator) {
+        int length = to - from;
+        if (length <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int value = dst[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(dst[j], value) > 0) {
+                    dst[j + 1] = dst[j];
+                    j--;
+                }
+                dst[j + 1] = value;
+            }
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        mergeSort(dst, src, from, mid, comparator);
+        mergeSort(dst, src, mid, to, comparator);
+
+        // Половины уже упорядочены друг относительно друга
+        if (comparator.compare(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, from, dst, from, length);
+            return;
+        }
+
+        for (int i = from, p = from, q = mid; i < to; i++) {
+            if (q >= to || (p < mid && comparator.compare(src[p], src[q]) <= 0)) {
+                dst[i] = src[p++];
+            } else {
+                dst[i] = src[q++];
+            }
+        }
+    }
+}
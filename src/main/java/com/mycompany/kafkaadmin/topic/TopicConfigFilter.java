@@ -0,0 +1,170 @@
+package com.mycompany.kafkaadmin.topic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Фильтр топиков по значениям конфигурации.
+ * <p>
+ * Синтаксис: одно или несколько условий {@code ключ оператор значение}, разделенных
+ * {@code &&}, например {@code cleanup.policy=compact && retention.ms>=604800000}.
+ * Операторы: {@code = != > >= < <=} и {@code ~} (содержит). Если оба значения - целые числа,
+ * сравнение числовое, иначе строковое. Топик без загруженного значения не проходит фильтр.
+ */
+public class TopicConfigFilter {
+
+    // Порядок важен: двухсимвольные операторы проверяются раньше односимвольных
+    private static final String[] OPERATORS = { ">=", "<=", "!=", "=", ">", "<", "~" };
+
+    private final List<Condition> conditions;
+
+    private TopicConfigFilter(List<Condition> conditions) {
+        this.conditions = Collections.unmodifiableList(conditions);
+    }
+
+    /**
+     * Разбирает выражение фильтра.
+     *
+     * @throws IllegalArgumentException если выражение некорректно
+     */
+    public static TopicConfigFilter parse(String text) {
+        List<Condition> conditions = new ArrayList<>();
+        for (String part : text.split("&&")) {
+            String condition = part.trim();
+            if (condition.isEmpty()) {
+                throw new IllegalArgumentException("Empty condition");
+            }
+            conditions.add(parseCondition(condition));
+        }
+        return new TopicConfigFilter(conditions);
+    }
+
+    private static Condition parseCondition(String text) {
+        int bestIndex = -1;
+        String bestOperator = null;
+        for (String operator : OPERATORS) {
+            int index = text.indexOf(operator);
+            if (index > 0 && (bestIndex < 0 || index < bestIndex)) {
+                bestIndex = index;
+                bestOperator = operator;
+            }
+        }
+        if (bestOperator == null) {
+            throw new IllegalArgumentException("No operator in condition: " + text);
+        }
+        // На одной позиции двухсимвольный оператор имеет приоритет (">=" вместо ">")
+        for (String operator : OPERATORS) {
+            if (operator.length() == 2 && text.startsWith(operator, bestIndex)) {
+                bestOperator = operator;
+                break;
+            }
+        }
+        String key = text.substring(0, bestIndex).trim();
+        String value = text.substring(bestIndex + bestOperator.length()).trim();
+        if (key.isEmpty()) {
+            throw new IllegalArgumentException("No config key in condition: " + text);
+        }
+        return new Condition(key, bestOperator, value);
+    }
+
+    /**
+     * Ключи конфигурации, используемые в фильтре.
+     */
+    public List<String> getKeys() {
+        List<String> keys = new ArrayList<>(conditions.size());
+        for (Condition condition : conditions) {
+            keys.add(condition.key);
+        }
+        return keys;
+    }
+
+    /**
+     * Предикат по имени топика по снимку хранилища конфигураций на момент вызова: результат
+     * для топика не меняется, пока фильтр не построен заново (например, после загрузки
+     * конфигураций или вытеснения удаленного топика из хранилища).
+     */
+    public Predicate<String> toPredicate(TopicConfigStore store) {
+        Map<String, String[]> snapshot = store.snapshot(getKeys());
+        return topicName -> {
+            String[] values = snapshot.get(topicName);
+            if (values == null) {
+                return false;
+            }
+            for (int i = 0; i < conditions.size(); i++) {
+                if (!conditions.get(i).matches(values[i])) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Сравнивает значения конфигурации: null меньше любого значения, числа сравниваются
+     * численно и идут раньше нечисловых значений.
+     */
+    public static int compareValues(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        Long left = parseLong(a);
+        Long right = parseLong(b);
+        if (left != null && right != null) {
+            return Long.compare(left, right);
+        }
+        if (left != null || right != null) {
+            return left != null ? -1 : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    static Long parseLong(String value) {
+        if (value == null || value.isEmpty() || value.length() > 19) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class Condition {
+        private final String key;
+        private final String operator;
+        private final String value;
+
+        Condition(String key, String operator, String value) {
+            this.key = key;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        boolean matches(String actual) {
+            if (actual == null) {
+                return false;
+            }
+            switch (operator) {
+                case "~":
+                    return actual.contains(value);
+                case "=":
+                    return compareValues(actual, value) == 0;
+                case "!=":
+                    return compareValues(actual, value) != 0;
+                case ">":
+                    return compareValues(actual, value) > 0;
+                case ">=":
+                    return compareValues(actual, value) >= 0;
+                case "<":
+                    return compareValues(actual, value) < 0;
+                case "<=":
+                    return compareValues(actual, value) <= 0;
+                default:
+                    return false;
+            }
+        }
+    }
+}
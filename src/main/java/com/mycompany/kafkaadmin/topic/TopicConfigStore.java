@@ -0,0 +1,137 @@
+package com.mycompany.kafkaadmin.topic;
+
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Компактное хранилище конфигураций топиков одного кластера.
+ * <p>
+ * Имена параметров хранятся один раз в общем словаре, а для каждого топика - только
+ * массив значений по номеру параметра. Значения интернируются: одинаковые строки
+ * ({@code "delete"}, {@code "604800000"} и т.п.) у тысяч топиков указывают на один объект.
+ * <p>
+ * Потокобезопасно: заполняется из потоков AdminClient, читается из EDT и потока фильтрации.
+ */
+public class TopicConfigStore {
+
+    private final Map<String, Integer> keyIds = new HashMap<>();
+    private final List<String> keys = new ArrayList<>();
+    private final Map<String, String> valuePool = new HashMap<>();
+    private final Map<String, String[]> valuesByTopic = new HashMap<>();
+
+    /**
+     * Сохраняет конфигурацию топика, заменяя предыдущую.
+     */
+    public synchronized void put(String topicName, Config config) {
+        Collection<ConfigEntry> entries = config.entries();
+        int[] ids = new int[entries.size()];
+        int i = 0;
+        for (ConfigEntry entry : entries) {
+            ids[i++] = keyId(entry.name());
+        }
+        String[] values = new String[keys.size()];
+        i = 0;
+        for (ConfigEntry entry : entries) {
+            String value = entry.value();
+            values[ids[i++]] = value != null ? valuePool.computeIfAbsent(value, v -> v) : null;
+        }
+        valuesByTopic.put(topicName, values);
+    }
+
+    public synchronized void putAll(Map<String, Config> configs) {
+        configs.forEach(this::put);
+    }
+
+    /**
+     * Возвращает значение параметра топика или null, если топик или параметр неизвестны.
+     */
+    public synchronized String get(String topicName, String key) {
+        Integer id = keyIds.get(key);
+        String[] values = id != null ? valuesByTopic.get(topicName) : null;
+        return values != null && id < values.length ? values[id] : null;
+    }
+
+    /**
+     * Снимок значений параметров {@code keys} всех топиков: для каждого топика массив
+     * значений в порядке ключей (null - параметр неизвестен).
+     */
+    public synchronized Map<String, String[]> snapshot(List<String> keys) {
+        int[] ids = new int[keys.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Integer id = keyIds.get(keys.get(i));
+            ids[i] = id != null ? id : -1;
+        }
+        Map<String, String[]> result = new HashMap<>(valuesByTopic.size() * 2);
+        valuesByTopic.forEach((topicName, values) -> {
+            String[] selected = new String[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                selected[i] = ids[i] >= 0 && ids[i] < values.length ? values[ids[i]] : null;
+            }
+            result.put(topicName, selected);
+        });
+        return result;
+    }
+
+    public synchronized boolean contains(String topicName) {
+        return valuesByTopic.containsKey(topicName);
+    }
+
+    public synchronized void remove(String topicName) {
+        valuesByTopic.remove(topicName);
+    }
+
+    public synchronized void removeAll(Collection<String> topicNames) {
+        for (String name : topicNames) {
+            valuesByTopic.remove(name);
+        }
+    }
+
+    /**
+     * Возвращает топики из переданного списка, конфигурация которых еще не загружена.
+     */
+    public synchronized List<String> missing(Collection<String> topicNames) {
+        List<String> result = new ArrayList<>();
+        for (String name : topicNames) {
+            if (!valuesByTopic.containsKey(name)) {
+                result.add(name);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Все известные имена параметров в алфавитном порядке.
+     */
+    public synchronized List<String> knownKeys() {
+        String[] sorted = keys.toArray(new String[0]);
+        Arrays.sort(sorted);
+        return Collections.unmodifiableList(Arrays.asList(sorted));
+    }
+
+    public synchronized int size() {
+        return valuesByTopic.size();
+    }
+
+    public synchronized void clear() {
+        valuesByTopic.clear();
+        valuePool.clear();
+    }
+
+    private int keyId(String key) {
+        Integer id = keyIds.get(key);
+        if (id == null) {
+            id = keys.size();
+            keys.add(key);
+            keyIds.put(key, id);
+        }
+        return id;
+    }
+}
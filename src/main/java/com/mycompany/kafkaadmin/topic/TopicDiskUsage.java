@@ -0,0 +1,74 @@
+package com.mycompany.kafkaadmin.topic;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Снимок размеров топиков на диске, собранный через {@code describeLogDirs}.
+ */
+public class TopicDiskUsage {
+
+    private final Map<String, Usage> usageByTopic;
+    private final long collectedAtMs;
+    private final int brokerCount;
+    private final int failedBrokerCount;
+
+    public TopicDiskUsage(Map<String, Usage> usageByTopic, long collectedAtMs, int brokerCount,
+            int failedBrokerCount) {
+        this.usageByTopic = Collections.unmodifiableMap(usageByTopic);
+        this.collectedAtMs = collectedAtMs;
+        this.brokerCount = brokerCount;
+        this.failedBrokerCount = failedBrokerCount;
+    }
+
+    public Usage get(String topicName) {
+        return usageByTopic.get(topicName);
+    }
+
+    public Map<String, Usage> getUsageByTopic() {
+        return usageByTopic;
+    }
+
+    public long getCollectedAtMs() {
+        return collectedAtMs;
+    }
+
+    public int getBrokerCount() {
+        return brokerCount;
+    }
+
+    /** Брокеры, которые не ответили - данные по их репликам отсутствуют. */
+    public int getFailedBrokerCount() {
+        return failedBrokerCount;
+    }
+
+    /**
+     * Размеры одного топика в байтах.
+     */
+    public static class Usage {
+        private final long totalBytes;
+        private final long leaderBytes;
+        private final long largestPartitionBytes;
+
+        public Usage(long totalBytes, long leaderBytes, long largestPartitionBytes) {
+            this.totalBytes = totalBytes;
+            this.leaderBytes = leaderBytes;
+            this.largestPartitionBytes = largestPartitionBytes;
+        }
+
+        /** Сумма размеров всех реплик. */
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+
+        /** Сумма размеров лидерских реплик (объем данных без учета репликации). */
+        public long getLeaderBytes() {
+            return leaderBytes;
+        }
+
+        /** Размер самой большой партиции (по наибольшей реплике). */
+        public long getLargestPartitionBytes() {
+            return largestPartitionBytes;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.mycompany.kafkaadmin.topic;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.LogDirDescription;
+import org.apache.kafka.clients.admin.ReplicaInfo;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Собирает размеры топиков на диске со всех брокеров кластера.
+ * <p>
+ * Запрос {@code describeLogDirs} отправляется всем брокерам одновременно, и ответ каждого
+ * брокера сразу разбирается в потоке AdminClient: размеры реплик суммируются в
+ * аккумуляторы по топикам, без промежуточного списка всех реплик кластера. Лидер партиции
+ * берется из {@link TopicMetadataCache}.
+ */
+public class TopicDiskUsageCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicDiskUsageCollector.class);
+
+    private final AdminClient adminClient;
+    private final TopicMetadataCache metadataCache;
+
+    public TopicDiskUsageCollector(AdminClient adminClient, TopicMetadataCache metadataCache) {
+        this.adminClient = adminClient;
+        this.metadataCache = metadataCache;
+    }
+
+    /**
+     * Собирает размеры. Брокеры, не ответившие на запрос, пропускаются и учитываются в
+     * {@link TopicDiskUsage#getFailedBrokerCount()}.
+     */
+    public TopicDiskUsage collect() throws InterruptedException, ExecutionException {
+        Collection<Node> nodes = adminClient.describeCluster().nodes().get();
+        List<Integer> brokerIds = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            brokerIds.add(node.id());
+        }
+
+        Map<String, Accumulator> accumulators = new HashMap<>();
+        CountDownLatch remaining = new CountDownLatch(brokerIds.size());
+        AtomicInteger failedBrokers = new AtomicInteger();
+
+        Map<Integer, KafkaFuture<Map<String, LogDirDescription>>> futures = adminClient
+                .describeLogDirs(brokerIds).descriptions();
+        for (Map.Entry<Integer, KafkaFuture<Map<String, LogDirDescription>>> entry : futures.entrySet()) {
+            int brokerId = entry.getKey();
+            entry.getValue().whenComplete((logDirs, error) -> {
+                try {
+                    if (error != null) {
+                        failedBrokers.incrementAndGet();
+                        log.warn("describeLogDirs failed for broker {}: {}", brokerId, error.getMessage());
+                    } else {
+                        synchronized (accumulators) {
+                            accumulate(brokerId, logDirs, accumulators);
+                        }
+                    }
+                } finally {
+                    remaining.countDown();
+                }
+            });
+        }
+        remaining.await();
+
+        Map<String, TopicDiskUsage.Usage> result = new HashMap<>(accumulators.size() * 2);
+        synchronized (accumulators) {
+            accumulators.forEach((topic, accumulator) -> result.put(topic, accumulator.toUsage()));
+        }
+        return new TopicDiskUsage(result, System.currentTimeMillis(), brokerIds.size(), failedBrokers.get());
+    }
+
+    private void accumulate(int brokerId, Map<String, LogDirDescription> logDirs,
+            Map<String, Accumulator> accumulators) {
+        for (LogDirDescription logDir : logDirs.values()) {
+            if (logDir.error() != null) {
+                log.warn("Log dir on broker {} is offline: {}", brokerId, logDir.error().getMessage());
+                continue;
+            }
+            for (Map.Entry<TopicPartition, ReplicaInfo> replica : logDir.replicaInfos().entrySet()) {
+                if (replica.getValue().isFuture()) {
+                    continue; // Будущая реплика при перемещении между каталогами - не считаем дважды
+                }
+                TopicPartition tp = replica.getKey();
+                accumulators.computeIfAbsent(tp.topic(), topic -> new Accumulator(metadataCache.get(topic)))
+                        .add(tp.partition(), brokerId, replica.getValue().size());
+            }
+        }
+    }
+
+    /**
+     * Аккумулятор размеров одного топика.
+     */
+    private static final class Accumulator {
+        private final int[] leaderByPartition;
+        private long totalBytes;
+        private long[] leaderBytes;
+        private long[] largestReplicaBytes;
+
+        Accumulator(TopicDescription description) {
+            int partitionCount = description != null ? description.partitions().size() : 0;
+            leaderByPartition = new int[partitionCount];
+            Arrays.fill(leaderByPartition, -1);
+            if (description != null) {
+                for (TopicPartitionInfo partition : description.partitions()) {
+                    if (partition.partition() < partitionCount && partition.leader() != null) {
+                        leaderByPartition[partition.partition()] = partition.leader().id();
+                    }
+                }
+            }
+            leaderBytes = new long[Math.max(partitionCount, 1)];
+            largestReplicaBytes = new long[Math.max(partitionCount, 1)];
+        }
+
+        void add(int partition, int brokerId, long size) {
+            if (partition >= largestReplicaBytes.length) {
+                int newLength = Math.max(partition + 1, largestReplicaBytes.length * 2);
+                leaderBytes = Arrays.copyOf(leaderBytes, newLength);
+                largestReplicaBytes = Arrays.copyOf(largestReplicaBytes, newLength);
+            }
+            totalBytes += size;
+            if (partition < leaderByPartition.length && leaderByPartition[partition] == brokerId) {
+                leaderBytes[partition] = size;
+            }
+            largestReplicaBytes[partition] = Math.max(largestReplicaBytes[partition], size);
+        }
+
+        TopicDiskUsage.Usage toUsage() {
+            long leaderTotal = 0;
+            long largest = 0;
+            for (int p = 0; p < largestReplicaBytes.length; p++) {
+                leaderTotal += leaderBytes[p];
+                largest = Math.max(largest, largestReplicaBytes[p]);
+            }
+            return new TopicDiskUsage.Usage(totalBytes, leaderTotal, largest);
+        }
+    }
+}
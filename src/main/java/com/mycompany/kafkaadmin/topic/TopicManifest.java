@@ -0,0 +1,92 @@
+package com.mycompany.kafkaadmin.topic;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Декларативное описание желаемого состояния топиков.
+ * <p>
+ * Формат JSON - массив топиков или объект с полем {@code topics}:
+ * <pre>
+ * { "topics": [
+ *     { "name": "orders", "partitions": 12, "replicationFactor": 3,
+ *       "configs": { "retention.ms": "604800000", "cleanup.policy": "delete" } }
+ * ] }
+ * </pre>
+ * Поля {@code partitions} и {@code replicationFactor} необязательны - для новых топиков
+ * тогда используются значения брокера по умолчанию.
+ */
+public class TopicManifest {
+
+    private final List<TopicSpec> topics;
+
+    private TopicManifest(List<TopicSpec> topics) {
+        this.topics = Collections.unmodifiableList(topics);
+    }
+
+    /**
+     * Загружает и проверяет манифест.
+     *
+     * @throws IOException              если файл не удалось прочитать или разобрать
+     * @throws IllegalArgumentException если манифест содержит некорректные значения
+     */
+    public static TopicManifest load(File file) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        JsonNode root = objectMapper.readTree(file);
+        JsonNode topicsNode = root.isArray() ? root : root.get("topics");
+        if (topicsNode == null || !topicsNode.isArray()) {
+            throw new IllegalArgumentException("Manifest must be a JSON array of topics or an object with a 'topics' array");
+        }
+        List<TopicSpec> topics = objectMapper.convertValue(topicsNode, new TypeReference<List<TopicSpec>>() {});
+        validate(topics);
+        return new TopicManifest(topics);
+    }
+
+    private static void validate(List<TopicSpec> topics) {
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < topics.size(); i++) {
+            TopicSpec spec = topics.get(i);
+            if (spec.name == null || spec.name.trim().isEmpty()) {
+                throw new IllegalArgumentException("Topic #" + (i + 1) + " has no name");
+            }
+            if (!names.add(spec.name)) {
+                throw new IllegalArgumentException("Duplicate topic in manifest: " + spec.name);
+            }
+            if (spec.partitions != null && spec.partitions <= 0) {
+                throw new IllegalArgumentException("Topic '" + spec.name + "': partitions must be positive");
+            }
+            if (spec.replicationFactor != null && spec.replicationFactor <= 0) {
+                throw new IllegalArgumentException("Topic '" + spec.name + "': replicationFactor must be positive");
+            }
+            if (spec.configs == null) {
+                spec.configs = new LinkedHashMap<>();
+            }
+        }
+    }
+
+    public List<TopicSpec> getTopics() {
+        return topics;
+    }
+
+    /**
+     * Желаемое состояние одного топика (поля заполняются Jackson).
+     */
+    public static class TopicSpec {
+        public String name;
+        public Integer partitions;
+        public Short replicationFactor;
+        public Map<String, String> configs = new LinkedHashMap<>();
+    }
+}
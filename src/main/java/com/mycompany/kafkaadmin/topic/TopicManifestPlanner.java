@@ -0,0 +1,127 @@
+package com.mycompany.kafkaadmin.topic;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.TopicDescription;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Сравнивает манифест с текущим состоянием кластера и строит {@link TopicPlan}.
+ * <p>
+ * Метаданные и конфигурации топиков манифеста загружаются пакетными запросами
+ * ({@link ChunkedTopicDescriber}, {@link BatchedConfigDescriber}) - не из кэша, чтобы план
+ * строился по актуальному состоянию.
+ */
+public class TopicManifestPlanner {
+
+    private final AdminClient adminClient;
+
+    public TopicManifestPlanner(AdminClient adminClient) {
+        this.adminClient = adminClient;
+    }
+
+    public TopicPlan plan(TopicManifest manifest, BooleanSupplier cancelled)
+            throws InterruptedException, ExecutionException {
+        List<String> names = new ArrayList<>();
+        for (TopicManifest.TopicSpec spec : manifest.getTopics()) {
+            names.add(spec.name);
+        }
+
+        Map<String, TopicDescription> descriptions = new ConcurrentHashMap<>();
+        new ChunkedTopicDescriber(adminClient).describe(names, descriptions::putAll, cancelled);
+
+        // Конфигурации нужны только существующим топикам, для которых в манифесте есть configs
+        List<String> needConfigs = new ArrayList<>();
+        for (TopicManifest.TopicSpec spec : manifest.getTopics()) {
+            if (descriptions.containsKey(spec.name) && !spec.configs.isEmpty()) {
+                needConfigs.add(spec.name);
+            }
+        }
+        Map<String, Config> configs = new ConcurrentHashMap<>();
+        new BatchedConfigDescriber(adminClient).describe(needConfigs, configs::putAll, cancelled);
+
+        List<TopicPlan.Item> items = new ArrayList<>();
+        int unchanged = 0;
+        for (TopicManifest.TopicSpec spec : manifest.getTopics()) {
+            TopicDescription description = descriptions.get(spec.name);
+            if (description == null) {
+                items.add(createItem(spec));
+                continue;
+            }
+            int before = items.size();
+            planExisting(spec, description, configs.get(spec.name), items);
+            if (items.size() == before) {
+                unchanged++;
+            }
+        }
+        return new TopicPlan(items, unchanged);
+    }
+
+    private static TopicPlan.Item createItem(TopicManifest.TopicSpec spec) {
+        StringBuilder details = new StringBuilder();
+        details.append("partitions=").append(spec.partitions != null ? spec.partitions : "default");
+        details.append(", replicationFactor=").append(spec.replicationFactor != null ? spec.replicationFactor : "default");
+        if (!spec.configs.isEmpty()) {
+            details.append(", configs=").append(spec.configs);
+        }
+        return new TopicPlan.Item(TopicPlan.Action.CREATE, spec.name, details.toString(), spec.partitions,
+                spec.replicationFactor, spec.configs);
+    }
+
+    private static void planExisting(TopicManifest.TopicSpec spec, TopicDescription description, Config config,
+            List<TopicPlan.Item> items) {
+        int currentPartitions = description.partitions().size();
+        if (spec.partitions != null) {
+            if (spec.partitions > currentPartitions) {
+                items.add(new TopicPlan.Item(TopicPlan.Action.ADD_PARTITIONS, spec.name,
+                        currentPartitions + " -> " + spec.partitions, spec.partitions, null, Collections.emptyMap()));
+            } else if (spec.partitions < currentPartitions) {
+                items.add(warning(spec.name, "Partition count cannot be decreased: cluster has " + currentPartitions
+                        + ", manifest wants " + spec.partitions));
+            }
+        }
+
+        if (spec.replicationFactor != null && !description.partitions().isEmpty()) {
+            int currentReplicas = description.partitions().get(0).replicas().size();
+            if (currentReplicas != spec.replicationFactor) {
+                items.add(warning(spec.name, "Replication factor differs: cluster has " + currentReplicas
+                        + ", manifest wants " + spec.replicationFactor + " (use partition reassignment)"));
+            }
+        }
+
+        if (!spec.configs.isEmpty()) {
+            Map<String, String> changed = new LinkedHashMap<>();
+            StringBuilder details = new StringBuilder();
+            for (Map.Entry<String, String> desired : spec.configs.entrySet()) {
+                ConfigEntry current = config != null ? config.get(desired.getKey()) : null;
+                String currentValue = current != null ? current.value() : null;
+                if (!Objects.equals(currentValue, desired.getValue())) {
+                    changed.put(desired.getKey(), desired.getValue());
+                    if (details.length() > 0) {
+                        details.append(", ");
+                    }
+                    details.append(desired.getKey()).append(": ").append(currentValue)
+                            .append(" -> ").append(desired.getValue());
+                }
+            }
+            if (!changed.isEmpty()) {
+                items.add(new TopicPlan.Item(TopicPlan.Action.ALTER_CONFIGS, spec.name, details.toString(), null,
+                        null, changed));
+            }
+        }
+    }
+
+    private static TopicPlan.Item warning(String topic, String message) {
+        return new TopicPlan.Item(TopicPlan.Action.WARNING, topic, message, null, null, Collections.emptyMap());
+    }
+}
@@ -0,0 +1,221 @@
+package com.mycompany.kafkaadmin.topic;
+
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.admin.TopicListing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Кэш метаданных топиков одного кластера, индексированный по имени топика.
+ * <p>
+ * При обновлении кэш сравнивается с результатом {@code listTopics}: заново описываются
+ * только новые топики, топики с изменившимся ID (пересозданные) и записи старше TTL.
+ * Удаленные топики вытесняются из кэша.
+ */
+public class TopicMetadataCache {
+
+    public static final long DEFAULT_TTL_MS = 5 * 60 * 1000L;
+
+    private static final Map<String, TopicMetadataCache> CACHES = new ConcurrentHashMap<>();
+
+    private final Map<String, Entry> entriesByName = new ConcurrentHashMap<>();
+    private final long ttlMs;
+    private volatile TopicDiskUsage diskUsage; // Последний собранный снимок размеров на диске
+    private final TopicConfigStore configStore = new TopicConfigStore(); // Конфигурации топиков
+
+    public TopicMetadataCache(long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * Возвращает кэш для кластера, создавая его при первом обращении.
+     *
+     * @param clusterId ID конфигурации кластера
+     */
+    public static TopicMetadataCache forCluster(String clusterId) {
+        return CACHES.computeIfAbsent(clusterId,
+                id -> new TopicMetadataCache(Long.getLong("kafkaadmin.topics.metadataTtlMs", DEFAULT_TTL_MS)));
+    }
+
+    /**
+     * Удаляет кэш кластера (например, при удалении конфигурации).
+     */
+    public static void forget(String clusterId) {
+        CACHES.remove(clusterId);
+    }
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    /**
+     * Последний собранный снимок размеров топиков на диске или null.
+     */
+    public TopicDiskUsage getDiskUsage() {
+        return diskUsage;
+    }
+
+    public void setDiskUsage(TopicDiskUsage diskUsage) {
+        this.diskUsage = diskUsage;
+    }
+
+    /**
+     * Хранилище конфигураций топиков кластера. Конфигурации вытесняются вместе с топиками
+     * и сбрасываются при пересоздании или инвалидации топика.
+     */
+    public TopicConfigStore getConfigStore() {
+        return configStore;
+    }
+
+    /**
+     * Сравнивает список топиков кластера с кэшем.
+     *
+     * @param listings результат {@code listTopics().listings()}
+     * @param nowMs    текущее время
+     * @return план обновления: что нужно описать заново и что удалить
+     */
+    public RefreshPlan plan(Collection<TopicListing> listings, long nowMs) {
+        List<String> toDescribe = new ArrayList<>();
+        Set<String> liveNames = new HashSet<>(listings.size() * 2);
+        for (TopicListing listing : listings) {
+            String name = listing.name();
+            liveNames.add(name);
+            Entry entry = entriesByName.get(name);
+            if (entry == null
+                    || !Objects.equals(entry.description.topicId(), listing.topicId())
+                    || nowMs - entry.describedAtMs >= ttlMs) {
+                toDescribe.add(name);
+            }
+        }
+
+        Set<String> removed = new HashSet<>();
+        for (String name : entriesByName.keySet()) {
+            if (!liveNames.contains(name)) {
+                removed.add(name);
+            }
+        }
+        return new RefreshPlan(toDescribe, removed, liveNames);
+    }
+
+    /**
+     * Помещает описание топика в кэш.
+     *
+     * @return результат сравнения с предыдущим описанием
+     */
+    public PutResult put(TopicDescription description, long nowMs) {
+        Entry previous = entriesByName.put(description.name(), new Entry(description, nowMs));
+        if (previous == null) {
+            return PutResult.ADDED;
+        }
+        if (!Objects.equals(previous.description.topicId(), description.topicId())) {
+            configStore.remove(description.name()); // Топик пересоздан - конфигурация другая
+            return PutResult.CHANGED;
+        }
+        return previous.description.equals(description) ? PutResult.UNCHANGED : PutResult.CHANGED;
+    }
+
+    /**
+     * Вытесняет топики из кэша.
+     */
+    public void evict(Collection<String> topicNames) {
+        for (String name : topicNames) {
+            entriesByName.remove(name);
+        }
+        configStore.removeAll(topicNames);
+    }
+
+    /**
+     * Помечает топики устаревшими, чтобы при следующем обновлении они были описаны заново
+     * независимо от TTL (например, после изменения числа партиций).
+     */
+    public void invalidate(Collection<String> topicNames) {
+        for (String name : topicNames) {
+            entriesByName.computeIfPresent(name, (key, entry) -> new Entry(entry.description, Long.MIN_VALUE / 2));
+        }
+    }
+
+    public TopicDescription get(String topicName) {
+        Entry entry = entriesByName.get(topicName);
+        return entry != null ? entry.description : null;
+    }
+
+    /**
+     * Снимок всех закэшированных описаний.
+     */
+    public List<TopicDescription> descriptions() {
+        List<TopicDescription> result = new ArrayList<>(entriesByName.size());
+        for (Entry entry : entriesByName.values()) {
+            result.add(entry.description);
+        }
+        return result;
+    }
+
+    public Set<String> topicNames() {
+        return Collections.unmodifiableSet(entriesByName.keySet());
+    }
+
+    public int size() {
+        return entriesByName.size();
+    }
+
+    public void clear() {
+        entriesByName.clear();
+        diskUsage = null;
+        configStore.clear();
+    }
+
+    /**
+     * Результат {@link #put}.
+     */
+    public enum PutResult {
+        ADDED, CHANGED, UNCHANGED
+    }
+
+    /**
+     * План обновления кэша.
+     */
+    public static class RefreshPlan {
+        private final List<String> toDescribe;
+        private final Set<String> removed;
+        private final Set<String> liveNames;
+
+        RefreshPlan(List<String> toDescribe, Set<String> removed, Set<String> liveNames) {
+            this.toDescribe = toDescribe;
+            this.removed = removed;
+            this.liveNames = liveNames;
+        }
+
+        /** Новые, пересозданные и устаревшие топики. */
+        public List<String> getToDescribe() {
+            return toDescribe;
+        }
+
+        /** Топики, которых больше нет в кластере. */
+        public Set<String> getRemoved() {
+            return removed;
+        }
+
+        /** Все топики, существующие в кластере. */
+        public Set<String> getLiveNames() {
+            return liveNames;
+        }
+    }
+
+    private static class Entry {
+        final TopicDescription description;
+        final long describedAtMs;
+
+        Entry(TopicDescription description, long describedAtMs) {
+            this.description = description;
+            this.describedAtMs = describedAtMs;
+        }
+    }
+}
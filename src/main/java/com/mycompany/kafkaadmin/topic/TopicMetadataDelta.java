@@ -0,0 +1,50 @@
+package com.mycompany.kafkaadmin.topic;
+
+import org.apache.kafka.clients.admin.TopicDescription;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Изменения метаданных топиков между двумя обновлениями: добавленные, удаленные и
+ * измененные топики.
+ */
+public class TopicMetadataDelta {
+
+    private final List<TopicDescription> added = new ArrayList<>();
+    private final List<TopicDescription> changed = new ArrayList<>();
+    private final Set<String> removed = new HashSet<>();
+
+    public static TopicMetadataDelta removed(Collection<String> topicNames) {
+        TopicMetadataDelta delta = new TopicMetadataDelta();
+        delta.removed.addAll(topicNames);
+        return delta;
+    }
+
+    public void addAdded(TopicDescription description) {
+        added.add(description);
+    }
+
+    public void addChanged(TopicDescription description) {
+        changed.add(description);
+    }
+
+    public List<TopicDescription> getAdded() {
+        return added;
+    }
+
+    public List<TopicDescription> getChanged() {
+        return changed;
+    }
+
+    public Set<String> getRemoved() {
+        return removed;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+}
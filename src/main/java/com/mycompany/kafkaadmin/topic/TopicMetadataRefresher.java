@@ -0,0 +1,92 @@
+package com.mycompany.kafkaadmin.topic;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.admin.TopicListing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Обновляет {@link TopicMetadataCache} по текущему состоянию кластера: сравнивает
+ * {@code listTopics} с кэшем, вытесняет удаленные топики и порциями описывает новые,
+ * пересозданные и устаревшие топики. Изменения передаются слушателю в виде дельт.
+ */
+public class TopicMetadataRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicMetadataRefresher.class);
+
+    /**
+     * Слушатель хода обновления. Методы вызываются из фонового потока и потоков AdminClient.
+     */
+    public interface Listener {
+        /** План обновления построен. */
+        default void onPlan(TopicMetadataCache.RefreshPlan plan) {
+        }
+
+        /**
+         * Готова очередная дельта.
+         *
+         * @param describedTopics сколько топиков описано в этой порции
+         */
+        void onDelta(TopicMetadataDelta delta, int describedTopics);
+    }
+
+    private final AdminClient adminClient;
+    private final TopicMetadataCache cache;
+    private final int chunkSize;
+    private final int maxInFlight;
+
+    public TopicMetadataRefresher(AdminClient adminClient, TopicMetadataCache cache) {
+        this(adminClient, cache, ChunkedTopicDescriber.DEFAULT_CHUNK_SIZE, ChunkedTopicDescriber.DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public TopicMetadataRefresher(AdminClient adminClient, TopicMetadataCache cache, int chunkSize, int maxInFlight) {
+        this.adminClient = adminClient;
+        this.cache = cache;
+        this.chunkSize = chunkSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Выполняет обновление и блокируется до его завершения.
+     *
+     * @return имена всех топиков, существующих в кластере
+     */
+    public Set<String> refresh(Listener listener, BooleanSupplier cancelled)
+            throws InterruptedException, ExecutionException {
+        // Получаем список топиков вместе с их ID и сравниваем с кэшем
+        Collection<TopicListing> listings = adminClient.listTopics().listings().get();
+        TopicMetadataCache.RefreshPlan plan = cache.plan(listings, System.currentTimeMillis());
+        log.info("Topic refresh: {} listed, {} to describe, {} removed", listings.size(),
+                plan.getToDescribe().size(), plan.getRemoved().size());
+        listener.onPlan(plan);
+
+        cache.evict(plan.getRemoved());
+        listener.onDelta(TopicMetadataDelta.removed(plan.getRemoved()), 0);
+
+        // Описываем только нужные топики порциями, каждая порция передается как дельта
+        new ChunkedTopicDescriber(adminClient, chunkSize, maxInFlight).describe(plan.getToDescribe(), chunk -> {
+            TopicMetadataDelta delta = new TopicMetadataDelta();
+            long now = System.currentTimeMillis();
+            for (TopicDescription description : chunk.values()) {
+                switch (cache.put(description, now)) {
+                    case ADDED:
+                        delta.addAdded(description);
+                        break;
+                    case CHANGED:
+                        delta.addChanged(description);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            listener.onDelta(delta, chunk.size());
+        }, cancelled);
+        return plan.getLiveNames();
+    }
+}
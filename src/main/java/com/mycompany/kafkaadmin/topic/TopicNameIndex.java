@@ -0,0 +1,251 @@
+package com.mycompany.kafkaadmin.topic;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+
+/**
+ * Индекс имен топиков для быстрой фильтрации.
+ * <p>
+ * Строится один раз по снимку имен из {@link TopicsTableModel#snapshotNames()} и содержит:
+ * имена в нижнем регистре, триграммный индекс (триграмма -> отсортированный список позиций)
+ * и позиции, отсортированные по имени, для префиксного поиска. Позиции в индексе совпадают
+ * со слотами модели на момент снимка ({@link #getVersion()}).
+ * <p>
+ * Индекс неизменяем после построения и может использоваться из любого потока.
+ */
+public class TopicNameIndex {
+
+    private static final int GRAM = 3;
+    private static final int CANCEL_CHECK_INTERVAL = 4096;
+    private static final int[] EMPTY = new int[0];
+
+    private final long version;
+    private final String[] names; // null - свободный слот
+    private final String[] lowerNames;
+    private final int[] sortedPositions; // Позиции живых имен, упорядоченные по lowerNames
+    private final Map<Long, int[]> postings;
+
+    private TopicNameIndex(long version, String[] names, String[] lowerNames, int[] sortedPositions,
+            Map<Long, int[]> postings) {
+        this.version = version;
+        this.names = names;
+        this.lowerNames = lowerNames;
+        this.sortedPositions = sortedPositions;
+        this.postings = postings;
+    }
+
+    /**
+     * Строит индекс по снимку имен.
+     *
+     * @param names   имена по слотам (null для свободных слотов)
+     * @param version версия модели, к которой относится снимок
+     */
+    public static TopicNameIndex build(String[] names, long version) {
+        String[] lowerNames = new String[names.length];
+        Map<Long, IntList> lists = new HashMap<>();
+        int liveCount = 0;
+        for (int pos = 0; pos < names.length; pos++) {
+            if (names[pos] == null) {
+                continue;
+            }
+            liveCount++;
+            String lower = names[pos].toLowerCase(Locale.ROOT);
+            lowerNames[pos] = lower;
+            for (int i = 0; i + GRAM <= lower.length(); i++) {
+                IntList list = lists.computeIfAbsent(gramKey(lower, i), key -> new IntList());
+                list.addIfLast(pos); // Одна позиция на триграмму, даже если она встречается несколько раз
+            }
+        }
+
+        Map<Long, int[]> postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((key, list) -> postings.put(key, list.toArray()));
+
+        int[] sorted = new int[liveCount];
+        int count = 0;
+        for (int pos = 0; pos < names.length; pos++) {
+            if (lowerNames[pos] != null) {
+                sorted[count++] = pos;
+            }
+        }
+        IntSorter.sort(sorted, count, (a, b) -> lowerNames[a].compareTo(lowerNames[b]));
+
+        return new TopicNameIndex(version, names, lowerNames, sorted, postings);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Выполняет запрос.
+     *
+     * @param query     скомпилированный запрос
+     * @param cancelled признак отмены; при отмене бросается {@link CancellationException}
+     * @return отсортированные по возрастанию позиции (слоты) подходящих топиков
+     */
+    public int[] search(TopicNameQuery query, BooleanSupplier cancelled) {
+        switch (query.getMode()) {
+            case CONTAINS:
+                return searchContains(query.getText(), cancelled);
+            case PREFIX:
+                return searchPrefix(query.getText());
+            case GLOB:
+                return searchPattern(query, candidates(query.longestGlobLiteral()), true, cancelled);
+            case REGEX:
+                return searchPattern(query, null, false, cancelled);
+            default:
+                return EMPTY;
+        }
+    }
+
+    private int[] searchContains(String text, BooleanSupplier cancelled) {
+        int[] candidates = candidates(text);
+        int[] result = new int[candidates != null ? candidates.length : names.length];
+        int count = 0;
+        if (candidates != null) {
+            // Для строк из 3 символов список триграммы уже является точным ответом
+            if (text.length() == GRAM) {
+                return candidates;
+            }
+            for (int i = 0; i < candidates.length; i++) {
+                checkCancelled(i, cancelled);
+                if (lowerNames[candidates[i]].contains(text)) {
+                    result[count++] = candidates[i];
+                }
+            }
+        } else {
+            for (int pos = 0; pos < lowerNames.length; pos++) {
+                checkCancelled(pos, cancelled);
+                if (lowerNames[pos] != null && lowerNames[pos].contains(text)) {
+                    result[count++] = pos;
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private int[] searchPrefix(String prefix) {
+        // Бинарный поиск первой позиции с именем >= prefix
+        int low = 0;
+        int high = sortedPositions.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lowerNames[sortedPositions[mid]].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int end = low;
+        while (end < sortedPositions.length && lowerNames[sortedPositions[end]].startsWith(prefix)) {
+            end++;
+        }
+        int[] result = Arrays.copyOfRange(sortedPositions, low, end);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private int[] searchPattern(TopicNameQuery query, int[] candidates, boolean lowerCase, BooleanSupplier cancelled) {
+        Matcher matcher = query.getPattern().matcher("");
+        String[] source = lowerCase ? lowerNames : names;
+        int size = candidates != null ? candidates.length : source.length;
+        int[] result = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            checkCancelled(i, cancelled);
+            int pos = candidates != null ? candidates[i] : i;
+            String name = source[pos];
+            if (name == null) {
+                continue;
+            }
+            matcher.reset(name);
+            if (lowerCase ? matcher.matches() : matcher.find()) {
+                result[count++] = pos;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Отбирает кандидатов пересечением списков всех триграмм литерала.
+     *
+     * @return отсортированные позиции или null, если литерал короче триграммы
+     */
+    private int[] candidates(String literal) {
+        if (literal.length() < GRAM) {
+            return null;
+        }
+        int gramCount = literal.length() - GRAM + 1;
+        int[][] lists = new int[gramCount][];
+        for (int i = 0; i < gramCount; i++) {
+            int[] list = postings.get(gramKey(literal, i));
+            if (list == null) {
+                return EMPTY;
+            }
+            lists[i] = list;
+        }
+        // Начинаем с самого короткого списка
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+        int[] result = lists[0];
+        for (int i = 1; i < lists.length && result.length > 0; i++) {
+            result = intersect(result, lists[i]);
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static long gramKey(String s, int offset) {
+        return ((long) s.charAt(offset) << 32) | ((long) s.charAt(offset + 1) << 16) | s.charAt(offset + 2);
+    }
+
+    private static void checkCancelled(int iteration, BooleanSupplier cancelled) {
+        if (iteration % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+            throw new CancellationException("Topic filter query cancelled");
+        }
+    }
+
+    /**
+     * Растущий список int без упаковки.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void addIfLast(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.mycompany.kafkaadmin.topic;
+
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Запрос фильтрации топиков по имени. Все режимы нечувствительны к регистру.
+ */
+public class TopicNameQuery {
+
+    /**
+     * Режим сопоставления имени топика.
+     */
+    public enum Mode {
+        CONTAINS("Содержит"),
+        PREFIX("Начинается с"),
+        GLOB("Glob (*, ?)"),
+        REGEX("Regex");
+
+        private final String displayName;
+
+        Mode(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private final Mode mode;
+    private final String text; // В нижнем регистре для CONTAINS/PREFIX/GLOB
+    private final Pattern pattern; // Для GLOB и REGEX
+
+    private TopicNameQuery(Mode mode, String text, Pattern pattern) {
+        this.mode = mode;
+        this.text = text;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Компилирует запрос.
+     *
+     * @throws PatternSyntaxException если регулярное выражение некорректно
+     */
+    public static TopicNameQuery compile(Mode mode, String rawText) {
+        String trimmed = rawText.trim();
+        switch (mode) {
+            case REGEX:
+                return new TopicNameQuery(mode, trimmed, Pattern.compile(trimmed, Pattern.CASE_INSENSITIVE));
+            case GLOB: {
+                String lower = trimmed.toLowerCase(Locale.ROOT);
+                return new TopicNameQuery(mode, lower, Pattern.compile(globToRegex(lower)));
+            }
+            default:
+                return new TopicNameQuery(mode, trimmed.toLowerCase(Locale.ROOT), null);
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    Pattern getPattern() {
+        return pattern;
+    }
+
+    public boolean isEmpty() {
+        return text.isEmpty();
+    }
+
+    /**
+     * Проверяет одно имя топика без индекса (используется для точечных вставок).
+     */
+    public boolean matches(String topicName) {
+        switch (mode) {
+            case CONTAINS:
+                return topicName.toLowerCase(Locale.ROOT).contains(text);
+            case PREFIX:
+                return topicName.toLowerCase(Locale.ROOT).startsWith(text);
+            case GLOB:
+                return pattern.matcher(topicName.toLowerCase(Locale.ROOT)).matches();
+            case REGEX:
+                return pattern.matcher(topicName).find();
+            default:
+                return true;
+        }
+    }
+
+    public Predicate<String> toPredicate() {
+        return this::matches;
+    }
+
+    /**
+     * Возвращает самый длинный литеральный фрагмент glob-шаблона - по нему отбираются
+     * кандидаты через n-граммный индекс.
+     */
+    String longestGlobLiteral() {
+        String longest = "";
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : '*';
+            if (c == '*' || c == '?') {
+                if (current.length() > longest.length()) {
+                    longest = current.toString();
+                }
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        return longest;
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return regex.toString();
+    }
+}
@@ -0,0 +1,149 @@
+package com.mycompany.kafkaadmin.topic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * План приведения кластера к манифесту: список действий по топикам.
+ * Результат выполнения каждого действия записывается в само действие.
+ */
+public class TopicPlan {
+
+    public enum Action {
+        CREATE("Create"),
+        ADD_PARTITIONS("Add Partitions"),
+        ALTER_CONFIGS("Alter Configs"),
+        WARNING("Warning");
+
+        private final String title;
+
+        Action(String title) {
+            this.title = title;
+        }
+
+        @Override
+        public String toString() {
+            return title;
+        }
+    }
+
+    private final List<Item> items;
+    private final int unchangedTopics;
+
+    TopicPlan(List<Item> items, int unchangedTopics) {
+        this.items = Collections.unmodifiableList(items);
+        this.unchangedTopics = unchangedTopics;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    /** Количество топиков манифеста, уже соответствующих кластеру. */
+    public int getUnchangedTopics() {
+        return unchangedTopics;
+    }
+
+    /** Количество действий, которые будут отправлены в кластер (без предупреждений). */
+    public int getExecutableCount() {
+        int count = 0;
+        for (Item item : items) {
+            if (item.isExecutable()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Топики, затронутые выполняемыми действиями. */
+    public Set<String> getAffectedTopics() {
+        Set<String> topics = new LinkedHashSet<>();
+        for (Item item : items) {
+            if (item.isExecutable()) {
+                topics.add(item.getTopic());
+            }
+        }
+        return topics;
+    }
+
+    List<Item> itemsOf(Action action) {
+        List<Item> result = new ArrayList<>();
+        for (Item item : items) {
+            if (item.getAction() == action) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Одно действие плана.
+     */
+    public static class Item {
+        private final Action action;
+        private final String topic;
+        private final String details;
+        private final Integer partitions; // CREATE, ADD_PARTITIONS
+        private final Short replicationFactor; // CREATE
+        private final Map<String, String> configs; // CREATE, ALTER_CONFIGS
+
+        private volatile String result; // null - еще не выполнено
+        private volatile boolean failed;
+
+        Item(Action action, String topic, String details, Integer partitions, Short replicationFactor,
+                Map<String, String> configs) {
+            this.action = action;
+            this.topic = topic;
+            this.details = details;
+            this.partitions = partitions;
+            this.replicationFactor = replicationFactor;
+            this.configs = Collections.unmodifiableMap(new LinkedHashMap<>(configs));
+        }
+
+        public Action getAction() {
+            return action;
+        }
+
+        public String getTopic() {
+            return topic;
+        }
+
+        public String getDetails() {
+            return details;
+        }
+
+        Integer getPartitions() {
+            return partitions;
+        }
+
+        Short getReplicationFactor() {
+            return replicationFactor;
+        }
+
+        Map<String, String> getConfigs() {
+            return configs;
+        }
+
+        public boolean isExecutable() {
+            return action != Action.WARNING;
+        }
+
+        public String getResult() {
+            return result;
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+
+        void complete(Throwable error) {
+            failed = error != null;
+            result = error != null ? "Error: " + error.getMessage() : "OK";
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.mycompany.kafkaadmin.topic;
+
+import com.mycompany.kafkaadmin.cluster.BoundedBatchRunner;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AlterConfigOp;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.NewPartitions;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.config.ConfigResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Выполняет {@link TopicPlan} пакетными запросами {@code createTopics},
+ * {@code createPartitions} и {@code incrementalAlterConfigs}.
+ * <p>
+ * Виды запросов выполняются по очереди - создание топиков, добавление партиций, изменение
+ * конфигураций, - каждый с ограниченным числом одновременных запросов. Результат каждого
+ * действия берется из его собственного future, поэтому ошибка одного топика не влияет на
+ * остальные действия пакета.
+ */
+public class TopicPlanExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicPlanExecutor.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private final AdminClient adminClient;
+    private final BoundedBatchRunner runner;
+
+    public TopicPlanExecutor(AdminClient adminClient) {
+        this(adminClient, DEFAULT_BATCH_SIZE, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public TopicPlanExecutor(AdminClient adminClient, int batchSize, int maxInFlight) {
+        this.adminClient = adminClient;
+        this.runner = new BoundedBatchRunner(batchSize, maxInFlight);
+    }
+
+    /**
+     * Выполняет план и блокируется до получения результатов всех отправленных действий.
+     *
+     * @param onItemDone обработчик завершенного действия; вызывается из потока AdminClient
+     * @param cancelled  признак отмены - новые пакеты перестают отправляться
+     * @return количество отправленных пакетов (запросов)
+     */
+    public int execute(TopicPlan plan, Consumer<TopicPlan.Item> onItemDone, BooleanSupplier cancelled)
+            throws InterruptedException, ExecutionException {
+        int requests = submit(plan.itemsOf(TopicPlan.Action.CREATE), onItemDone, cancelled, this::createTopics);
+        requests += submit(plan.itemsOf(TopicPlan.Action.ADD_PARTITIONS), onItemDone, cancelled,
+                this::createPartitions);
+        requests += submit(plan.itemsOf(TopicPlan.Action.ALTER_CONFIGS), onItemDone, cancelled, this::alterConfigs);
+        log.info("Topic plan applied: {} action(s) in {} request(s)", plan.getExecutableCount(), requests);
+        return requests;
+    }
+
+    private int submit(List<TopicPlan.Item> items, Consumer<TopicPlan.Item> onItemDone, BooleanSupplier cancelled,
+            Function<List<TopicPlan.Item>, Map<TopicPlan.Item, KafkaFuture<Void>>> sender)
+            throws InterruptedException, ExecutionException {
+        return runner.run(items, batch -> {
+            List<KafkaFuture<Void>> itemFutures = new ArrayList<>(batch.size());
+            sender.apply(batch).forEach((item, future) -> itemFutures.add(future.whenComplete((ignored, error) -> {
+                item.complete(error);
+                onItemDone.accept(item);
+            })));
+            return BoundedBatchRunner.allDone(itemFutures);
+        }, (batch, ignored, error) -> { }, cancelled);
+    }
+
+    private Map<TopicPlan.Item, KafkaFuture<Void>> createTopics(List<TopicPlan.Item> batch) {
+        List<NewTopic> newTopics = new ArrayList<>(batch.size());
+        for (TopicPlan.Item item : batch) {
+            NewTopic newTopic = new NewTopic(item.getTopic(), Optional.ofNullable(item.getPartitions()),
+                    Optional.ofNullable(item.getReplicationFactor()));
+            if (!item.getConfigs().isEmpty()) {
+                newTopic.configs(item.getConfigs());
+            }
+            newTopics.add(newTopic);
+        }
+        Map<String, KafkaFuture<Void>> byTopic = adminClient.createTopics(newTopics).values();
+        return byItem(batch, item -> byTopic.get(item.getTopic()));
+    }
+
+    private Map<TopicPlan.Item, KafkaFuture<Void>> createPartitions(List<TopicPlan.Item> batch) {
+        Map<String, NewPartitions> request = new HashMap<>();
+        for (TopicPlan.Item item : batch) {
+            request.put(item.getTopic(), NewPartitions.increaseTo(item.getPartitions()));
+        }
+        Map<String, KafkaFuture<Void>> byTopic = adminClient.createPartitions(request).values();
+        return byItem(batch, item -> byTopic.get(item.getTopic()));
+    }
+
+    private Map<TopicPlan.Item, KafkaFuture<Void>> alterConfigs(List<TopicPlan.Item> batch) {
+        Map<ConfigResource, Collection<AlterConfigOp>> request = new HashMap<>();
+        for (TopicPlan.Item item : batch) {
+            List<AlterConfigOp> ops = new ArrayList<>();
+            item.getConfigs().forEach((name, value) ->
+                    ops.add(new AlterConfigOp(new ConfigEntry(name, value), AlterConfigOp.OpType.SET)));
+            request.put(new ConfigResource(ConfigResource.Type.TOPIC, item.getTopic()), ops);
+        }
+        Map<ConfigResource, KafkaFuture<Void>> byResource = adminClient.incrementalAlterConfigs(request).values();
+        return byItem(batch, item -> byResource.get(new ConfigResource(ConfigResource.Type.TOPIC, item.getTopic())));
+    }
+
+    private static Map<TopicPlan.Item, KafkaFuture<Void>> byItem(List<TopicPlan.Item> batch,
+            Function<TopicPlan.Item, KafkaFuture<Void>> futureOf) {
+        Map<TopicPlan.Item, KafkaFuture<Void>> result = new HashMap<>();
+        for (TopicPlan.Item item : batch) {
+            result.put(item, futureOf.apply(item));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,792 @@
+package com.mycompany.kafkaadmin.topic;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Модель таблицы топиков для больших кластеров.
+ * <p>
+ * Данные хранятся в плоских массивах по "слотам" (один слот на топик), а строки таблицы
+ * отображаются на слоты через массив индексов представления. Смена фильтра подменяет
+ * массив индексов и генерирует одно событие {@code fireTableDataChanged}, а обновления
+ * данных генерируют только точечные события вставки/удаления/изменения строк.
+ * <p>
+ * Все методы должны вызываться из EDT.
+ */
+public class TopicsTableModel extends AbstractTableModel {
+
+    public static final int COL_NAME = 0;
+    public static final int COL_PARTITIONS = 1;
+    public static final int COL_REPLICAS = 2;
+    public static final int COL_SIZE = 3;
+    public static final int COL_LEADER_SIZE = 4;
+    public static final int COL_LARGEST_PARTITION = 5;
+    /** Индекс первой колонки конфигурации; колонки конфигурации идут после фиксированных. */
+    public static final int CONFIG_COLUMN_OFFSET = 6;
+
+    private static final String[] COLUMN_NAMES = { "Topic Name", "Partitions", "Replicas", "Size", "Leader Size",
+            "Largest Partition" };
+
+    private static final long UNKNOWN_SIZE = -1L;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    // --- Данные по слотам. Удаленный слот имеет names[slot] == null и попадает в список свободных ---
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] partitions = new int[INITIAL_CAPACITY];
+    private int[] replicas = new int[INITIAL_CAPACITY];
+    // Размеры на диске в байтах; UNKNOWN_SIZE - еще не загружены
+    private long[] sizes = newSizeArray(INITIAL_CAPACITY);
+    private long[] leaderSizes = newSizeArray(INITIAL_CAPACITY);
+    private long[] largestPartitions = newSizeArray(INITIAL_CAPACITY);
+    // Значения выбранных параметров конфигурации: [номер колонки конфигурации][слот]
+    private List<String> configKeys = Collections.emptyList();
+    private String[][] configValues = new String[0][];
+    private int slotCount; // Количество занятых и освобожденных слотов (верхняя граница)
+    private int liveCount; // Количество живых топиков
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private final Map<String, Integer> slotByName = new HashMap<>();
+    private long version; // Увеличивается при любом изменении набора слотов
+
+    // --- Представление: отфильтрованные и отсортированные слоты ---
+    private int[] view = new int[INITIAL_CAPACITY];
+    private int viewSize;
+    // Слот есть в представлении. Фильтр проверяется только при добавлении топика и смене
+    // фильтра: его результат для того же топика со временем может измениться
+    private boolean[] inView = new boolean[INITIAL_CAPACITY];
+
+    private Predicate<String> filter; // null - без фильтра
+    private List<RowSorter.SortKey> sortKeys = Collections.emptyList();
+
+    // Предвычисленные ключи сортировки по имени (ранг имени в лексикографическом порядке)
+    private long[] nameRanks;
+
+    @Override
+    public int getRowCount() {
+        return viewSize;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return CONFIG_COLUMN_OFFSET + configKeys.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return column < CONFIG_COLUMN_OFFSET ? COLUMN_NAMES[column] : configKeys.get(column - CONFIG_COLUMN_OFFSET);
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        switch (column) {
+            case COL_NAME:
+                return String.class;
+            case COL_PARTITIONS:
+            case COL_REPLICAS:
+                return Integer.class;
+            case COL_SIZE:
+            case COL_LEADER_SIZE:
+            case COL_LARGEST_PARTITION:
+                return Long.class;
+            default:
+                return String.class; // Колонки конфигурации
+        }
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int slot = view[row];
+        switch (column) {
+            case COL_NAME:
+                return names[slot];
+            case COL_PARTITIONS:
+                return partitions[slot];
+            case COL_REPLICAS:
+                return replicas[slot];
+            case COL_SIZE:
+                return sizeValue(sizes[slot]);
+            case COL_LEADER_SIZE:
+                return sizeValue(leaderSizes[slot]);
+            case COL_LARGEST_PARTITION:
+                return sizeValue(largestPartitions[slot]);
+            default:
+                return configValues[column - CONFIG_COLUMN_OFFSET][slot];
+        }
+    }
+
+    private static Long sizeValue(long size) {
+        return size == UNKNOWN_SIZE ? null : size;
+    }
+
+    /**
+     * Возвращает имя топика для строки представления.
+     */
+    public String getTopicName(int row) {
+        return names[view[row]];
+    }
+
+    /**
+     * Общее количество топиков без учета фильтра.
+     */
+    public int getTotalCount() {
+        return liveCount;
+    }
+
+    /**
+     * Версия набора слотов. Результат поиска по {@link TopicNameIndex} применим, только если
+     * версия не изменилась с момента снимка.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Возвращает копию имен по слотам (null для свободных слотов) для построения индекса.
+     */
+    public String[] snapshotNames() {
+        return Arrays.copyOf(names, slotCount);
+    }
+
+    public boolean containsTopic(String name) {
+        return slotByName.containsKey(name);
+    }
+
+    /**
+     * Возвращает имена всех загруженных топиков (без учета фильтра).
+     */
+    public List<String> getAllTopicNames() {
+        List<String> result = new ArrayList<>(liveCount);
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (names[slot] != null) {
+                result.add(names[slot]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Добавляет новый топик или обновляет существующий. Событие генерируется только если
+     * строка видима и данные действительно изменились.
+     */
+    public void upsertTopic(String name, int partitionCount, int replicaCount) {
+        Integer existing = slotByName.get(name);
+        if (existing == null) {
+            int slot = allocateSlot();
+            names[slot] = name;
+            partitions[slot] = partitionCount;
+            replicas[slot] = replicaCount;
+            slotByName.put(name, slot);
+            liveCount++;
+            version++;
+            nameRanks = null;
+            if (matchesFilter(name)) {
+                insertIntoView(slot);
+            }
+            return;
+        }
+
+        int slot = existing;
+        if (partitions[slot] == partitionCount && replicas[slot] == replicaCount) {
+            return; // Ничего не изменилось - событие не нужно
+        }
+        updateSlot(slot, () -> {
+            partitions[slot] = partitionCount;
+            replicas[slot] = replicaCount;
+        });
+    }
+
+    /**
+     * Устанавливает размеры топика на диске.
+     */
+    public void setDiskUsage(String name, long totalBytes, long leaderBytes, long largestPartitionBytes) {
+        Integer existing = slotByName.get(name);
+        if (existing == null) {
+            return;
+        }
+        int slot = existing;
+        if (sizes[slot] == totalBytes && leaderSizes[slot] == leaderBytes
+                && largestPartitions[slot] == largestPartitionBytes) {
+            return;
+        }
+        updateSlot(slot, () -> {
+            sizes[slot] = totalBytes;
+            leaderSizes[slot] = leaderBytes;
+            largestPartitions[slot] = largestPartitionBytes;
+        });
+    }
+
+    /**
+     * Применяет размеры сразу ко всем топикам. Меняются целые колонки, поэтому генерируется
+     * одно событие {@code fireTableDataChanged}. Топики без данных получают пустые значения.
+     */
+    public void applyDiskUsage(TopicDiskUsage diskUsage) {
+        for (int slot = 0; slot < slotCount; slot++) {
+            TopicDiskUsage.Usage usage = names[slot] != null ? diskUsage.get(names[slot]) : null;
+            sizes[slot] = usage != null ? usage.getTotalBytes() : UNKNOWN_SIZE;
+            leaderSizes[slot] = usage != null ? usage.getLeaderBytes() : UNKNOWN_SIZE;
+            largestPartitions[slot] = usage != null ? usage.getLargestPartitionBytes() : UNKNOWN_SIZE;
+        }
+        sortView();
+        fireTableDataChanged();
+    }
+
+    public List<String> getConfigColumns() {
+        return configKeys;
+    }
+
+    /**
+     * Устанавливает набор колонок конфигурации. Значения уже показанных параметров
+     * сохраняются, ключи сортировки по удаленным колонкам сбрасываются. Структура таблицы
+     * меняется, поэтому генерируется {@code fireTableStructureChanged}.
+     */
+    public void setConfigColumns(List<String> keys) {
+        List<String> newKeys = Collections.unmodifiableList(new ArrayList<>(keys));
+        String[][] newValues = new String[newKeys.size()][];
+        for (int i = 0; i < newKeys.size(); i++) {
+            int old = configKeys.indexOf(newKeys.get(i));
+            newValues[i] = old >= 0 ? configValues[old] : new String[names.length];
+        }
+
+        List<RowSorter.SortKey> newSortKeys = new ArrayList<>();
+        for (RowSorter.SortKey key : sortKeys) {
+            if (key.getColumn() < CONFIG_COLUMN_OFFSET) {
+                newSortKeys.add(key);
+                continue;
+            }
+            int newIndex = newKeys.indexOf(configKeys.get(key.getColumn() - CONFIG_COLUMN_OFFSET));
+            if (newIndex >= 0) {
+                newSortKeys.add(new RowSorter.SortKey(CONFIG_COLUMN_OFFSET + newIndex, key.getSortOrder()));
+            }
+        }
+
+        configKeys = newKeys;
+        configValues = newValues;
+        sortKeys = Collections.unmodifiableList(newSortKeys);
+        sortView();
+        fireTableStructureChanged();
+    }
+
+    /**
+     * Переносит значения колонок конфигурации одного топика из хранилища.
+     */
+    public void setConfigValues(String name, TopicConfigStore store) {
+        Integer existing = slotByName.get(name);
+        if (existing == null || configKeys.isEmpty()) {
+            return;
+        }
+        int slot = existing;
+        String[] values = new String[configKeys.size()];
+        boolean changed = false;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = store.get(name, configKeys.get(i));
+            changed |= !Objects.equals(values[i], configValues[i][slot]);
+        }
+        if (!changed) {
+            return;
+        }
+        updateSlot(slot, () -> {
+            for (int i = 0; i < values.length; i++) {
+                configValues[i][slot] = values[i];
+            }
+        });
+    }
+
+    /**
+     * Переносит значения колонок конфигурации всех топиков из хранилища одним событием
+     * {@code fireTableDataChanged}.
+     */
+    public void applyConfigs(TopicConfigStore store) {
+        for (int i = 0; i < configKeys.size(); i++) {
+            String key = configKeys.get(i);
+            String[] column = configValues[i];
+            for (int slot = 0; slot < slotCount; slot++) {
+                column[slot] = names[slot] != null ? store.get(names[slot], key) : null;
+            }
+        }
+        sortView();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Изменяет данные слота и генерирует соответствующие события. В отсортированном
+     * представлении строка может переместиться - тогда генерируются удаление и вставка.
+     */
+    private void updateSlot(int slot, Runnable mutation) {
+        if (!inView[slot]) {
+            mutation.run();
+            return;
+        }
+
+        int oldPos = findViewPosition(slot);
+        if (sortKeys.isEmpty()) {
+            mutation.run();
+            fireTableRowsUpdated(oldPos, oldPos);
+            return;
+        }
+
+        removeFromView(oldPos);
+        mutation.run();
+        int newPos = insertionPoint(slot);
+        insertAt(newPos, slot);
+        if (newPos == oldPos) {
+            fireTableRowsUpdated(oldPos, oldPos);
+        } else {
+            fireTableRowsDeleted(oldPos, oldPos);
+            fireTableRowsInserted(newPos, newPos);
+        }
+    }
+
+    /**
+     * Удаляет топик из модели.
+     */
+    public void removeTopic(String name) {
+        Integer existing = slotByName.remove(name);
+        if (existing == null) {
+            return;
+        }
+        int slot = existing;
+        int pos = inView[slot] ? findViewPosition(slot) : -1;
+        if (pos >= 0) {
+            removeFromView(pos);
+        }
+        names[slot] = null;
+        releaseSlot(slot);
+        liveCount--;
+        version++;
+        nameRanks = null;
+        if (pos >= 0) {
+            fireTableRowsDeleted(pos, pos);
+        }
+    }
+
+    /**
+     * Удаляет все топики, отсутствующие в переданном наборе.
+     */
+    public void retainTopics(Set<String> topicNames) {
+        List<String> toRemove = new ArrayList<>();
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (names[slot] != null && !topicNames.contains(names[slot])) {
+                toRemove.add(names[slot]);
+            }
+        }
+        for (String name : toRemove) {
+            removeTopic(name);
+        }
+    }
+
+    /**
+     * Полностью очищает модель.
+     */
+    public void clear() {
+        names = new String[INITIAL_CAPACITY];
+        partitions = new int[INITIAL_CAPACITY];
+        replicas = new int[INITIAL_CAPACITY];
+        sizes = newSizeArray(INITIAL_CAPACITY);
+        leaderSizes = newSizeArray(INITIAL_CAPACITY);
+        largestPartitions = newSizeArray(INITIAL_CAPACITY);
+        configValues = new String[configKeys.size()][INITIAL_CAPACITY];
+        view = new int[INITIAL_CAPACITY];
+        inView = new boolean[INITIAL_CAPACITY];
+        slotCount = 0;
+        liveCount = 0;
+        freeCount = 0;
+        viewSize = 0;
+        nameRanks = null;
+        slotByName.clear();
+        version++;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Устанавливает фильтр по имени топика. Представление перестраивается целиком,
+     * генерируется одно событие {@code fireTableDataChanged}.
+     *
+     * @param filter предикат по имени топика, или null для отображения всех топиков
+     */
+    public void setFilter(Predicate<String> filter) {
+        this.filter = filter;
+        int[] newView = new int[Math.max(INITIAL_CAPACITY, liveCount)];
+        int count = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            String name = names[slot];
+            inView[slot] = name != null && (filter == null || filter.test(name));
+            if (inView[slot]) {
+                newView[count++] = slot;
+            }
+        }
+        view = newView;
+        viewSize = count;
+        sortView();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Устанавливает фильтр вместе с заранее вычисленным (например, в фоновом потоке по
+     * {@link TopicNameIndex}) набором подходящих слотов. Если с момента снимка набор слотов
+     * изменился, представление пересчитывается по предикату.
+     *
+     * @param filter        предикат для топиков, добавляемых позже
+     * @param matchingSlots отсортированные по возрастанию слоты подходящих топиков
+     * @param snapshotVersion версия модели, по снимку которой вычислен результат
+     */
+    public void setFilter(Predicate<String> filter, int[] matchingSlots, long snapshotVersion) {
+        if (snapshotVersion != version) {
+            setFilter(filter);
+            return;
+        }
+        this.filter = filter;
+        view = Arrays.copyOf(matchingSlots, Math.max(INITIAL_CAPACITY, matchingSlots.length));
+        viewSize = matchingSlots.length;
+        Arrays.fill(inView, false);
+        for (int slot : matchingSlots) {
+            inView[slot] = true;
+        }
+        sortView();
+        fireTableDataChanged();
+    }
+
+    public List<RowSorter.SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    /**
+     * Устанавливает ключи многоколоночной сортировки (первый ключ - основной).
+     */
+    public void setSortKeys(List<RowSorter.SortKey> keys) {
+        List<RowSorter.SortKey> newKeys = new ArrayList<>();
+        for (RowSorter.SortKey key : keys) {
+            if (key.getSortOrder() != SortOrder.UNSORTED) {
+                newKeys.add(key);
+            }
+        }
+        sortKeys = Collections.unmodifiableList(newKeys);
+        sortView();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Переключает сортировку по колонке: по возрастанию, по убыванию, без сортировки.
+     *
+     * @param column индекс колонки модели
+     * @param append true - добавить колонку как дополнительный ключ (Shift+клик), false -
+     *               сделать ее единственным ключом
+     */
+    public void toggleSortKey(int column, boolean append) {
+        List<RowSorter.SortKey> keys = new ArrayList<>(append ? sortKeys : Collections.emptyList());
+        SortOrder current = SortOrder.UNSORTED;
+        for (RowSorter.SortKey key : sortKeys) {
+            if (key.getColumn() == column) {
+                current = key.getSortOrder();
+            }
+        }
+        keys.removeIf(key -> key.getColumn() == column);
+        SortOrder next = current == SortOrder.UNSORTED ? SortOrder.ASCENDING
+                : current == SortOrder.ASCENDING ? SortOrder.DESCENDING : SortOrder.UNSORTED;
+        if (next != SortOrder.UNSORTED) {
+            keys.add(new RowSorter.SortKey(column, next));
+        }
+        setSortKeys(keys);
+    }
+
+    /**
+     * Возвращает порядок сортировки для колонки или {@link SortOrder#UNSORTED}.
+     */
+    public SortOrder getSortOrder(int column) {
+        for (RowSorter.SortKey key : sortKeys) {
+            if (key.getColumn() == column) {
+                return key.getSortOrder();
+            }
+        }
+        return SortOrder.UNSORTED;
+    }
+
+    // ------------------------------------------------------------------------------------
+    // Работа с представлением
+    // ------------------------------------------------------------------------------------
+
+    private boolean matchesFilter(String name) {
+        return filter == null || filter.test(name);
+    }
+
+    private void insertIntoView(int slot) {
+        int pos = insertionPoint(slot);
+        insertAt(pos, slot);
+        fireTableRowsInserted(pos, pos);
+    }
+
+    private void insertAt(int pos, int slot) {
+        if (viewSize == view.length) {
+            view = Arrays.copyOf(view, view.length * 2);
+        }
+        System.arraycopy(view, pos, view, pos + 1, viewSize - pos);
+        view[pos] = slot;
+        viewSize++;
+        inView[slot] = true;
+    }
+
+    private void removeFromView(int pos) {
+        inView[view[pos]] = false;
+        System.arraycopy(view, pos + 1, view, pos, viewSize - pos - 1);
+        viewSize--;
+    }
+
+    /**
+     * Представление всегда упорядочено полным порядком {@link #compareSlots}, поэтому
+     * позиция слота находится бинарным поиском.
+     */
+    private int findViewPosition(int slot) {
+        int low = 0;
+        int high = viewSize - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareSlots(view[mid], slot);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int insertionPoint(int slot) {
+        int low = 0;
+        int high = viewSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareSlots(view[mid], slot) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Сравнение по "сырым" значениям - используется для точечных вставок.
+     * Без ключей сортировки порядок совпадает с порядком слотов.
+     */
+    private int compareSlots(int a, int b) {
+        for (RowSorter.SortKey key : sortKeys) {
+            int cmp = compareColumn(key.getColumn(), a, b);
+            if (cmp != 0) {
+                return key.getSortOrder() == SortOrder.DESCENDING ? -cmp : cmp;
+            }
+        }
+        return Integer.compare(a, b);
+    }
+
+    private int compareColumn(int column, int a, int b) {
+        switch (column) {
+            case COL_NAME:
+                return names[a].compareTo(names[b]);
+            case COL_PARTITIONS:
+                return Integer.compare(partitions[a], partitions[b]);
+            case COL_REPLICAS:
+                return Integer.compare(replicas[a], replicas[b]);
+            case COL_SIZE:
+                return Long.compare(sizes[a], sizes[b]);
+            case COL_LEADER_SIZE:
+                return Long.compare(leaderSizes[a], leaderSizes[b]);
+            case COL_LARGEST_PARTITION:
+                return Long.compare(largestPartitions[a], largestPartitions[b]);
+            default:
+                String[] values = configValues[column - CONFIG_COLUMN_OFFSET];
+                return TopicConfigFilter.compareValues(values[a], values[b]);
+        }
+    }
+
+    /**
+     * Предвычисленный ключ сортировки колонки по слотам. Порядок ключей совпадает с
+     * порядком {@link #compareColumn}.
+     */
+    private long[] sortKey(int column) {
+        switch (column) {
+            case COL_NAME:
+                return nameRanks();
+            case COL_PARTITIONS:
+                return widen(partitions);
+            case COL_REPLICAS:
+                return widen(replicas);
+            case COL_SIZE:
+                return sizes;
+            case COL_LEADER_SIZE:
+                return leaderSizes;
+            case COL_LARGEST_PARTITION:
+                return largestPartitions;
+            default:
+                return configRanks(configValues[column - CONFIG_COLUMN_OFFSET]);
+        }
+    }
+
+    /**
+     * Ранги значений колонки конфигурации в порядке {@link TopicConfigFilter#compareValues};
+     * равные значения получают равные ранги. Числа разбираются один раз на сортировку.
+     */
+    private long[] configRanks(String[] values) {
+        long[] numbers = new long[slotCount];
+        boolean[] numeric = new boolean[slotCount];
+        int[] live = new int[liveCount];
+        int count = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (names[slot] == null) {
+                continue;
+            }
+            live[count++] = slot;
+            Long number = TopicConfigFilter.parseLong(values[slot]);
+            if (number != null) {
+                numbers[slot] = number;
+                numeric[slot] = true;
+            }
+        }
+        IntSorter.IntComparator comparator = (a, b) -> {
+            if (values[a] == null || values[b] == null) {
+                return values[a] == null ? (values[b] == null ? 0 : -1) : 1;
+            }
+            if (numeric[a] && numeric[b]) {
+                return Long.compare(numbers[a], numbers[b]);
+            }
+            if (numeric[a] || numeric[b]) {
+                return numeric[a] ? -1 : 1;
+            }
+            return values[a].compareTo(values[b]);
+        };
+        IntSorter.sort(live, count, comparator);
+        long[] ranks = new long[slotCount];
+        long rank = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && comparator.compare(live[i - 1], live[i]) != 0) {
+                rank++;
+            }
+            ranks[live[i]] = rank;
+        }
+        return ranks;
+    }
+
+    private long[] widen(int[] values) {
+        long[] result = new long[slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            result[slot] = values[slot];
+        }
+        return result;
+    }
+
+    /**
+     * Полная сортировка представления по предвычисленным ключам: имена заменяются их
+     * рангами, поэтому при сортировке сравниваются только примитивы.
+     */
+    private void sortView() {
+        if (sortKeys.isEmpty()) {
+            Arrays.sort(view, 0, viewSize);
+            return;
+        }
+
+        int keyCount = sortKeys.size();
+        long[][] keys = new long[keyCount][];
+        boolean[] descending = new boolean[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            RowSorter.SortKey key = sortKeys.get(i);
+            descending[i] = key.getSortOrder() == SortOrder.DESCENDING;
+            keys[i] = sortKey(key.getColumn());
+        }
+
+        IntSorter.sort(view, viewSize, (a, b) -> {
+            for (int i = 0; i < keyCount; i++) {
+                int cmp = Long.compare(keys[i][a], keys[i][b]);
+                if (cmp != 0) {
+                    return descending[i] ? -cmp : cmp;
+                }
+            }
+            return Integer.compare(a, b);
+        });
+    }
+
+    private long[] nameRanks() {
+        if (nameRanks == null) {
+            int[] live = new int[liveCount];
+            int count = 0;
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (names[slot] != null) {
+                    live[count++] = slot;
+                }
+            }
+            IntSorter.sort(live, count, (a, b) -> names[a].compareTo(names[b]));
+            long[] ranks = new long[names.length];
+            for (int i = 0; i < count; i++) {
+                ranks[live[i]] = i;
+            }
+            nameRanks = ranks;
+        }
+        return nameRanks;
+    }
+
+    // ------------------------------------------------------------------------------------
+    // Управление слотами
+    // ------------------------------------------------------------------------------------
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == names.length) {
+            int newCapacity = names.length * 2;
+            names = Arrays.copyOf(names, newCapacity);
+            partitions = Arrays.copyOf(partitions, newCapacity);
+            replicas = Arrays.copyOf(replicas, newCapacity);
+            sizes = growSizeArray(sizes, newCapacity);
+            leaderSizes = growSizeArray(leaderSizes, newCapacity);
+            largestPartitions = growSizeArray(largestPartitions, newCapacity);
+            inView = Arrays.copyOf(inView, newCapacity);
+            for (int i = 0; i < configValues.length; i++) {
+                configValues[i] = Arrays.copyOf(configValues[i], newCapacity);
+            }
+        }
+        return slotCount++;
+    }
+
+    private void releaseSlot(int slot) {
+        partitions[slot] = 0;
+        replicas[slot] = 0;
+        sizes[slot] = UNKNOWN_SIZE;
+        leaderSizes[slot] = UNKNOWN_SIZE;
+        largestPartitions[slot] = UNKNOWN_SIZE;
+        for (String[] column : configValues) {
+            column[slot] = null;
+        }
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private static long[] newSizeArray(int capacity) {
+        long[] array = new long[capacity];
+        Arrays.fill(array, UNKNOWN_SIZE);
+        return array;
+    }
+
+    private static long[] growSizeArray(long[] array, int newCapacity) {
+        long[] result = Arrays.copyOf(array, newCapacity);
+        Arrays.fill(result, array.length, newCapacity, UNKNOWN_SIZE);
+        return result;
+    }
+}